@@ -0,0 +1,535 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.core.serializer.support.SerializationDelegate;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Size-bounded {@link org.springframework.cache.Cache} implementation based on
+ * the core JDK {@code java.util.concurrent} package, with no external dependency.
+ *
+ * <p>Entries are spread across a number of independently locked segments, each
+ * of which applies a segmented LRU eviction policy: new entries enter a
+ * probationary area and are promoted to a protected area (80% of the segment's
+ * capacity) once read again, so that a burst of one-off entries cannot flush
+ * frequently used ones. Entries may additionally expire a fixed time after
+ * they have been written.
+ *
+ * <p>Hit, miss and eviction counts are recorded for every cache and exposed
+ * through {@link #getHitCount()}, {@link #getMissCount()} and
+ * {@link #getEvictionCount()}. Concurrent {@link #get(Object, Callable)} calls
+ * for the same key share a single invocation of the value loader; a value
+ * loader must not recursively load the same key, which is rejected with an
+ * {@link IllegalStateException} instead of waiting for itself.
+ *
+ * <p>Like {@link ConcurrentMapCache}, this class replaces {@code null} values
+ * with a predefined internal object if configured to allow {@code null} values,
+ * and optionally stores a serialized copy of each entry.
+ *
+ * @since 5.1.15
+ * @see ConcurrentMapCache
+ * @see ConcurrentMapCacheManager#setMaximumSize
+ */
+public class BoundedConcurrentMapCache extends AbstractValueAdaptingCache {
+
+	private static final int MAXIMUM_SEGMENT_COUNT = 16;
+
+
+	private final String name;
+
+	private final long maximumSize;
+
+	private final long expireAfterWriteNanos;
+
+	private final Segment[] segments;
+
+	private final ConcurrentMap<Object, LoadTask> loadsInProgress = new ConcurrentHashMap<>(16);
+
+	@Nullable
+	private final SerializationDelegate serialization;
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name
+	 * and maximum size, allowing {@code null} values.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries in the cache
+	 */
+	public BoundedConcurrentMapCache(String name, long maximumSize) {
+		this(name, maximumSize, null, true);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name,
+	 * maximum size and expiration.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries in the cache
+	 * @param expireAfterWrite the time after which an entry expires once it
+	 * has been written, or {@code null} for entries to never expire
+	 * @param allowNullValues whether to accept and convert {@code null}
+	 * values for this cache
+	 */
+	public BoundedConcurrentMapCache(String name, long maximumSize,
+			@Nullable Duration expireAfterWrite, boolean allowNullValues) {
+
+		this(name, maximumSize, expireAfterWrite, allowNullValues, null);
+	}
+
+	/**
+	 * Create a new BoundedConcurrentMapCache with the specified name,
+	 * maximum size and expiration. If the {@link SerializationDelegate}
+	 * is specified, {@link #isStoreByValue() store-by-value} is enabled.
+	 * @param name the name of the cache
+	 * @param maximumSize the maximum number of entries in the cache
+	 * @param expireAfterWrite the time after which an entry expires once it
+	 * has been written, or {@code null} for entries to never expire
+	 * @param allowNullValues whether to allow {@code null} values
+	 * (adapting them to an internal null holder value)
+	 * @param serialization the {@link SerializationDelegate} to use
+	 * to serialize cache entry or {@code null} to store the reference
+	 */
+	protected BoundedConcurrentMapCache(String name, long maximumSize, @Nullable Duration expireAfterWrite,
+			boolean allowNullValues, @Nullable SerializationDelegate serialization) {
+
+		super(allowNullValues);
+		Assert.notNull(name, "Name must not be null");
+		Assert.isTrue(maximumSize > 0, "Maximum size must be greater than 0");
+		Assert.isTrue(expireAfterWrite == null || !expireAfterWrite.isNegative(),
+				"Expiration must not be negative");
+		this.name = name;
+		this.maximumSize = maximumSize;
+		this.expireAfterWriteNanos = (expireAfterWrite != null ? expireAfterWrite.toNanos() : 0);
+		this.serialization = serialization;
+
+		int segmentCount = 1;
+		while (segmentCount < MAXIMUM_SEGMENT_COUNT && segmentCount * 2 <= maximumSize) {
+			segmentCount <<= 1;
+		}
+		this.segments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			long capacity = maximumSize / segmentCount + (i < maximumSize % segmentCount ? 1 : 0);
+			this.segments[i] = new Segment(capacity);
+		}
+	}
+
+
+	/**
+	 * Return whether this cache stores a copy of each entry ({@code true}) or
+	 * a reference ({@code false}, default). If store by value is enabled, each
+	 * entry in the cache must be serializable.
+	 */
+	public final boolean isStoreByValue() {
+		return (this.serialization != null);
+	}
+
+	/**
+	 * Return the maximum number of entries in this cache.
+	 */
+	public final long getMaximumSize() {
+		return this.maximumSize;
+	}
+
+	/**
+	 * Return the number of lookups that found a (non-expired) entry.
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of lookups that found no (or only an expired) entry.
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of entries removed because of the size bound
+	 * or because they expired.
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
+	/**
+	 * Return the current number of entries in this cache, possibly
+	 * including expired entries that have not been removed yet.
+	 */
+	public long size() {
+		long size = 0;
+		for (Segment segment : this.segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	@Override
+	public final String getName() {
+		return this.name;
+	}
+
+	/**
+	 * This implementation returns the cache itself, as there is no
+	 * single underlying store.
+	 */
+	@Override
+	public final BoundedConcurrentMapCache getNativeCache() {
+		return this;
+	}
+
+	@Override
+	@Nullable
+	protected Object lookup(Object key) {
+		Object value = segmentFor(key).get(key, true);
+		if (value != null) {
+			this.hitCount.increment();
+		}
+		else {
+			this.missCount.increment();
+		}
+		return value;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		Object storeValue = lookup(key);
+		if (storeValue == null) {
+			storeValue = load(key, valueLoader);
+		}
+		return (T) fromStoreValue(storeValue);
+	}
+
+	private Object load(Object key, Callable<?> valueLoader) {
+		Segment segment = segmentFor(key);
+		LoadTask newTask = new LoadTask(() -> {
+			Object storeValue = segment.get(key, false);
+			if (storeValue == null) {
+				storeValue = toStoreValue(valueLoader.call());
+				segment.put(key, storeValue, false);
+			}
+			return storeValue;
+		});
+		LoadTask task = this.loadsInProgress.putIfAbsent(key, newTask);
+		if (task != null && task.loadingThread == Thread.currentThread()) {
+			throw new IllegalStateException("Recursive load of cache entry for key '" + key + "'");
+		}
+		if (task == null) {
+			task = newTask;
+			try {
+				task.run();
+			}
+			finally {
+				this.loadsInProgress.remove(key, task);
+			}
+		}
+		try {
+			return task.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new ValueRetrievalException(key, valueLoader, ex);
+		}
+		catch (ExecutionException ex) {
+			throw new ValueRetrievalException(key, valueLoader, ex.getCause());
+		}
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		segmentFor(key).put(key, toStoreValue(value), false);
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		Object existing = segmentFor(key).put(key, toStoreValue(value), true);
+		return toValueWrapper(existing);
+	}
+
+	@Override
+	public void evict(Object key) {
+		segmentFor(key).remove(key);
+	}
+
+	@Override
+	public void clear() {
+		for (Segment segment : this.segments) {
+			segment.clear();
+		}
+	}
+
+	private Segment segmentFor(Object key) {
+		int hash = key.hashCode();
+		hash ^= (hash >>> 16);
+		return this.segments[hash & (this.segments.length - 1)];
+	}
+
+	@Override
+	protected Object toStoreValue(@Nullable Object userValue) {
+		Object storeValue = super.toStoreValue(userValue);
+		if (this.serialization != null) {
+			try {
+				return serializeValue(this.serialization, storeValue);
+			}
+			catch (Throwable ex) {
+				throw new IllegalArgumentException("Failed to serialize cache value '" + userValue +
+						"'. Does it implement Serializable?", ex);
+			}
+		}
+		else {
+			return storeValue;
+		}
+	}
+
+	private Object serializeValue(SerializationDelegate serialization, Object storeValue) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			serialization.serialize(storeValue, out);
+			return out.toByteArray();
+		}
+		finally {
+			out.close();
+		}
+	}
+
+	@Override
+	protected Object fromStoreValue(@Nullable Object storeValue) {
+		if (storeValue != null && this.serialization != null) {
+			try {
+				return super.fromStoreValue(deserializeValue(this.serialization, storeValue));
+			}
+			catch (Throwable ex) {
+				throw new IllegalArgumentException("Failed to deserialize cache value '" + storeValue + "'", ex);
+			}
+		}
+		else {
+			return super.fromStoreValue(storeValue);
+		}
+	}
+
+	private Object deserializeValue(SerializationDelegate serialization, Object storeValue) throws IOException {
+		ByteArrayInputStream in = new ByteArrayInputStream((byte[]) storeValue);
+		try {
+			return serialization.deserialize(in);
+		}
+		finally {
+			in.close();
+		}
+	}
+
+
+	/**
+	 * A cache entry, holding the store value and the time it was written.
+	 */
+	private static final class Entry {
+
+		final Object value;
+
+		final long writeTime;
+
+		Entry(Object value, long writeTime) {
+			this.value = value;
+			this.writeTime = writeTime;
+		}
+	}
+
+
+	/**
+	 * A value load in progress, remembering the thread that performs it.
+	 */
+	private static final class LoadTask extends FutureTask<Object> {
+
+		final Thread loadingThread = Thread.currentThread();
+
+		LoadTask(Callable<Object> callable) {
+			super(callable);
+		}
+	}
+
+
+	/**
+	 * A segment of the cache, applying a segmented LRU policy to its entries.
+	 * The protected area is kept in least-recently-used order; the probationary
+	 * area is kept in order of insertion or demotion, since an entry leaves it
+	 * on its first read.
+	 */
+	@SuppressWarnings("serial")
+	private final class Segment extends ReentrantLock {
+
+		private final long capacity;
+
+		private final long protectedCapacity;
+
+		private final LinkedHashMap<Object, Entry> probation = new LinkedHashMap<>(16, 0.75f, false);
+
+		private final LinkedHashMap<Object, Entry> protectedArea = new LinkedHashMap<>(16, 0.75f, true);
+
+		Segment(long capacity) {
+			this.capacity = capacity;
+			this.protectedCapacity = (capacity * 4) / 5;
+		}
+
+		@Nullable
+		Object get(Object key, boolean promote) {
+			long now = currentTime();
+			lock();
+			try {
+				Entry entry = this.protectedArea.get(key);
+				if (entry != null) {
+					if (isExpired(entry, now)) {
+						this.protectedArea.remove(key);
+						evictionCount.increment();
+						return null;
+					}
+					return entry.value;
+				}
+				entry = this.probation.get(key);
+				if (entry == null) {
+					return null;
+				}
+				if (isExpired(entry, now)) {
+					this.probation.remove(key);
+					evictionCount.increment();
+					return null;
+				}
+				if (promote && this.protectedCapacity > 0) {
+					this.probation.remove(key);
+					this.protectedArea.put(key, entry);
+					if (this.protectedArea.size() > this.protectedCapacity) {
+						Iterator<Map.Entry<Object, Entry>> it = this.protectedArea.entrySet().iterator();
+						Map.Entry<Object, Entry> eldest = it.next();
+						it.remove();
+						this.probation.put(eldest.getKey(), eldest.getValue());
+					}
+				}
+				return entry.value;
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		@Nullable
+		Object put(Object key, Object value, boolean onlyIfAbsent) {
+			long now = currentTime();
+			lock();
+			try {
+				Entry existing = this.protectedArea.get(key);
+				if (existing == null) {
+					existing = this.probation.get(key);
+				}
+				if (existing != null && isExpired(existing, now)) {
+					existing = null;
+				}
+				if (existing != null && onlyIfAbsent) {
+					return existing.value;
+				}
+				Entry entry = new Entry(value, now);
+				if (this.protectedArea.containsKey(key)) {
+					this.protectedArea.put(key, entry);
+				}
+				else {
+					this.probation.remove(key);
+					this.probation.put(key, entry);
+					evictIfNecessary();
+				}
+				return (existing != null ? existing.value : null);
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		void remove(Object key) {
+			lock();
+			try {
+				if (this.protectedArea.remove(key) == null) {
+					this.probation.remove(key);
+				}
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		void clear() {
+			lock();
+			try {
+				this.protectedArea.clear();
+				this.probation.clear();
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		long size() {
+			lock();
+			try {
+				return this.protectedArea.size() + this.probation.size();
+			}
+			finally {
+				unlock();
+			}
+		}
+
+		private void evictIfNecessary() {
+			while (this.protectedArea.size() + this.probation.size() > this.capacity) {
+				LinkedHashMap<Object, Entry> victims = (!this.probation.isEmpty() ? this.probation : this.protectedArea);
+				Iterator<Entry> it = victims.values().iterator();
+				it.next();
+				it.remove();
+				evictionCount.increment();
+			}
+		}
+
+		private long currentTime() {
+			return (expireAfterWriteNanos > 0 ? System.nanoTime() : 0);
+		}
+
+		private boolean isExpired(Entry entry, long now) {
+			return (expireAfterWriteNanos > 0 && now - entry.writeTime >= expireAfterWriteNanos);
+		}
+	}
+
+}
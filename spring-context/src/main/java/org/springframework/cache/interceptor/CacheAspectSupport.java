@@ -25,11 +25,20 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.aop.framework.AopProxyUtils;
 import org.springframework.aop.support.AopUtils;
@@ -44,6 +53,9 @@ import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.MethodClassKey;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -52,6 +64,7 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.util.function.SingletonSupplier;
 import org.springframework.util.function.SupplierUtils;
@@ -83,12 +96,21 @@ import org.springframework.util.function.SupplierUtils;
 public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		implements BeanFactoryAware, InitializingBean, SmartInitializingSingleton {
 
+	private static final boolean reactorPresent = ClassUtils.isPresent(
+			"reactor.core.publisher.Mono", CacheAspectSupport.class.getClassLoader());
+
+
 	protected final Log logger = LogFactory.getLog(getClass());
 
 	private final Map<CacheOperationCacheKey, CacheOperationMetadata> metadataCache = new ConcurrentHashMap<>(1024);
 
+	private final Map<MethodClassKey, CacheOperationPlan> planCache = new ConcurrentHashMap<>(1024);
+
 	private final CacheOperationExpressionEvaluator evaluator = new CacheOperationExpressionEvaluator();
 
+	private final ConcurrentMap<InvocationKey, CoalescedInvocation> invocationsInProgress =
+			new ConcurrentHashMap<>(64);
+
 	@Nullable
 	private CacheOperationSource cacheOperationSource;
 
@@ -100,6 +122,10 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	@Nullable
 	private BeanFactory beanFactory;
 
+	private boolean coalesceMisses = false;
+
+	private boolean planningEnabled = false;
+
 	private boolean initialized = false;
 
 
@@ -194,6 +220,39 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		this.cacheResolver = SingletonSupplier.of(new SimpleCacheResolver(cacheManager));
 	}
 
+	/**
+	 * Specify whether concurrent {@code @Cacheable} misses for the same cache
+	 * and key should be coalesced into a single invocation of the underlying
+	 * method, independent of the {@link Cache} implementation in use.
+	 * <p>Default is "false". If enabled, the first caller for a given cache and
+	 * key invokes the method and populates the cache, while any concurrent caller
+	 * for the same cache and key waits for and shares that result (or exception).
+	 * Callers for other keys are not affected. For methods returning a
+	 * {@link CompletionStage}, concurrent callers share the same pending result
+	 * until it completes. Likewise, for methods returning a reactive type such
+	 * as Reactor's {@code Mono}, the cache receives a publisher that replays a
+	 * single subscription to the returned publisher, shared by concurrent callers
+	 * and later cache hits alike; it is evicted again if that subscription fails.
+	 * <p>A recursive call for the same cache and key on the thread performing
+	 * the invocation is not coalesced, since it cannot wait for itself.
+	 * <p>This does not apply to {@code @Cacheable(sync=true)} operations, which
+	 * delegate to {@link Cache#get(Object, java.util.concurrent.Callable)}, nor
+	 * to methods that also declare {@code @CachePut} operations.
+	 * @since 5.1.15
+	 */
+	public void setCoalesceMisses(boolean coalesceMisses) {
+		this.coalesceMisses = coalesceMisses;
+	}
+
+	/**
+	 * Return whether concurrent {@code @Cacheable} misses for the same cache
+	 * and key are coalesced into a single invocation.
+	 * @since 5.1.15
+	 */
+	public boolean isCoalesceMisses() {
+		return this.coalesceMisses;
+	}
+
 	/**
 	 * Set the containing {@link BeanFactory} for {@link CacheManager} and other
 	 * service lookups.
@@ -228,9 +287,19 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 						"Register a CacheManager bean or remove the @EnableCaching annotation from your configuration.");
 			}
 		}
+		// Precomputed plans bypass the per-invocation context arrangement,
+		// so only use them if a subclass does not customize that arrangement
+		this.planningEnabled = (isDeclaredHere("getOperationContext",
+				CacheOperation.class, Method.class, Object[].class, Object.class, Class.class) &&
+				isDeclaredHere("getCaches", CacheOperationInvocationContext.class, CacheResolver.class));
 		this.initialized = true;
 	}
 
+	private boolean isDeclaredHere(String methodName, Class<?>... paramTypes) {
+		Method method = ReflectionUtils.findMethod(getClass(), methodName, paramTypes);
+		return (method != null && method.getDeclaringClass() == CacheAspectSupport.class);
+	}
+
 
 	/**
 	 * Convenience method to return a String representation of this Method
@@ -330,6 +399,7 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	 */
 	protected void clearMetadataCache() {
 		this.metadataCache.clear();
+		this.planCache.clear();
 		this.evaluator.clear();
 	}
 
@@ -340,10 +410,13 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			Class<?> targetClass = getTargetClass(target);
 			CacheOperationSource cacheOperationSource = getCacheOperationSource();
 			if (cacheOperationSource != null) {
-				Collection<CacheOperation> operations = cacheOperationSource.getCacheOperations(method, targetClass);
-				if (!CollectionUtils.isEmpty(operations)) {
+				CacheOperationPlan plan = getCacheOperationPlan(cacheOperationSource, method, targetClass);
+				if (plan != null) {
+					if (plan.isExecutable() && !this.coalesceMisses) {
+						return plan.execute(invoker, method, target, args);
+					}
 					return execute(invoker, method,
-							new CacheOperationContexts(operations, method, args, target, targetClass));
+							new CacheOperationContexts(plan.operations, method, args, target, targetClass));
 				}
 			}
 		}
@@ -369,6 +442,56 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return AopProxyUtils.ultimateTargetClass(target);
 	}
 
+	/**
+	 * Return the {@link CacheOperationPlan} for the specified method and target
+	 * class. Executable plans are computed on first invocation and retained;
+	 * otherwise, the cache operations are looked up for every invocation.
+	 * @return the plan, or {@code null} if the method has no cache operations
+	 */
+	@Nullable
+	private CacheOperationPlan getCacheOperationPlan(
+			CacheOperationSource cacheOperationSource, Method method, Class<?> targetClass) {
+
+		MethodClassKey planKey = null;
+		if (this.planningEnabled) {
+			planKey = new MethodClassKey(method, targetClass);
+			CacheOperationPlan plan = this.planCache.get(planKey);
+			if (plan != null) {
+				return plan;
+			}
+		}
+		Collection<CacheOperation> operations = cacheOperationSource.getCacheOperations(method, targetClass);
+		if (CollectionUtils.isEmpty(operations)) {
+			return null;
+		}
+		CacheOperationPlan plan = createCacheOperationPlan(operations, method, targetClass);
+		if (planKey != null && plan.isExecutable()) {
+			this.planCache.put(planKey, plan);
+		}
+		return plan;
+	}
+
+	private CacheOperationPlan createCacheOperationPlan(
+			Collection<CacheOperation> operations, Method method, Class<?> targetClass) {
+
+		if (!this.planningEnabled || operations.size() != 1) {
+			return new CacheOperationPlan(operations);
+		}
+		CacheOperation operation = operations.iterator().next();
+		if (!(operation instanceof CacheableOperation) || ((CacheableOperation) operation).isSync() ||
+				StringUtils.hasText(((CacheableOperation) operation).getUnless()) ||
+				StringUtils.hasText(operation.getCondition()) || StringUtils.hasText(operation.getKey()) ||
+				operation.getCacheNames().size() != 1) {
+			return new CacheOperationPlan(operations);
+		}
+		CacheOperationMetadata metadata = getCacheOperationMetadata(operation, method, targetClass);
+		if (metadata.method.isVarArgs() || metadata.cacheResolver.getClass() != SimpleCacheResolver.class) {
+			return new CacheOperationPlan(operations);
+		}
+		CacheManager cacheManager = ((SimpleCacheResolver) metadata.cacheResolver).getCacheManager();
+		return new CacheOperationPlan(operations, metadata, cacheManager, operation.getCacheNames().iterator().next());
+	}
+
 	@Nullable
 	private Object execute(final CacheOperationInvoker invoker, Method method, CacheOperationContexts contexts) {
 		// Special handling of synchronized invocation
@@ -415,6 +538,14 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 			cacheValue = cacheHit.get();
 			returnValue = wrapCacheValue(method, cacheValue);
 		}
+		else if (cacheHit == null && this.coalesceMisses && !cachePutRequests.isEmpty() &&
+				contexts.get(CachePutOperation.class).isEmpty()) {
+			// Share a single invocation among concurrent misses for the same key,
+			// which also takes care of the put requests
+			returnValue = invokeCoalesced(invoker, method, cachePutRequests);
+			cacheValue = unwrapReturnValue(returnValue);
+			cachePutRequests.clear();
+		}
 		else {
 			// Invoke the method if we don't have a cache hit
 			returnValue = invokeOperation(invoker);
@@ -435,6 +566,135 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 		return returnValue;
 	}
 
+	/**
+	 * Invoke the underlying operation for a {@code @Cacheable} miss, unless an
+	 * invocation for the same caches and keys is already in progress, in which
+	 * case its outcome is awaited and shared.
+	 * @param invoker the invoker handling the operation being cached
+	 * @param method the method being invoked
+	 * @param cachePutRequests the put requests to apply with the result
+	 * @return the result of the (possibly shared) invocation
+	 */
+	@Nullable
+	private Object invokeCoalesced(
+			CacheOperationInvoker invoker, Method method, List<CachePutRequest> cachePutRequests) {
+
+		InvocationKey invocationKey = new InvocationKey(cachePutRequests);
+		CoalescedInvocation invocation = new CoalescedInvocation();
+		CoalescedInvocation existing = this.invocationsInProgress.putIfAbsent(invocationKey, invocation);
+		if (existing != null) {
+			if (existing.isInvokingOnCurrentThread()) {
+				// Recursive call for the same key: waiting for ourselves would never return
+				if (logger.isTraceEnabled()) {
+					logger.trace("Bypassing coalescing for recursive invocation for " + invocationKey);
+				}
+				Object returnValue = invokeOperation(invoker);
+				Object cacheValue = unwrapReturnValue(returnValue);
+				for (CachePutRequest cachePutRequest : cachePutRequests) {
+					cachePutRequest.apply(cacheValue);
+				}
+				return returnValue;
+			}
+			if (logger.isTraceEnabled()) {
+				logger.trace("Awaiting invocation in progress for " + invocationKey);
+			}
+			// The shared outcome is the cache value: adapt it to this method's return type
+			return wrapCacheValue(method, awaitInvocation(existing));
+		}
+
+		boolean removeOnReturn = true;
+		try {
+			// An invocation that completed between our cache lookup and the registration
+			// of this one has already put its result into the cache
+			Cache.ValueWrapper cacheHit = findCachedResult(cachePutRequests);
+			if (cacheHit != null) {
+				invocation.invoker = null;
+				invocation.complete(cacheHit.get());
+				return wrapCacheValue(method, cacheHit.get());
+			}
+
+			Object returnValue;
+			try {
+				returnValue = invokeOperation(invoker);
+			}
+			finally {
+				invocation.invoker = null;
+			}
+			if (returnValue instanceof CompletionStage) {
+				// Keep sharing the pending result until it is available
+				removeOnReturn = false;
+				Runnable release = () -> this.invocationsInProgress.remove(invocationKey, invocation);
+				((CompletionStage<?>) returnValue).whenComplete((result, ex) -> release.run());
+			}
+			else if (reactorPresent && returnValue != null) {
+				// Cache a single replayed subscription to the reactive result rather than
+				// the original publisher, so that later cache hits do not subscribe to the
+				// underlying operation again; a failed result is evicted once it terminates
+				List<CachePutRequest> putRequests = new ArrayList<>(cachePutRequests);
+				Object sharedValue = ReactiveCoalescingDelegate.share(returnValue,
+						failedValue -> evictFailedResult(putRequests, failedValue));
+				if (sharedValue != null) {
+					returnValue = sharedValue;
+				}
+			}
+			Object cacheValue = unwrapReturnValue(returnValue);
+			for (CachePutRequest cachePutRequest : cachePutRequests) {
+				cachePutRequest.apply(cacheValue);
+			}
+			invocation.complete(cacheValue);
+			return returnValue;
+		}
+		catch (RuntimeException | Error ex) {
+			invocation.completeExceptionally(ex);
+			throw ex;
+		}
+		finally {
+			if (removeOnReturn) {
+				this.invocationsInProgress.remove(invocationKey, invocation);
+			}
+		}
+	}
+
+	@Nullable
+	private Cache.ValueWrapper findCachedResult(List<CachePutRequest> cachePutRequests) {
+		for (CachePutRequest cachePutRequest : cachePutRequests) {
+			Cache.ValueWrapper cached = findInCaches(cachePutRequest.context, cachePutRequest.key);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		return null;
+	}
+
+	private void evictFailedResult(List<CachePutRequest> cachePutRequests, Object failedValue) {
+		for (CachePutRequest cachePutRequest : cachePutRequests) {
+			for (Cache cache : cachePutRequest.context.getCaches()) {
+				// Leave the entry alone if it has been replaced in the meantime
+				Cache.ValueWrapper cached = doGet(cache, cachePutRequest.key);
+				if (cached != null && cached.get() == failedValue) {
+					doEvict(cache, cachePutRequest.key);
+				}
+			}
+		}
+	}
+
+	@Nullable
+	private Object awaitInvocation(CompletableFuture<Object> invocation) {
+		try {
+			return invocation.join();
+		}
+		catch (CompletionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new CacheOperationInvoker.ThrowableWrapper(cause != null ? cause : ex);
+		}
+	}
+
 	@Nullable
 	private Object wrapCacheValue(Method method, @Nullable Object cacheValue) {
 		if (method.getReturnType() == Optional.class &&
@@ -647,6 +907,88 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 
+	/**
+	 * Invocation plan for a method on a given target class, precomputed on its
+	 * first invocation and holding the cache operations that apply to it.
+	 * <p>A method with a single {@code @Cacheable} operation on a single cache that
+	 * declares neither a key expression nor a condition, {@code unless} or
+	 * {@code sync} attribute, and whose cache is resolved by name against a
+	 * {@link CacheManager}, is served without creating any
+	 * {@link CacheOperationContext} or evaluation context: a cache hit costs a
+	 * key generation (which does not allocate for a single argument with the
+	 * default {@link SimpleKeyGenerator}) and a cache lookup. Other methods are
+	 * handled through the regular {@link CacheOperationContexts} arrangement.
+	 */
+	private final class CacheOperationPlan {
+
+		private final Collection<CacheOperation> operations;
+
+		@Nullable
+		private final CacheOperationMetadata metadata;
+
+		@Nullable
+		private final CacheManager cacheManager;
+
+		@Nullable
+		private final String cacheName;
+
+		public CacheOperationPlan(Collection<CacheOperation> operations) {
+			this.operations = operations;
+			this.metadata = null;
+			this.cacheManager = null;
+			this.cacheName = null;
+		}
+
+		public CacheOperationPlan(Collection<CacheOperation> operations, CacheOperationMetadata metadata,
+				CacheManager cacheManager, String cacheName) {
+
+			this.operations = operations;
+			this.metadata = metadata;
+			this.cacheManager = cacheManager;
+			this.cacheName = cacheName;
+		}
+
+		/**
+		 * Determine whether this plan can serve an invocation by itself, without
+		 * going through the regular {@link CacheOperationContexts} arrangement.
+		 */
+		public boolean isExecutable() {
+			return (this.metadata != null);
+		}
+
+		@Nullable
+		public Object execute(CacheOperationInvoker invoker, Method method, Object target, Object[] args) {
+			CacheOperationMetadata metadata = this.metadata;
+			CacheManager cacheManager = this.cacheManager;
+			String cacheName = this.cacheName;
+			Assert.state(metadata != null && cacheManager != null && cacheName != null, "Plan not applicable");
+
+			Object key = metadata.keyGenerator.generate(target, metadata.method, args);
+			if (key == null) {
+				throw new IllegalArgumentException("Null key returned for cache operation (maybe you are " +
+						"using named params on classes without debug info?) " + metadata.operation);
+			}
+			// Resolved per invocation since a CacheManager may replace its caches
+			Cache cache = cacheManager.getCache(cacheName);
+			if (cache == null) {
+				throw new IllegalArgumentException("Cannot find cache named '" +
+						cacheName + "' for " + metadata.operation);
+			}
+
+			Cache.ValueWrapper cacheHit = doGet(cache, key);
+			if (cacheHit != null) {
+				return wrapCacheValue(method, cacheHit.get());
+			}
+			if (logger.isTraceEnabled()) {
+				logger.trace("No cache entry for key '" + key + "' in cache '" + cacheName + "'");
+			}
+			Object returnValue = invokeOperation(invoker);
+			doPut(cache, key, unwrapReturnValue(returnValue));
+			return returnValue;
+		}
+	}
+
+
 	/**
 	 * Metadata of a cache operation that does not depend on a particular invocation
 	 * which makes it a good candidate for caching.
@@ -824,6 +1166,103 @@ public abstract class CacheAspectSupport extends AbstractCacheInvoker
 	}
 
 
+	/**
+	 * The cache value resulting from an invocation in progress, along with the thread
+	 * performing the invocation as long as it has not returned.
+	 */
+	@SuppressWarnings("serial")
+	private static final class CoalescedInvocation extends CompletableFuture<Object> {
+
+		@Nullable
+		volatile Thread invoker = Thread.currentThread();
+
+		boolean isInvokingOnCurrentThread() {
+			return (this.invoker == Thread.currentThread());
+		}
+	}
+
+
+	/**
+	 * Inner class to avoid a hard dependency on Reactor at runtime.
+	 */
+	private static class ReactiveCoalescingDelegate {
+
+		/**
+		 * Share a single subscription to the given reactive result among all
+		 * subscribers, replaying its signals.
+		 * @param returnValue the reactive result to share
+		 * @param onError callback for the shared result if the subscription fails
+		 * @return the shared result, or {@code null} if the given value is
+		 * not of a known reactive type
+		 */
+		@Nullable
+		public static Object share(Object returnValue, Consumer<Object> onError) {
+			ReactiveAdapter adapter = ReactiveAdapterRegistry.getSharedInstance().getAdapter(returnValue.getClass());
+			if (adapter == null) {
+				return null;
+			}
+			AtomicReference<Object> sharedValue = new AtomicReference<>();
+			Publisher<?> publisher = (adapter.isMultiValue() ?
+					Flux.from(adapter.toPublisher(returnValue))
+							.doOnError(ex -> onError.accept(sharedValue.get())).cache() :
+					Mono.from(adapter.toPublisher(returnValue))
+							.doOnError(ex -> onError.accept(sharedValue.get())).cache());
+			sharedValue.set(adapter.fromPublisher(publisher));
+			return sharedValue.get();
+		}
+	}
+
+
+	/**
+	 * Identifies an invocation in progress for the given caches and keys.
+	 */
+	private static final class InvocationKey {
+
+		private final List<Cache> caches = new ArrayList<>(2);
+
+		private final List<Object> keys = new ArrayList<>(2);
+
+		private InvocationKey(List<CachePutRequest> cachePutRequests) {
+			for (CachePutRequest cachePutRequest : cachePutRequests) {
+				for (Cache cache : cachePutRequest.context.getCaches()) {
+					this.caches.add(cache);
+					this.keys.add(cachePutRequest.key);
+				}
+			}
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof InvocationKey)) {
+				return false;
+			}
+			InvocationKey otherKey = (InvocationKey) other;
+			return (this.caches.equals(otherKey.caches) && this.keys.equals(otherKey.keys));
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.caches.hashCode() * 31 + this.keys.hashCode());
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder();
+			for (int i = 0; i < this.caches.size(); i++) {
+				if (i > 0) {
+					sb.append(", ");
+				}
+				sb.append("key '").append(this.keys.get(i)).append("' in cache '")
+						.append(this.caches.get(i).getName()).append("'");
+			}
+			return sb.toString();
+		}
+	}
+
+
 	private static final class CacheOperationCacheKey implements Comparable<CacheOperationCacheKey> {
 
 		private final CacheOperation cacheOperation;
@@ -0,0 +1,344 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.cache.Cache;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link Cache} implementation that fronts a (typically remote) target cache
+ * with a near cache, typically a bounded in-process cache such as
+ * {@link org.springframework.cache.concurrent.BoundedConcurrentMapCache}.
+ *
+ * <p>Lookups are served from the near cache if possible, falling back to the
+ * target cache and populating the near cache with the result. Writes and
+ * evictions are applied to the target cache first and then to the near cache,
+ * so that {@code @CachePut} and {@code @CacheEvict} operations going through
+ * this cache invalidate the local copy. Changes applied to the target cache
+ * by other processes are only picked up once the near entry is stale.
+ *
+ * <p>Near entries may be given a {@link #getNearTimeToLive() time to live},
+ * after which they are considered stale and reloaded from the target cache.
+ * With a {@link #getRefreshAheadFactor() refresh-ahead factor}, an entry that
+ * is read after that fraction of its time to live has elapsed is reloaded
+ * asynchronously while the caller is served the current value, so that hot
+ * keys do not block callers on the target cache.
+ *
+ * @since 5.1.15
+ * @see TwoLevelCacheManager
+ */
+public class TwoLevelCache implements Cache {
+
+	private static final int STAMP_STRIPES = 64;
+
+	private static final Log logger = LogFactory.getLog(TwoLevelCache.class);
+
+
+	private final Cache nearCache;
+
+	private final Cache targetCache;
+
+	private final long nearTimeToLiveNanos;
+
+	private final long refreshAheadNanos;
+
+	@Nullable
+	private final Executor refreshExecutor;
+
+	private final ConcurrentMap<Object, Boolean> refreshesInProgress = new ConcurrentHashMap<>(16);
+
+	// Incremented per stripe of keys on every write or eviction, so that a value
+	// read from the target cache concurrently does not outlive it in the near cache
+	private final AtomicLongArray stamps = new AtomicLongArray(STAMP_STRIPES);
+
+
+	/**
+	 * Create a new TwoLevelCache with the given near and target caches,
+	 * keeping near entries until they are evicted by the near cache itself.
+	 * @param nearCache the near cache to serve lookups from
+	 * @param targetCache the target cache to delegate to
+	 */
+	public TwoLevelCache(Cache nearCache, Cache targetCache) {
+		this(nearCache, targetCache, null, 0, null);
+	}
+
+	/**
+	 * Create a new TwoLevelCache with the given near and target caches.
+	 * @param nearCache the near cache to serve lookups from
+	 * @param targetCache the target cache to delegate to
+	 * @param nearTimeToLive the time after which a near entry is stale,
+	 * or {@code null} for near entries to never become stale
+	 * @param refreshAheadFactor the fraction (between 0 and 1) of the time to
+	 * live after which a read triggers an asynchronous refresh, or 0 to disable
+	 * refresh-ahead
+	 * @param refreshExecutor the executor to perform refreshes with
+	 * (required if refresh-ahead is enabled)
+	 */
+	public TwoLevelCache(Cache nearCache, Cache targetCache, @Nullable Duration nearTimeToLive,
+			double refreshAheadFactor, @Nullable Executor refreshExecutor) {
+
+		Assert.notNull(nearCache, "Near cache must not be null");
+		Assert.notNull(targetCache, "Target cache must not be null");
+		Assert.isTrue(refreshAheadFactor >= 0 && refreshAheadFactor < 1,
+				"Refresh-ahead factor must be between 0 (inclusive) and 1 (exclusive)");
+		Assert.isTrue(refreshAheadFactor == 0 || (nearTimeToLive != null && refreshExecutor != null),
+				"Refresh-ahead requires a near time to live and a refresh executor");
+		this.nearCache = nearCache;
+		this.targetCache = targetCache;
+		this.nearTimeToLiveNanos = (nearTimeToLive != null ? nearTimeToLive.toNanos() : 0);
+		this.refreshAheadNanos = (long) (this.nearTimeToLiveNanos * refreshAheadFactor);
+		this.refreshExecutor = refreshExecutor;
+	}
+
+
+	@Override
+	public String getName() {
+		return this.targetCache.getName();
+	}
+
+	/**
+	 * This implementation returns the native cache of the target cache.
+	 */
+	@Override
+	public Object getNativeCache() {
+		return this.targetCache.getNativeCache();
+	}
+
+	/**
+	 * Return the near cache that lookups are served from.
+	 */
+	public Cache getNearCache() {
+		return this.nearCache;
+	}
+
+	/**
+	 * Return the target cache that this cache delegates to.
+	 */
+	public Cache getTargetCache() {
+		return this.targetCache;
+	}
+
+	/**
+	 * Return the time after which a near entry is stale, if any.
+	 */
+	@Nullable
+	public Duration getNearTimeToLive() {
+		return (this.nearTimeToLiveNanos > 0 ? Duration.ofNanos(this.nearTimeToLiveNanos) : null);
+	}
+
+	/**
+	 * Return the fraction of the near time to live after which a read
+	 * triggers an asynchronous refresh, or 0 if refresh-ahead is disabled.
+	 */
+	public double getRefreshAheadFactor() {
+		return (this.nearTimeToLiveNanos > 0 ? (double) this.refreshAheadNanos / this.nearTimeToLiveNanos : 0);
+	}
+
+
+	@Override
+	@Nullable
+	public ValueWrapper get(Object key) {
+		NearEntry entry = getNearEntry(key);
+		if (entry != null) {
+			return entry;
+		}
+		long stamp = getStamp(key);
+		ValueWrapper wrapper = this.targetCache.get(key);
+		if (wrapper != null) {
+			putNearEntry(key, wrapper.get(), stamp);
+		}
+		return wrapper;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, @Nullable Class<T> type) {
+		ValueWrapper wrapper = get(key);
+		Object value = (wrapper != null ? wrapper.get() : null);
+		if (value != null && type != null && !type.isInstance(value)) {
+			throw new IllegalStateException(
+					"Cached value is not of required type [" + type.getName() + "]: " + value);
+		}
+		return (T) value;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public <T> T get(Object key, Callable<T> valueLoader) {
+		NearEntry entry = getNearEntry(key);
+		if (entry != null) {
+			return (T) entry.get();
+		}
+		long stamp = getStamp(key);
+		T value = this.targetCache.get(key, valueLoader);
+		putNearEntry(key, value, stamp);
+		return value;
+	}
+
+	@Override
+	public void put(Object key, @Nullable Object value) {
+		this.targetCache.put(key, value);
+		putNearEntry(key, value, invalidate(key));
+	}
+
+	@Override
+	@Nullable
+	public ValueWrapper putIfAbsent(Object key, @Nullable Object value) {
+		ValueWrapper existing = this.targetCache.putIfAbsent(key, value);
+		putNearEntry(key, (existing != null ? existing.get() : value), invalidate(key));
+		return existing;
+	}
+
+	@Override
+	public void evict(Object key) {
+		this.targetCache.evict(key);
+		invalidate(key);
+		this.nearCache.evict(key);
+	}
+
+	@Override
+	public void clear() {
+		this.targetCache.clear();
+		for (int i = 0; i < STAMP_STRIPES; i++) {
+			this.stamps.incrementAndGet(i);
+		}
+		this.nearCache.clear();
+	}
+
+
+	@Nullable
+	private NearEntry getNearEntry(Object key) {
+		NearEntry entry = this.nearCache.get(key, NearEntry.class);
+		if (entry == null || this.nearTimeToLiveNanos == 0) {
+			return entry;
+		}
+		long age = System.nanoTime() - entry.loadTime;
+		if (age >= this.nearTimeToLiveNanos) {
+			return null;
+		}
+		if (this.refreshAheadNanos > 0 && age >= this.refreshAheadNanos) {
+			refresh(key, entry);
+		}
+		return entry;
+	}
+
+	/**
+	 * Put the given value into the near cache, unless the key has been written
+	 * or evicted since the given stamp was obtained: the value might be stale then.
+	 */
+	private void putNearEntry(Object key, @Nullable Object value, long stamp) {
+		this.nearCache.put(key, new NearEntry(value, (this.nearTimeToLiveNanos > 0 ? System.nanoTime() : 0)));
+		if (getStamp(key) != stamp) {
+			// Leave it to the next read to load the current value
+			this.nearCache.evict(key);
+		}
+	}
+
+	private long getStamp(Object key) {
+		return this.stamps.get(getStampIndex(key));
+	}
+
+	private long invalidate(Object key) {
+		return this.stamps.incrementAndGet(getStampIndex(key));
+	}
+
+	private static int getStampIndex(Object key) {
+		int hash = key.hashCode();
+		return ((hash ^ (hash >>> 16)) & (STAMP_STRIPES - 1));
+	}
+
+	private void refresh(Object key, NearEntry staleEntry) {
+		Executor executor = this.refreshExecutor;
+		if (executor == null || this.refreshesInProgress.putIfAbsent(key, Boolean.TRUE) != null) {
+			return;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					long stamp = getStamp(key);
+					ValueWrapper wrapper = this.targetCache.get(key);
+					// Only replace the entry that triggered the refresh, not a newer one
+					NearEntry currentEntry = this.nearCache.get(key, NearEntry.class);
+					if (currentEntry != null && currentEntry.loadTime == staleEntry.loadTime) {
+						if (wrapper != null) {
+							putNearEntry(key, wrapper.get(), stamp);
+						}
+						else {
+							this.nearCache.evict(key);
+						}
+					}
+				}
+				catch (Throwable ex) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Failed to refresh near cache entry for key '" + key +
+								"' in cache '" + getName() + "'", ex);
+					}
+				}
+				finally {
+					this.refreshesInProgress.remove(key);
+				}
+			});
+		}
+		catch (RejectedExecutionException ex) {
+			this.refreshesInProgress.remove(key);
+			if (logger.isDebugEnabled()) {
+				logger.debug("Refresh of near cache entry for key '" + key + "' rejected", ex);
+			}
+		}
+	}
+
+
+	/**
+	 * A near cache entry, holding the (possibly {@code null}) value
+	 * and the time it was loaded from the target cache.
+	 */
+	@SuppressWarnings("serial")
+	private static final class NearEntry implements ValueWrapper, Serializable {
+
+		@Nullable
+		private final Object value;
+
+		private final long loadTime;
+
+		NearEntry(@Nullable Object value, long loadTime) {
+			this.value = value;
+			this.loadTime = loadTime;
+		}
+
+		@Override
+		@Nullable
+		public Object get() {
+			return this.value;
+		}
+	}
+
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+/**
+ * {@link CacheManager} that fronts each cache of a (typically remote) target
+ * cache manager with the cache of the same name from a near cache manager,
+ * exposing them as {@link TwoLevelCache} instances.
+ *
+ * <p>The near cache manager is typically a
+ * {@link org.springframework.cache.concurrent.ConcurrentMapCacheManager} with
+ * a {@link org.springframework.cache.concurrent.ConcurrentMapCacheManager#setMaximumSize
+ * maximum size}. Caches that the near cache manager does not provide are
+ * exposed as-is from the target cache manager.
+ *
+ * @since 5.1.15
+ * @see TwoLevelCache
+ */
+public class TwoLevelCacheManager extends AbstractCacheManager implements DisposableBean {
+
+	/** The number of threads of the default refresh executor. */
+	public static final int DEFAULT_REFRESH_THREADS = 2;
+
+	/** The maximum number of pending refreshes of the default refresh executor. */
+	public static final int DEFAULT_REFRESH_QUEUE_CAPACITY = 1024;
+
+
+	private final CacheManager nearCacheManager;
+
+	private final CacheManager targetCacheManager;
+
+	@Nullable
+	private Duration nearTimeToLive;
+
+	private double refreshAheadFactor = 0;
+
+	@Nullable
+	private Executor refreshExecutor;
+
+	@Nullable
+	private ThreadPoolExecutor defaultRefreshExecutor;
+
+
+	/**
+	 * Create a new TwoLevelCacheManager for the given cache managers.
+	 * @param nearCacheManager the cache manager providing the near caches
+	 * @param targetCacheManager the cache manager providing the target caches
+	 */
+	public TwoLevelCacheManager(CacheManager nearCacheManager, CacheManager targetCacheManager) {
+		Assert.notNull(nearCacheManager, "Near CacheManager must not be null");
+		Assert.notNull(targetCacheManager, "Target CacheManager must not be null");
+		this.nearCacheManager = nearCacheManager;
+		this.targetCacheManager = targetCacheManager;
+	}
+
+
+	/**
+	 * Specify the time after which a near entry is stale and needs to be
+	 * reloaded from the target cache.
+	 * <p>Default is none, i.e. near entries are kept until evicted by the
+	 * near cache itself or invalidated through this cache manager's caches.
+	 */
+	public void setNearTimeToLive(@Nullable Duration nearTimeToLive) {
+		this.nearTimeToLive = nearTimeToLive;
+	}
+
+	/**
+	 * Specify the fraction of the {@link #setNearTimeToLive near time to live}
+	 * after which a read of a near entry triggers its asynchronous refresh from
+	 * the target cache, e.g. {@code 0.8}.
+	 * <p>Default is 0, meaning no refresh-ahead.
+	 */
+	public void setRefreshAheadFactor(double refreshAheadFactor) {
+		this.refreshAheadFactor = refreshAheadFactor;
+	}
+
+	/**
+	 * Specify the executor to perform refresh-ahead with.
+	 * <p>Default is a pool of {@value #DEFAULT_REFRESH_THREADS} daemon threads
+	 * with a queue for {@value #DEFAULT_REFRESH_QUEUE_CAPACITY} pending refreshes,
+	 * created if refresh-ahead is enabled and shut down along with this cache
+	 * manager. Refreshes rejected by the executor are skipped, leaving the
+	 * entry to be reloaded once it is stale. Refreshes of the same key are
+	 * never performed concurrently.
+	 */
+	public void setRefreshExecutor(@Nullable Executor refreshExecutor) {
+		this.refreshExecutor = refreshExecutor;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (this.refreshAheadFactor > 0 && this.refreshExecutor == null) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("near-cache-refresh-");
+			threadFactory.setDaemon(true);
+			ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_REFRESH_THREADS, DEFAULT_REFRESH_THREADS,
+					60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(DEFAULT_REFRESH_QUEUE_CAPACITY), threadFactory);
+			executor.allowCoreThreadTimeOut(true);
+			this.refreshExecutor = executor;
+			this.defaultRefreshExecutor = executor;
+		}
+		super.afterPropertiesSet();
+	}
+
+	/**
+	 * Shut down the default refresh executor, if created by this cache manager.
+	 */
+	@Override
+	public void destroy() {
+		if (this.defaultRefreshExecutor != null) {
+			this.defaultRefreshExecutor.shutdownNow();
+			this.defaultRefreshExecutor = null;
+		}
+	}
+
+
+	@Override
+	protected Collection<? extends Cache> loadCaches() {
+		Collection<String> cacheNames = this.targetCacheManager.getCacheNames();
+		List<Cache> caches = new ArrayList<>(cacheNames.size());
+		for (String name : cacheNames) {
+			Cache cache = this.targetCacheManager.getCache(name);
+			if (cache != null) {
+				caches.add(cache);
+			}
+		}
+		return caches;
+	}
+
+	@Override
+	@Nullable
+	protected Cache getMissingCache(String name) {
+		return this.targetCacheManager.getCache(name);
+	}
+
+	/**
+	 * Front the given target cache with the near cache of the same name, if any.
+	 */
+	@Override
+	protected Cache decorateCache(Cache cache) {
+		Cache nearCache = this.nearCacheManager.getCache(cache.getName());
+		if (nearCache == null) {
+			return cache;
+		}
+		return new TwoLevelCache(nearCache, cache, this.nearTimeToLive, this.refreshAheadFactor, this.refreshExecutor);
+	}
+
+}
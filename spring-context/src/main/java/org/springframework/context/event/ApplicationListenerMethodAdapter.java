@@ -92,17 +92,24 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		this.methodKey = new AnnotatedElementKey(this.targetMethod, targetClass);
 
 		EventListener ann = AnnotatedElementUtils.findMergedAnnotation(this.targetMethod, EventListener.class);
-		this.declaredEventTypes = resolveDeclaredEventTypes(method, ann);
+		boolean batch = AnnotatedElementUtils.hasAnnotation(this.targetMethod, BatchEventListener.class);
+		this.declaredEventTypes = resolveDeclaredEventTypes(method, ann, batch);
 		this.condition = (ann != null ? ann.condition() : null);
 		this.order = resolveOrder(this.targetMethod);
 	}
 
-	private static List<ResolvableType> resolveDeclaredEventTypes(Method method, @Nullable EventListener ann) {
+	private static List<ResolvableType> resolveDeclaredEventTypes(
+			Method method, @Nullable EventListener ann, boolean batch) {
+
 		int count = method.getParameterCount();
 		if (count > 1) {
 			throw new IllegalStateException(
 					"Maximum one parameter is allowed for event listener method: " + method);
 		}
+		if (batch && (count == 0 || !method.getParameterTypes()[0].isAssignableFrom(List.class))) {
+			throw new IllegalStateException(
+					"List parameter is mandatory for batch event listener method: " + method);
+		}
 
 		if (ann != null) {
 			Class<?>[] classes = ann.classes();
@@ -119,7 +126,13 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 			throw new IllegalStateException(
 					"Event parameter is mandatory for event listener method: " + method);
 		}
-		return Collections.singletonList(ResolvableType.forMethodParameter(method, 0));
+		ResolvableType parameterType = ResolvableType.forMethodParameter(method, 0);
+		if (batch) {
+			ResolvableType elementType = parameterType.as(Iterable.class).getGeneric();
+			return Collections.singletonList(elementType.resolve() != null ?
+					elementType : ResolvableType.forClass(Object.class));
+		}
+		return Collections.singletonList(parameterType);
 	}
 
 	private static int resolveOrder(Method method) {
@@ -237,7 +250,11 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		}
 	}
 
-	private boolean shouldHandle(ApplicationEvent event, @Nullable Object[] args) {
+	/**
+	 * Determine whether the specified event should be handled, evaluating
+	 * the condition against the given resolved arguments, if necessary.
+	 */
+	boolean shouldHandle(ApplicationEvent event, @Nullable Object[] args) {
 		if (args == null) {
 			return false;
 		}
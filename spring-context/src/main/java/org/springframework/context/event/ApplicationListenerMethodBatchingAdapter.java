@@ -0,0 +1,210 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * {@link GenericApplicationListener} adapter that delegates the processing of
+ * batches of events to a {@link BatchEventListener} annotated method.
+ *
+ * <p>Each event is resolved and checked against the condition as it is
+ * published, using a compiling {@link EventExpressionEvaluator}. Matching
+ * events are buffered until the batch is full, until the maximum delay has
+ * elapsed, or until the application context is closed.
+ *
+ * <p>Delayed delivery uses a single daemon thread per adapter, started with
+ * the first buffered event and shut down once the application context is
+ * closed. Events published after that point are delivered right away.
+ *
+ * @since 5.1.15
+ * @see ApplicationListenerMethodAdapter
+ * @see BatchEventListener
+ */
+public class ApplicationListenerMethodBatchingAdapter extends ApplicationListenerMethodAdapter {
+
+	private final int maxSize;
+
+	private final long maxDelay;
+
+	private final ClassLoader classLoader;
+
+	@Nullable
+	private ApplicationContext applicationContext;
+
+	private final Object bufferMonitor = new Object();
+
+	private List<Object> buffer;
+
+	@Nullable
+	private ScheduledThreadPoolExecutor flushScheduler;
+
+	@Nullable
+	private ScheduledFuture<?> scheduledFlush;
+
+	private boolean closed;
+
+
+	public ApplicationListenerMethodBatchingAdapter(String beanName, Class<?> targetClass, Method method) {
+		super(beanName, targetClass, method);
+		BatchEventListener ann = AnnotatedElementUtils.findMergedAnnotation(method, BatchEventListener.class);
+		if (ann == null) {
+			throw new IllegalStateException("No BatchEventListener annotation found on method: " + method);
+		}
+		if (ann.maxSize() <= 0) {
+			throw new IllegalStateException("'maxSize' must be greater than 0 on method: " + method);
+		}
+		this.maxSize = ann.maxSize();
+		this.maxDelay = ann.maxDelay();
+		this.classLoader = targetClass.getClassLoader();
+		this.buffer = new ArrayList<>(this.maxSize);
+	}
+
+
+	/**
+	 * Initialize this instance, using a dedicated evaluator that compiles
+	 * the condition in mixed mode rather than the given shared one.
+	 */
+	@Override
+	void init(ApplicationContext applicationContext, EventExpressionEvaluator evaluator) {
+		this.applicationContext = applicationContext;
+		SpelParserConfiguration configuration = new SpelParserConfiguration(SpelCompilerMode.MIXED, this.classLoader);
+		super.init(applicationContext, new EventExpressionEvaluator(new SpelExpressionParser(configuration)));
+	}
+
+	@Override
+	public boolean supportsEventType(ResolvableType eventType) {
+		return (super.supportsEventType(eventType) || ContextClosedEvent.class.isAssignableFrom(eventType.toClass()));
+	}
+
+	/**
+	 * Add the specified {@link ApplicationEvent} to the current batch if
+	 * the condition matches, delivering the batch once it is full.
+	 * <p>A {@link ContextClosedEvent} for the context that this listener has
+	 * been registered with delivers any pending events and shuts down the
+	 * thread used for delayed delivery; one for a child context is ignored.
+	 */
+	@Override
+	public void processEvent(ApplicationEvent event) {
+		Object[] args = resolveArguments(event);
+		if (shouldHandle(event, args)) {
+			boolean full;
+			synchronized (this.bufferMonitor) {
+				this.buffer.add(args[0]);
+				full = (this.buffer.size() >= this.maxSize || this.closed);
+				if (!full && this.buffer.size() == 1 && this.maxDelay > 0) {
+					this.scheduledFlush = getFlushScheduler().schedule(
+							this::flushFromScheduler, this.maxDelay, TimeUnit.MILLISECONDS);
+				}
+			}
+			if (full) {
+				flush();
+			}
+		}
+		if (event instanceof ContextClosedEvent &&
+				((ContextClosedEvent) event).getApplicationContext() == this.applicationContext) {
+			try {
+				flush();
+			}
+			finally {
+				close();
+			}
+		}
+	}
+
+	/**
+	 * Deliver the currently pending events, if any, to the listener method.
+	 */
+	public void flush() {
+		List<Object> batch;
+		synchronized (this.bufferMonitor) {
+			if (this.buffer.isEmpty()) {
+				return;
+			}
+			batch = this.buffer;
+			this.buffer = new ArrayList<>(this.maxSize);
+			if (this.scheduledFlush != null) {
+				this.scheduledFlush.cancel(false);
+				this.scheduledFlush = null;
+			}
+		}
+		Object result = doInvoke(Collections.unmodifiableList(batch));
+		if (result != null) {
+			handleResult(result);
+		}
+		else {
+			logger.trace("No result object given - no result to handle");
+		}
+	}
+
+	private void flushFromScheduler() {
+		try {
+			flush();
+		}
+		catch (Throwable ex) {
+			logger.error("Failed to deliver batch of events to listener method " + this, ex);
+		}
+	}
+
+
+	/**
+	 * Obtain the scheduler for delayed delivery, creating it on first use.
+	 * Must be called while holding the buffer monitor.
+	 */
+	private ScheduledThreadPoolExecutor getFlushScheduler() {
+		ScheduledThreadPoolExecutor scheduler = this.flushScheduler;
+		if (scheduler == null) {
+			CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("event-batch-");
+			threadFactory.setDaemon(true);
+			scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+			scheduler.setRemoveOnCancelPolicy(true);
+			this.flushScheduler = scheduler;
+		}
+		return scheduler;
+	}
+
+	/**
+	 * Shut down the scheduler for delayed delivery, if started, delivering
+	 * any events published from now on right away.
+	 */
+	private void close() {
+		synchronized (this.bufferMonitor) {
+			this.closed = true;
+			if (this.flushScheduler != null) {
+				this.flushScheduler.shutdown();
+				this.flushScheduler = null;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.core.annotation.AliasFor;
+
+/**
+ * An {@link EventListener} that receives events in batches rather than one
+ * at a time.
+ *
+ * <p>The annotated method must declare a single parameter of type
+ * {@link java.util.List} (or a super-type such as {@link java.util.Collection}),
+ * the element type of which is the event type to listen to. Matching events
+ * are collected and handed to the method once {@link #maxSize} events are
+ * pending or {@link #maxDelay} milliseconds have elapsed since the first
+ * pending event, whichever comes first. Pending events are also delivered
+ * when the application context is closed.
+ *
+ * <p>If a {@link #condition} is specified, it is evaluated for every single
+ * event at publication time, with {@code #root.event} and {@code #root.args}
+ * referring to that event. The condition is compiled to bytecode where
+ * possible.
+ *
+ * <p>Note that a batch completed by the delay is delivered on a background
+ * thread dedicated to the annotated method, so the method may be invoked
+ * concurrently with a batch completed by the size threshold on a publishing
+ * thread.
+ *
+ * @since 5.1.15
+ * @see ApplicationListenerMethodBatchingAdapter
+ */
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@EventListener
+public @interface BatchEventListener {
+
+	/**
+	 * Alias for {@link #classes}.
+	 */
+	@AliasFor(annotation = EventListener.class, attribute = "classes")
+	Class<?>[] value() default {};
+
+	/**
+	 * The event classes that this listener handles.
+	 * <p>If not specified, the event type is derived from the element
+	 * type of the {@code List} parameter of the annotated method.
+	 */
+	@AliasFor(annotation = EventListener.class, attribute = "classes")
+	Class<?>[] classes() default {};
+
+	/**
+	 * Spring Expression Language (SpEL) attribute used for making the
+	 * handling of each individual event conditional.
+	 * <p>The default is {@code ""}, meaning every event is added to the batch.
+	 * @see EventListener#condition
+	 */
+	String condition() default "";
+
+	/**
+	 * The maximum number of events to collect before invoking the
+	 * annotated method.
+	 * <p>The default is {@code 100}.
+	 */
+	int maxSize() default 100;
+
+	/**
+	 * The maximum time in milliseconds that an event may be pending before
+	 * the current batch is delivered, even if it is not full.
+	 * <p>The default is {@code 1000}. A value of {@code 0} or less disables
+	 * time-based delivery so that batches are only delivered once full or
+	 * when the application context is closed.
+	 */
+	long maxDelay() default 1000;
+
+}
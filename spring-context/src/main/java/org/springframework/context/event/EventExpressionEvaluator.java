@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2019 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.context.expression.CachedExpressionEvaluator;
 import org.springframework.context.expression.MethodBasedEvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.lang.Nullable;
 
 /**
@@ -42,6 +43,23 @@ class EventExpressionEvaluator extends CachedExpressionEvaluator {
 	private final Map<ExpressionKey, Expression> conditionCache = new ConcurrentHashMap<>(64);
 
 
+	/**
+	 * Create a new instance with a default {@link SpelExpressionParser}.
+	 */
+	public EventExpressionEvaluator() {
+		super();
+	}
+
+	/**
+	 * Create a new instance with the specified {@link SpelExpressionParser},
+	 * e.g. one configured for compiling expressions.
+	 * @since 5.1.15
+	 */
+	public EventExpressionEvaluator(SpelExpressionParser parser) {
+		super(parser);
+	}
+
+
 	/**
 	 * Specify if the condition defined by the specified expression matches.
 	 */
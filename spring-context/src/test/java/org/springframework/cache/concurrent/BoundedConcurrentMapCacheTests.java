@@ -0,0 +1,153 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.cache.AbstractValueAdaptingCacheTests;
+import org.springframework.core.serializer.support.SerializationDelegate;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BoundedConcurrentMapCache}.
+ */
+public class BoundedConcurrentMapCacheTests
+		extends AbstractValueAdaptingCacheTests<BoundedConcurrentMapCache> {
+
+	protected BoundedConcurrentMapCache cache;
+
+	protected BoundedConcurrentMapCache cacheNoNull;
+
+
+	@Before
+	public void setUp() throws Exception {
+		this.cache = new BoundedConcurrentMapCache(CACHE_NAME, 1000);
+		this.cacheNoNull = new BoundedConcurrentMapCache(CACHE_NAME_NO_NULL, 1000, null, false);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache() {
+		return getCache(true);
+	}
+
+	@Override
+	protected BoundedConcurrentMapCache getCache(boolean allowNull) {
+		return allowNull ? this.cache : this.cacheNoNull;
+	}
+
+	@Override
+	protected Object getNativeCache() {
+		return this.cache;
+	}
+
+	@Test
+	public void testSizeBound() {
+		BoundedConcurrentMapCache boundedCache = new BoundedConcurrentMapCache(CACHE_NAME, 1);
+		boundedCache.put("one", 1);
+		boundedCache.put("two", 2);
+		assertEquals(1, boundedCache.size());
+		assertNull(boundedCache.get("one"));
+		assertEquals(2, boundedCache.get("two").get());
+		assertEquals(1, boundedCache.getEvictionCount());
+	}
+
+	@Test
+	public void testSizeBoundAcrossSegments() {
+		BoundedConcurrentMapCache boundedCache = new BoundedConcurrentMapCache(CACHE_NAME, 100);
+		for (int i = 0; i < 10000; i++) {
+			boundedCache.put(i, i);
+		}
+		assertTrue(boundedCache.size() <= 100);
+		assertEquals(10000 - boundedCache.size(), boundedCache.getEvictionCount());
+	}
+
+	@Test
+	public void testFrequentlyReadEntrySurvivesScan() {
+		BoundedConcurrentMapCache boundedCache = new BoundedConcurrentMapCache(CACHE_NAME, 1000);
+		boundedCache.put("hot", "value");
+		assertNotNull(boundedCache.get("hot"));
+		for (int i = 0; i < 10000; i++) {
+			boundedCache.put("cold" + i, i);
+		}
+		assertNotNull(boundedCache.get("hot"));
+	}
+
+	@Test
+	public void testExpireAfterWrite() throws InterruptedException {
+		BoundedConcurrentMapCache expiringCache =
+				new BoundedConcurrentMapCache(CACHE_NAME, 10, Duration.ofMillis(10), true);
+		expiringCache.put("key", "value");
+		assertNotNull(expiringCache.get("key"));
+		Thread.sleep(50);
+		assertNull(expiringCache.get("key"));
+		assertNull(expiringCache.putIfAbsent("key", "other"));
+		assertEquals("other", expiringCache.get("key").get());
+	}
+
+	@Test
+	public void testStatistics() {
+		this.cache.put("key", "value");
+		this.cache.get("key");
+		this.cache.get("key");
+		this.cache.get("missing");
+		assertEquals(2, this.cache.getHitCount());
+		assertEquals(1, this.cache.getMissCount());
+		assertEquals(0, this.cache.getEvictionCount());
+	}
+
+	@Test
+	public void testRecursiveLoadOfSameKey() {
+		AtomicReference<IllegalStateException> recursiveLoadFailure = new AtomicReference<>();
+		String value = this.cache.get("key", () -> {
+			try {
+				this.cache.get("key", () -> "other");
+			}
+			catch (IllegalStateException ex) {
+				recursiveLoadFailure.set(ex);
+			}
+			return "value";
+		});
+		assertEquals("value", value);
+		assertNotNull(recursiveLoadFailure.get());
+		assertEquals("value", this.cache.get("key", () -> "other"));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testSerializer() {
+		BoundedConcurrentMapCache serializeCache = new BoundedConcurrentMapCache(CACHE_NAME, 10, null, true,
+				new SerializationDelegate(BoundedConcurrentMapCacheTests.class.getClassLoader()));
+		assertTrue(serializeCache.isStoreByValue());
+
+		Object key = createRandomKey();
+		List<String> content = new ArrayList<>(Arrays.asList("one", "two", "three"));
+		serializeCache.put(key, content);
+		content.remove(0);
+		List<String> entry = (List<String>) serializeCache.get(key).get();
+		assertEquals(3, entry.size());
+		assertEquals("one", entry.get(0));
+	}
+
+}
@@ -131,4 +131,21 @@ public class ConcurrentMapCacheManagerTests {
 		assertNull(cache1x.get("key"));
 	}
 
+	@Test
+	public void testChangeMaximumSize() {
+		ConcurrentMapCacheManager cm = new ConcurrentMapCacheManager("c1", "c2");
+		Cache cache1 = cm.getCache("c1");
+		assertTrue(cache1 instanceof ConcurrentMapCache);
+
+		cm.setMaximumSize(10);
+		assertEquals(10, cm.getMaximumSize());
+		Cache cache1x = cm.getCache("c1");
+		assertTrue(cache1x instanceof BoundedConcurrentMapCache);
+		assertEquals(10, ((BoundedConcurrentMapCache) cache1x).getMaximumSize());
+		assertTrue(((BoundedConcurrentMapCache) cache1x).isAllowNullValues());
+
+		cm.setMaximumSize(0);
+		assertTrue(cm.getCache("c1") instanceof ConcurrentMapCache);
+	}
+
 }
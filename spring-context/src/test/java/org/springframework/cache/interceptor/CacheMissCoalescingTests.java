@@ -0,0 +1,315 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link CacheAspectSupport#setCoalesceMisses coalesced} cache misses.
+ */
+public class CacheMissCoalescingTests {
+
+	private static final int CALLERS = 8;
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+	private final List<Thread> callerThreads = new ArrayList<>();
+
+	private SlowService service;
+
+	private SlowService proxy;
+
+	private CacheInterceptor interceptor;
+
+
+	@Before
+	public void setUp() {
+		this.interceptor = new CacheInterceptor();
+		this.interceptor.setCacheOperationSources(new AnnotationCacheOperationSource());
+		this.interceptor.setCacheManager(new ConcurrentMapCacheManager());
+		this.interceptor.setCoalesceMisses(true);
+		this.interceptor.afterPropertiesSet();
+		this.interceptor.afterSingletonsInstantiated();
+
+		this.service = new SlowService();
+		this.proxy = createProxy(this.service);
+		this.service.self = this.proxy;
+	}
+
+	@After
+	public void shutdown() {
+		this.service.release.countDown();
+		this.executor.shutdownNow();
+	}
+
+
+	@Test
+	public void concurrentMissesForSameKeyInvokeOnce() throws Exception {
+		List<Future<Object>> results = submit("key");
+		awaitAllWaiting();
+		this.service.release.countDown();
+
+		for (Future<Object> result : results) {
+			assertEquals("key-1", result.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, this.service.invocations.get());
+		assertEquals("key-1", this.proxy.load("key"));
+		assertEquals(1, this.service.invocations.get());
+	}
+
+	@Test
+	public void concurrentMissesShareFailure() throws Exception {
+		List<Future<Object>> results = submit("fail");
+		awaitAllWaiting();
+		this.service.release.countDown();
+
+		for (Future<Object> result : results) {
+			try {
+				result.get(5, TimeUnit.SECONDS);
+				fail("Should have failed");
+			}
+			catch (ExecutionException ex) {
+				assertTrue(ex.getCause() instanceof IllegalStateException);
+			}
+		}
+		assertEquals(1, this.service.invocations.get());
+	}
+
+	@Test
+	public void missForOtherKeyIsNotBlocked() throws Exception {
+		List<Future<Object>> results = submit("key");
+		awaitAllWaiting();
+
+		assertEquals("other-2", this.proxy.loadUnblocked("other"));
+		this.service.release.countDown();
+		for (Future<Object> result : results) {
+			assertEquals("key-1", result.get(5, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	public void concurrentMissesShareValueAcrossReturnTypes() throws Exception {
+		List<Future<Object>> plainResults = new ArrayList<>();
+		List<Future<Object>> optionalResults = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			boolean optional = (i % 2 == 0);
+			Future<Object> result = this.executor.submit(() -> {
+				synchronized (this.callerThreads) {
+					this.callerThreads.add(Thread.currentThread());
+				}
+				return (optional ? this.proxy.loadOptional("key") : this.proxy.load("key"));
+			});
+			(optional ? optionalResults : plainResults).add(result);
+		}
+		awaitAllWaiting();
+		this.service.release.countDown();
+
+		for (Future<Object> result : plainResults) {
+			assertEquals("key-1", result.get(5, TimeUnit.SECONDS));
+		}
+		for (Future<Object> result : optionalResults) {
+			assertEquals(Optional.of("key-1"), result.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, this.service.invocations.get());
+	}
+
+	@Test
+	public void recursiveMissForSameKeyIsNotCoalesced() throws Exception {
+		Future<Object> result = this.executor.submit(() -> this.proxy.loadRecursively("key", 1));
+		assertEquals("key-0", result.get(5, TimeUnit.SECONDS));
+		assertEquals(2, this.service.invocations.get());
+	}
+
+	@Test
+	public void concurrentSubscribersShareMonoResult() throws Exception {
+		ReactiveService reactiveService = createProxy(new ReactiveService(this.service));
+		List<Future<Object>> results = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			results.add(this.executor.submit(() -> {
+				synchronized (this.callerThreads) {
+					this.callerThreads.add(Thread.currentThread());
+				}
+				return reactiveService.load("key").block();
+			}));
+		}
+		awaitAllWaiting();
+		this.service.release.countDown();
+
+		for (Future<Object> result : results) {
+			assertEquals("key-1", result.get(5, TimeUnit.SECONDS));
+		}
+		assertEquals(1, this.service.invocations.get());
+	}
+
+	@Test
+	public void failedMonoResultIsNotReplayedFromCache() {
+		ReactiveService reactiveService = createProxy(new ReactiveService(this.service));
+		try {
+			reactiveService.loadOnSecondAttempt("key").block();
+			fail("Should have failed");
+		}
+		catch (IllegalStateException ex) {
+			// expected
+		}
+		// The failed publisher has been evicted, so the method gets invoked again
+		assertEquals("key-2", reactiveService.loadOnSecondAttempt("key").block());
+		assertEquals(2, this.service.invocations.get());
+	}
+
+	@Test
+	public void cachedMonoResultIsNotSubscribedAgain() {
+		ReactiveService reactiveService = createProxy(new ReactiveService(this.service));
+		this.service.release.countDown();
+
+		Mono<Object> first = reactiveService.load("key");
+		Mono<Object> second = reactiveService.load("key");
+		assertEquals("key-1", first.block());
+		assertEquals("key-1", second.block());
+		assertEquals("key-1", reactiveService.load("key").block());
+		assertEquals(1, this.service.invocations.get());
+	}
+
+
+	@SuppressWarnings("unchecked")
+	private <T> T createProxy(T target) {
+		ProxyFactory proxyFactory = new ProxyFactory(target);
+		proxyFactory.addAdvice(this.interceptor);
+		return (T) proxyFactory.getProxy();
+	}
+
+	private List<Future<Object>> submit(String key) {
+		List<Future<Object>> results = new ArrayList<>();
+		for (int i = 0; i < CALLERS; i++) {
+			results.add(this.executor.submit(() -> {
+				synchronized (this.callerThreads) {
+					this.callerThreads.add(Thread.currentThread());
+				}
+				return this.proxy.load(key);
+			}));
+		}
+		return results;
+	}
+
+	private void awaitAllWaiting() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (System.currentTimeMillis() < deadline) {
+			int waiting = 0;
+			synchronized (this.callerThreads) {
+				for (Thread thread : this.callerThreads) {
+					if (thread.getState() == Thread.State.WAITING) {
+						waiting++;
+					}
+				}
+			}
+			if (waiting == CALLERS) {
+				return;
+			}
+			Thread.sleep(10);
+		}
+		fail("Callers did not block in time");
+	}
+
+
+	public static class SlowService {
+
+		final CountDownLatch release = new CountDownLatch(1);
+
+		final AtomicInteger invocations = new AtomicInteger();
+
+		SlowService self = this;
+
+		@Cacheable("test")
+		public Object load(String key) throws InterruptedException {
+			int invocation = this.invocations.incrementAndGet();
+			this.release.await();
+			if (key.equals("fail")) {
+				throw new IllegalStateException("Failed to load " + key);
+			}
+			return key + "-" + invocation;
+		}
+
+		@Cacheable("test")
+		public Optional<Object> loadOptional(String key) throws InterruptedException {
+			int invocation = this.invocations.incrementAndGet();
+			this.release.await();
+			return Optional.of(key + "-" + invocation);
+		}
+
+		@Cacheable("test")
+		public Object loadUnblocked(String key) {
+			return key + "-" + this.invocations.incrementAndGet();
+		}
+
+		@Cacheable(cacheNames = "test", key = "#key")
+		public Object loadRecursively(String key, int depth) {
+			this.invocations.incrementAndGet();
+			return (depth > 0 ? this.self.loadRecursively(key, depth - 1) : key + "-" + depth);
+		}
+	}
+
+
+	public static class ReactiveService {
+
+		private final SlowService delegate;
+
+		private final AtomicInteger attempts = new AtomicInteger();
+
+		public ReactiveService(SlowService delegate) {
+			this.delegate = delegate;
+		}
+
+		@Cacheable("reactive")
+		public Mono<Object> load(String key) {
+			return Mono.fromCallable(() -> this.delegate.load(key));
+		}
+
+		@Cacheable("reactive")
+		public Mono<Object> loadOnSecondAttempt(String key) {
+			this.delegate.invocations.incrementAndGet();
+			AtomicInteger attempts = this.attempts;
+			return Mono.fromCallable(() -> {
+				int attempt = attempts.incrementAndGet();
+				if (attempt == 1) {
+					throw new IllegalStateException("Failed to load " + key);
+				}
+				return key + "-" + attempt;
+			});
+		}
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.AnnotationCacheOperationSource;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the precomputed invocation plans of {@link CacheAspectSupport}.
+ */
+public class CacheOperationPlanTests {
+
+	private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+	private final SimpleService service = new SimpleService();
+
+	private CacheInterceptor interceptor;
+
+
+	@Before
+	public void setUp() {
+		this.interceptor = createInterceptor(new CacheInterceptor());
+	}
+
+	private CacheInterceptor createInterceptor(CacheInterceptor interceptor) {
+		interceptor.setCacheOperationSources(new AnnotationCacheOperationSource());
+		interceptor.setCacheManager(this.cacheManager);
+		interceptor.afterPropertiesSet();
+		interceptor.afterSingletonsInstantiated();
+		return interceptor;
+	}
+
+
+	@Test
+	public void singleArgument() {
+		assertEquals("a-1", invoke("get", "a"));
+		assertEquals("a-1", invoke("get", "a"));
+		assertEquals("b-2", invoke("get", "b"));
+		assertEquals("a-1", this.cacheManager.getCache("test").get("a").get());
+	}
+
+	@Test
+	public void multipleArguments() {
+		assertEquals("a1-1", invoke("getWithVersion", "a", 1));
+		assertEquals("a1-1", invoke("getWithVersion", "a", 1));
+		assertEquals("a2-2", invoke("getWithVersion", "a", 2));
+		assertNotNull(this.cacheManager.getCache("test").get(new SimpleKey("a", 1)));
+	}
+
+	@Test
+	public void optionalReturnValue() {
+		assertEquals(Optional.of("a-1"), invoke("find", "a"));
+		assertEquals(Optional.of("a-1"), invoke("find", "a"));
+		assertEquals("a-1", this.cacheManager.getCache("test").get("a").get());
+	}
+
+	@Test
+	public void conditionalOperation() {
+		assertEquals("skip-1", invoke("getConditionally", "skip"));
+		assertEquals("skip-2", invoke("getConditionally", "skip"));
+		assertEquals("a-3", invoke("getConditionally", "a"));
+		assertEquals("a-3", invoke("getConditionally", "a"));
+	}
+
+	@Test
+	public void recreatedCacheIsUsed() {
+		assertEquals("a-1", invoke("get", "a"));
+		this.cacheManager.setAllowNullValues(false);
+		assertEquals("a-2", invoke("get", "a"));
+		assertEquals("a-2", this.cacheManager.getCache("test").get("a").get());
+	}
+
+	@Test
+	public void customizedCacheResolutionIsHonored() {
+		AtomicInteger resolutions = new AtomicInteger();
+		this.interceptor = createInterceptor(new CacheInterceptor() {
+			@Override
+			protected Collection<? extends Cache> getCaches(
+					CacheOperationInvocationContext<CacheOperation> context, CacheResolver cacheResolver) {
+				resolutions.incrementAndGet();
+				return super.getCaches(context, cacheResolver);
+			}
+		});
+		assertEquals("a-1", invoke("get", "a"));
+		assertEquals("a-1", invoke("get", "a"));
+		assertEquals(2, resolutions.get());
+	}
+
+
+	@Test
+	public void inheritedMethodPlannedPerTargetClass() {
+		AtomicInteger lookups = new AtomicInteger();
+		AnnotationCacheOperationSource operationSource = new AnnotationCacheOperationSource() {
+			@Override
+			public Collection<CacheOperation> getCacheOperations(Method method, @Nullable Class<?> targetClass) {
+				lookups.incrementAndGet();
+				return super.getCacheOperations(method, targetClass);
+			}
+		};
+		this.interceptor.setCacheOperationSources(operationSource);
+		SimpleService first = new SimpleService() {};
+		SimpleService second = new SimpleService() {};
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals("a-1", invoke(first, "get", "a"));
+			assertEquals("b-1", invoke(second, "get", "b"));
+		}
+		assertEquals(2, lookups.get());
+		assertEquals(2, getPlanCache().size());
+	}
+
+	@Test
+	public void noPlanForMethodWithoutCacheOperations() {
+		assertEquals("a", invoke("toString"));
+		assertTrue(getPlanCache().isEmpty());
+	}
+
+
+	private Object invoke(String methodName, Object... args) {
+		return invoke(this.service, methodName, args);
+	}
+
+	private Object invoke(SimpleService target, String methodName, Object... args) {
+		Method method = ReflectionUtils.findMethod(SimpleService.class, methodName, (Class<?>[]) null);
+		assertNotNull(method);
+		return this.interceptor.execute(
+				() -> ReflectionUtils.invokeMethod(method, target, args), target, method, args);
+	}
+
+	private Map<?, ?> getPlanCache() {
+		return (Map<?, ?>) new DirectFieldAccessor(this.interceptor).getPropertyValue("planCache");
+	}
+
+
+	public static class SimpleService {
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Cacheable("test")
+		public String get(String id) {
+			return id + "-" + this.counter.incrementAndGet();
+		}
+
+		@Cacheable("test")
+		public String getWithVersion(String id, int version) {
+			return id + version + "-" + this.counter.incrementAndGet();
+		}
+
+		@Cacheable("test")
+		public Optional<String> find(String id) {
+			return Optional.of(id + "-" + this.counter.incrementAndGet());
+		}
+
+		@Cacheable(cacheNames = "test", condition = "#p0 != 'skip'")
+		public String getConditionally(String id) {
+			return id + "-" + this.counter.incrementAndGet();
+		}
+
+		@Override
+		public String toString() {
+			return "a";
+		}
+	}
+
+}
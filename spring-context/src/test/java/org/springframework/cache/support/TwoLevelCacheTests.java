@@ -0,0 +1,180 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cache.support;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.BoundedConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TwoLevelCache} and {@link TwoLevelCacheManager}, using an
+ * in-memory {@link ConcurrentMapCache} as a stand-in for the remote tier.
+ */
+public class TwoLevelCacheTests {
+
+	private final CountingCache target = new CountingCache("test");
+
+	private final BoundedConcurrentMapCache near = new BoundedConcurrentMapCache("test", 100);
+
+
+	@Test
+	public void lookupPopulatesNearCache() {
+		TwoLevelCache cache = new TwoLevelCache(this.near, this.target);
+		this.target.put("key", "value");
+
+		assertEquals("value", cache.get("key").get());
+		assertEquals("value", cache.get("key", String.class));
+		assertEquals(1, this.target.lookups.get());
+		assertNotNull(this.near.get("key"));
+	}
+
+	@Test
+	public void nullValueIsCachedInNearCache() {
+		TwoLevelCache cache = new TwoLevelCache(this.near, this.target);
+		cache.put("key", null);
+
+		Cache.ValueWrapper wrapper = cache.get("key");
+		assertNotNull(wrapper);
+		assertNull(wrapper.get());
+		assertEquals(0, this.target.lookups.get());
+	}
+
+	@Test
+	public void putAndEvictInvalidateNearCache() {
+		TwoLevelCache cache = new TwoLevelCache(this.near, this.target);
+		cache.put("key", "value1");
+		assertEquals("value1", cache.get("key").get());
+
+		cache.put("key", "value2");
+		assertEquals("value2", cache.get("key").get());
+		assertEquals("value2", this.target.get("key").get());
+
+		cache.evict("key");
+		assertNull(this.near.get("key"));
+		assertNull(cache.get("key"));
+	}
+
+	@Test
+	public void staleValueNotKeptAfterConcurrentEvict() {
+		AtomicReference<TwoLevelCache> cacheHolder = new AtomicReference<>();
+		ConcurrentMapCache target = new ConcurrentMapCache("test") {
+			@Override
+			protected Object lookup(Object key) {
+				Object value = super.lookup(key);
+				TwoLevelCache cache = cacheHolder.getAndSet(null);
+				if (cache != null) {
+					// Evicted while the value is on its way to the near cache
+					cache.evict(key);
+				}
+				return value;
+			}
+		};
+		target.put("key", "value");
+		TwoLevelCache cache = new TwoLevelCache(this.near, target);
+		cacheHolder.set(cache);
+
+		assertEquals("value", cache.get("key").get());
+		assertNull(this.near.get("key"));
+		assertNull(cache.get("key"));
+	}
+
+	@Test
+	public void clearInvalidatesNearCache() {
+		TwoLevelCache cache = new TwoLevelCache(this.near, this.target);
+		cache.put("key", "value");
+		cache.clear();
+		assertNull(this.near.get("key"));
+		assertNull(this.target.get("key"));
+	}
+
+	@Test
+	public void getWithValueLoader() {
+		TwoLevelCache cache = new TwoLevelCache(this.near, this.target);
+		assertEquals("loaded", cache.get("key", () -> "loaded"));
+		assertEquals("loaded", this.target.get("key").get());
+		assertEquals("loaded", cache.get("key", () -> "other"));
+	}
+
+	@Test
+	public void staleNearEntryIsReloaded() throws InterruptedException {
+		TwoLevelCache cache = new TwoLevelCache(this.near, this.target, Duration.ofMillis(20), 0, null);
+		cache.put("key", "value1");
+		this.target.put("key", "value2");
+		assertEquals("value1", cache.get("key").get());
+
+		Thread.sleep(50);
+		assertEquals("value2", cache.get("key").get());
+	}
+
+	@Test
+	public void refreshAheadServesCurrentValue() throws InterruptedException {
+		TwoLevelCache cache = new TwoLevelCache(this.near, this.target, Duration.ofSeconds(10), 0.000001, Runnable::run);
+		cache.put("key", "value1");
+		this.target.put("key", "value2");
+		Thread.sleep(5);
+
+		// Served from the near cache while the refresh (synchronous here) takes place
+		assertEquals("value1", cache.get("key").get());
+		assertEquals(1, this.target.lookups.get());
+		assertEquals("value2", cache.get("key").get());
+	}
+
+	@Test
+	public void cacheManagerFrontsTargetCaches() {
+		ConcurrentMapCacheManager nearCacheManager = new ConcurrentMapCacheManager();
+		nearCacheManager.setMaximumSize(100);
+		ConcurrentMapCacheManager targetCacheManager = new ConcurrentMapCacheManager("test");
+		TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(nearCacheManager, targetCacheManager);
+		cacheManager.setNearTimeToLive(Duration.ofMinutes(1));
+		cacheManager.setRefreshAheadFactor(0.8);
+		cacheManager.afterPropertiesSet();
+
+		assertTrue(cacheManager.getCacheNames().contains("test"));
+		Cache cache = cacheManager.getCache("test");
+		assertTrue(cache instanceof TwoLevelCache);
+		assertSame(targetCacheManager.getCache("test"), ((TwoLevelCache) cache).getTargetCache());
+		assertSame(nearCacheManager.getCache("test"), ((TwoLevelCache) cache).getNearCache());
+		assertEquals(0.8, ((TwoLevelCache) cache).getRefreshAheadFactor(), 0.001);
+		cacheManager.destroy();
+	}
+
+
+	private static class CountingCache extends ConcurrentMapCache {
+
+		final AtomicInteger lookups = new AtomicInteger();
+
+		CountingCache(String name) {
+			super(name);
+		}
+
+		@Override
+		protected Object lookup(Object key) {
+			this.lookups.incrementAndGet();
+			return super.lookup(key);
+		}
+	}
+
+}
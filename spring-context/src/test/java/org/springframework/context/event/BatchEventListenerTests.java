@@ -0,0 +1,220 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.factory.BeanInitializationException;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.event.test.TestEvent;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link BatchEventListener} and {@link ApplicationListenerMethodBatchingAdapter}.
+ */
+public class BatchEventListenerTests {
+
+	private AnnotationConfigApplicationContext context;
+
+
+	@After
+	public void closeContext() {
+		if (this.context != null) {
+			this.context.close();
+		}
+	}
+
+
+	@Test
+	public void batchDeliveredWhenFull() {
+		load(SizeBoundListener.class);
+		SizeBoundListener listener = this.context.getBean(SizeBoundListener.class);
+
+		this.context.publishEvent("one");
+		this.context.publishEvent("two");
+		assertTrue(listener.batches.isEmpty());
+
+		this.context.publishEvent("three");
+		assertEquals(1, listener.batches.size());
+		assertEquals(Arrays.asList("one", "two", "three"), listener.batches.get(0));
+	}
+
+	@Test
+	public void batchDeliveredOnContextClose() {
+		load(SizeBoundListener.class);
+		SizeBoundListener listener = this.context.getBean(SizeBoundListener.class);
+
+		this.context.publishEvent("one");
+		assertTrue(listener.batches.isEmpty());
+
+		this.context.close();
+		assertEquals(1, listener.batches.size());
+		assertEquals(Arrays.asList("one"), listener.batches.get(0));
+	}
+
+	@Test
+	public void batchDeliveredAfterDelay() throws InterruptedException {
+		load(DelayBoundListener.class);
+		DelayBoundListener listener = this.context.getBean(DelayBoundListener.class);
+
+		this.context.publishEvent(new TestEvent(this, "one"));
+		this.context.publishEvent(new TestEvent(this, "two"));
+		assertTrue(listener.latch.await(5, TimeUnit.SECONDS));
+		int delivered = 0;
+		for (List<TestEvent> batch : listener.batches) {
+			delivered += batch.size();
+		}
+		assertEquals(2, delivered);
+	}
+
+	@Test
+	public void schedulerShutDownOnContextClose() {
+		load(DelayBoundListener.class);
+		DelayBoundListener listener = this.context.getBean(DelayBoundListener.class);
+		ApplicationListenerMethodBatchingAdapter adapter = getBatchingAdapter();
+		DirectFieldAccessor accessor = new DirectFieldAccessor(adapter);
+		assertNull(accessor.getPropertyValue("flushScheduler"));
+
+		this.context.publishEvent(new TestEvent(this, "one"));
+		ScheduledThreadPoolExecutor scheduler =
+				(ScheduledThreadPoolExecutor) accessor.getPropertyValue("flushScheduler");
+		assertNotNull(scheduler);
+
+		this.context.close();
+		assertTrue(scheduler.isShutdown());
+		assertNull(accessor.getPropertyValue("flushScheduler"));
+		assertEquals(1, listener.batches.size());
+
+		// Delivered right away, without restarting the scheduler
+		adapter.onApplicationEvent(new TestEvent(this, "two"));
+		assertEquals(2, listener.batches.size());
+		assertNull(accessor.getPropertyValue("flushScheduler"));
+	}
+
+	@Test
+	public void childContextCloseIgnored() {
+		load(SizeBoundListener.class);
+		SizeBoundListener listener = this.context.getBean(SizeBoundListener.class);
+		AnnotationConfigApplicationContext child = new AnnotationConfigApplicationContext();
+		child.setParent(this.context);
+		child.refresh();
+
+		this.context.publishEvent("one");
+		child.close();
+		assertTrue(listener.batches.isEmpty());
+
+		// Still batching rather than delivering every event right away
+		this.context.publishEvent("two");
+		assertTrue(listener.batches.isEmpty());
+		this.context.publishEvent("three");
+		assertEquals(1, listener.batches.size());
+		assertEquals(Arrays.asList("one", "two", "three"), listener.batches.get(0));
+	}
+
+	@Test
+	public void conditionEvaluatedPerEvent() {
+		load(ConditionalListener.class);
+		ConditionalListener listener = this.context.getBean(ConditionalListener.class);
+
+		for (int i = 0; i < 10; i++) {
+			this.context.publishEvent(i % 2 == 0 ? "keep" : "skip");
+		}
+		assertEquals(2, listener.batches.size());
+		assertEquals(Arrays.asList("keep", "keep"), listener.batches.get(0));
+		assertEquals(Arrays.asList("keep", "keep"), listener.batches.get(1));
+	}
+
+	@Test(expected = BeanInitializationException.class)
+	public void nonListParameterRejected() {
+		load(InvalidListener.class);
+	}
+
+
+	private void load(Class<?> listenerType) {
+		this.context = new AnnotationConfigApplicationContext();
+		this.context.register(listenerType);
+		this.context.refresh();
+	}
+
+	private ApplicationListenerMethodBatchingAdapter getBatchingAdapter() {
+		for (ApplicationListener<?> listener : this.context.getApplicationListeners()) {
+			if (listener instanceof ApplicationListenerMethodBatchingAdapter) {
+				return (ApplicationListenerMethodBatchingAdapter) listener;
+			}
+		}
+		throw new IllegalStateException("No batching adapter registered");
+	}
+
+
+	static class SizeBoundListener {
+
+		final List<List<String>> batches = new ArrayList<>();
+
+		@BatchEventListener(maxSize = 3, maxDelay = 0)
+		public void handle(List<String> events) {
+			this.batches.add(events);
+		}
+	}
+
+
+	static class DelayBoundListener {
+
+		final List<List<TestEvent>> batches = new CopyOnWriteArrayList<>();
+
+		final CountDownLatch latch = new CountDownLatch(2);
+
+		@BatchEventListener(maxSize = 100, maxDelay = 50)
+		public void handle(List<TestEvent> events) {
+			this.batches.add(events);
+			for (int i = 0; i < events.size(); i++) {
+				this.latch.countDown();
+			}
+		}
+	}
+
+
+	static class ConditionalListener {
+
+		final List<List<String>> batches = new ArrayList<>();
+
+		@BatchEventListener(maxSize = 2, maxDelay = 0, condition = "#root.args[0] == 'keep'")
+		public void handle(List<String> events) {
+			this.batches.add(events);
+		}
+	}
+
+
+	static class InvalidListener {
+
+		@BatchEventListener
+		public void handle(String event) {
+		}
+	}
+
+}
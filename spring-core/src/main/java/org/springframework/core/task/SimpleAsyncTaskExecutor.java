@@ -70,6 +70,11 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 	@Nullable
 	private ThreadFactory threadFactory;
 
+	private boolean virtualThreads;
+
+	@Nullable
+	private volatile ThreadFactory virtualThreadFactory;
+
 	@Nullable
 	private TaskDecorator taskDecorator;
 
@@ -118,6 +123,32 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 		return this.threadFactory;
 	}
 
+	/**
+	 * Specify whether to create virtual threads instead of platform threads,
+	 * on a Java 21+ runtime.
+	 * <p>Default is "false". If switched on, threads are named like platform
+	 * threads, based on the {@link #setThreadNamePrefix thread name prefix},
+	 * with other local thread settings not applying. An external
+	 * {@link #setThreadFactory ThreadFactory} still takes precedence.
+	 * @throws IllegalStateException if virtual threads are not supported
+	 * @since 5.1.15
+	 * @see #isVirtualThreadsSupported()
+	 */
+	public void setVirtualThreads(boolean virtual) {
+		if (virtual && !VirtualThreadDelegate.isSupported()) {
+			throw new IllegalStateException("Virtual threads not supported on this runtime: requires Java 21+");
+		}
+		this.virtualThreads = virtual;
+	}
+
+	/**
+	 * Return whether this executor creates virtual threads.
+	 * @since 5.1.15
+	 */
+	public final boolean isVirtualThreads() {
+		return this.virtualThreads;
+	}
+
 	/**
 	 * Specify a custom {@link TaskDecorator} to be applied to any {@link Runnable}
 	 * about to be executed.
@@ -233,10 +264,39 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 	 * @see java.lang.Thread#start()
 	 */
 	protected void doExecute(Runnable task) {
-		Thread thread = (this.threadFactory != null ? this.threadFactory.newThread(task) : createThread(task));
+		Thread thread;
+		if (this.threadFactory != null) {
+			thread = this.threadFactory.newThread(task);
+		}
+		else if (this.virtualThreads) {
+			thread = obtainVirtualThreadFactory().newThread(task);
+			thread.setName(nextThreadName());
+		}
+		else {
+			thread = createThread(task);
+		}
 		thread.start();
 	}
 
+	private ThreadFactory obtainVirtualThreadFactory() {
+		ThreadFactory threadFactory = this.virtualThreadFactory;
+		if (threadFactory == null) {
+			threadFactory = VirtualThreadDelegate.virtualThreadFactory();
+			this.virtualThreadFactory = threadFactory;
+		}
+		return threadFactory;
+	}
+
+
+	/**
+	 * Return whether the current runtime supports virtual threads,
+	 * as a precondition for {@link #setVirtualThreads}.
+	 * @since 5.1.15
+	 */
+	public static boolean isVirtualThreadsSupported() {
+		return VirtualThreadDelegate.isSupported();
+	}
+
 
 	/**
 	 * Subclass of the general ConcurrencyThrottleSupport class,
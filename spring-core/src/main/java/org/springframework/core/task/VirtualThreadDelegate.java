@@ -0,0 +1,92 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Internal delegate for virtual thread handling on Java 21+, accessing the
+ * {@code Thread.ofVirtual()} builder API reflectively since this codebase
+ * is compiled against Java 8.
+ *
+ * @since 5.1.15
+ * @see SimpleAsyncTaskExecutor#setVirtualThreads
+ */
+final class VirtualThreadDelegate {
+
+	@Nullable
+	private static final Method ofVirtualMethod;
+
+	@Nullable
+	private static final Method factoryMethod;
+
+	static {
+		Method ofVirtual = null;
+		Method factory = null;
+		try {
+			Class<?> builderClass = ClassUtils.forName("java.lang.Thread$Builder", Thread.class.getClassLoader());
+			ofVirtual = Thread.class.getMethod("ofVirtual");
+			factory = builderClass.getMethod("factory");
+			// On Java 19/20, the builder API exists but fails unless preview features are enabled
+			ofVirtual.invoke(null);
+		}
+		catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException ex) {
+			// Virtual threads not available on this runtime (UnsupportedOperationException
+			// from Thread.ofVirtual() if preview features are not enabled)
+			ofVirtual = null;
+			factory = null;
+		}
+		ofVirtualMethod = ofVirtual;
+		factoryMethod = factory;
+	}
+
+
+	private VirtualThreadDelegate() {
+	}
+
+
+	/**
+	 * Return whether virtual threads are supported on the current runtime,
+	 * i.e. whether {@code Thread.ofVirtual()} is available and usable.
+	 */
+	public static boolean isSupported() {
+		return (ofVirtualMethod != null && factoryMethod != null);
+	}
+
+	/**
+	 * Create a factory for unnamed virtual threads, to be named by the caller.
+	 * @throws IllegalStateException if virtual threads are not supported
+	 */
+	public static ThreadFactory virtualThreadFactory() {
+		if (ofVirtualMethod == null || factoryMethod == null) {
+			throw new IllegalStateException("Virtual threads not supported on this runtime: requires Java 21+");
+		}
+		Object builder = ReflectionUtils.invokeMethod(ofVirtualMethod, null);
+		ThreadFactory threadFactory = (ThreadFactory) ReflectionUtils.invokeMethod(factoryMethod, builder);
+		if (threadFactory == null) {
+			throw new IllegalStateException("No virtual thread factory obtained from " + builder);
+		}
+		return threadFactory;
+	}
+
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.util;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Simple cache with a bounded number of entries, evicting entries that have
+ * not been used recently once the size limit is exceeded.
+ *
+ * <p>Lookups of existing entries neither block nor contend with each other:
+ * entries live in a {@link ConcurrentHashMap} and are merely flagged as used.
+ * Eviction follows the "second chance" (CLOCK) approximation of least recently
+ * used order, with insertion order being tracked in a lock-free queue; only
+ * cache misses that exceed the size limit acquire a lock to evict entries.
+ *
+ * <p>Values are created through the given generator function on a cache miss.
+ * Concurrent misses for the same key may each invoke the generator, with only
+ * one of the values being retained, so the generator should be side-effect free.
+ *
+ * @since 5.1.15
+ * @param <K> the type of the key used for cache retrieval
+ * @param <V> the type of the cached values
+ */
+public class ConcurrentLruCache<K, V> {
+
+	private final int sizeLimit;
+
+	private final Function<K, V> generator;
+
+	private final ConcurrentMap<K, Entry<V>> cache = new ConcurrentHashMap<>();
+
+	private final Queue<K> queue = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger size = new AtomicInteger();
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+
+	/**
+	 * Create a new cache instance with the given limit and generator function.
+	 * @param sizeLimit the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value)
+	 * @param generator a function to generate a new value for a given key
+	 */
+	public ConcurrentLruCache(int sizeLimit, Function<K, V> generator) {
+		Assert.isTrue(sizeLimit >= 0, "Cache size limit must not be negative");
+		Assert.notNull(generator, "Generator function must not be null");
+		this.sizeLimit = sizeLimit;
+		this.generator = generator;
+	}
+
+
+	/**
+	 * Retrieve an entry from the cache, potentially triggering generation
+	 * of the value.
+	 * @param key the key to retrieve the entry for
+	 * @return the cached or newly generated value
+	 */
+	public V get(K key) {
+		if (this.sizeLimit == 0) {
+			return this.generator.apply(key);
+		}
+
+		Entry<V> entry = this.cache.get(key);
+		if (entry != null) {
+			if (!entry.used) {
+				entry.used = true;
+			}
+			return entry.value;
+		}
+
+		V value = this.generator.apply(key);
+		entry = this.cache.putIfAbsent(key, new Entry<>(value));
+		if (entry != null) {
+			return entry.value;
+		}
+		if (this.size.incrementAndGet() > this.sizeLimit) {
+			evict();
+		}
+		// Queued after eviction, so that a new entry is never evicted right away
+		this.queue.offer(key);
+		// A concurrent eviction may have missed this entry while it was not queued yet
+		if (this.size.get() > this.sizeLimit) {
+			evict();
+		}
+		return value;
+	}
+
+	/**
+	 * Determine whether the given key is present in this cache.
+	 * @param key the key to check for
+	 * @return {@code true} if the key is present, {@code false} if there was
+	 * no matching key
+	 */
+	public boolean contains(K key) {
+		return this.cache.containsKey(key);
+	}
+
+	/**
+	 * Return the current size of the cache.
+	 * @see #sizeLimit()
+	 */
+	public int size() {
+		return this.size.get();
+	}
+
+	/**
+	 * Return the maximum number of entries in the cache
+	 * (0 indicates no caching, always generating a new value).
+	 * @see #size()
+	 */
+	public int sizeLimit() {
+		return this.sizeLimit;
+	}
+
+	private void evict() {
+		// Entries used since they were last looked at go back to the end of the queue,
+		// with the number of such rotations bounded in case all entries are in use.
+		// Entries not queued yet are left to the thread adding them.
+		this.evictionLock.lock();
+		try {
+			int rotations = 0;
+			while (this.size.get() > this.sizeLimit) {
+				K candidate = this.queue.poll();
+				if (candidate == null) {
+					return;
+				}
+				Entry<V> entry = this.cache.get(candidate);
+				if (entry == null) {
+					continue;
+				}
+				if (entry.used && rotations < this.sizeLimit) {
+					entry.used = false;
+					this.queue.offer(candidate);
+					rotations++;
+				}
+				else {
+					this.cache.remove(candidate);
+					this.size.decrementAndGet();
+					rotations = 0;
+				}
+			}
+		}
+		finally {
+			this.evictionLock.unlock();
+		}
+	}
+
+
+	private static final class Entry<V> {
+
+		final V value;
+
+		volatile boolean used;
+
+		Entry(V value) {
+			this.value = value;
+		}
+	}
+
+}
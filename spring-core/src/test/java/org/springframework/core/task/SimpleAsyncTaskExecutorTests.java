@@ -18,6 +18,7 @@ package org.springframework.core.task;
 
 import java.util.concurrent.ThreadFactory;
 
+import org.junit.Assume;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -77,6 +78,38 @@ public class SimpleAsyncTaskExecutorTests {
 		assertEquals("test", task.getThreadName());
 	}
 
+	@Test
+	public void virtualThreads() throws Exception {
+		Assume.assumeTrue(SimpleAsyncTaskExecutor.isVirtualThreadsSupported());
+		final Object monitor = new Object();
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("virtual-");
+		executor.setVirtualThreads(true);
+		assertTrue(executor.isVirtualThreads());
+		ThreadNameHarvester task = new ThreadNameHarvester(monitor);
+		executeAndWait(executor, task, monitor);
+		assertEquals("virtual-1", task.getThreadName());
+	}
+
+	@Test
+	public void virtualThreadsWithThreadNamePrefixSetAfterwards() throws Exception {
+		Assume.assumeTrue(SimpleAsyncTaskExecutor.isVirtualThreadsSupported());
+		final Object monitor = new Object();
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+		executor.setVirtualThreads(true);
+		executor.setThreadNamePrefix("virtual-");
+		ThreadNameHarvester task = new ThreadNameHarvester(monitor);
+		executeAndWait(executor, task, monitor);
+		assertEquals("virtual-1", task.getThreadName());
+	}
+
+	@Test
+	public void virtualThreadsNotSupported() throws Exception {
+		Assume.assumeFalse(SimpleAsyncTaskExecutor.isVirtualThreadsSupported());
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+		exception.expect(IllegalStateException.class);
+		executor.setVirtualThreads(true);
+	}
+
 	@Test
 	public void throwsExceptionWhenSuppliedWithNullRunnable() throws Exception {
 		exception.expect(IllegalArgumentException.class);
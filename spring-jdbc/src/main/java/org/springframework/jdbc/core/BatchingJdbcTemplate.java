@@ -0,0 +1,332 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * {@link JdbcTemplate} variant that defers SQL updates issued within a
+ * transaction and executes them as JDBC batches, saving a database round
+ * trip per update for code that calls {@link #update(String, Object...)}
+ * in a loop.
+ *
+ * <p>Within an actual transaction with synchronization active, updates for
+ * the same SQL statement are queued rather than executed right away. The
+ * queued updates are flushed as a single batch:
+ * <ul>
+ * <li>once the {@link #setBatchSize batch size} has been reached,
+ * <li>before an update with different SQL gets queued,
+ * <li>before any other operation is performed through this template
+ * (queries, non-deferrable updates, batch updates, callbacks),
+ * <li>on {@link org.springframework.transaction.TransactionStatus#flush()}
+ * and when the transaction gets suspended,
+ * <li>before the transaction commits.
+ * </ul>
+ * Queued updates are discarded on rollback. Outside of a transaction, all
+ * operations are executed immediately, just like with a plain JdbcTemplate.
+ *
+ * <p>Deferred updates return {@link Statement#SUCCESS_NO_INFO} instead of an
+ * actual update count, and errors are reported when the batch is flushed
+ * rather than by the update call that caused them. Statements executed
+ * against the same transactional Connection by other means (e.g. other
+ * JdbcTemplate instances or an ORM) do not trigger a flush; call
+ * {@link #flush()} explicitly before such access if it needs to observe
+ * the deferred updates.
+ *
+ * <p>Only updates specifying their SQL as a String are deferred, including
+ * {@link #update(String)} without arguments, which then gets executed as
+ * part of a PreparedStatement batch. Arguments are copied when queued, but
+ * a given {@link PreparedStatementSetter} gets invoked at flush time and must
+ * therefore not be reused for other values before that point.
+ *
+ * @since 5.1.15
+ * @see #flush()
+ * @see #batchUpdate(String, BatchPreparedStatementSetter)
+ */
+public class BatchingJdbcTemplate extends JdbcTemplate {
+
+	private int batchSize = 100;
+
+
+	/**
+	 * Construct a new BatchingJdbcTemplate for bean usage.
+	 * <p>Note: The DataSource has to be set before using the instance.
+	 * @see #setDataSource
+	 */
+	public BatchingJdbcTemplate() {
+	}
+
+	/**
+	 * Construct a new BatchingJdbcTemplate, given a DataSource to obtain connections from.
+	 * <p>Note: This will not trigger initialization of the exception translator.
+	 * @param dataSource the JDBC DataSource to obtain connections from
+	 */
+	public BatchingJdbcTemplate(DataSource dataSource) {
+		super(dataSource);
+	}
+
+	/**
+	 * Construct a new BatchingJdbcTemplate, given a DataSource to obtain connections from.
+	 * <p>Note: Depending on the "lazyInit" flag, initialization of the exception translator
+	 * will be triggered.
+	 * @param dataSource the JDBC DataSource to obtain connections from
+	 * @param lazyInit whether to lazily initialize the SQLExceptionTranslator
+	 */
+	public BatchingJdbcTemplate(DataSource dataSource, boolean lazyInit) {
+		super(dataSource, lazyInit);
+	}
+
+
+	/**
+	 * Set the maximum number of updates to queue before executing them as a batch.
+	 * Default is 100.
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Return the maximum number of updates to queue before executing them as a batch.
+	 */
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
+
+	/**
+	 * Execute the updates queued within the current transaction, if any.
+	 * <p>This is performed automatically before any other operation on this
+	 * template and before transaction commit, but may need to be triggered
+	 * explicitly before accessing the affected data by other means.
+	 */
+	public void flush() {
+		BatchSynchronization synchronization =
+				(BatchSynchronization) TransactionSynchronizationManager.getResource(this);
+		if (synchronization != null) {
+			synchronization.flush();
+		}
+	}
+
+	@Override
+	public int update(String sql) throws DataAccessException {
+		return update(sql, (PreparedStatementSetter) null);
+	}
+
+	@Override
+	public int update(String sql, @Nullable PreparedStatementSetter pss) throws DataAccessException {
+		BatchSynchronization synchronization = obtainBatchSynchronization();
+		if (synchronization == null) {
+			return super.update(sql, pss);
+		}
+		synchronization.add(sql, pss);
+		return Statement.SUCCESS_NO_INFO;
+	}
+
+	@Override
+	public int update(String sql, Object[] args, int[] argTypes) throws DataAccessException {
+		return update(sql, newArgTypePreparedStatementSetter(args.clone(), argTypes));
+	}
+
+	@Override
+	public int update(String sql, @Nullable Object... args) throws DataAccessException {
+		return update(sql, newArgPreparedStatementSetter(args != null ? args.clone() : null));
+	}
+
+	@Override
+	@Nullable
+	public <T> T execute(ConnectionCallback<T> action) throws DataAccessException {
+		flush();
+		return super.execute(action);
+	}
+
+	@Override
+	@Nullable
+	public <T> T execute(StatementCallback<T> action) throws DataAccessException {
+		flush();
+		return super.execute(action);
+	}
+
+	@Override
+	@Nullable
+	public <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action)
+			throws DataAccessException {
+
+		flush();
+		return super.execute(psc, action);
+	}
+
+	@Override
+	@Nullable
+	public <T> T execute(CallableStatementCreator csc, CallableStatementCallback<T> action)
+			throws DataAccessException {
+
+		flush();
+		return super.execute(csc, action);
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper) throws DataAccessException {
+		flush();
+		return super.queryForStream(sql, rowMapper);
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
+			RowMapper<T> rowMapper) throws DataAccessException {
+
+		flush();
+		return super.queryForStream(psc, pss, rowMapper);
+	}
+
+	@Nullable
+	private BatchSynchronization obtainBatchSynchronization() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive() ||
+				!TransactionSynchronizationManager.isActualTransactionActive()) {
+			return null;
+		}
+		BatchSynchronization synchronization =
+				(BatchSynchronization) TransactionSynchronizationManager.getResource(this);
+		if (synchronization == null) {
+			synchronization = new BatchSynchronization();
+			TransactionSynchronizationManager.bindResource(this, synchronization);
+			TransactionSynchronizationManager.registerSynchronization(synchronization);
+		}
+		return synchronization;
+	}
+
+
+	/**
+	 * Transaction synchronization holding the updates queued for a transaction,
+	 * bound as transactional resource with this template as key.
+	 */
+	private class BatchSynchronization extends TransactionSynchronizationAdapter {
+
+		@Nullable
+		private String sql;
+
+		private final List<PreparedStatementSetter> setters = new ArrayList<>();
+
+		void add(String sql, @Nullable PreparedStatementSetter pss) {
+			if (this.sql != null && !this.sql.equals(sql)) {
+				flush();
+			}
+			if (logger.isTraceEnabled()) {
+				logger.trace("Deferring SQL update [" + sql + "]");
+			}
+			this.sql = sql;
+			this.setters.add(pss);
+			if (this.setters.size() >= getBatchSize()) {
+				flush();
+			}
+		}
+
+		@Override
+		public int getOrder() {
+			// Before the Connection gets released
+			return DataSourceUtils.CONNECTION_SYNCHRONIZATION_ORDER - 1;
+		}
+
+		@Override
+		public void flush() {
+			String sql = this.sql;
+			if (sql == null) {
+				return;
+			}
+			// Detach the queued updates first, since executing them triggers another flush
+			List<PreparedStatementSetter> setters = new ArrayList<>(this.setters);
+			this.setters.clear();
+			this.sql = null;
+			batchUpdate(sql, new DeferredUpdatesSetter(setters));
+		}
+
+		@Override
+		public void suspend() {
+			flush();
+			TransactionSynchronizationManager.unbindResource(BatchingJdbcTemplate.this);
+		}
+
+		@Override
+		public void resume() {
+			TransactionSynchronizationManager.bindResource(BatchingJdbcTemplate.this, this);
+		}
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			flush();
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			// Discard anything left after a rollback
+			this.setters.clear();
+			this.sql = null;
+			TransactionSynchronizationManager.unbindResourceIfPossible(BatchingJdbcTemplate.this);
+		}
+	}
+
+
+	/**
+	 * Batch setter applying the setters of the deferred updates,
+	 * cleaning up their parameters once the batch has been executed.
+	 */
+	private static class DeferredUpdatesSetter implements BatchPreparedStatementSetter, ParameterDisposer {
+
+		private final List<PreparedStatementSetter> setters;
+
+		public DeferredUpdatesSetter(List<PreparedStatementSetter> setters) {
+			this.setters = setters;
+		}
+
+		@Override
+		public void setValues(PreparedStatement ps, int i) throws SQLException {
+			PreparedStatementSetter pss = this.setters.get(i);
+			if (pss != null) {
+				pss.setValues(ps);
+			}
+		}
+
+		@Override
+		public int getBatchSize() {
+			return this.setters.size();
+		}
+
+		@Override
+		public void cleanupParameters() {
+			for (PreparedStatementSetter pss : this.setters) {
+				if (pss instanceof ParameterDisposer) {
+					((ParameterDisposer) pss).cleanupParameters();
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,485 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.MethodInvocationException;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.MethodParameter;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link BeanPropertyRowMapper} variant that resolves the column-to-property
+ * mapping once per result set shape (that is, per sequence of column names)
+ * instead of once per row, and populates the target objects through
+ * {@link MethodHandle MethodHandles} instead of a {@code BeanWrapper}.
+ *
+ * <p>Columns mapped to primitive properties (other than {@code char}) are read
+ * through the corresponding typed {@code ResultSet} getter (e.g.
+ * {@link ResultSet#getInt}) and passed to the setter without boxing, unless
+ * {@link #getColumnValue} is overridden in a subclass. All other columns are
+ * read through {@link #getColumnValue}, with values that are not assignable
+ * to the property type being converted through the configured
+ * {@link #setConversionService ConversionService} and the default property
+ * editors. As a consequence, customizations of the {@code BeanWrapper}
+ * through {@link #initBeanWrapper} are not applied.
+ *
+ * <p>Mapping plans are cached per mapper instance, keyed by column shape,
+ * so an instance should be reused (e.g. held in a constant) for repeated
+ * queries in order to benefit from this variant. The plan for the most
+ * recently processed {@code ResultSet} is also kept at hand, so that its
+ * further rows do not require a metadata lookup. It is safe to share an
+ * instance across threads.
+ *
+ * @since 5.1.15
+ * @param <T> the result type
+ */
+public class CompiledBeanPropertyRowMapper<T> extends BeanPropertyRowMapper<T> {
+
+	private static final int MAPPING_PLAN_CACHE_LIMIT = 64;
+
+	private static final MethodType OBJECT_FACTORY_TYPE = MethodType.methodType(Object.class);
+
+	private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+
+	private final Map<List<String>, MappingPlan> mappingPlanCache = new ConcurrentHashMap<>(4);
+
+	@Nullable
+	private volatile ResultSetMappingPlan currentMappingPlan;
+
+	@Nullable
+	private Boolean columnValueOverridden;
+
+
+	/**
+	 * Create a new {@code CompiledBeanPropertyRowMapper} for bean-style configuration.
+	 * @see #setMappedClass
+	 * @see #setCheckFullyPopulated
+	 */
+	public CompiledBeanPropertyRowMapper() {
+	}
+
+	/**
+	 * Create a new {@code CompiledBeanPropertyRowMapper}, accepting unpopulated
+	 * properties in the target bean.
+	 * @param mappedClass the class that each row should be mapped to
+	 */
+	public CompiledBeanPropertyRowMapper(Class<T> mappedClass) {
+		super(mappedClass);
+	}
+
+	/**
+	 * Create a new {@code CompiledBeanPropertyRowMapper}.
+	 * @param mappedClass the class that each row should be mapped to
+	 * @param checkFullyPopulated whether we're strictly validating that
+	 * all bean properties have been mapped from corresponding database fields
+	 */
+	public CompiledBeanPropertyRowMapper(Class<T> mappedClass, boolean checkFullyPopulated) {
+		super(mappedClass, checkFullyPopulated);
+	}
+
+
+	/**
+	 * Extract the values for all columns in the current row, using the
+	 * mapping plan for the shape of the given ResultSet.
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
+		MappingPlan plan = obtainMappingPlan(rs);
+		if (isCheckFullyPopulated() && !plan.fullyPopulating) {
+			throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain all fields " +
+					"necessary to populate object of class [" + plan.mappedClass.getName() + "]: " +
+					plan.mappedProperties);
+		}
+		Object mappedObject = plan.instantiate();
+		for (ColumnMapping mapping : plan.columnMappings) {
+			mapping.apply(rs, mappedObject, rowNumber);
+		}
+		return (T) mappedObject;
+	}
+
+	private MappingPlan obtainMappingPlan(ResultSet rs) throws SQLException {
+		// Further rows of the most recent ResultSet share its plan without a metadata
+		// lookup; with several ResultSets processed concurrently, this may fall back
+		// to the lookup below
+		ResultSetMappingPlan current = this.currentMappingPlan;
+		if (current != null && current.resultSet.get() == rs) {
+			return current.plan;
+		}
+
+		ResultSetMetaData rsmd = rs.getMetaData();
+		String[] columns = new String[rsmd.getColumnCount()];
+		for (int i = 0; i < columns.length; i++) {
+			columns[i] = JdbcUtils.lookupColumnName(rsmd, i + 1);
+		}
+		List<String> shape = Arrays.asList(columns);
+		MappingPlan plan = this.mappingPlanCache.get(shape);
+		if (plan == null) {
+			plan = createMappingPlan(columns);
+			if (this.mappingPlanCache.size() < MAPPING_PLAN_CACHE_LIMIT) {
+				this.mappingPlanCache.put(shape, plan);
+			}
+		}
+		this.currentMappingPlan = new ResultSetMappingPlan(rs, plan);
+		return plan;
+	}
+
+	private MappingPlan createMappingPlan(String[] columns) {
+		Class<T> mappedClass = getMappedClass();
+		Assert.state(mappedClass != null, "Mapped class was not specified");
+
+		Map<String, PropertyDescriptor> mappedFields = new HashMap<>();
+		Set<String> mappedProperties = new HashSet<>();
+		for (PropertyDescriptor pd : BeanUtils.getPropertyDescriptors(mappedClass)) {
+			if (pd.getWriteMethod() != null) {
+				mappedFields.put(lowerCaseName(pd.getName()), pd);
+				mappedFields.put(underscoreName(pd.getName()), pd);
+				mappedProperties.add(pd.getName());
+			}
+		}
+
+		List<ColumnMapping> columnMappings = new ArrayList<>(columns.length);
+		Set<String> populatedProperties = new HashSet<>();
+		for (int i = 0; i < columns.length; i++) {
+			String column = columns[i];
+			String field = lowerCaseName(StringUtils.delete(column, " "));
+			PropertyDescriptor pd = mappedFields.get(field);
+			if (pd != null) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
+							"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
+				}
+				columnMappings.add(createColumnMapping(i + 1, column, pd));
+				populatedProperties.add(pd.getName());
+			}
+			else if (logger.isDebugEnabled()) {
+				logger.debug("No property found for column '" + column + "' mapped to field '" + field + "'");
+			}
+		}
+
+		return new MappingPlan(mappedClass, createFactory(mappedClass),
+				columnMappings, mappedProperties,
+				populatedProperties.equals(mappedProperties));
+	}
+
+	@Nullable
+	private static MethodHandle createFactory(Class<?> mappedClass) {
+		if (mappedClass.isInterface()) {
+			throw new BeanInstantiationException(mappedClass, "Specified class is an interface");
+		}
+		try {
+			Constructor<?> ctor = mappedClass.getDeclaredConstructor();
+			ReflectionUtils.makeAccessible(ctor);
+			return lookup.unreflectConstructor(ctor).asType(OBJECT_FACTORY_TYPE);
+		}
+		catch (NoSuchMethodException | IllegalAccessException ex) {
+			// Let BeanUtils deal with primary constructors and report instantiation failures
+			return null;
+		}
+	}
+
+	private ColumnMapping createColumnMapping(int index, String column, PropertyDescriptor pd) {
+		Method writeMethod = pd.getWriteMethod();
+		Assert.state(writeMethod != null, "No write method");
+		Class<?> type = writeMethod.getParameterTypes()[0];
+		MethodHandle setter;
+		try {
+			ReflectionUtils.makeAccessible(writeMethod);
+			setter = lookup.unreflect(writeMethod);
+		}
+		catch (IllegalAccessException ex) {
+			throw new DataRetrievalFailureException(
+					"Unable to map column '" + column + "' to property '" + pd.getName() + "'", ex);
+		}
+		if (type.isPrimitive() && type != char.class && !isColumnValueOverridden()) {
+			setter = setter.asType(MethodType.methodType(void.class, Object.class, type));
+			return new PrimitiveColumnMapping(index, column, pd, setter, type);
+		}
+		setter = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+		return new ObjectColumnMapping(index, column, pd, setter, new MethodParameter(writeMethod, 0));
+	}
+
+	/**
+	 * Determine whether {@link #getColumnValue} is overridden, in which case
+	 * primitive columns are read through it as well.
+	 */
+	private boolean isColumnValueOverridden() {
+		Boolean overridden = this.columnValueOverridden;
+		if (overridden == null) {
+			Method method = ReflectionUtils.findMethod(getClass(), "getColumnValue",
+					ResultSet.class, int.class, PropertyDescriptor.class);
+			overridden = (method != null && method.getDeclaringClass() != BeanPropertyRowMapper.class);
+			this.columnValueOverridden = overridden;
+		}
+		return overridden;
+	}
+
+
+	/**
+	 * Static factory method to create a new {@code CompiledBeanPropertyRowMapper}
+	 * (with the mapped class specified only once).
+	 * @param mappedClass the class that each row should be mapped to
+	 */
+	public static <T> CompiledBeanPropertyRowMapper<T> newInstance(Class<T> mappedClass) {
+		return new CompiledBeanPropertyRowMapper<>(mappedClass);
+	}
+
+
+	/**
+	 * The column mappings and instantiation strategy for a specific result set shape.
+	 */
+	private final class MappingPlan {
+
+		final Class<?> mappedClass;
+
+		@Nullable
+		final MethodHandle factory;
+
+		final List<ColumnMapping> columnMappings;
+
+		final Set<String> mappedProperties;
+
+		final boolean fullyPopulating;
+
+		MappingPlan(Class<?> mappedClass, @Nullable MethodHandle factory, List<ColumnMapping> columnMappings,
+				Set<String> mappedProperties, boolean fullyPopulating) {
+
+			this.mappedClass = mappedClass;
+			this.factory = factory;
+			this.columnMappings = columnMappings;
+			this.mappedProperties = mappedProperties;
+			this.fullyPopulating = fullyPopulating;
+		}
+
+		Object instantiate() {
+			if (this.factory == null) {
+				return BeanUtils.instantiateClass(this.mappedClass);
+			}
+			try {
+				return (Object) this.factory.invokeExact();
+			}
+			catch (RuntimeException | Error ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new BeanInstantiationException(this.mappedClass, "Constructor threw exception", ex);
+			}
+		}
+	}
+
+
+	/**
+	 * The mapping plan for a specific ResultSet, which is only weakly referenced.
+	 */
+	private final class ResultSetMappingPlan {
+
+		final WeakReference<ResultSet> resultSet;
+
+		final MappingPlan plan;
+
+		ResultSetMappingPlan(ResultSet resultSet, MappingPlan plan) {
+			this.resultSet = new WeakReference<>(resultSet);
+			this.plan = plan;
+		}
+	}
+
+
+	/**
+	 * Maps a single column to a bean property through its setter.
+	 */
+	private abstract class ColumnMapping {
+
+		protected final int index;
+
+		protected final String column;
+
+		protected final PropertyDescriptor pd;
+
+		protected final MethodHandle setter;
+
+		ColumnMapping(int index, String column, PropertyDescriptor pd, MethodHandle setter) {
+			this.index = index;
+			this.column = column;
+			this.pd = pd;
+			this.setter = setter;
+		}
+
+		final void apply(ResultSet rs, Object mappedObject, int rowNumber) throws SQLException {
+			try {
+				doApply(rs, mappedObject, rowNumber);
+			}
+			catch (SQLException | RuntimeException | Error ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new MethodInvocationException(
+						new PropertyChangeEvent(mappedObject, this.pd.getName(), null, null), ex);
+			}
+		}
+
+		protected abstract void doApply(ResultSet rs, Object mappedObject, int rowNumber) throws Throwable;
+
+		protected void handleNullValue(Object mappedObject, int rowNumber) {
+			TypeMismatchException ex = new TypeMismatchException(
+					new PropertyChangeEvent(mappedObject, this.pd.getName(), null, null), this.pd.getPropertyType());
+			if (!isPrimitivesDefaultedForNullValue()) {
+				throw ex;
+			}
+			if (logger.isDebugEnabled()) {
+				logger.debug("Intercepted TypeMismatchException for row " + rowNumber +
+						" and column '" + this.column + "' with null value when setting property '" +
+						this.pd.getName() + "' of type '" +
+						ClassUtils.getQualifiedName(this.pd.getPropertyType()) +
+						"' on object: " + mappedObject, ex);
+			}
+		}
+	}
+
+
+	/**
+	 * Maps a column to a primitive property through the typed ResultSet getter.
+	 */
+	private class PrimitiveColumnMapping extends ColumnMapping {
+
+		private final Class<?> type;
+
+		PrimitiveColumnMapping(int index, String column, PropertyDescriptor pd, MethodHandle setter, Class<?> type) {
+			super(index, column, pd, setter);
+			this.type = type;
+		}
+
+		@Override
+		protected void doApply(ResultSet rs, Object mappedObject, int rowNumber) throws Throwable {
+			if (this.type == int.class) {
+				int value = rs.getInt(this.index);
+				if (!rs.wasNull()) {
+					this.setter.invokeExact(mappedObject, value);
+					return;
+				}
+			}
+			else if (this.type == long.class) {
+				long value = rs.getLong(this.index);
+				if (!rs.wasNull()) {
+					this.setter.invokeExact(mappedObject, value);
+					return;
+				}
+			}
+			else if (this.type == boolean.class) {
+				boolean value = rs.getBoolean(this.index);
+				if (!rs.wasNull()) {
+					this.setter.invokeExact(mappedObject, value);
+					return;
+				}
+			}
+			else if (this.type == double.class) {
+				double value = rs.getDouble(this.index);
+				if (!rs.wasNull()) {
+					this.setter.invokeExact(mappedObject, value);
+					return;
+				}
+			}
+			else if (this.type == float.class) {
+				float value = rs.getFloat(this.index);
+				if (!rs.wasNull()) {
+					this.setter.invokeExact(mappedObject, value);
+					return;
+				}
+			}
+			else if (this.type == short.class) {
+				short value = rs.getShort(this.index);
+				if (!rs.wasNull()) {
+					this.setter.invokeExact(mappedObject, value);
+					return;
+				}
+			}
+			else {
+				byte value = rs.getByte(this.index);
+				if (!rs.wasNull()) {
+					this.setter.invokeExact(mappedObject, value);
+					return;
+				}
+			}
+			handleNullValue(mappedObject, rowNumber);
+		}
+	}
+
+
+	/**
+	 * Maps a column to a non-primitive property, converting the value if necessary.
+	 */
+	private class ObjectColumnMapping extends ColumnMapping {
+
+		private final MethodParameter methodParameter;
+
+		ObjectColumnMapping(int index, String column, PropertyDescriptor pd, MethodHandle setter,
+				MethodParameter methodParameter) {
+
+			super(index, column, pd, setter);
+			this.methodParameter = methodParameter;
+		}
+
+		@Override
+		protected void doApply(ResultSet rs, Object mappedObject, int rowNumber) throws Throwable {
+			Object value = getColumnValue(rs, this.index, this.pd);
+			Class<?> type = this.methodParameter.getParameterType();
+			if (value == null) {
+				if (type.isPrimitive()) {
+					handleNullValue(mappedObject, rowNumber);
+					return;
+				}
+			}
+			else if (!ClassUtils.isAssignableValue(type, value)) {
+				SimpleTypeConverter converter = new SimpleTypeConverter();
+				converter.setConversionService(getConversionService());
+				value = converter.convertIfNecessary(value, type, this.methodParameter);
+			}
+			this.setter.invokeExact(mappedObject, value);
+		}
+	}
+
+}
@@ -34,6 +34,17 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
@@ -45,10 +56,12 @@ import org.springframework.jdbc.UncategorizedSQLException;
 import org.springframework.jdbc.datasource.ConnectionProxy;
 import org.springframework.jdbc.datasource.DataSourceUtils;
 import org.springframework.jdbc.support.JdbcAccessor;
+import org.springframework.jdbc.support.JdbcInstrumentation;
 import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.LinkedCaseInsensitiveMap;
 import org.springframework.util.StringUtils;
@@ -321,7 +334,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	public <T> T execute(ConnectionCallback<T> action) throws DataAccessException {
 		Assert.notNull(action, "Callback object must not be null");
 
-		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		Connection con = obtainConnection();
 		try {
 			// Create close-suppressing Connection proxy, also preparing returned Statements.
 			Connection conToUse = createConnectionProxy(con);
@@ -340,6 +353,24 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 	}
 
+	/**
+	 * Obtain a JDBC Connection from this template's DataSource, recording
+	 * the time spent with the configured {@link JdbcInstrumentation}, if any.
+	 * @return the JDBC Connection
+	 * @see DataSourceUtils#getConnection(DataSource)
+	 * @see JdbcInstrumentation#connectionAcquired
+	 */
+	private Connection obtainConnection() {
+		JdbcInstrumentation instrumentation = getInstrumentation();
+		if (instrumentation == null) {
+			return DataSourceUtils.getConnection(obtainDataSource());
+		}
+		long startTime = System.nanoTime();
+		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		instrumentation.connectionAcquired(System.nanoTime() - startTime);
+		return con;
+	}
+
 	/**
 	 * Create a close-suppressing proxy for the given JDBC Connection.
 	 * Called by the {@code execute} method.
@@ -366,15 +397,37 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	@Override
 	@Nullable
 	public <T> T execute(StatementCallback<T> action) throws DataAccessException {
+		return execute(action, true);
+	}
+
+	@Nullable
+	private <T> T execute(StatementCallback<T> action, boolean closeResources) throws DataAccessException {
 		Assert.notNull(action, "Callback object must not be null");
 
-		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		Connection con = obtainConnection();
 		Statement stmt = null;
+		boolean keepResourcesOpen = false;
 		try {
 			stmt = con.createStatement();
 			applyStatementSettings(stmt);
-			T result = action.doInStatement(stmt);
+			JdbcInstrumentation instrumentation = getInstrumentation();
+			long startTime = (instrumentation != null ? System.nanoTime() : 0);
+			T result;
+			try {
+				result = action.doInStatement(stmt);
+			}
+			catch (Throwable ex) {
+				if (instrumentation != null) {
+					instrumentation.statementFailed(getSql(action), System.nanoTime() - startTime, ex);
+				}
+				throw ex;
+			}
+			if (instrumentation != null && closeResources) {
+				// Streamed results get reported once their Stream has been closed
+				instrumentation.statementExecuted(getSql(action), System.nanoTime() - startTime);
+			}
 			handleWarnings(stmt);
+			keepResourcesOpen = !closeResources;
 			return result;
 		}
 		catch (SQLException ex) {
@@ -388,8 +441,10 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			throw translateException("StatementCallback", sql, ex);
 		}
 		finally {
-			JdbcUtils.closeStatement(stmt);
-			DataSourceUtils.releaseConnection(con, getDataSource());
+			if (!keepResourcesOpen) {
+				JdbcUtils.closeStatement(stmt);
+				DataSourceUtils.releaseConnection(con, getDataSource());
+			}
 		}
 	}
 
@@ -437,7 +492,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 				ResultSet rs = null;
 				try {
 					rs = stmt.executeQuery(sql);
-					return rse.extractData(rs);
+					return extractData(rs, rse, sql);
 				}
 				finally {
 					JdbcUtils.closeResultSet(rs);
@@ -462,6 +517,38 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return result(query(sql, new RowMapperResultSetExtractor<>(rowMapper)));
 	}
 
+	@Override
+	public <T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper) throws DataAccessException {
+		Assert.notNull(sql, "SQL must not be null");
+		Assert.notNull(rowMapper, "RowMapper must not be null");
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing SQL query [" + sql + "]");
+		}
+
+		/**
+		 * Callback to execute the query, leaving the resources open for the Stream.
+		 */
+		class StreamStatementCallback implements StatementCallback<Stream<T>>, SqlProvider {
+			@Override
+			public Stream<T> doInStatement(Statement stmt) throws SQLException {
+				long startTime = System.nanoTime();
+				ResultSet rs = stmt.executeQuery(sql);
+				Connection con = stmt.getConnection();
+				return stream(rs, rowMapper, sql, startTime, () -> {
+					JdbcUtils.closeResultSet(rs);
+					JdbcUtils.closeStatement(stmt);
+					DataSourceUtils.releaseConnection(con, getDataSource());
+				});
+			}
+			@Override
+			public String getSql() {
+				return sql;
+			}
+		}
+
+		return result(execute(new StreamStatementCallback(), false));
+	}
+
 	@Override
 	public Map<String, Object> queryForMap(String sql) throws DataAccessException {
 		return result(queryForObject(sql, getColumnMapRowMapper()));
@@ -602,6 +689,13 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	public <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action)
 			throws DataAccessException {
 
+		return execute(psc, action, true);
+	}
+
+	@Nullable
+	private <T> T execute(PreparedStatementCreator psc, PreparedStatementCallback<T> action, boolean closeResources)
+			throws DataAccessException {
+
 		Assert.notNull(psc, "PreparedStatementCreator must not be null");
 		Assert.notNull(action, "Callback object must not be null");
 		if (logger.isDebugEnabled()) {
@@ -609,13 +703,30 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			logger.debug("Executing prepared SQL statement" + (sql != null ? " [" + sql + "]" : ""));
 		}
 
-		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		Connection con = obtainConnection();
 		PreparedStatement ps = null;
+		boolean keepResourcesOpen = false;
 		try {
 			ps = psc.createPreparedStatement(con);
 			applyStatementSettings(ps);
-			T result = action.doInPreparedStatement(ps);
+			JdbcInstrumentation instrumentation = getInstrumentation();
+			long startTime = (instrumentation != null ? System.nanoTime() : 0);
+			T result;
+			try {
+				result = action.doInPreparedStatement(ps);
+			}
+			catch (Throwable ex) {
+				if (instrumentation != null) {
+					instrumentation.statementFailed(getSql(psc), System.nanoTime() - startTime, ex);
+				}
+				throw ex;
+			}
+			if (instrumentation != null && closeResources) {
+				// Streamed results get reported once their Stream has been closed
+				instrumentation.statementExecuted(getSql(psc), System.nanoTime() - startTime);
+			}
 			handleWarnings(ps);
+			keepResourcesOpen = !closeResources;
 			return result;
 		}
 		catch (SQLException ex) {
@@ -633,11 +744,13 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			throw translateException("PreparedStatementCallback", sql, ex);
 		}
 		finally {
-			if (psc instanceof ParameterDisposer) {
-				((ParameterDisposer) psc).cleanupParameters();
+			if (!keepResourcesOpen) {
+				if (psc instanceof ParameterDisposer) {
+					((ParameterDisposer) psc).cleanupParameters();
+				}
+				JdbcUtils.closeStatement(ps);
+				DataSourceUtils.releaseConnection(con, getDataSource());
 			}
-			JdbcUtils.closeStatement(ps);
-			DataSourceUtils.releaseConnection(con, getDataSource());
 		}
 	}
 
@@ -676,7 +789,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 						pss.setValues(ps);
 					}
 					rs = ps.executeQuery();
-					return rse.extractData(rs);
+					return extractData(rs, rse, getSql(psc));
 				}
 				finally {
 					JdbcUtils.closeResultSet(rs);
@@ -768,6 +881,77 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return result(query(sql, args, new RowMapperResultSetExtractor<>(rowMapper)));
 	}
 
+	/**
+	 * Query using a prepared statement, allowing for a PreparedStatementCreator
+	 * and a PreparedStatementSetter, mapping each row to a result object via a
+	 * RowMapper, and turning it into an iterable and closeable Stream.
+	 * <p>The ResultSet, the PreparedStatement and the Connection remain open
+	 * until the returned Stream gets closed. A transactional Connection is
+	 * only released back to the transaction at that point, not closed.
+	 * @param psc a callback that creates a PreparedStatement given a Connection
+	 * @param pss a callback that knows how to set values on the prepared statement.
+	 * If this is {@code null}, the SQL will be assumed to contain no bind parameters.
+	 * @param rowMapper a callback that will map one object per row
+	 * @return the result Stream, containing mapped objects, needing to be
+	 * closed once fully processed (e.g. through a try-with-resources clause)
+	 * @throws DataAccessException if there is any problem
+	 * @since 5.1.15
+	 */
+	public <T> Stream<T> queryForStream(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
+			RowMapper<T> rowMapper) throws DataAccessException {
+
+		Assert.notNull(rowMapper, "RowMapper must not be null");
+		logger.debug("Executing prepared SQL query");
+
+		return result(execute(psc, ps -> {
+			long startTime = System.nanoTime();
+			ResultSet rs = null;
+			try {
+				if (pss != null) {
+					pss.setValues(ps);
+				}
+				rs = ps.executeQuery();
+			}
+			finally {
+				if (rs == null && pss instanceof ParameterDisposer) {
+					((ParameterDisposer) pss).cleanupParameters();
+				}
+			}
+			ResultSet resultSet = rs;
+			Connection con = ps.getConnection();
+			return stream(resultSet, rowMapper, getSql(psc), startTime, () -> {
+				JdbcUtils.closeResultSet(resultSet);
+				if (pss instanceof ParameterDisposer) {
+					((ParameterDisposer) pss).cleanupParameters();
+				}
+				if (psc instanceof ParameterDisposer) {
+					((ParameterDisposer) psc).cleanupParameters();
+				}
+				JdbcUtils.closeStatement(ps);
+				DataSourceUtils.releaseConnection(con, getDataSource());
+			});
+		}, false));
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(PreparedStatementCreator psc, RowMapper<T> rowMapper) throws DataAccessException {
+		return queryForStream(psc, null, rowMapper);
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(String sql, @Nullable PreparedStatementSetter pss, RowMapper<T> rowMapper)
+			throws DataAccessException {
+
+		return queryForStream(new SimplePreparedStatementCreator(sql), pss, rowMapper);
+	}
+
+	@Override
+	public <T> Stream<T> queryForStream(String sql, RowMapper<T> rowMapper, @Nullable Object... args)
+			throws DataAccessException {
+
+		return queryForStream(new SimplePreparedStatementCreator(sql), newArgPreparedStatementSetter(args), rowMapper);
+	}
+
 	@Override
 	@Nullable
 	public <T> T queryForObject(String sql, Object[] args, int[] argTypes, RowMapper<T> rowMapper)
@@ -1067,6 +1251,56 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return result;
 	}
 
+	@Override
+	public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+			ParameterizedPreparedStatementSetter<T> pss, Executor executor, int parallelism)
+			throws DataAccessException {
+
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		Assert.notNull(executor, "Executor must not be null");
+		Assert.isTrue(parallelism > 0, "Parallelism must be greater than 0");
+		if (parallelism == 1 || batchArgs.size() <= batchSize ||
+				TransactionSynchronizationManager.isActualTransactionActive()) {
+			// Batches need to share the Connection of the current transaction
+			return batchUpdate(sql, batchArgs, batchSize, pss);
+		}
+
+		ParallelBatchUpdate<T> batchUpdate = new ParallelBatchUpdate<>(sql, batchArgs, batchSize, pss);
+		int workers = Math.min(parallelism, batchUpdate.getBatchCount());
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing SQL batch update [" + sql + "] with a batch size of " + batchSize +
+					" on up to " + workers + " threads");
+		}
+		try {
+			List<ParallelBatchWorker> helpers = new ArrayList<>(workers - 1);
+			for (int i = 1; i < workers; i++) {
+				ParallelBatchWorker helper = new ParallelBatchWorker(batchUpdate);
+				try {
+					executor.execute(helper);
+				}
+				catch (RejectedExecutionException ex) {
+					logger.debug("Executor rejected parallel SQL batch update - continuing with fewer threads");
+					break;
+				}
+				helpers.add(helper);
+			}
+			// The calling thread takes part and only waits for helpers that have actually
+			// started: the others are cancelled, since there are no batches left for them
+			// anyway, and may still be queued in a saturated executor (possibly the very
+			// one the calling thread belongs to)
+			batchUpdate.run();
+			for (ParallelBatchWorker helper : helpers) {
+				helper.awaitIfStarted();
+			}
+		}
+		finally {
+			if (pss instanceof ParameterDisposer) {
+				((ParameterDisposer) pss).cleanupParameters();
+			}
+		}
+		return batchUpdate.getResult();
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with callable statements
@@ -1084,12 +1318,26 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			logger.debug("Calling stored procedure" + (sql != null ? " [" + sql  + "]" : ""));
 		}
 
-		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		Connection con = obtainConnection();
 		CallableStatement cs = null;
 		try {
 			cs = csc.createCallableStatement(con);
 			applyStatementSettings(cs);
-			T result = action.doInCallableStatement(cs);
+			JdbcInstrumentation instrumentation = getInstrumentation();
+			long startTime = (instrumentation != null ? System.nanoTime() : 0);
+			T result;
+			try {
+				result = action.doInCallableStatement(cs);
+			}
+			catch (Throwable ex) {
+				if (instrumentation != null) {
+					instrumentation.statementFailed(getSql(csc), System.nanoTime() - startTime, ex);
+				}
+				throw ex;
+			}
+			if (instrumentation != null) {
+				instrumentation.statementExecuted(getSql(csc), System.nanoTime() - startTime);
+			}
 			handleWarnings(cs);
 			return result;
 		}
@@ -1461,6 +1709,59 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 	}
 
+	/**
+	 * Extract the given ResultSet with the given ResultSetExtractor, recording
+	 * the time spent with the configured {@link JdbcInstrumentation}, if any.
+	 * <p>The number of rows is reported for {@code Collection} results only.
+	 */
+	@Nullable
+	private <T> T extractData(ResultSet rs, ResultSetExtractor<T> rse, @Nullable String sql) throws SQLException {
+		JdbcInstrumentation instrumentation = getInstrumentation();
+		if (instrumentation == null) {
+			return rse.extractData(rs);
+		}
+		long startTime = System.nanoTime();
+		T result = rse.extractData(rs);
+		int rowCount = (result instanceof Collection ? ((Collection<?>) result).size() : -1);
+		instrumentation.resultExtracted(sql, System.nanoTime() - startTime, rowCount);
+		return result;
+	}
+
+	/**
+	 * Expose the given ResultSet as a Stream of mapped rows, running the given
+	 * close action once the Stream gets closed.
+	 * <p>With a {@link JdbcInstrumentation} configured, the statement and the
+	 * rows read so far are reported on close, since the query is not finished
+	 * before the caller is done with the Stream. A failure to read or map a row
+	 * is reported as a failed statement at that point.
+	 */
+	private <T> Stream<T> stream(ResultSet rs, RowMapper<T> rowMapper, @Nullable String sql,
+			long startTime, Runnable closeAction) {
+
+		ResultSetSpliterator<T> spliterator = new ResultSetSpliterator<>(rs, rowMapper);
+		JdbcInstrumentation instrumentation = getInstrumentation();
+		if (instrumentation == null) {
+			return spliterator.stream().onClose(closeAction);
+		}
+		long extractionStartTime = System.nanoTime();
+		return spliterator.stream().onClose(() -> {
+			try {
+				long endTime = System.nanoTime();
+				Throwable failure = spliterator.getFailure();
+				if (failure != null) {
+					instrumentation.statementFailed(sql, endTime - startTime, failure);
+				}
+				else {
+					instrumentation.resultExtracted(sql, endTime - extractionStartTime, spliterator.getRowCount());
+					instrumentation.statementExecuted(sql, endTime - startTime);
+				}
+			}
+			finally {
+				closeAction.run();
+			}
+		});
+	}
+
 	private static <T> T result(@Nullable T result) {
 		Assert.state(result != null, "No result");
 		return result;
@@ -1587,6 +1888,82 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	}
 
 
+	/**
+	 * Spliterator for queryForStream adaptation of a ResultSet to a Stream,
+	 * mapping one row at a time as the Stream is being consumed.
+	 */
+	private class ResultSetSpliterator<T> implements Spliterator<T> {
+
+		private final ResultSet rs;
+
+		private final RowMapper<T> rowMapper;
+
+		private int rowNum = 0;
+
+		@Nullable
+		private Throwable failure;
+
+		public ResultSetSpliterator(ResultSet rs, RowMapper<T> rowMapper) {
+			this.rs = rs;
+			this.rowMapper = rowMapper;
+		}
+
+		@Override
+		public boolean tryAdvance(Consumer<? super T> action) {
+			T row;
+			try {
+				if (!this.rs.next()) {
+					return false;
+				}
+				row = this.rowMapper.mapRow(this.rs, this.rowNum++);
+			}
+			catch (SQLException ex) {
+				DataAccessException dae = translateException("ResultSetSpliterator", null, ex);
+				this.failure = dae;
+				throw dae;
+			}
+			catch (RuntimeException | Error ex) {
+				this.failure = ex;
+				throw ex;
+			}
+			action.accept(row);
+			return true;
+		}
+
+		@Override
+		@Nullable
+		public Spliterator<T> trySplit() {
+			return null;
+		}
+
+		@Override
+		public long estimateSize() {
+			return Long.MAX_VALUE;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED;
+		}
+
+		public int getRowCount() {
+			return this.rowNum;
+		}
+
+		/**
+		 * Return the exception thrown while reading or mapping a row, if any.
+		 */
+		@Nullable
+		public Throwable getFailure() {
+			return this.failure;
+		}
+
+		public Stream<T> stream() {
+			return StreamSupport.stream(this, false);
+		}
+	}
+
+
 	/**
 	 * Adapter to enable use of a RowCallbackHandler inside a ResultSetExtractor.
 	 * <p>Uses a regular ResultSet, so we have to be careful when using it:
@@ -1610,4 +1987,128 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 	}
 
+
+	/**
+	 * Task executing the batches of a parallel batch update, to be run by
+	 * multiple threads which take the next pending batch until none is left
+	 * or one of the batches failed.
+	 */
+	private class ParallelBatchUpdate<T> implements Runnable {
+
+		private final String sql;
+
+		private final List<List<T>> batches;
+
+		private final ParameterizedPreparedStatementSetter<T> pss;
+
+		private final int[][][] results;
+
+		private final AtomicInteger nextBatch = new AtomicInteger();
+
+		private final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+		public ParallelBatchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+				ParameterizedPreparedStatementSetter<T> pss) {
+
+			List<T> args = new ArrayList<>(batchArgs);
+			this.sql = sql;
+			this.batches = new ArrayList<>((args.size() + batchSize - 1) / batchSize);
+			for (int i = 0; i < args.size(); i += batchSize) {
+				this.batches.add(args.subList(i, Math.min(i + batchSize, args.size())));
+			}
+			// Not exposed as ParameterDisposer: parameters are cleaned up once all batches are done
+			this.pss = pss::setValues;
+			this.results = new int[this.batches.size()][][];
+		}
+
+		public int getBatchCount() {
+			return this.batches.size();
+		}
+
+		@Override
+		public void run() {
+			int index;
+			while (this.failures.isEmpty() && (index = this.nextBatch.getAndIncrement()) < this.batches.size()) {
+				List<T> batch = this.batches.get(index);
+				try {
+					this.results[index] = batchUpdate(this.sql, batch, batch.size(), this.pss);
+				}
+				catch (RuntimeException | Error ex) {
+					this.failures.add(ex);
+				}
+			}
+		}
+
+		public int[][] getResult() {
+			Throwable failure = this.failures.poll();
+			if (failure != null) {
+				for (Throwable other : this.failures) {
+					failure.addSuppressed(other);
+				}
+				if (failure instanceof Error) {
+					throw (Error) failure;
+				}
+				throw (RuntimeException) failure;
+			}
+			List<int[]> rowsAffected = new ArrayList<>();
+			for (int[][] result : this.results) {
+				Collections.addAll(rowsAffected, result);
+			}
+			return rowsAffected.toArray(new int[0][]);
+		}
+	}
+
+
+	/**
+	 * Helper task for a {@link ParallelBatchUpdate}, which only takes part
+	 * if it starts before the calling thread has finished all batches.
+	 */
+	private static class ParallelBatchWorker implements Runnable {
+
+		private final Runnable batchUpdate;
+
+		private final AtomicBoolean claimed = new AtomicBoolean();
+
+		private final CountDownLatch done = new CountDownLatch(1);
+
+		public ParallelBatchWorker(Runnable batchUpdate) {
+			this.batchUpdate = batchUpdate;
+		}
+
+		@Override
+		public void run() {
+			if (this.claimed.compareAndSet(false, true)) {
+				try {
+					this.batchUpdate.run();
+				}
+				finally {
+					this.done.countDown();
+				}
+			}
+		}
+
+		/**
+		 * Wait for this helper to complete if it has started already,
+		 * otherwise prevent it from taking part once it gets executed.
+		 */
+		public void awaitIfStarted() {
+			if (this.claimed.compareAndSet(false, true)) {
+				return;
+			}
+			boolean interrupted = false;
+			while (true) {
+				try {
+					this.done.await();
+					break;
+				}
+				catch (InterruptedException ex) {
+					interrupted = true;
+				}
+			}
+			if (interrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
 }
@@ -99,6 +99,10 @@ public class CallMetaDataContext {
 	@Nullable
 	private CallMetaDataProvider metaDataProvider;
 
+	// The cache to obtain the provider of call meta-data from
+	@Nullable
+	private MetaDataProviderCache metaDataProviderCache;
+
 
 	/**
 	 * Specify the name used for the return value of the function.
@@ -245,13 +249,34 @@ public class CallMetaDataContext {
 		return this.namedBinding;
 	}
 
+	/**
+	 * Specify a cache to obtain the meta-data provider from, sharing it with
+	 * other contexts for the same DataSource and procedure.
+	 * <p>Default is none, retrieving meta-data for each context.
+	 * @since 5.1.15
+	 */
+	public void setMetaDataProviderCache(@Nullable MetaDataProviderCache metaDataProviderCache) {
+		this.metaDataProviderCache = metaDataProviderCache;
+	}
+
+	/**
+	 * Return the cache to obtain the meta-data provider from, if any.
+	 * @since 5.1.15
+	 */
+	@Nullable
+	public MetaDataProviderCache getMetaDataProviderCache() {
+		return this.metaDataProviderCache;
+	}
+
 
 	/**
 	 * Initialize this class with meta-data from the database.
 	 * @param dataSource the DataSource used to retrieve meta-data
 	 */
 	public void initializeMetaData(DataSource dataSource) {
-		this.metaDataProvider = CallMetaDataProviderFactory.createMetaDataProvider(dataSource, this);
+		this.metaDataProvider = (this.metaDataProviderCache != null ?
+				this.metaDataProviderCache.getCallMetaDataProvider(dataSource, this) :
+				CallMetaDataProviderFactory.createMetaDataProvider(dataSource, this));
 	}
 
 	private CallMetaDataProvider obtainMetaDataProvider() {
@@ -73,6 +73,18 @@ public class GenericTableMetaDataProvider implements TableMetaDataProvider {
 	private List<String> productsNotSupportingGeneratedKeysColumnNameArray =
 			Arrays.asList("Apache Derby", "HSQL Database Engine");
 
+	/**
+	 * database products we know supporting multi-row inserts, with the maximum number
+	 * of bind parameters per statement (0 if no limit is known).
+	 */
+	private Map<String, Integer> productsSupportingMultiRowInsert = new HashMap<>();
+
+	/** indicates whether multi-row inserts are supported. */
+	private boolean multiRowInsertSupported = false;
+
+	/** the maximum number of bind parameters per statement, or 0 if unknown. */
+	private int maxBindParameters = 0;
+
 	/** Collection of TableParameterMetaData objects. */
 	private List<TableParameterMetaData> tableParameterMetaData = new ArrayList<>();
 
@@ -83,6 +95,14 @@ public class GenericTableMetaDataProvider implements TableMetaDataProvider {
 	 */
 	protected GenericTableMetaDataProvider(DatabaseMetaData databaseMetaData) throws SQLException {
 		this.userName = databaseMetaData.getUserName();
+		this.productsSupportingMultiRowInsert.put("Apache Derby", 0);
+		this.productsSupportingMultiRowInsert.put("H2", 0);
+		this.productsSupportingMultiRowInsert.put("HSQL Database Engine", 0);
+		this.productsSupportingMultiRowInsert.put("MariaDB", 65535);
+		// SQL Server rejects requests that reach its limit of 2100 parameters
+		this.productsSupportingMultiRowInsert.put("Microsoft SQL Server", 2098);
+		this.productsSupportingMultiRowInsert.put("MySQL", 65535);
+		this.productsSupportingMultiRowInsert.put("PostgreSQL", 32767);
 	}
 
 
@@ -142,6 +162,24 @@ public class GenericTableMetaDataProvider implements TableMetaDataProvider {
 		return this.generatedKeysColumnNameArraySupported;
 	}
 
+	public void setMultiRowInsertSupported(boolean multiRowInsertSupported) {
+		this.multiRowInsertSupported = multiRowInsertSupported;
+	}
+
+	@Override
+	public boolean isMultiRowInsertSupported() {
+		return this.multiRowInsertSupported;
+	}
+
+	public void setMaxBindParameters(int maxBindParameters) {
+		this.maxBindParameters = maxBindParameters;
+	}
+
+	@Override
+	public int getMaxBindParameters() {
+		return this.maxBindParameters;
+	}
+
 
 	@Override
 	public void initializeWithMetaData(DatabaseMetaData databaseMetaData) throws SQLException {
@@ -179,6 +217,15 @@ public class GenericTableMetaDataProvider implements TableMetaDataProvider {
 					setGeneratedKeysColumnNameArraySupported(false);
 				}
 			}
+			Integer maxBindParameters =
+					this.productsSupportingMultiRowInsert.get(JdbcUtils.commonDatabaseName(databaseProductName));
+			if (maxBindParameters != null) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Multi-row inserts are supported for " + databaseProductName);
+				}
+				setMultiRowInsertSupported(true);
+				setMaxBindParameters(maxBindParameters);
+			}
 		}
 		catch (SQLException ex) {
 			if (logger.isWarnEnabled()) {
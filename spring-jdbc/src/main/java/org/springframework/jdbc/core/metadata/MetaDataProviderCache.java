@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metadata;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Cache for {@link TableMetaDataProvider} and {@link CallMetaDataProvider}
+ * instances, scoped by {@link DataSource}, allowing several
+ * {@link org.springframework.jdbc.core.simple.SimpleJdbcInsert} and
+ * {@link org.springframework.jdbc.core.simple.SimpleJdbcCall} instances for
+ * the same table or procedure to share a single meta-data lookup.
+ *
+ * <p>Providers are keyed by the catalog, schema and table or procedure name
+ * as well as the meta-data access settings of the requesting context. Note
+ * that cached providers do not reflect subsequent changes to the database
+ * schema; call {@link #evict(DataSource)} or {@link #clear()} if necessary.
+ * Concurrent first requests for the same key may each look up the meta-data,
+ * with only one of the resulting providers being cached.
+ * DataSources are referenced softly, so a cache does not prevent them from
+ * being garbage collected.
+ *
+ * @since 5.1.15
+ * @see TableMetaDataContext#setMetaDataProviderCache
+ * @see CallMetaDataContext#setMetaDataProviderCache
+ */
+public class MetaDataProviderCache {
+
+	private static final MetaDataProviderCache sharedInstance = new MetaDataProviderCache();
+
+
+	/**
+	 * Return the shared cache instance, for use across all components
+	 * of an application.
+	 */
+	public static MetaDataProviderCache getSharedInstance() {
+		return sharedInstance;
+	}
+
+
+	private final Map<DataSource, Map<List<Object>, Object>> providerCache = new ConcurrentReferenceHashMap<>(16);
+
+
+	/**
+	 * Return the {@link TableMetaDataProvider} for the given context,
+	 * creating it through the {@link TableMetaDataProviderFactory} if not
+	 * cached yet.
+	 * @param dataSource the DataSource to retrieve meta-data from
+	 * @param context the context holding the table name and configuration
+	 * @return the (possibly shared) TableMetaDataProvider
+	 */
+	public TableMetaDataProvider getTableMetaDataProvider(DataSource dataSource, TableMetaDataContext context) {
+		List<Object> key = Arrays.asList(TableMetaDataProvider.class,
+				context.getCatalogName(), context.getSchemaName(), context.getTableName(),
+				context.isAccessTableColumnMetaData(), context.isOverrideIncludeSynonymsDefault());
+		return (TableMetaDataProvider) getProvider(dataSource, key,
+				() -> TableMetaDataProviderFactory.createMetaDataProvider(dataSource, context));
+	}
+
+	/**
+	 * Return the {@link CallMetaDataProvider} for the given context,
+	 * creating it through the {@link CallMetaDataProviderFactory} if not
+	 * cached yet.
+	 * @param dataSource the DataSource to retrieve meta-data from
+	 * @param context the context holding the procedure name and configuration
+	 * @return the (possibly shared) CallMetaDataProvider
+	 */
+	public CallMetaDataProvider getCallMetaDataProvider(DataSource dataSource, CallMetaDataContext context) {
+		List<Object> key = Arrays.asList(CallMetaDataProvider.class,
+				context.getCatalogName(), context.getSchemaName(), context.getProcedureName(),
+				context.isFunction(), context.isAccessCallParameterMetaData());
+		return (CallMetaDataProvider) getProvider(dataSource, key,
+				() -> CallMetaDataProviderFactory.createMetaDataProvider(dataSource, context));
+	}
+
+	private Object getProvider(DataSource dataSource, List<Object> key, Supplier<Object> providerFactory) {
+		Assert.notNull(dataSource, "DataSource must not be null");
+		Map<List<Object>, Object> providers =
+				this.providerCache.computeIfAbsent(dataSource, ds -> new ConcurrentHashMap<>(64));
+		Object provider = providers.get(key);
+		if (provider == null) {
+			// Retrieve the meta-data outside of the map, not holding a lock during JDBC calls
+			provider = providerFactory.get();
+			Object existing = providers.putIfAbsent(key, provider);
+			if (existing != null) {
+				provider = existing;
+			}
+		}
+		return provider;
+	}
+
+	/**
+	 * Remove all cached providers for the given DataSource.
+	 * @param dataSource the DataSource to evict
+	 */
+	public void evict(DataSource dataSource) {
+		this.providerCache.remove(dataSource);
+	}
+
+	/**
+	 * Remove all cached providers.
+	 */
+	public void clear() {
+		this.providerCache.clear();
+	}
+
+}
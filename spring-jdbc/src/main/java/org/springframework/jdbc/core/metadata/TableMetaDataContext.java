@@ -74,6 +74,10 @@ public class TableMetaDataContext {
 	@Nullable
 	private TableMetaDataProvider metaDataProvider;
 
+	// The cache to obtain the provider of table meta-data from
+	@Nullable
+	private MetaDataProviderCache metaDataProviderCache;
+
 	// Are we using generated key columns
 	private boolean generatedKeyColumnsUsed = false;
 
@@ -152,6 +156,25 @@ public class TableMetaDataContext {
 		return this.overrideIncludeSynonymsDefault;
 	}
 
+	/**
+	 * Specify a cache to obtain the meta-data provider from, sharing it with
+	 * other contexts for the same DataSource and table.
+	 * <p>Default is none, retrieving meta-data for each context.
+	 * @since 5.1.15
+	 */
+	public void setMetaDataProviderCache(@Nullable MetaDataProviderCache metaDataProviderCache) {
+		this.metaDataProviderCache = metaDataProviderCache;
+	}
+
+	/**
+	 * Return the cache to obtain the meta-data provider from, if any.
+	 * @since 5.1.15
+	 */
+	@Nullable
+	public MetaDataProviderCache getMetaDataProviderCache() {
+		return this.metaDataProviderCache;
+	}
+
 	/**
 	 * Get a List of the table column names.
 	 */
@@ -167,7 +190,9 @@ public class TableMetaDataContext {
 	 * @param generatedKeyNames name of generated keys
 	 */
 	public void processMetaData(DataSource dataSource, List<String> declaredColumns, String[] generatedKeyNames) {
-		this.metaDataProvider = TableMetaDataProviderFactory.createMetaDataProvider(dataSource, this);
+		this.metaDataProvider = (this.metaDataProviderCache != null ?
+				this.metaDataProviderCache.getTableMetaDataProvider(dataSource, this) :
+				TableMetaDataProviderFactory.createMetaDataProvider(dataSource, this));
 		this.tableColumns = reconcileColumnsToUse(declaredColumns, generatedKeyNames);
 	}
 
@@ -393,4 +418,22 @@ public class TableMetaDataContext {
 		return obtainMetaDataProvider().isGeneratedKeysColumnNameArraySupported();
 	}
 
+	/**
+	 * Does this database support inserting multiple rows with a single statement?
+	 * @since 5.1.15
+	 * @see TableMetaDataProvider#isMultiRowInsertSupported()
+	 */
+	public boolean isMultiRowInsertSupported() {
+		return obtainMetaDataProvider().isMultiRowInsertSupported();
+	}
+
+	/**
+	 * Get the maximum number of bind parameters per statement, or 0 if unknown.
+	 * @since 5.1.15
+	 * @see TableMetaDataProvider#getMaxBindParameters()
+	 */
+	public int getMaxBindParameters() {
+		return obtainMetaDataProvider().getMaxBindParameters();
+	}
+
 }
@@ -117,6 +117,26 @@ public interface TableMetaDataProvider {
 	 */
 	boolean isGeneratedKeysColumnNameArraySupported();
 
+	/**
+	 * Does this database support inserting multiple rows with a single
+	 * {@code INSERT ... VALUES (...), (...)} statement?
+	 * <p>The default implementation returns {@code false}.
+	 * @since 5.1.15
+	 */
+	default boolean isMultiRowInsertSupported() {
+		return false;
+	}
+
+	/**
+	 * Get the maximum number of bind parameters the JDBC driver accepts for
+	 * a single statement, or 0 if no such limit is known.
+	 * <p>The default implementation returns 0.
+	 * @since 5.1.15
+	 */
+	default int getMaxBindParameters() {
+		return 0;
+	}
+
 	/**
 	 * Get the table parameter meta-data that is currently used.
 	 * @return a List of {@link TableParameterMetaData}
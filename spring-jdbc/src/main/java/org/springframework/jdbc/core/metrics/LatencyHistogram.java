@@ -0,0 +1,124 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with power-of-two microsecond buckets,
+ * keeping the overhead of recording a value to a few atomic increments.
+ *
+ * <p>Bucket {@code i} counts values of less than {@code 2^i} microseconds
+ * (and at least {@code 2^(i-1)} microseconds, for {@code i > 0}), so that
+ * {@link #getPercentile percentiles} are accurate to within a factor of two.
+ *
+ * @since 5.1.15
+ */
+public class LatencyHistogram {
+
+	private static final int BUCKET_COUNT = 40;
+
+
+	private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+	private final LongAdder count = new LongAdder();
+
+	private final LongAdder totalNanos = new LongAdder();
+
+	private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+
+	/**
+	 * Record the given elapsed time.
+	 * @param elapsedNanos the elapsed time in nanoseconds
+	 */
+	public void record(long elapsedNanos) {
+		long nanos = Math.max(elapsedNanos, 0);
+		long micros = nanos / 1000;
+		int bucket = Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1);
+		this.buckets.incrementAndGet(bucket);
+		this.count.increment();
+		this.totalNanos.add(nanos);
+		this.maxNanos.accumulate(nanos);
+	}
+
+	/**
+	 * Return the number of recorded values.
+	 */
+	public long getCount() {
+		return this.count.sum();
+	}
+
+	/**
+	 * Return the sum of all recorded values.
+	 */
+	public Duration getTotalTime() {
+		return Duration.ofNanos(this.totalNanos.sum());
+	}
+
+	/**
+	 * Return the mean of all recorded values.
+	 */
+	public Duration getMean() {
+		long count = getCount();
+		return (count > 0 ? Duration.ofNanos(this.totalNanos.sum() / count) : Duration.ZERO);
+	}
+
+	/**
+	 * Return the largest recorded value.
+	 */
+	public Duration getMax() {
+		return Duration.ofNanos(this.maxNanos.get());
+	}
+
+	/**
+	 * Return an upper bound for the given percentile of the recorded values,
+	 * i.e. the upper boundary of the bucket the percentile falls into (but
+	 * never more than the {@link #getMax() maximum}).
+	 * @param percentile the percentile, between 0.0 and 1.0 (e.g. 0.99)
+	 */
+	public Duration getPercentile(double percentile) {
+		long[] counts = new long[BUCKET_COUNT];
+		long total = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			counts[i] = this.buckets.get(i);
+			total += counts[i];
+		}
+		if (total == 0) {
+			return Duration.ZERO;
+		}
+		long rank = (long) Math.ceil(Math.min(Math.max(percentile, 0.0), 1.0) * total);
+		long seen = 0;
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			seen += counts[i];
+			if (seen >= rank && counts[i] > 0) {
+				return Duration.ofNanos(Math.min((1L << i) * 1000, this.maxNanos.get()));
+			}
+		}
+		return getMax();
+	}
+
+	@Override
+	public String toString() {
+		return "count=" + getCount() + ", mean=" + getMean().toNanos() / 1000 + "us, p99<=" +
+				getPercentile(0.99).toNanos() / 1000 + "us, max=" + getMax().toNanos() / 1000 + "us";
+	}
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metrics;
+
+import java.time.Duration;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Callback interface for statements exceeding the slow query threshold
+ * of a {@link StatementMetricsCollector}.
+ *
+ * @since 5.1.15
+ * @see StatementMetricsCollector#setSlowQueryListener
+ */
+@FunctionalInterface
+public interface SlowQueryListener {
+
+	/**
+	 * Called on the executing thread after a slow statement completed.
+	 * @param sql the SQL statement as executed, or {@code null} if not known
+	 * @param elapsedTime the overall execution time of the statement
+	 */
+	void onSlowQuery(@Nullable String sql, Duration elapsedTime);
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metrics for a particular SQL statement shape, as collected by a
+ * {@link StatementMetricsCollector}.
+ *
+ * @since 5.1.15
+ * @see StatementMetricsCollector#getStatementMetrics()
+ */
+public class StatementMetrics {
+
+	private final String sql;
+
+	private final LatencyHistogram executionTimes = new LatencyHistogram();
+
+	private final LatencyHistogram extractionTimes = new LatencyHistogram();
+
+	private final LongAdder rowCount = new LongAdder();
+
+	private final LongAdder failureCount = new LongAdder();
+
+
+	StatementMetrics(String sql) {
+		this.sql = sql;
+	}
+
+
+	/**
+	 * Return the normalized SQL statement that these metrics apply to.
+	 * @see StatementMetricsCollector#normalizeSql
+	 */
+	public String getSql() {
+		return this.sql;
+	}
+
+	/**
+	 * Return the histogram of overall statement execution times,
+	 * including the extraction of results.
+	 */
+	public LatencyHistogram getExecutionTimes() {
+		return this.executionTimes;
+	}
+
+	/**
+	 * Return the histogram of result extraction times.
+	 */
+	public LatencyHistogram getExtractionTimes() {
+		return this.extractionTimes;
+	}
+
+	/**
+	 * Return the total number of rows extracted, as far as known.
+	 */
+	public long getRowCount() {
+		return this.rowCount.sum();
+	}
+
+	/**
+	 * Return the number of executions that failed with an exception.
+	 * <p>Failed executions are included in the {@link #getExecutionTimes()
+	 * execution times} as well.
+	 */
+	public long getFailureCount() {
+		return this.failureCount.sum();
+	}
+
+	void addRows(int rows) {
+		this.rowCount.add(rows);
+	}
+
+	void addFailure() {
+		this.failureCount.increment();
+	}
+
+	@Override
+	public String toString() {
+		return "StatementMetrics for [" + this.sql + "]: executions (" + this.executionTimes +
+				"), extractions (" + this.extractionTimes + "), rows=" + getRowCount() +
+				", failures=" + getFailureCount();
+	}
+
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metrics;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.support.JdbcInstrumentation;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * {@link JdbcInstrumentation} implementation that maintains latency
+ * histograms per SQL statement shape, plus a histogram of connection
+ * acquisition times, and reports statements exceeding a configurable
+ * threshold to a {@link SlowQueryListener}.
+ *
+ * <p>Statements are grouped by their {@link #normalizeSql normalized} form,
+ * so that e.g. the expanded variants of an {@code IN} clause with a varying
+ * number of placeholders are tracked as the same statement. The number of
+ * distinct statement shapes is bounded; statements beyond that limit are
+ * tracked under {@link #OTHER_STATEMENTS}.
+ *
+ * <p>A single collector may be shared by several
+ * {@link org.springframework.jdbc.core.JdbcTemplate} instances.
+ *
+ * @since 5.1.15
+ * @see org.springframework.jdbc.support.JdbcAccessor#setInstrumentation
+ */
+public class StatementMetricsCollector implements JdbcInstrumentation {
+
+	/** Key for statements whose SQL is not exposed by the executing callback. */
+	public static final String UNKNOWN_STATEMENT = "<unknown>";
+
+	/** Key for statements beyond the maximum number of tracked statement shapes. */
+	public static final String OTHER_STATEMENTS = "<other>";
+
+	private static final int SQL_CACHE_LIMIT = 256;
+
+	private static final Pattern PLACEHOLDER_LIST_PATTERN = Pattern.compile("\\?(\\s*,\\s*\\?)+");
+
+	private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+	private static final Log logger = LogFactory.getLog(StatementMetricsCollector.class);
+
+
+	private final ConcurrentMap<String, StatementMetrics> statementMetrics = new ConcurrentHashMap<>(64);
+
+	private final AtomicInteger statementCount = new AtomicInteger();
+
+	private final ConcurrentLruCache<String, String> normalizedSqlCache =
+			new ConcurrentLruCache<>(SQL_CACHE_LIMIT, StatementMetricsCollector::normalizeSql);
+
+	private volatile LatencyHistogram connectionAcquisitionTimes = new LatencyHistogram();
+
+	private int maxStatements = 1000;
+
+	private long slowQueryThresholdNanos = Long.MAX_VALUE;
+
+	private SlowQueryListener slowQueryListener = (sql, elapsedTime) -> {
+		if (logger.isWarnEnabled()) {
+			logger.warn("Slow SQL statement" + (sql != null ? " [" + sql + "]" : "") +
+					" took " + elapsedTime.toMillis() + " ms");
+		}
+	};
+
+
+	/**
+	 * Specify the maximum number of distinct statement shapes to keep
+	 * metrics for. Default is 1000.
+	 */
+	public void setMaxStatements(int maxStatements) {
+		Assert.isTrue(maxStatements > 0, "maxStatements must be greater than 0");
+		this.maxStatements = maxStatements;
+	}
+
+	/**
+	 * Specify the execution time above which statements are reported to the
+	 * {@link #setSlowQueryListener slow query listener}.
+	 * <p>Default is none, i.e. no slow query reporting.
+	 */
+	public void setSlowQueryThreshold(@Nullable Duration slowQueryThreshold) {
+		this.slowQueryThresholdNanos = (slowQueryThreshold != null ? slowQueryThreshold.toNanos() : Long.MAX_VALUE);
+	}
+
+	/**
+	 * Specify the listener to report slow statements to.
+	 * <p>Default is to log a warning for each slow statement.
+	 * @see #setSlowQueryThreshold
+	 */
+	public void setSlowQueryListener(SlowQueryListener slowQueryListener) {
+		Assert.notNull(slowQueryListener, "SlowQueryListener must not be null");
+		this.slowQueryListener = slowQueryListener;
+	}
+
+
+	@Override
+	public void connectionAcquired(long elapsedNanos) {
+		this.connectionAcquisitionTimes.record(elapsedNanos);
+	}
+
+	@Override
+	public void statementExecuted(@Nullable String sql, long elapsedNanos) {
+		recordExecution(getOrCreateStatementMetrics(sql), sql, elapsedNanos);
+	}
+
+	@Override
+	public void statementFailed(@Nullable String sql, long elapsedNanos, Throwable ex) {
+		StatementMetrics metrics = getOrCreateStatementMetrics(sql);
+		metrics.addFailure();
+		recordExecution(metrics, sql, elapsedNanos);
+	}
+
+	private void recordExecution(StatementMetrics metrics, @Nullable String sql, long elapsedNanos) {
+		metrics.getExecutionTimes().record(elapsedNanos);
+		if (elapsedNanos > this.slowQueryThresholdNanos) {
+			this.slowQueryListener.onSlowQuery(sql, Duration.ofNanos(elapsedNanos));
+		}
+	}
+
+	@Override
+	public void resultExtracted(@Nullable String sql, long elapsedNanos, int rowCount) {
+		StatementMetrics metrics = getOrCreateStatementMetrics(sql);
+		metrics.getExtractionTimes().record(elapsedNanos);
+		if (rowCount > 0) {
+			metrics.addRows(rowCount);
+		}
+	}
+
+	private StatementMetrics getOrCreateStatementMetrics(@Nullable String sql) {
+		String key = (sql != null ? this.normalizedSqlCache.get(sql) : UNKNOWN_STATEMENT);
+		StatementMetrics metrics = this.statementMetrics.get(key);
+		if (metrics == null) {
+			// A slot is reserved up front, so that concurrent new statement shapes
+			// cannot push the number of tracked shapes past the limit
+			metrics = this.statementMetrics.computeIfAbsent(key,
+					newKey -> (reserveStatementSlot() ? new StatementMetrics(newKey) : null));
+			if (metrics == null) {
+				metrics = this.statementMetrics.computeIfAbsent(OTHER_STATEMENTS, StatementMetrics::new);
+			}
+		}
+		return metrics;
+	}
+
+	private boolean reserveStatementSlot() {
+		int count;
+		do {
+			count = this.statementCount.get();
+			if (count >= this.maxStatements) {
+				return false;
+			}
+		}
+		while (!this.statementCount.compareAndSet(count, count + 1));
+		return true;
+	}
+
+
+	/**
+	 * Return the histogram of connection acquisition times.
+	 */
+	public LatencyHistogram getConnectionAcquisitionTimes() {
+		return this.connectionAcquisitionTimes;
+	}
+
+	/**
+	 * Return the metrics for all statement shapes tracked so far.
+	 */
+	public Collection<StatementMetrics> getStatementMetrics() {
+		return Collections.unmodifiableCollection(this.statementMetrics.values());
+	}
+
+	/**
+	 * Return the metrics for the given SQL statement, if tracked.
+	 * @param sql the SQL statement, in original or normalized form
+	 */
+	@Nullable
+	public StatementMetrics getStatementMetrics(String sql) {
+		return this.statementMetrics.get(normalizeSql(sql));
+	}
+
+	/**
+	 * Discard all metrics collected so far, including connection
+	 * acquisition times.
+	 */
+	public void reset() {
+		this.statementMetrics.clear();
+		this.statementCount.set(0);
+		this.connectionAcquisitionTimes = new LatencyHistogram();
+	}
+
+
+	/**
+	 * Normalize the given SQL statement into the shape that metrics are
+	 * grouped by: named parameters are replaced by JDBC-style placeholders,
+	 * placeholder lists collapsed into a single placeholder, and whitespace
+	 * collapsed into single spaces.
+	 * @param sql the SQL statement
+	 * @return the normalized statement
+	 * @see NamedParameterUtils#parseSqlStatement
+	 */
+	public static String normalizeSql(String sql) {
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+		String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, null);
+		sqlToUse = PLACEHOLDER_LIST_PATTERN.matcher(sqlToUse).replaceAll("?");
+		return WHITESPACE_PATTERN.matcher(sqlToUse).replaceAll(" ").trim();
+	}
+
+}
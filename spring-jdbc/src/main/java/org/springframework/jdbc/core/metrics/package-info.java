@@ -0,0 +1,10 @@
+/**
+ * Statement-level metrics for the core JDBC framework, collected through
+ * the {@link org.springframework.jdbc.support.JdbcInstrumentation} callback.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.jdbc.core.metrics;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -17,6 +17,7 @@
 package org.springframework.jdbc.core.namedparam;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -63,6 +64,11 @@ public abstract class NamedParameterUtils {
 	 */
 	private static final boolean[] separatorIndex = new boolean[128];
 
+	/**
+	 * Expansion signature for parameter values without collections.
+	 */
+	private static final int[] EMPTY_EXPANSION_KEY = new int[0];
+
 	static {
 		for (char c : PARAMETER_SEPARATORS.toCharArray()) {
 			separatorIndex[c] = true;
@@ -266,11 +272,70 @@ public abstract class NamedParameterUtils {
 	 * @see #parseSqlStatement
 	 */
 	public static String substituteNamedParameters(ParsedSql parsedSql, @Nullable SqlParameterSource paramSource) {
-		String originalSql = parsedSql.getOriginalSql();
 		List<String> paramNames = parsedSql.getParameterNames();
 		if (paramNames.isEmpty()) {
-			return originalSql;
+			return parsedSql.getOriginalSql();
+		}
+		// The substituted SQL only depends on the sizes of collection values
+		int[] expansionKey = buildExpansionKey(parsedSql, paramSource);
+		String sqlToUse = parsedSql.getSubstitutedSql(expansionKey);
+		if (sqlToUse == null) {
+			sqlToUse = doSubstituteNamedParameters(parsedSql, paramSource);
+			parsedSql.cacheSubstitutedSql(expansionKey, sqlToUse);
+		}
+		return sqlToUse;
+	}
+
+	/**
+	 * Build the signature of the given parameter values that determines the
+	 * substituted SQL: the position and size of each collection value, along
+	 * with the lengths of any expression lists within it.
+	 * @return the signature, or an empty array if no collections are involved
+	 */
+	private static int[] buildExpansionKey(ParsedSql parsedSql, @Nullable SqlParameterSource paramSource) {
+		int[] key = EMPTY_EXPANSION_KEY;
+		if (paramSource == null) {
+			return key;
 		}
+		List<String> paramNames = parsedSql.getParameterNames();
+		int length = 0;
+		for (int i = 0; i < paramNames.size(); i++) {
+			String paramName = paramNames.get(i);
+			if (paramSource.hasValue(paramName)) {
+				Object value = paramSource.getValue(paramName);
+				if (value instanceof SqlParameterValue) {
+					value = ((SqlParameterValue) value).getValue();
+				}
+				if (value instanceof Collection) {
+					Collection<?> entries = (Collection<?>) value;
+					boolean expressionLists = false;
+					for (Object entryItem : entries) {
+						if (entryItem instanceof Object[]) {
+							expressionLists = true;
+							break;
+						}
+					}
+					int required = length + 2 + (expressionLists ? entries.size() : 0);
+					if (key.length < required) {
+						key = Arrays.copyOf(key, Math.max(required, key.length * 2));
+					}
+					key[length++] = i;
+					// Negative size indicates that the expression list lengths follow
+					key[length++] = (expressionLists ? -entries.size() - 1 : entries.size());
+					if (expressionLists) {
+						for (Object entryItem : entries) {
+							key[length++] = (entryItem instanceof Object[] ? ((Object[]) entryItem).length : -1);
+						}
+					}
+				}
+			}
+		}
+		return (length == key.length ? key : Arrays.copyOf(key, length));
+	}
+
+	private static String doSubstituteNamedParameters(ParsedSql parsedSql, @Nullable SqlParameterSource paramSource) {
+		String originalSql = parsedSql.getOriginalSql();
+		List<String> paramNames = parsedSql.getParameterNames();
 		StringBuilder actualSql = new StringBuilder(originalSql.length());
 		int lastIndex = 0;
 		for (int i = 0; i < paramNames.size(); i++) {
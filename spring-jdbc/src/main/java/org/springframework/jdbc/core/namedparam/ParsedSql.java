@@ -17,7 +17,12 @@
 package org.springframework.jdbc.core.namedparam;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.lang.Nullable;
 
 /**
  * Holds information about a parsed SQL statement.
@@ -28,6 +33,9 @@ import java.util.List;
  */
 public class ParsedSql {
 
+	private static final int EXPANDED_SQL_CACHE_LIMIT = 32;
+
+
 	private String originalSql;
 
 	private List<String> parameterNames = new ArrayList<>();
@@ -40,6 +48,13 @@ public class ParsedSql {
 
 	private int totalParameterCount;
 
+	/** Substituted SQL for parameter values without collections. */
+	@Nullable
+	private volatile String substitutedSql;
+
+	/** Substituted SQL for parameter values with collections, keyed by expansion signature. */
+	private final Map<ExpansionKey, String> expandedSqlCache = new ConcurrentHashMap<>(4);
+
 
 	/**
 	 * Create a new instance of the {@link ParsedSql} class.
@@ -133,6 +148,37 @@ public class ParsedSql {
 		return this.totalParameterCount;
 	}
 
+	/**
+	 * Return the cached substituted SQL for the given expansion signature, if any.
+	 * @param expansionKey the signature of the collection parameter values,
+	 * empty if no collections are involved
+	 * @see NamedParameterUtils#substituteNamedParameters(ParsedSql, SqlParameterSource)
+	 */
+	@Nullable
+	String getSubstitutedSql(int[] expansionKey) {
+		if (expansionKey.length == 0) {
+			return this.substitutedSql;
+		}
+		return this.expandedSqlCache.get(new ExpansionKey(expansionKey));
+	}
+
+	/**
+	 * Cache the substituted SQL for the given expansion signature.
+	 * <p>Only a limited number of collection expansions is kept, so that
+	 * collections of arbitrary sizes do not grow the cache indefinitely.
+	 * @param expansionKey the signature of the collection parameter values,
+	 * empty if no collections are involved
+	 * @param sql the substituted SQL
+	 */
+	void cacheSubstitutedSql(int[] expansionKey, String sql) {
+		if (expansionKey.length == 0) {
+			this.substitutedSql = sql;
+		}
+		else if (this.expandedSqlCache.size() < EXPANDED_SQL_CACHE_LIMIT) {
+			this.expandedSqlCache.put(new ExpansionKey(expansionKey), sql);
+		}
+	}
+
 
 	/**
 	 * Exposes the original SQL String.
@@ -142,4 +188,31 @@ public class ParsedSql {
 		return this.originalSql;
 	}
 
+
+	/**
+	 * Key for the expanded SQL cache, wrapping an expansion signature.
+	 */
+	private static final class ExpansionKey {
+
+		private final int[] signature;
+
+		private final int hashCode;
+
+		ExpansionKey(int[] signature) {
+			this.signature = signature;
+			this.hashCode = Arrays.hashCode(signature);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return (this == other || (other instanceof ExpansionKey &&
+					Arrays.equals(this.signature, ((ExpansionKey) other).signature)));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
 }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.reactive;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.lang.Nullable;
+
+/**
+ * Strategy interface for executing SQL statements on behalf of a
+ * {@link ReactiveJdbcTemplate}.
+ *
+ * <p>Implementations are expected to respect Reactive Streams demand, only
+ * fetching further rows of a query result as they have been requested, and
+ * to translate {@link java.sql.SQLException SQLExceptions} into Spring's
+ * {@link org.springframework.dao.DataAccessException} hierarchy. Nothing
+ * gets executed before subscription.
+ *
+ * <p>{@link WorkerPoolJdbcExecutor} is the default implementation, running
+ * JDBC calls on a bounded pool of worker threads. Implementations backed by a
+ * non-blocking driver need to expose each row as a {@link java.sql.ResultSet}
+ * positioned on that row to the given {@link RowMapper}, and to accept the
+ * parameter values from a {@link PreparedStatementSetter}.
+ *
+ * @since 5.1.15
+ * @see ReactiveJdbcTemplate#ReactiveJdbcTemplate(ReactiveJdbcExecutor)
+ */
+public interface ReactiveJdbcExecutor {
+
+	/**
+	 * Execute the given SQL query, mapping each row to a result object
+	 * via the given RowMapper.
+	 * @param sql the SQL query to execute
+	 * @param pss object that knows how to set values on the prepared statement
+	 * (may be {@code null} if the SQL query does not contain any parameters)
+	 * @param rowMapper object that will map one object per row
+	 * @return a Flux emitting the mapped objects as they are requested
+	 */
+	<T> Flux<T> query(String sql, @Nullable PreparedStatementSetter pss, RowMapper<T> rowMapper);
+
+	/**
+	 * Issue an SQL update (such as an insert, update or delete statement).
+	 * @param sql the SQL statement to execute
+	 * @param pss object that knows how to set values on the prepared statement
+	 * (may be {@code null} if the SQL statement does not contain any parameters)
+	 * @return a Mono emitting the number of rows affected
+	 */
+	Mono<Integer> update(String sql, @Nullable PreparedStatementSetter pss);
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.reactive;
+
+import java.util.Map;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.lang.Nullable;
+
+/**
+ * Interface specifying a basic set of reactive JDBC operations, with
+ * queries returning a {@link Flux} that reads rows as they are requested
+ * and updates returning a {@link Mono} of the number of affected rows.
+ * Implemented by {@link ReactiveJdbcTemplate}.
+ *
+ * <p>Statements are only executed on subscription. Exceptions are signalled
+ * as {@link org.springframework.dao.DataAccessException DataAccessExceptions},
+ * just like with {@link org.springframework.jdbc.core.JdbcOperations}.
+ *
+ * @since 5.1.15
+ * @see ReactiveJdbcTemplate
+ */
+public interface ReactiveJdbcOperations {
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list of
+	 * arguments to bind to the query, mapping each row to a result object
+	 * via a RowMapper.
+	 * @param sql the SQL query to execute
+	 * @param rowMapper a callback that will map one object per row
+	 * @param args arguments to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
+	 * may also contain {@link org.springframework.jdbc.core.SqlParameterValue} objects
+	 * which indicate not only the argument value but also the SQL type and
+	 * optionally the scale
+	 * @return a Flux emitting the mapped objects as they are requested
+	 */
+	<T> Flux<T> query(String sql, RowMapper<T> rowMapper, @Nullable Object... args);
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list of
+	 * named arguments to bind to the query, mapping each row to a result object
+	 * via a RowMapper.
+	 * @param sql the SQL query to execute
+	 * @param paramSource container of arguments to bind to the query
+	 * @param rowMapper a callback that will map one object per row
+	 * @return a Flux emitting the mapped objects as they are requested
+	 */
+	<T> Flux<T> query(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper);
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a map of
+	 * named arguments to bind to the query, mapping each row to a result object
+	 * via a RowMapper.
+	 * @param sql the SQL query to execute
+	 * @param paramMap map of parameters to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type)
+	 * @param rowMapper a callback that will map one object per row
+	 * @return a Flux emitting the mapped objects as they are requested
+	 */
+	<T> Flux<T> query(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper);
+
+	/**
+	 * Issue a single SQL update operation (such as an insert, update or delete
+	 * statement) via a prepared statement, binding the given arguments.
+	 * @param sql the SQL containing bind parameters
+	 * @param args arguments to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
+	 * may also contain {@link org.springframework.jdbc.core.SqlParameterValue} objects
+	 * which indicate not only the argument value but also the SQL type and
+	 * optionally the scale
+	 * @return a Mono emitting the number of rows affected
+	 */
+	Mono<Integer> update(String sql, @Nullable Object... args);
+
+	/**
+	 * Issue an update via a prepared statement, binding the given named arguments.
+	 * @param sql the SQL containing named parameters
+	 * @param paramSource container of arguments and SQL types to bind to the query
+	 * @return a Mono emitting the number of rows affected
+	 */
+	Mono<Integer> update(String sql, SqlParameterSource paramSource);
+
+	/**
+	 * Issue an update via a prepared statement, binding the given named arguments.
+	 * @param sql the SQL containing named parameters
+	 * @param paramMap map of parameters to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type)
+	 * @return a Mono emitting the number of rows affected
+	 */
+	Mono<Integer> update(String sql, Map<String, ?> paramMap);
+
+}
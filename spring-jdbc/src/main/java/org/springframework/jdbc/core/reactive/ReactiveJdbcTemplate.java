@@ -0,0 +1,174 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.reactive;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import javax.sql.DataSource;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * Reactive counterpart of {@link org.springframework.jdbc.core.JdbcTemplate}
+ * and {@link org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate},
+ * reusing their {@link RowMapper} and {@link SqlParameterSource} abstractions.
+ *
+ * <p>Statements are executed through a {@link ReactiveJdbcExecutor}, by default
+ * a {@link WorkerPoolJdbcExecutor} running JDBC calls on a given executor, with
+ * query results being read as rows are requested by the subscriber. In contrast
+ * to the blocking templates, statements do not participate in transactions bound
+ * to the calling thread.
+ *
+ * <p><b>NOTE: An instance of this class is thread-safe once configured.</b>
+ *
+ * @since 5.1.15
+ * @see ReactiveJdbcOperations
+ * @see WorkerPoolJdbcExecutor
+ */
+public class ReactiveJdbcTemplate implements ReactiveJdbcOperations {
+
+	/** Default maximum number of entries for this template's SQL cache: 256. */
+	public static final int DEFAULT_CACHE_LIMIT = 256;
+
+
+	private final ReactiveJdbcExecutor jdbcExecutor;
+
+	/** Cache of original SQL String to ParsedSql representation. */
+	private final ConcurrentLruCache<String, ParsedSql> parsedSqlCache =
+			new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT, NamedParameterUtils::parseSqlStatement);
+
+
+	/**
+	 * Create a new ReactiveJdbcTemplate for the given DataSource, executing
+	 * JDBC calls on the given executor through a {@link WorkerPoolJdbcExecutor}.
+	 * @param dataSource the JDBC DataSource to access
+	 * @param executor the (typically bounded) executor to run JDBC calls on
+	 */
+	public ReactiveJdbcTemplate(DataSource dataSource, Executor executor) {
+		this(new WorkerPoolJdbcExecutor(dataSource, executor));
+	}
+
+	/**
+	 * Create a new ReactiveJdbcTemplate for the given {@link ReactiveJdbcExecutor}.
+	 * @param jdbcExecutor the executor to execute statements with
+	 */
+	public ReactiveJdbcTemplate(ReactiveJdbcExecutor jdbcExecutor) {
+		Assert.notNull(jdbcExecutor, "ReactiveJdbcExecutor must not be null");
+		this.jdbcExecutor = jdbcExecutor;
+	}
+
+
+	/**
+	 * Return the {@link ReactiveJdbcExecutor} that this template executes statements with.
+	 */
+	public ReactiveJdbcExecutor getJdbcExecutor() {
+		return this.jdbcExecutor;
+	}
+
+
+	@Override
+	public <T> Flux<T> query(String sql, RowMapper<T> rowMapper, @Nullable Object... args) {
+		return this.jdbcExecutor.query(sql, newArgPreparedStatementSetter(args), rowMapper);
+	}
+
+	@Override
+	public <T> Flux<T> query(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper) {
+		return Flux.defer(() -> {
+			ParsedSql parsedSql = getParsedSql(sql);
+			String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+			PreparedStatementSetter pss = getPreparedStatementSetter(parsedSql, sqlToUse, paramSource);
+			return this.jdbcExecutor.query(sqlToUse, pss, rowMapper);
+		});
+	}
+
+	@Override
+	public <T> Flux<T> query(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper) {
+		return query(sql, new MapSqlParameterSource(paramMap), rowMapper);
+	}
+
+	@Override
+	public Mono<Integer> update(String sql, @Nullable Object... args) {
+		return this.jdbcExecutor.update(sql, newArgPreparedStatementSetter(args));
+	}
+
+	@Override
+	public Mono<Integer> update(String sql, SqlParameterSource paramSource) {
+		return Mono.defer(() -> {
+			ParsedSql parsedSql = getParsedSql(sql);
+			String sqlToUse = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+			PreparedStatementSetter pss = getPreparedStatementSetter(parsedSql, sqlToUse, paramSource);
+			return this.jdbcExecutor.update(sqlToUse, pss);
+		});
+	}
+
+	@Override
+	public Mono<Integer> update(String sql, Map<String, ?> paramMap) {
+		return update(sql, new MapSqlParameterSource(paramMap));
+	}
+
+
+	/**
+	 * Create a new arg-based PreparedStatementSetter using the args passed in.
+	 * <p>By default, we'll create an {@link ArgumentPreparedStatementSetter}.
+	 * This method allows for the creation to be overridden by subclasses.
+	 * @param args object array with arguments
+	 * @return the new PreparedStatementSetter to use
+	 */
+	protected PreparedStatementSetter newArgPreparedStatementSetter(@Nullable Object[] args) {
+		return new ArgumentPreparedStatementSetter(args);
+	}
+
+	/**
+	 * Obtain a parsed representation of the given SQL statement.
+	 * <p>The default implementation uses an LRU cache with an upper limit of 256 entries.
+	 * @param sql the original SQL statement
+	 * @return a representation of the parsed SQL statement
+	 */
+	protected ParsedSql getParsedSql(String sql) {
+		return this.parsedSqlCache.get(sql);
+	}
+
+	/**
+	 * Build a PreparedStatementSetter binding the given named parameters
+	 * to the placeholders of the substituted SQL statement.
+	 */
+	private PreparedStatementSetter getPreparedStatementSetter(
+			ParsedSql parsedSql, String sqlToUse, SqlParameterSource paramSource) {
+
+		List<SqlParameter> declaredParameters = NamedParameterUtils.buildSqlParameterList(parsedSql, paramSource);
+		PreparedStatementCreatorFactory pscf = new PreparedStatementCreatorFactory(sqlToUse, declaredParameters);
+		Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+		return pscf.newPreparedStatementSetter(params);
+	}
+
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.reactive;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.ParameterDisposer;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.JdbcAccessor;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ReactiveJdbcExecutor} implementation that executes blocking JDBC
+ * calls on a dedicated, typically bounded pool of worker threads, so that
+ * the threads subscribing to and requesting from the returned publishers
+ * never block on the database.
+ *
+ * <p>Query results are read through a server-side cursor as rows are
+ * requested: each request is served by a worker task that reads at most
+ * the requested number of rows (up to the {@link #setMaxFetchSize
+ * maximum fetch size}), using the outstanding demand as fetch size hint
+ * for the driver. The Connection is held until the result has been fully
+ * read or the subscription gets cancelled.
+ *
+ * <p>Connections are obtained from the DataSource for each statement; they
+ * do not participate in Spring-managed transactions, which are bound to the
+ * calling thread. The executor's size therefore also bounds the number of
+ * Connections taken by this executor, and should not exceed the maximum
+ * size of the Connection pool.
+ *
+ * @since 5.1.15
+ * @see ReactiveJdbcTemplate
+ */
+public class WorkerPoolJdbcExecutor extends JdbcAccessor implements ReactiveJdbcExecutor {
+
+	/** Default maximum number of rows to fetch per worker task: 256. */
+	public static final int DEFAULT_MAX_FETCH_SIZE = 256;
+
+
+	private final Executor executor;
+
+	private int maxFetchSize = DEFAULT_MAX_FETCH_SIZE;
+
+
+	/**
+	 * Create a new WorkerPoolJdbcExecutor for the given DataSource and executor.
+	 * @param dataSource the JDBC DataSource to obtain connections from
+	 * @param executor the (typically bounded) executor to run JDBC calls on
+	 */
+	public WorkerPoolJdbcExecutor(DataSource dataSource, Executor executor) {
+		Assert.notNull(executor, "Executor must not be null");
+		setDataSource(dataSource);
+		this.executor = executor;
+		afterPropertiesSet();
+	}
+
+
+	/**
+	 * Set the maximum number of rows to read per worker task, also used
+	 * as fetch size hint for the driver in case of unbounded demand.
+	 * Default is {@value #DEFAULT_MAX_FETCH_SIZE}.
+	 */
+	public void setMaxFetchSize(int maxFetchSize) {
+		Assert.isTrue(maxFetchSize > 0, "Max fetch size must be greater than 0");
+		this.maxFetchSize = maxFetchSize;
+	}
+
+	/**
+	 * Return the maximum number of rows to read per worker task.
+	 */
+	public int getMaxFetchSize() {
+		return this.maxFetchSize;
+	}
+
+
+	@Override
+	public <T> Flux<T> query(String sql, @Nullable PreparedStatementSetter pss, RowMapper<T> rowMapper) {
+		Assert.notNull(sql, "SQL must not be null");
+		Assert.notNull(rowMapper, "RowMapper must not be null");
+		return Flux.create(sink -> new QueryCursor<>(sink, sql, pss, rowMapper).start());
+	}
+
+	@Override
+	public Mono<Integer> update(String sql, @Nullable PreparedStatementSetter pss) {
+		Assert.notNull(sql, "SQL must not be null");
+		return Mono.defer(() -> Mono.fromCompletionStage(
+				CompletableFuture.supplyAsync(() -> doUpdate(sql, pss), this.executor)));
+	}
+
+	private int doUpdate(String sql, @Nullable PreparedStatementSetter pss) {
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing prepared SQL update [" + sql + "]");
+		}
+		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		PreparedStatement ps = null;
+		try {
+			ps = con.prepareStatement(sql);
+			if (pss != null) {
+				pss.setValues(ps);
+			}
+			int rows = ps.executeUpdate();
+			if (logger.isTraceEnabled()) {
+				logger.trace("SQL update affected " + rows + " rows");
+			}
+			return rows;
+		}
+		catch (SQLException ex) {
+			throw translateException("WorkerPoolJdbcExecutor update", sql, ex);
+		}
+		finally {
+			if (pss instanceof ParameterDisposer) {
+				((ParameterDisposer) pss).cleanupParameters();
+			}
+			JdbcUtils.closeStatement(ps);
+			DataSourceUtils.releaseConnection(con, getDataSource());
+		}
+	}
+
+	private DataAccessException translateException(String task, @Nullable String sql, SQLException ex) {
+		DataAccessException dae = getExceptionTranslator().translate(task, sql, ex);
+		return (dae != null ? dae : new UncategorizedSQLException(task, sql, ex));
+	}
+
+
+	/**
+	 * Cursor over the result of a query, reading rows on worker threads as
+	 * they are requested. Worker tasks for a cursor never run concurrently:
+	 * a task is only scheduled by the caller that raises the work counter
+	 * from zero, or by a running task handing over to its successor.
+	 */
+	private class QueryCursor<T> implements Runnable {
+
+		private final FluxSink<T> sink;
+
+		private final String sql;
+
+		@Nullable
+		private final PreparedStatementSetter pss;
+
+		private final RowMapper<T> rowMapper;
+
+		private final AtomicInteger workInProgress = new AtomicInteger();
+
+		// The following fields are only accessed by the task currently owning the cursor
+
+		@Nullable
+		private Connection connection;
+
+		@Nullable
+		private PreparedStatement preparedStatement;
+
+		@Nullable
+		private ResultSet resultSet;
+
+		private int rowNum;
+
+		private int fetchSize;
+
+		private boolean done;
+
+		public QueryCursor(FluxSink<T> sink, String sql, @Nullable PreparedStatementSetter pss, RowMapper<T> rowMapper) {
+			this.sink = sink;
+			this.sql = sql;
+			this.pss = pss;
+			this.rowMapper = rowMapper;
+		}
+
+		public void start() {
+			this.sink.onRequest(n -> schedule());
+			// Resources get released on a worker task as well
+			this.sink.onDispose(this::schedule);
+		}
+
+		private void schedule() {
+			if (this.workInProgress.getAndIncrement() == 0) {
+				submit();
+			}
+		}
+
+		private void submit() {
+			try {
+				executor.execute(this);
+			}
+			catch (RejectedExecutionException ex) {
+				// No task running: safe to release resources from the calling thread
+				if (!this.done) {
+					this.done = true;
+					close();
+					this.sink.error(ex);
+				}
+			}
+		}
+
+		@Override
+		public void run() {
+			int missed = this.workInProgress.get();
+			if (!this.done) {
+				if (this.sink.isCancelled()) {
+					this.done = true;
+					close();
+				}
+				else {
+					long demand = this.sink.requestedFromDownstream();
+					if (demand > 0) {
+						readRows(demand);
+					}
+					if (!this.done && !this.sink.isCancelled() && this.sink.requestedFromDownstream() > 0) {
+						// Hand over to a new task, giving other work a chance to run on the pool
+						submit();
+						return;
+					}
+				}
+			}
+			if (this.workInProgress.addAndGet(-missed) != 0) {
+				submit();
+			}
+		}
+
+		private void readRows(long demand) {
+			int rowsToRead = (int) Math.min(demand, getMaxFetchSize());
+			try {
+				ResultSet rs = this.resultSet;
+				if (rs == null) {
+					rs = open(rowsToRead);
+				}
+				else if (rowsToRead != this.fetchSize) {
+					rs.setFetchSize(rowsToRead);
+					this.fetchSize = rowsToRead;
+				}
+				for (int i = 0; i < rowsToRead; i++) {
+					if (!rs.next()) {
+						this.done = true;
+						close();
+						this.sink.complete();
+						return;
+					}
+					T row = this.rowMapper.mapRow(rs, this.rowNum++);
+					Assert.state(row != null, "RowMapper returned null row");
+					this.sink.next(row);
+					if (this.sink.isCancelled()) {
+						return;
+					}
+				}
+			}
+			catch (Throwable ex) {
+				this.done = true;
+				close();
+				this.sink.error(ex instanceof SQLException ?
+						translateException("WorkerPoolJdbcExecutor query", this.sql, (SQLException) ex) : ex);
+			}
+		}
+
+		private ResultSet open(int fetchSize) throws SQLException {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Executing prepared SQL query [" + this.sql + "]");
+			}
+			this.connection = DataSourceUtils.getConnection(obtainDataSource());
+			this.preparedStatement = this.connection.prepareStatement(this.sql);
+			this.preparedStatement.setFetchSize(fetchSize);
+			this.fetchSize = fetchSize;
+			if (this.pss != null) {
+				this.pss.setValues(this.preparedStatement);
+			}
+			this.resultSet = this.preparedStatement.executeQuery();
+			return this.resultSet;
+		}
+
+		private void close() {
+			JdbcUtils.closeResultSet(this.resultSet);
+			JdbcUtils.closeStatement(this.preparedStatement);
+			if (this.pss instanceof ParameterDisposer) {
+				((ParameterDisposer) this.pss).cleanupParameters();
+			}
+			if (this.connection != null) {
+				DataSourceUtils.releaseConnection(this.connection, getDataSource());
+			}
+			this.resultSet = null;
+			this.preparedStatement = null;
+			this.connection = null;
+		}
+	}
+
+}
@@ -0,0 +1,10 @@
+/**
+ * Publisher-based variant of the core JDBC framework, executing statements
+ * through a pluggable {@link org.springframework.jdbc.core.reactive.ReactiveJdbcExecutor}.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.jdbc.core.reactive;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
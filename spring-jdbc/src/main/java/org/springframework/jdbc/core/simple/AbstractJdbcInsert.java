@@ -41,6 +41,7 @@ import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.SqlTypeValue;
 import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.metadata.MetaDataProviderCache;
 import org.springframework.jdbc.core.metadata.TableMetaDataContext;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
@@ -88,6 +89,10 @@ public abstract class AbstractJdbcInsert {
 	/** The SQL type information for the insert columns. */
 	private int[] insertTypes = new int[0];
 
+	/** Strategy for executing batch inserts, if any. */
+	@Nullable
+	private BulkInsertStrategy bulkInsertStrategy;
+
 
 	/**
 	 * Constructor to be used when initializing using a {@link DataSource}.
@@ -221,6 +226,38 @@ public abstract class AbstractJdbcInsert {
 		this.tableMetaDataContext.setOverrideIncludeSynonymsDefault(override);
 	}
 
+	/**
+	 * Specify a cache to obtain the table column meta-data from, sharing it with other
+	 * instances for the same DataSource and table,
+	 * e.g. {@link MetaDataProviderCache#getSharedInstance()}.
+	 * <p>Default is none, retrieving meta-data on compilation of each instance.
+	 * @since 5.1.15
+	 */
+	public void setMetaDataProviderCache(@Nullable MetaDataProviderCache metaDataProviderCache) {
+		this.tableMetaDataContext.setMetaDataProviderCache(metaDataProviderCache);
+	}
+
+	/**
+	 * Specify a {@link BulkInsertStrategy} to execute batch inserts with,
+	 * e.g. a {@link MultiRowInsertStrategy}.
+	 * <p>Default is none, executing each row of a batch as a separate
+	 * parameter set of a single JDBC batch.
+	 * @since 5.1.15
+	 */
+	public void setBulkInsertStrategy(@Nullable BulkInsertStrategy bulkInsertStrategy) {
+		checkIfConfigurationModificationIsAllowed();
+		this.bulkInsertStrategy = bulkInsertStrategy;
+	}
+
+	/**
+	 * Get the configured {@link BulkInsertStrategy}, if any.
+	 * @since 5.1.15
+	 */
+	@Nullable
+	public BulkInsertStrategy getBulkInsertStrategy() {
+		return this.bulkInsertStrategy;
+	}
+
 	/**
 	 * Get the insert string to be used.
 	 */
@@ -569,6 +606,10 @@ public abstract class AbstractJdbcInsert {
 		if (logger.isDebugEnabled()) {
 			logger.debug("Executing statement " + getInsertString() + " with batch of size: " + batchValues.size());
 		}
+		if (this.bulkInsertStrategy != null) {
+			return this.bulkInsertStrategy.insert(getJdbcTemplate(), getInsertString(), getInsertTypes(),
+					this.tableMetaDataContext, batchValues);
+		}
 		return getJdbcTemplate().batchUpdate(getInsertString(),
 				new BatchPreparedStatementSetter() {
 					@Override
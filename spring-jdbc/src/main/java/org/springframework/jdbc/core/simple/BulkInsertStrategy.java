@@ -0,0 +1,50 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.simple;
+
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.metadata.TableMetaDataContext;
+
+/**
+ * Strategy interface for executing the batch inserts of an
+ * {@link AbstractJdbcInsert}, e.g. as a series of multi-row statements
+ * instead of one parameter set per row.
+ *
+ * @since 5.1.15
+ * @see AbstractJdbcInsert#setBulkInsertStrategy
+ * @see MultiRowInsertStrategy
+ */
+@FunctionalInterface
+public interface BulkInsertStrategy {
+
+	/**
+	 * Insert the given rows.
+	 * @param jdbcTemplate the JdbcTemplate to execute statements with
+	 * @param insertString the compiled single-row insert statement
+	 * @param insertTypes the SQL types of the insert columns
+	 * (possibly fewer than columns if not known)
+	 * @param tableMetaDataContext the meta-data of the target table
+	 * @param batchValues the column values for each row, in insert column order
+	 * @return an array containing the number of rows affected for each row
+	 * (may also contain special JDBC-defined negative values)
+	 */
+	int[] insert(JdbcTemplate jdbcTemplate, String insertString, int[] insertTypes,
+			TableMetaDataContext tableMetaDataContext, List<List<Object>> batchValues);
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.simple;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.StatementCreatorUtils;
+import org.springframework.jdbc.core.metadata.TableMetaDataContext;
+import org.springframework.util.Assert;
+
+/**
+ * {@link BulkInsertStrategy} that inserts several rows per statement through
+ * a multi-row {@code INSERT INTO ... VALUES (...), (...)} statement, executing
+ * full chunks of rows as a single JDBC batch.
+ *
+ * <p>The number of rows per statement is limited by the configured
+ * {@link #setMaxRowsPerStatement maximum} as well as by the maximum number of
+ * bind parameters known for the database. The additional rows are built from
+ * the number of insert columns and appended to the single-row insert statement
+ * compiled by {@link AbstractJdbcInsert}. For databases not known to support
+ * multi-row inserts, this strategy falls back to a regular JDBC batch with one
+ * parameter set per row.
+ *
+ * @since 5.1.15
+ * @see TableMetaDataContext#isMultiRowInsertSupported()
+ * @see TableMetaDataContext#getMaxBindParameters()
+ */
+public class MultiRowInsertStrategy implements BulkInsertStrategy {
+
+	private int maxRowsPerStatement = 100;
+
+
+	/**
+	 * Specify the maximum number of rows to insert with a single statement.
+	 * <p>Default is 100.
+	 */
+	public void setMaxRowsPerStatement(int maxRowsPerStatement) {
+		Assert.isTrue(maxRowsPerStatement > 0, "maxRowsPerStatement must be greater than 0");
+		this.maxRowsPerStatement = maxRowsPerStatement;
+	}
+
+	/**
+	 * Return the maximum number of rows to insert with a single statement.
+	 */
+	public int getMaxRowsPerStatement() {
+		return this.maxRowsPerStatement;
+	}
+
+
+	@Override
+	public int[] insert(JdbcTemplate jdbcTemplate, String insertString, int[] insertTypes,
+			TableMetaDataContext tableMetaDataContext, List<List<Object>> batchValues) {
+
+		if (batchValues.isEmpty()) {
+			return new int[0];
+		}
+		int columnCount = batchValues.get(0).size();
+		int rowsPerStatement = determineRowsPerStatement(tableMetaDataContext, columnCount);
+		String rowTemplate = buildRowTemplate(columnCount);
+		if (!tableMetaDataContext.isMultiRowInsertSupported() || rowsPerStatement < 2 || batchValues.size() < 2 ||
+				!insertString.endsWith(rowTemplate)) {
+			List<Object[]> batchArgs = new ArrayList<>(batchValues.size());
+			for (List<Object> values : batchValues) {
+				batchArgs.add(values.toArray());
+			}
+			return jdbcTemplate.batchUpdate(insertString, batchArgs, insertTypes);
+		}
+
+		int[] result = new int[batchValues.size()];
+		int fullChunks = batchValues.size() / rowsPerStatement;
+		if (fullChunks > 0) {
+			int[] chunkCounts = jdbcTemplate.batchUpdate(buildMultiRowInsertString(insertString, rowTemplate, rowsPerStatement),
+					new BatchPreparedStatementSetter() {
+						@Override
+						public void setValues(PreparedStatement ps, int i) throws SQLException {
+							setRowValues(ps, batchValues.subList(i * rowsPerStatement, (i + 1) * rowsPerStatement),
+									insertTypes);
+						}
+						@Override
+						public int getBatchSize() {
+							return fullChunks;
+						}
+					});
+			for (int i = 0; i < chunkCounts.length; i++) {
+				fillRowCounts(result, i * rowsPerStatement, rowsPerStatement, chunkCounts[i]);
+			}
+		}
+		int offset = fullChunks * rowsPerStatement;
+		int remainder = batchValues.size() - offset;
+		if (remainder > 0) {
+			List<List<Object>> remainingRows = batchValues.subList(offset, batchValues.size());
+			int count = jdbcTemplate.update(buildMultiRowInsertString(insertString, rowTemplate, remainder),
+					ps -> setRowValues(ps, remainingRows, insertTypes));
+			fillRowCounts(result, offset, remainder, count);
+		}
+		return result;
+	}
+
+	/**
+	 * Determine the number of rows to insert per statement for the given
+	 * number of columns, respecting the database's bind parameter limit.
+	 */
+	protected int determineRowsPerStatement(TableMetaDataContext tableMetaDataContext, int columnCount) {
+		int rows = this.maxRowsPerStatement;
+		int maxBindParameters = tableMetaDataContext.getMaxBindParameters();
+		if (maxBindParameters > 0 && columnCount > 0) {
+			rows = Math.min(rows, maxBindParameters / columnCount);
+		}
+		return Math.max(rows, 1);
+	}
+
+	/**
+	 * Build the values row for the given number of insert columns,
+	 * i.e. {@code (?, ?, ?)} for three columns.
+	 */
+	protected String buildRowTemplate(int columnCount) {
+		StringBuilder sb = new StringBuilder(columnCount * 3 + 1);
+		sb.append('(');
+		for (int i = 0; i < columnCount; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append('?');
+		}
+		return sb.append(')').toString();
+	}
+
+	/**
+	 * Build an insert statement for the given number of rows by repeating
+	 * the values row that the given single-row insert statement ends with.
+	 * @param insertString the single-row insert statement
+	 * @param rowTemplate the values row, as built by {@link #buildRowTemplate}
+	 * @param rows the number of rows
+	 */
+	protected String buildMultiRowInsertString(String insertString, String rowTemplate, int rows) {
+		if (!insertString.endsWith(rowTemplate)) {
+			throw new InvalidDataAccessApiUsageException(
+					"Insert statement does not end with values row " + rowTemplate + ": " + insertString);
+		}
+		StringBuilder sb = new StringBuilder(insertString.length() + (rows - 1) * (rowTemplate.length() + 2));
+		sb.append(insertString);
+		for (int i = 1; i < rows; i++) {
+			sb.append(", ").append(rowTemplate);
+		}
+		return sb.toString();
+	}
+
+	private static void setRowValues(PreparedStatement ps, List<List<Object>> rows, int[] columnTypes)
+			throws SQLException {
+
+		int paramIndex = 0;
+		for (List<Object> values : rows) {
+			int colIndex = 0;
+			for (Object value : values) {
+				int sqlType = (colIndex < columnTypes.length ? columnTypes[colIndex] : SqlTypeValue.TYPE_UNKNOWN);
+				StatementCreatorUtils.setParameterValue(ps, ++paramIndex, sqlType, value);
+				colIndex++;
+			}
+		}
+	}
+
+	private static void fillRowCounts(int[] result, int offset, int rows, int statementCount) {
+		Arrays.fill(result, offset, offset + rows, (statementCount == rows ? 1 : Statement.SUCCESS_NO_INFO));
+	}
+
+}
@@ -25,6 +25,7 @@ import javax.sql.DataSource;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.metadata.MetaDataProviderCache;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
 /**
@@ -147,6 +148,20 @@ public class SimpleJdbcCall extends AbstractJdbcCall implements SimpleJdbcCallOp
 		return this;
 	}
 
+	/**
+	 * Obtain the call parameter meta-data from the given cache, sharing it
+	 * with other instances for the same DataSource and procedure.
+	 * @param metaDataProviderCache the cache to use,
+	 * e.g. {@link MetaDataProviderCache#getSharedInstance()}
+	 * @return the instance of this SimpleJdbcCall
+	 * @since 5.1.15
+	 * @see #setMetaDataProviderCache
+	 */
+	public SimpleJdbcCall withMetaDataProviderCache(MetaDataProviderCache metaDataProviderCache) {
+		setMetaDataProviderCache(metaDataProviderCache);
+		return this;
+	}
+
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T> T executeFunction(Class<T> returnType, Object... args) {
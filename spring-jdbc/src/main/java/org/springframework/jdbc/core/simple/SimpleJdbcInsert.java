@@ -22,6 +22,7 @@ import java.util.Map;
 import javax.sql.DataSource;
 
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.metadata.MetaDataProviderCache;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.support.KeyHolder;
 
@@ -112,6 +113,32 @@ public class SimpleJdbcInsert extends AbstractJdbcInsert implements SimpleJdbcIn
 		return this;
 	}
 
+	/**
+	 * Use the given {@link BulkInsertStrategy} for batch inserts.
+	 * @param bulkInsertStrategy the strategy to use, e.g. a {@link MultiRowInsertStrategy}
+	 * @return the instance of this SimpleJdbcInsert
+	 * @since 5.1.15
+	 * @see #setBulkInsertStrategy
+	 */
+	public SimpleJdbcInsert withBulkInsertStrategy(BulkInsertStrategy bulkInsertStrategy) {
+		setBulkInsertStrategy(bulkInsertStrategy);
+		return this;
+	}
+
+	/**
+	 * Obtain the table meta-data from the given cache, sharing it with other
+	 * instances for the same DataSource and table.
+	 * @param metaDataProviderCache the cache to use,
+	 * e.g. {@link MetaDataProviderCache#getSharedInstance()}
+	 * @return the instance of this SimpleJdbcInsert
+	 * @since 5.1.15
+	 * @see #setMetaDataProviderCache
+	 */
+	public SimpleJdbcInsert withMetaDataProviderCache(MetaDataProviderCache metaDataProviderCache) {
+		setMetaDataProviderCache(metaDataProviderCache);
+		return this;
+	}
+
 	@Override
 	public int execute(Map<String, ?> args) {
 		return doExecute(args);
@@ -0,0 +1,420 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.lookup;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * {@link javax.sql.DataSource} implementation that routes {@link #getConnection()}
+ * calls within read-only transactions to one of several replica DataSources,
+ * and all other calls to a primary DataSource.
+ *
+ * <p>A read-only transaction is detected through
+ * {@link TransactionSynchronizationManager#isCurrentTransactionReadOnly()}.
+ * Since transaction managers such as
+ * {@link org.springframework.jdbc.datasource.DataSourceTransactionManager}
+ * obtain their Connection before exposing the read-only flag, this DataSource
+ * needs to be wrapped in a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * which is then given to the transaction manager and data access code:
+ *
+ * <pre class="code">
+ * &lt;bean id="dataSource" class="org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy"&gt;
+ *   &lt;property name="targetDataSource"&gt;
+ *     &lt;bean class="org.springframework.jdbc.datasource.lookup.ReadWriteRoutingDataSource"&gt;
+ *       &lt;property name="primaryDataSource" ref="primaryDataSource"/&gt;
+ *       &lt;property name="replicaDataSources"&gt;
+ *         &lt;list&gt;
+ *           &lt;ref bean="replicaDataSource1"/&gt;
+ *           &lt;ref bean="replicaDataSource2"/&gt;
+ *         &lt;/list&gt;
+ *       &lt;/property&gt;
+ *     &lt;/bean&gt;
+ *   &lt;/property&gt;
+ * &lt;/bean&gt;</pre>
+ *
+ * <p>The replica to use is chosen by a {@link ReplicaSelector}, by default
+ * {@link ReplicaSelector#roundRobin() round-robin}. A replica that fails to
+ * provide a Connection is considered unavailable for the
+ * {@link #setRetryInterval retry interval}, with the Connection being obtained
+ * from another replica instead, or from the primary DataSource if none is
+ * available (unless {@link #setFallbackToPrimary fallbackToPrimary} is off).
+ *
+ * @since 5.1.15
+ * @see #setPrimaryDataSource
+ * @see #setReplicaDataSources
+ * @see #setReplicaSelector
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements InitializingBean {
+
+	@Nullable
+	private DataSource primaryDataSource;
+
+	private List<DataSource> replicaDataSources = Collections.emptyList();
+
+	private ReplicaSelector replicaSelector = ReplicaSelector.roundRobin();
+
+	private long retryInterval = 30000;
+
+	private boolean fallbackToPrimary = true;
+
+	private List<Replica> replicas = Collections.emptyList();
+
+
+	/**
+	 * Set the primary DataSource that all Connections outside of read-only
+	 * transactions are obtained from.
+	 */
+	public void setPrimaryDataSource(DataSource primaryDataSource) {
+		this.primaryDataSource = primaryDataSource;
+	}
+
+	/**
+	 * Return the primary DataSource, if set.
+	 */
+	@Nullable
+	public DataSource getPrimaryDataSource() {
+		return this.primaryDataSource;
+	}
+
+	/**
+	 * Set the replica DataSources that Connections within read-only
+	 * transactions are obtained from.
+	 * <p>If none are specified, all Connections are obtained from the
+	 * primary DataSource.
+	 */
+	public void setReplicaDataSources(List<DataSource> replicaDataSources) {
+		Assert.notNull(replicaDataSources, "Replica DataSources must not be null");
+		this.replicaDataSources = replicaDataSources;
+	}
+
+	/**
+	 * Set the strategy for selecting the replica to obtain a Connection from.
+	 * <p>Default is {@link ReplicaSelector#roundRobin()}.
+	 * @see ReplicaSelector#leastInFlight()
+	 * @see ReplicaSelector#latencyWeighted()
+	 */
+	public void setReplicaSelector(ReplicaSelector replicaSelector) {
+		Assert.notNull(replicaSelector, "ReplicaSelector must not be null");
+		this.replicaSelector = replicaSelector;
+	}
+
+	/**
+	 * Set the interval (in milliseconds) for which a replica that failed to
+	 * provide a Connection is not being selected anymore. Default is 30000 ms.
+	 */
+	public void setRetryInterval(long retryInterval) {
+		this.retryInterval = retryInterval;
+	}
+
+	/**
+	 * Set whether to obtain Connections for read-only transactions from the
+	 * primary DataSource when no replica is available. Default is "true".
+	 * <p>Switch this flag to "false" for such Connection requests to fail
+	 * instead, protecting the primary DataSource from read load.
+	 */
+	public void setFallbackToPrimary(boolean fallbackToPrimary) {
+		this.fallbackToPrimary = fallbackToPrimary;
+	}
+
+	/**
+	 * Return the replicas, along with their current statistics.
+	 */
+	public List<Replica> getReplicas() {
+		return this.replicas;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		if (this.primaryDataSource == null) {
+			throw new IllegalArgumentException("Property 'primaryDataSource' is required");
+		}
+		List<Replica> replicas = new ArrayList<>(this.replicaDataSources.size());
+		for (DataSource replicaDataSource : this.replicaDataSources) {
+			replicas.add(new Replica(replicaDataSource));
+		}
+		this.replicas = Collections.unmodifiableList(replicas);
+	}
+
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		return doGetConnection(null, null);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		return doGetConnection(username, password);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface.isInstance(this)) {
+			return (T) this;
+		}
+		return obtainPrimaryDataSource().unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return (iface.isInstance(this) || obtainPrimaryDataSource().isWrapperFor(iface));
+	}
+
+	private DataSource obtainPrimaryDataSource() {
+		DataSource primaryDataSource = this.primaryDataSource;
+		Assert.state(primaryDataSource != null, "No primary DataSource set");
+		return primaryDataSource;
+	}
+
+	private Connection doGetConnection(@Nullable String username, @Nullable String password) throws SQLException {
+		if (this.replicas.isEmpty() || !isReadOnly()) {
+			return obtainConnection(obtainPrimaryDataSource(), username, password);
+		}
+
+		SQLException failure = null;
+		for (int attempt = 0; attempt < this.replicas.size(); attempt++) {
+			List<Replica> availableReplicas = getAvailableReplicas();
+			if (availableReplicas.isEmpty()) {
+				break;
+			}
+			Replica replica = this.replicaSelector.select(availableReplicas);
+			try {
+				return replica.getConnection(username, password, this.replicaSelector.isInFlightCountRequired());
+			}
+			catch (SQLException ex) {
+				failure = ex;
+				replica.markUnavailable(this.retryInterval);
+				if (logger.isWarnEnabled()) {
+					logger.warn("Failed to obtain Connection from replica [" + replica.getDataSource() +
+							"] - not selecting it for the next " + this.retryInterval + " ms", ex);
+				}
+			}
+		}
+
+		if (this.fallbackToPrimary) {
+			logger.debug("No replica available - obtaining read-only Connection from primary DataSource");
+			return obtainConnection(obtainPrimaryDataSource(), username, password);
+		}
+		if (failure != null) {
+			throw failure;
+		}
+		throw new SQLException("No replica DataSource available for read-only Connection");
+	}
+
+	/**
+	 * Determine whether the Connection to obtain is meant for read-only access.
+	 * <p>The default implementation checks for a current read-only transaction.
+	 * @see TransactionSynchronizationManager#isCurrentTransactionReadOnly()
+	 */
+	protected boolean isReadOnly() {
+		return TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+	}
+
+	private List<Replica> getAvailableReplicas() {
+		List<Replica> replicas = this.replicas;
+		long now = System.nanoTime();
+		int available = 0;
+		for (Replica replica : replicas) {
+			if (replica.isAvailable(now)) {
+				available++;
+			}
+		}
+		if (available == replicas.size()) {
+			return replicas;
+		}
+		List<Replica> availableReplicas = new ArrayList<>(available);
+		for (Replica replica : replicas) {
+			if (replica.isAvailable(now)) {
+				availableReplicas.add(replica);
+			}
+		}
+		return availableReplicas;
+	}
+
+	private static Connection obtainConnection(DataSource dataSource,
+			@Nullable String username, @Nullable String password) throws SQLException {
+
+		return (username != null ? dataSource.getConnection(username, password) : dataSource.getConnection());
+	}
+
+
+	/**
+	 * A replica DataSource along with the statistics that a {@link ReplicaSelector}
+	 * may base its decision on.
+	 */
+	public static final class Replica {
+
+		private static final double LATENCY_SMOOTHING_FACTOR = 0.2;
+
+		private final DataSource dataSource;
+
+		private final AtomicInteger inFlightCount = new AtomicInteger();
+
+		private volatile long averageLatency;
+
+		private volatile long unavailableUntil;
+
+		private volatile boolean unavailable;
+
+		Replica(DataSource dataSource) {
+			Assert.notNull(dataSource, "Replica DataSource must not be null");
+			this.dataSource = dataSource;
+		}
+
+		/**
+		 * Return the target DataSource of this replica.
+		 */
+		public DataSource getDataSource() {
+			return this.dataSource;
+		}
+
+		/**
+		 * Return the number of Connections from this replica currently in use.
+		 * <p>Only tracked if the {@link ReplicaSelector} requires it.
+		 * @see ReplicaSelector#isInFlightCountRequired()
+		 */
+		public int getInFlightCount() {
+			return this.inFlightCount.get();
+		}
+
+		/**
+		 * Return the exponentially weighted average time (in nanoseconds) for
+		 * obtaining a Connection from this replica, or 0 if not measured yet.
+		 */
+		public long getAverageLatency() {
+			return this.averageLatency;
+		}
+
+		/**
+		 * Return whether this replica is currently considered available.
+		 */
+		public boolean isAvailable() {
+			return isAvailable(System.nanoTime());
+		}
+
+		boolean isAvailable(long now) {
+			return (!this.unavailable || now - this.unavailableUntil >= 0);
+		}
+
+		void markUnavailable(long retryInterval) {
+			this.unavailableUntil = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(retryInterval);
+			this.unavailable = true;
+		}
+
+		Connection getConnection(@Nullable String username, @Nullable String password, boolean trackInFlight)
+				throws SQLException {
+
+			long start = System.nanoTime();
+			Connection con = obtainConnection(this.dataSource, username, password);
+			long latency = System.nanoTime() - start;
+			long previous = this.averageLatency;
+			this.averageLatency = (previous == 0 ? Math.max(latency, 1) :
+					(long) (previous + LATENCY_SMOOTHING_FACTOR * (latency - previous)));
+			this.unavailable = false;
+			if (!trackInFlight) {
+				return con;
+			}
+			this.inFlightCount.incrementAndGet();
+			return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+					new Class<?>[] {ConnectionProxy.class}, new InFlightConnectionInvocationHandler(con));
+		}
+
+		@Override
+		public String toString() {
+			return "Replica [" + this.dataSource + "]: in-flight=" + getInFlightCount() +
+					", average latency=" + this.averageLatency + " ns, available=" + isAvailable();
+		}
+
+
+		/**
+		 * Invocation handler that keeps track of the Connection being closed.
+		 */
+		private class InFlightConnectionInvocationHandler implements InvocationHandler {
+
+			private final Connection target;
+
+			private final AtomicBoolean closed = new AtomicBoolean();
+
+			public InFlightConnectionInvocationHandler(Connection target) {
+				this.target = target;
+			}
+
+			@Override
+			@Nullable
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				// Invocation on ConnectionProxy interface coming in...
+
+				switch (method.getName()) {
+					case "equals":
+						// Only consider equal when proxies are identical.
+						return (proxy == args[0]);
+					case "hashCode":
+						// Use hashCode of Connection proxy.
+						return System.identityHashCode(proxy);
+					case "unwrap":
+						if (((Class<?>) args[0]).isInstance(proxy)) {
+							return proxy;
+						}
+						break;
+					case "isWrapperFor":
+						if (((Class<?>) args[0]).isInstance(proxy)) {
+							return true;
+						}
+						break;
+					case "getTargetConnection":
+						// Handle getTargetConnection method: return underlying Connection.
+						return this.target;
+					case "close":
+						if (this.closed.compareAndSet(false, true)) {
+							inFlightCount.decrementAndGet();
+						}
+						break;
+				}
+
+				// Invoke method on target Connection.
+				try {
+					return method.invoke(this.target, args);
+				}
+				catch (InvocationTargetException ex) {
+					throw ex.getTargetException();
+				}
+			}
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.lookup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Strategy for selecting the replica that a {@link ReadWriteRoutingDataSource}
+ * obtains a read-only Connection from.
+ *
+ * @since 5.1.15
+ * @see ReadWriteRoutingDataSource#setReplicaSelector
+ */
+@FunctionalInterface
+public interface ReplicaSelector {
+
+	/**
+	 * Select one of the given replicas.
+	 * @param replicas the currently available replicas (never empty)
+	 * @return the selected replica
+	 */
+	ReadWriteRoutingDataSource.Replica select(List<ReadWriteRoutingDataSource.Replica> replicas);
+
+	/**
+	 * Return whether this selector relies on the
+	 * {@link ReadWriteRoutingDataSource.Replica#getInFlightCount() in-flight count}
+	 * of the replicas, which requires handing out Connection proxies for tracking
+	 * when they are being closed.
+	 * <p>The default implementation returns {@code false}.
+	 */
+	default boolean isInFlightCountRequired() {
+		return false;
+	}
+
+
+	/**
+	 * Return a selector that cycles through the available replicas.
+	 */
+	static ReplicaSelector roundRobin() {
+		AtomicInteger counter = new AtomicInteger();
+		return replicas -> replicas.get(Math.floorMod(counter.getAndIncrement(), replicas.size()));
+	}
+
+	/**
+	 * Return a selector that picks the replica with the fewest Connections
+	 * currently in use, preferring the first one in case of a tie.
+	 */
+	static ReplicaSelector leastInFlight() {
+		return new ReplicaSelector() {
+			@Override
+			public ReadWriteRoutingDataSource.Replica select(List<ReadWriteRoutingDataSource.Replica> replicas) {
+				ReadWriteRoutingDataSource.Replica selected = replicas.get(0);
+				for (int i = 1; i < replicas.size(); i++) {
+					ReadWriteRoutingDataSource.Replica candidate = replicas.get(i);
+					if (candidate.getInFlightCount() < selected.getInFlightCount()) {
+						selected = candidate;
+					}
+				}
+				return selected;
+			}
+			@Override
+			public boolean isInFlightCountRequired() {
+				return true;
+			}
+		};
+	}
+
+	/**
+	 * Return a selector that picks a replica at random, weighted by the inverse
+	 * of its {@link ReadWriteRoutingDataSource.Replica#getAverageLatency() average
+	 * Connection acquisition latency}. Replicas without any measurement yet are
+	 * treated like the fastest replica.
+	 */
+	static ReplicaSelector latencyWeighted() {
+		return replicas -> {
+			long fastest = Long.MAX_VALUE;
+			for (ReadWriteRoutingDataSource.Replica replica : replicas) {
+				long latency = replica.getAverageLatency();
+				if (latency > 0 && latency < fastest) {
+					fastest = latency;
+				}
+			}
+			if (fastest == Long.MAX_VALUE) {
+				return replicas.get(ThreadLocalRandom.current().nextInt(replicas.size()));
+			}
+			double totalWeight = 0;
+			for (ReadWriteRoutingDataSource.Replica replica : replicas) {
+				totalWeight += 1.0 / Math.max(replica.getAverageLatency(), fastest);
+			}
+			double point = ThreadLocalRandom.current().nextDouble(totalWeight);
+			for (ReadWriteRoutingDataSource.Replica replica : replicas) {
+				point -= 1.0 / Math.max(replica.getAverageLatency(), fastest);
+				if (point < 0) {
+					return replica;
+				}
+			}
+			return replicas.get(replicas.size() - 1);
+		};
+	}
+
+}
@@ -50,6 +50,9 @@ public abstract class JdbcAccessor implements InitializingBean {
 
 	private boolean lazyInit = true;
 
+	@Nullable
+	private JdbcInstrumentation instrumentation;
+
 
 	/**
 	 * Set the JDBC DataSource to obtain connections from.
@@ -130,6 +133,25 @@ public abstract class JdbcAccessor implements InitializingBean {
 		}
 	}
 
+	/**
+	 * Set the instrumentation to record the timing of JDBC operations with,
+	 * e.g. a {@link org.springframework.jdbc.core.metrics.StatementMetricsCollector}.
+	 * <p>Default is none, in which case no timing information is collected.
+	 * @since 5.1.15
+	 */
+	public void setInstrumentation(@Nullable JdbcInstrumentation instrumentation) {
+		this.instrumentation = instrumentation;
+	}
+
+	/**
+	 * Return the instrumentation for this accessor, if any.
+	 * @since 5.1.15
+	 */
+	@Nullable
+	public JdbcInstrumentation getInstrumentation() {
+		return this.instrumentation;
+	}
+
 	/**
 	 * Set whether to lazily initialize the SQLExceptionTranslator for this accessor,
 	 * on first encounter of a SQLException. Default is "true"; can be switched to
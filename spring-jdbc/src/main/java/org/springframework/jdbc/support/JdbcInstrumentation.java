@@ -0,0 +1,82 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Callback interface for recording timing information of the JDBC operations
+ * performed by a {@link JdbcAccessor}, e.g. in order to maintain per-statement
+ * latency histograms or to report slow queries.
+ *
+ * <p>Implementations are invoked on the thread performing the operation and
+ * should therefore return quickly. Timings are reported in nanoseconds, as
+ * measured through {@link System#nanoTime()}. If no instrumentation is set on
+ * an accessor, no timing information is collected at all.
+ *
+ * @since 5.1.15
+ * @see JdbcAccessor#setInstrumentation
+ * @see org.springframework.jdbc.core.metrics.StatementMetricsCollector
+ */
+public interface JdbcInstrumentation {
+
+	/**
+	 * Record the time it took to obtain a JDBC Connection, i.e. the time
+	 * spent waiting for a connection pool or physically connecting.
+	 * @param elapsedNanos the elapsed time in nanoseconds
+	 */
+	default void connectionAcquired(long elapsedNanos) {
+	}
+
+	/**
+	 * Record the successful execution of a JDBC statement, including the
+	 * processing of its results (if any).
+	 * <p>For a query exposing its results as a {@code Stream}, this is only
+	 * called once the caller has closed the Stream.
+	 * @param sql the SQL statement, or {@code null} if not exposed by the
+	 * callback performing the operation
+	 * @param elapsedNanos the elapsed time in nanoseconds
+	 * @see #statementFailed
+	 */
+	default void statementExecuted(@Nullable String sql, long elapsedNanos) {
+	}
+
+	/**
+	 * Record the failed execution of a JDBC statement, i.e. an exception
+	 * thrown while executing it or while processing its results.
+	 * @param sql the SQL statement, or {@code null} if not exposed by the
+	 * callback performing the operation
+	 * @param elapsedNanos the elapsed time in nanoseconds
+	 * @param ex the exception thrown (not translated yet)
+	 */
+	default void statementFailed(@Nullable String sql, long elapsedNanos, Throwable ex) {
+	}
+
+	/**
+	 * Record the extraction of the results of a query.
+	 * <p>Called before {@link #statementExecuted} for the same statement,
+	 * with the extraction time being part of the overall execution time.
+	 * For a streamed query, the row count covers the rows actually read
+	 * before the Stream was closed.
+	 * @param sql the SQL query, or {@code null} if not known
+	 * @param elapsedNanos the elapsed time in nanoseconds
+	 * @param rowCount the number of rows extracted, or -1 if not known
+	 */
+	default void resultExtracted(@Nullable String sql, long elapsedNanos, int rowCount) {
+	}
+
+}
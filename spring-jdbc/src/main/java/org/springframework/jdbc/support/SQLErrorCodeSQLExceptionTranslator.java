@@ -19,7 +19,11 @@ package org.springframework.jdbc.support;
 import java.lang.reflect.Constructor;
 import java.sql.BatchUpdateException;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import javax.sql.DataSource;
 
@@ -78,6 +82,10 @@ public class SQLErrorCodeSQLExceptionTranslator extends AbstractFallbackSQLExcep
 	@Nullable
 	private SQLErrorCodes sqlErrorCodes;
 
+	/** Lookup table for the grouped error codes, built on first translation. */
+	@Nullable
+	private volatile ErrorCodeTable errorCodeTable;
+
 
 	/**
 	 * Constructor for use as a JavaBean.
@@ -230,45 +238,10 @@ public class SQLErrorCodeSQLExceptionTranslator extends AbstractFallbackSQLExcep
 					}
 				}
 				// Next, look for grouped error codes.
-				if (Arrays.binarySearch(this.sqlErrorCodes.getBadSqlGrammarCodes(), errorCode) >= 0) {
-					logTranslation(task, sql, sqlEx, false);
-					return new BadSqlGrammarException(task, (sql != null ? sql : ""), sqlEx);
-				}
-				else if (Arrays.binarySearch(this.sqlErrorCodes.getInvalidResultSetAccessCodes(), errorCode) >= 0) {
-					logTranslation(task, sql, sqlEx, false);
-					return new InvalidResultSetAccessException(task, (sql != null ? sql : ""), sqlEx);
-				}
-				else if (Arrays.binarySearch(this.sqlErrorCodes.getDuplicateKeyCodes(), errorCode) >= 0) {
-					logTranslation(task, sql, sqlEx, false);
-					return new DuplicateKeyException(buildMessage(task, sql, sqlEx), sqlEx);
-				}
-				else if (Arrays.binarySearch(this.sqlErrorCodes.getDataIntegrityViolationCodes(), errorCode) >= 0) {
-					logTranslation(task, sql, sqlEx, false);
-					return new DataIntegrityViolationException(buildMessage(task, sql, sqlEx), sqlEx);
-				}
-				else if (Arrays.binarySearch(this.sqlErrorCodes.getPermissionDeniedCodes(), errorCode) >= 0) {
-					logTranslation(task, sql, sqlEx, false);
-					return new PermissionDeniedDataAccessException(buildMessage(task, sql, sqlEx), sqlEx);
-				}
-				else if (Arrays.binarySearch(this.sqlErrorCodes.getDataAccessResourceFailureCodes(), errorCode) >= 0) {
-					logTranslation(task, sql, sqlEx, false);
-					return new DataAccessResourceFailureException(buildMessage(task, sql, sqlEx), sqlEx);
-				}
-				else if (Arrays.binarySearch(this.sqlErrorCodes.getTransientDataAccessResourceCodes(), errorCode) >= 0) {
-					logTranslation(task, sql, sqlEx, false);
-					return new TransientDataAccessResourceException(buildMessage(task, sql, sqlEx), sqlEx);
-				}
-				else if (Arrays.binarySearch(this.sqlErrorCodes.getCannotAcquireLockCodes(), errorCode) >= 0) {
-					logTranslation(task, sql, sqlEx, false);
-					return new CannotAcquireLockException(buildMessage(task, sql, sqlEx), sqlEx);
-				}
-				else if (Arrays.binarySearch(this.sqlErrorCodes.getDeadlockLoserCodes(), errorCode) >= 0) {
-					logTranslation(task, sql, sqlEx, false);
-					return new DeadlockLoserDataAccessException(buildMessage(task, sql, sqlEx), sqlEx);
-				}
-				else if (Arrays.binarySearch(this.sqlErrorCodes.getCannotSerializeTransactionCodes(), errorCode) >= 0) {
+				SQLExceptionTranslator groupTranslator = obtainErrorCodeTable(this.sqlErrorCodes).get(errorCode);
+				if (groupTranslator != null) {
 					logTranslation(task, sql, sqlEx, false);
-					return new CannotSerializeTransactionException(buildMessage(task, sql, sqlEx), sqlEx);
+					return groupTranslator.translate(task, sql, sqlEx);
 				}
 			}
 		}
@@ -397,6 +370,19 @@ public class SQLErrorCodeSQLExceptionTranslator extends AbstractFallbackSQLExcep
 		}
 	}
 
+	/**
+	 * Obtain the lookup table for the grouped error codes of the given
+	 * SQLErrorCodes, rebuilding it if any of those codes have been replaced.
+	 */
+	private ErrorCodeTable obtainErrorCodeTable(SQLErrorCodes sqlErrorCodes) {
+		ErrorCodeTable table = this.errorCodeTable;
+		if (table == null || !table.isBuiltFrom(sqlErrorCodes)) {
+			table = new ErrorCodeTable(sqlErrorCodes);
+			this.errorCodeTable = table;
+		}
+		return table;
+	}
+
 	private void logTranslation(String task, @Nullable String sql, SQLException sqlEx, boolean custom) {
 		if (logger.isDebugEnabled()) {
 			String intro = custom ? "Custom translation of" : "Translating";
@@ -406,4 +392,74 @@ public class SQLErrorCodeSQLExceptionTranslator extends AbstractFallbackSQLExcep
 		}
 	}
 
+
+	/**
+	 * Lookup table from the grouped error codes of a {@link SQLErrorCodes}
+	 * instance to the translation for their group, replacing a binary search
+	 * of each group's codes for every exception to translate.
+	 */
+	private class ErrorCodeTable {
+
+		private final SQLErrorCodes sqlErrorCodes;
+
+		private final List<String[]> sourceCodes = new ArrayList<>(10);
+
+		private final Map<String, SQLExceptionTranslator> translators = new HashMap<>();
+
+		public ErrorCodeTable(SQLErrorCodes sec) {
+			this.sqlErrorCodes = sec;
+			// In order of precedence, for codes that are listed in several groups
+			register(sec.getBadSqlGrammarCodes(),
+					(task, sql, ex) -> new BadSqlGrammarException(task, (sql != null ? sql : ""), ex));
+			register(sec.getInvalidResultSetAccessCodes(),
+					(task, sql, ex) -> new InvalidResultSetAccessException(task, (sql != null ? sql : ""), ex));
+			register(sec.getDuplicateKeyCodes(),
+					(task, sql, ex) -> new DuplicateKeyException(buildMessage(task, sql, ex), ex));
+			register(sec.getDataIntegrityViolationCodes(),
+					(task, sql, ex) -> new DataIntegrityViolationException(buildMessage(task, sql, ex), ex));
+			register(sec.getPermissionDeniedCodes(),
+					(task, sql, ex) -> new PermissionDeniedDataAccessException(buildMessage(task, sql, ex), ex));
+			register(sec.getDataAccessResourceFailureCodes(),
+					(task, sql, ex) -> new DataAccessResourceFailureException(buildMessage(task, sql, ex), ex));
+			register(sec.getTransientDataAccessResourceCodes(),
+					(task, sql, ex) -> new TransientDataAccessResourceException(buildMessage(task, sql, ex), ex));
+			register(sec.getCannotAcquireLockCodes(),
+					(task, sql, ex) -> new CannotAcquireLockException(buildMessage(task, sql, ex), ex));
+			register(sec.getDeadlockLoserCodes(),
+					(task, sql, ex) -> new DeadlockLoserDataAccessException(buildMessage(task, sql, ex), ex));
+			register(sec.getCannotSerializeTransactionCodes(),
+					(task, sql, ex) -> new CannotSerializeTransactionException(buildMessage(task, sql, ex), ex));
+		}
+
+		private void register(String[] codes, SQLExceptionTranslator translator) {
+			this.sourceCodes.add(codes);
+			for (String code : codes) {
+				this.translators.putIfAbsent(code, translator);
+			}
+		}
+
+		/**
+		 * Check whether this table reflects the current grouped error codes
+		 * of the given SQLErrorCodes: their setters replace the code arrays.
+		 */
+		public boolean isBuiltFrom(SQLErrorCodes sec) {
+			return (this.sqlErrorCodes == sec &&
+					this.sourceCodes.get(0) == sec.getBadSqlGrammarCodes() &&
+					this.sourceCodes.get(1) == sec.getInvalidResultSetAccessCodes() &&
+					this.sourceCodes.get(2) == sec.getDuplicateKeyCodes() &&
+					this.sourceCodes.get(3) == sec.getDataIntegrityViolationCodes() &&
+					this.sourceCodes.get(4) == sec.getPermissionDeniedCodes() &&
+					this.sourceCodes.get(5) == sec.getDataAccessResourceFailureCodes() &&
+					this.sourceCodes.get(6) == sec.getTransientDataAccessResourceCodes() &&
+					this.sourceCodes.get(7) == sec.getCannotAcquireLockCodes() &&
+					this.sourceCodes.get(8) == sec.getDeadlockLoserCodes() &&
+					this.sourceCodes.get(9) == sec.getCannotSerializeTransactionCodes());
+		}
+
+		@Nullable
+		public SQLExceptionTranslator get(String errorCode) {
+			return this.translators.get(errorCode);
+		}
+	}
+
 }
@@ -18,6 +18,7 @@ package org.springframework.jdbc.support;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.sql.DataSource;
 
@@ -90,6 +91,11 @@ public class SQLErrorCodesFactory {
 	 */
 	private final Map<DataSource, SQLErrorCodes> dataSourceCache = new ConcurrentReferenceHashMap<>(16);
 
+	/**
+	 * Map to hold a monitor per DataSource whose SQLErrorCodes are being looked up.
+	 */
+	private final ConcurrentMap<DataSource, Object> lookupMonitors = new ConcurrentReferenceHashMap<>(16);
+
 
 	/**
 	 * Create a new instance of the {@link SQLErrorCodesFactory} class.
@@ -206,8 +212,11 @@ public class SQLErrorCodesFactory {
 		// Try efficient lock-free access for existing cache entry
 		SQLErrorCodes sec = this.dataSourceCache.get(dataSource);
 		if (sec == null) {
-			synchronized (this.dataSourceCache) {
-				// Double-check within full dataSourceCache lock
+			// Only lock out concurrent lookups for the same DataSource,
+			// not threads using other (already cached) DataSources.
+			Object monitor = this.lookupMonitors.computeIfAbsent(dataSource, key -> new Object());
+			synchronized (monitor) {
+				// Double-check within DataSource-specific lock
 				sec = this.dataSourceCache.get(dataSource);
 				if (sec == null) {
 					// We could not find it - got to look it up.
@@ -220,6 +229,9 @@ public class SQLErrorCodesFactory {
 					catch (MetaDataAccessException ex) {
 						logger.warn("Error while extracting database name - falling back to empty error codes", ex);
 					}
+					finally {
+						this.lookupMonitors.remove(dataSource, monitor);
+					}
 					// Fallback is to return an empty SQLErrorCodes instance.
 					return new SQLErrorCodes();
 				}
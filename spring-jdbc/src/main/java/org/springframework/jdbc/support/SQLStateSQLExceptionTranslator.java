@@ -17,7 +17,9 @@
 package org.springframework.jdbc.support;
 
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.springframework.dao.ConcurrencyFailureException;
@@ -87,6 +89,34 @@ public class SQLStateSQLExceptionTranslator extends AbstractFallbackSQLException
 	}
 
 
+	/** Translation per SQL state class, resolved with a single lookup. */
+	private final Map<String, SQLExceptionTranslator> classCodeTranslators = new HashMap<>(32);
+
+
+	/**
+	 * Create a new SQL state translator, resolving each known SQL state
+	 * class to its translation upfront.
+	 */
+	public SQLStateSQLExceptionTranslator() {
+		register(BAD_SQL_GRAMMAR_CODES,
+				(task, sql, ex) -> new BadSqlGrammarException(task, (sql != null ? sql : ""), ex));
+		register(DATA_INTEGRITY_VIOLATION_CODES,
+				(task, sql, ex) -> new DataIntegrityViolationException(buildMessage(task, sql, ex), ex));
+		register(DATA_ACCESS_RESOURCE_FAILURE_CODES,
+				(task, sql, ex) -> new DataAccessResourceFailureException(buildMessage(task, sql, ex), ex));
+		register(TRANSIENT_DATA_ACCESS_RESOURCE_CODES,
+				(task, sql, ex) -> new TransientDataAccessResourceException(buildMessage(task, sql, ex), ex));
+		register(CONCURRENCY_FAILURE_CODES,
+				(task, sql, ex) -> new ConcurrencyFailureException(buildMessage(task, sql, ex), ex));
+	}
+
+	private void register(Set<String> classCodes, SQLExceptionTranslator translator) {
+		for (String classCode : classCodes) {
+			this.classCodeTranslators.putIfAbsent(classCode, translator);
+		}
+	}
+
+
 	@Override
 	@Nullable
 	protected DataAccessException doTranslate(String task, @Nullable String sql, SQLException ex) {
@@ -97,20 +127,9 @@ public class SQLStateSQLExceptionTranslator extends AbstractFallbackSQLException
 			if (logger.isDebugEnabled()) {
 				logger.debug("Extracted SQL state class '" + classCode + "' from value '" + sqlState + "'");
 			}
-			if (BAD_SQL_GRAMMAR_CODES.contains(classCode)) {
-				return new BadSqlGrammarException(task, (sql != null ? sql : ""), ex);
-			}
-			else if (DATA_INTEGRITY_VIOLATION_CODES.contains(classCode)) {
-				return new DataIntegrityViolationException(buildMessage(task, sql, ex), ex);
-			}
-			else if (DATA_ACCESS_RESOURCE_FAILURE_CODES.contains(classCode)) {
-				return new DataAccessResourceFailureException(buildMessage(task, sql, ex), ex);
-			}
-			else if (TRANSIENT_DATA_ACCESS_RESOURCE_CODES.contains(classCode)) {
-				return new TransientDataAccessResourceException(buildMessage(task, sql, ex), ex);
-			}
-			else if (CONCURRENCY_FAILURE_CODES.contains(classCode)) {
-				return new ConcurrencyFailureException(buildMessage(task, sql, ex), ex);
+			SQLExceptionTranslator translator = this.classCodeTranslators.get(classCode);
+			if (translator != null) {
+				return translator.translate(task, sql, ex);
 			}
 		}
 
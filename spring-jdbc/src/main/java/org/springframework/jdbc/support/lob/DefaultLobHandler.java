@@ -22,6 +22,7 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.PreparedStatement;
@@ -32,6 +33,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 
 /**
  * Default implementation of the {@link LobHandler} interface.
@@ -91,6 +93,11 @@ public class DefaultLobHandler extends AbstractLobHandler {
 
 	private boolean createTemporaryLob = false;
 
+	private int spoolMemoryThreshold = SpooledLob.DEFAULT_MEMORY_THRESHOLD;
+
+	@Nullable
+	private Path spoolDirectory;
+
 
 	/**
 	 * Specify whether to submit a byte array / String to the JDBC driver
@@ -146,6 +153,30 @@ public class DefaultLobHandler extends AbstractLobHandler {
 		this.createTemporaryLob = createTemporaryLob;
 	}
 
+	/**
+	 * Specify the maximum number of bytes of LOB content to keep in memory
+	 * when retrieving a {@link SpooledLob}, with larger content spilled to
+	 * a temporary file.
+	 * <p>Default is {@link SpooledLob#DEFAULT_MEMORY_THRESHOLD} (1 MB).
+	 * @since 5.1.15
+	 * @see #getBlobAsSpooledLob
+	 * @see #getClobAsSpooledLob
+	 */
+	public void setSpoolMemoryThreshold(int spoolMemoryThreshold) {
+		Assert.isTrue(spoolMemoryThreshold >= 0, "Spool memory threshold must not be negative");
+		this.spoolMemoryThreshold = spoolMemoryThreshold;
+	}
+
+	/**
+	 * Specify the directory to create temporary files for oversized
+	 * {@link SpooledLob} content in.
+	 * <p>Default is the system's default temporary-file directory.
+	 * @since 5.1.15
+	 */
+	public void setSpoolDirectory(@Nullable Path spoolDirectory) {
+		this.spoolDirectory = spoolDirectory;
+	}
+
 
 	@Override
 	@Nullable
@@ -210,6 +241,20 @@ public class DefaultLobHandler extends AbstractLobHandler {
 		}
 	}
 
+	@Override
+	@Nullable
+	public SpooledLob getBlobAsSpooledLob(ResultSet rs, int columnIndex) throws SQLException {
+		logger.debug("Returning BLOB as spooled LOB");
+		return SpooledLob.spoolBlob(getBlobAsBinaryStream(rs, columnIndex), this.spoolMemoryThreshold, this.spoolDirectory);
+	}
+
+	@Override
+	@Nullable
+	public SpooledLob getClobAsSpooledLob(ResultSet rs, int columnIndex) throws SQLException {
+		logger.debug("Returning CLOB as spooled LOB");
+		return SpooledLob.spoolClob(getClobAsCharacterStream(rs, columnIndex), this.spoolMemoryThreshold, this.spoolDirectory);
+	}
+
 	@Override
 	public LobCreator getLobCreator() {
 		return (this.createTemporaryLob ? new TemporaryLobCreator() : new DefaultLobCreator());
@@ -203,6 +203,80 @@ public interface LobHandler {
 	 */
 	Reader getClobAsCharacterStream(ResultSet rs, int columnIndex) throws SQLException;
 
+	/**
+	 * Retrieve the given column as {@link SpooledLob} from the given ResultSet,
+	 * i.e. as a copy of the BLOB content that remains accessible after moving
+	 * on to the next row, spilling large content to a temporary file.
+	 * @param rs the ResultSet to retrieve the content from
+	 * @param columnName the column name to use
+	 * @return the content as SpooledLob, or {@code null} in case of SQL NULL
+	 * @throws SQLException if thrown by JDBC methods
+	 * @throws org.springframework.jdbc.LobRetrievalFailureException if the
+	 * content could not be copied
+	 * @since 5.1.15
+	 */
+	@Nullable
+	default SpooledLob getBlobAsSpooledLob(ResultSet rs, String columnName) throws SQLException {
+		return getBlobAsSpooledLob(rs, rs.findColumn(columnName));
+	}
+
+	/**
+	 * Retrieve the given column as {@link SpooledLob} from the given ResultSet,
+	 * i.e. as a copy of the BLOB content that remains accessible after moving
+	 * on to the next row, spilling large content to a temporary file.
+	 * <p>The default implementation copies the {@link #getBlobAsBinaryStream
+	 * binary stream}, keeping up to {@link SpooledLob#DEFAULT_MEMORY_THRESHOLD}
+	 * bytes in memory.
+	 * @param rs the ResultSet to retrieve the content from
+	 * @param columnIndex the column index to use
+	 * @return the content as SpooledLob, or {@code null} in case of SQL NULL
+	 * @throws SQLException if thrown by JDBC methods
+	 * @throws org.springframework.jdbc.LobRetrievalFailureException if the
+	 * content could not be copied
+	 * @since 5.1.15
+	 */
+	@Nullable
+	default SpooledLob getBlobAsSpooledLob(ResultSet rs, int columnIndex) throws SQLException {
+		return SpooledLob.spoolBlob(getBlobAsBinaryStream(rs, columnIndex), SpooledLob.DEFAULT_MEMORY_THRESHOLD, null);
+	}
+
+	/**
+	 * Retrieve the given column as {@link SpooledLob} from the given ResultSet,
+	 * i.e. as a UTF-8 encoded copy of the CLOB content that remains accessible
+	 * after moving on to the next row, spilling large content to a temporary file.
+	 * @param rs the ResultSet to retrieve the content from
+	 * @param columnName the column name to use
+	 * @return the content as SpooledLob, or {@code null} in case of SQL NULL
+	 * @throws SQLException if thrown by JDBC methods
+	 * @throws org.springframework.jdbc.LobRetrievalFailureException if the
+	 * content could not be copied
+	 * @since 5.1.15
+	 */
+	@Nullable
+	default SpooledLob getClobAsSpooledLob(ResultSet rs, String columnName) throws SQLException {
+		return getClobAsSpooledLob(rs, rs.findColumn(columnName));
+	}
+
+	/**
+	 * Retrieve the given column as {@link SpooledLob} from the given ResultSet,
+	 * i.e. as a UTF-8 encoded copy of the CLOB content that remains accessible
+	 * after moving on to the next row, spilling large content to a temporary file.
+	 * <p>The default implementation copies the {@link #getClobAsCharacterStream
+	 * character stream}, keeping up to {@link SpooledLob#DEFAULT_MEMORY_THRESHOLD}
+	 * bytes in memory.
+	 * @param rs the ResultSet to retrieve the content from
+	 * @param columnIndex the column index to use
+	 * @return the content as SpooledLob, or {@code null} in case of SQL NULL
+	 * @throws SQLException if thrown by JDBC methods
+	 * @throws org.springframework.jdbc.LobRetrievalFailureException if the
+	 * content could not be copied
+	 * @since 5.1.15
+	 */
+	@Nullable
+	default SpooledLob getClobAsSpooledLob(ResultSet rs, int columnIndex) throws SQLException {
+		return SpooledLob.spoolClob(getClobAsCharacterStream(rs, columnIndex), SpooledLob.DEFAULT_MEMORY_THRESHOLD, null);
+	}
+
 	/**
 	 * Create a new {@link LobCreator} instance, i.e. a session for creating BLOBs
 	 * and CLOBs. Needs to be closed after the created LOBs are not needed anymore -
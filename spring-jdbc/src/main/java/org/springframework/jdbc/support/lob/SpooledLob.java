@@ -0,0 +1,325 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.lob;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import reactor.core.publisher.Flux;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.jdbc.LobRetrievalFailureException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Detached copy of BLOB or CLOB content that remains accessible after the
+ * {@link java.sql.ResultSet} row it was read from is gone, e.g. for return
+ * from a {@link org.springframework.jdbc.core.RowMapper}.
+ *
+ * <p>Content up to a memory threshold is kept on the heap; larger content is
+ * spilled to a temporary file, so that arbitrarily large LOBs can be read
+ * without materializing them in memory. CLOB content is stored UTF-8 encoded.
+ * Instances holding a temporary file need to be {@link #close() closed} in
+ * order to delete that file.
+ *
+ * @since 5.1.15
+ * @see LobHandler#getBlobAsSpooledLob
+ * @see LobHandler#getClobAsSpooledLob
+ */
+public final class SpooledLob implements Closeable {
+
+	/** The default memory threshold: 1 MB. */
+	public static final int DEFAULT_MEMORY_THRESHOLD = 1024 * 1024;
+
+	private static final String TEMP_FILE_PREFIX = "spring-lob-";
+
+
+	@Nullable
+	private final byte[] content;
+
+	@Nullable
+	private final Path file;
+
+	private final long contentLength;
+
+
+	private SpooledLob(@Nullable byte[] content, @Nullable Path file, long contentLength) {
+		this.content = content;
+		this.file = file;
+		this.contentLength = contentLength;
+	}
+
+
+	/**
+	 * Return whether the content is held in memory, as opposed to a temporary file.
+	 */
+	public boolean isInMemory() {
+		return (this.file == null);
+	}
+
+	/**
+	 * Return the length of the content in bytes (UTF-8 encoded for CLOB content).
+	 */
+	public long getContentLength() {
+		return this.contentLength;
+	}
+
+	/**
+	 * Open a new stream for the content. The caller is responsible for
+	 * closing the stream.
+	 * @throws IOException if the temporary file could not be opened
+	 */
+	public InputStream getInputStream() throws IOException {
+		if (this.file != null) {
+			return Files.newInputStream(this.file);
+		}
+		Assert.state(this.content != null, "No content");
+		return new ByteArrayInputStream(this.content);
+	}
+
+	/**
+	 * Open a new UTF-8 decoding reader for the content. The caller is
+	 * responsible for closing the reader.
+	 * @throws IOException if the temporary file could not be opened
+	 */
+	public Reader getReader() throws IOException {
+		return new InputStreamReader(getInputStream(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Expose the content as a {@code Flux} of {@link DataBuffer DataBuffers},
+	 * reading it lazily on subscription. Requires Project Reactor.
+	 * @param bufferFactory the factory to create data buffers with
+	 * @param bufferSize the maximum size of the data buffers
+	 * @see DataBufferUtils#readInputStream
+	 */
+	public Flux<DataBuffer> asDataBuffers(DataBufferFactory bufferFactory, int bufferSize) {
+		return ReactiveDelegate.readInputStream(this, bufferFactory, bufferSize);
+	}
+
+	/**
+	 * Delete the temporary file, if any.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.file != null) {
+			Files.deleteIfExists(this.file);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "SpooledLob: " + this.contentLength + " bytes " +
+				(this.file != null ? "in file [" + this.file + "]" : "in memory");
+	}
+
+
+	/**
+	 * Copy the given binary stream into a new SpooledLob, closing the stream.
+	 * @param inputStream the stream to read from
+	 * @param memoryThreshold the maximum number of bytes to keep in memory
+	 * @param directory the directory to create a temporary file in, or
+	 * {@code null} for the default temporary-file directory
+	 * @throws IOException in case of I/O errors
+	 */
+	public static SpooledLob spool(InputStream inputStream, int memoryThreshold, @Nullable Path directory)
+			throws IOException {
+
+		try (InputStream in = inputStream; SpoolingOutputStream out = new SpoolingOutputStream(memoryThreshold, directory)) {
+			StreamUtils.copy(in, out);
+			return out.toSpooledLob();
+		}
+	}
+
+	/**
+	 * Copy the given character stream into a new UTF-8 encoded SpooledLob,
+	 * closing the stream.
+	 * @param reader the reader to read from
+	 * @param memoryThreshold the maximum number of bytes to keep in memory
+	 * @param directory the directory to create a temporary file in, or
+	 * {@code null} for the default temporary-file directory
+	 * @throws IOException in case of I/O errors
+	 */
+	public static SpooledLob spool(Reader reader, int memoryThreshold, @Nullable Path directory)
+			throws IOException {
+
+		try (Reader in = reader; SpoolingOutputStream out = new SpoolingOutputStream(memoryThreshold, directory)) {
+			Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+			char[] buffer = new char[StreamUtils.BUFFER_SIZE];
+			int charsRead;
+			while ((charsRead = in.read(buffer)) != -1) {
+				writer.write(buffer, 0, charsRead);
+			}
+			writer.flush();
+			return out.toSpooledLob();
+		}
+	}
+
+
+	/**
+	 * Copy the given BLOB content into a new SpooledLob, as a common
+	 * implementation for the {@link LobHandler} variants.
+	 * @param inputStream the content as binary stream, or {@code null} in case
+	 * of SQL NULL
+	 * @param memoryThreshold the maximum number of bytes to keep in memory
+	 * @param directory the directory to create a temporary file in, or
+	 * {@code null} for the default temporary-file directory
+	 * @return the SpooledLob, or {@code null} in case of SQL NULL
+	 * @throws LobRetrievalFailureException in case of I/O errors
+	 */
+	@Nullable
+	static SpooledLob spoolBlob(@Nullable InputStream inputStream, int memoryThreshold, @Nullable Path directory) {
+		if (inputStream == null) {
+			return null;
+		}
+		try {
+			return spool(inputStream, memoryThreshold, directory);
+		}
+		catch (IOException ex) {
+			throw new LobRetrievalFailureException("Could not spool BLOB content", ex);
+		}
+	}
+
+	/**
+	 * Copy the given CLOB content into a new UTF-8 encoded SpooledLob,
+	 * as a common implementation for the {@link LobHandler} variants.
+	 * @param reader the content as character stream, or {@code null} in case
+	 * of SQL NULL
+	 * @param memoryThreshold the maximum number of bytes to keep in memory
+	 * @param directory the directory to create a temporary file in, or
+	 * {@code null} for the default temporary-file directory
+	 * @return the SpooledLob, or {@code null} in case of SQL NULL
+	 * @throws LobRetrievalFailureException in case of I/O errors
+	 */
+	@Nullable
+	static SpooledLob spoolClob(@Nullable Reader reader, int memoryThreshold, @Nullable Path directory) {
+		if (reader == null) {
+			return null;
+		}
+		try {
+			return spool(reader, memoryThreshold, directory);
+		}
+		catch (IOException ex) {
+			throw new LobRetrievalFailureException("Could not spool CLOB content", ex);
+		}
+	}
+
+
+	/**
+	 * OutputStream that buffers up to the memory threshold in memory and
+	 * switches to a temporary file beyond that, deleting the file on close
+	 * unless handed over to a SpooledLob.
+	 */
+	private static class SpoolingOutputStream extends OutputStream {
+
+		private final int memoryThreshold;
+
+		@Nullable
+		private final Path directory;
+
+		private final ByteArrayOutputStream buffer;
+
+		@Nullable
+		private Path file;
+
+		@Nullable
+		private OutputStream fileStream;
+
+		private long count;
+
+		private boolean handedOver;
+
+		SpoolingOutputStream(int memoryThreshold, @Nullable Path directory) {
+			Assert.isTrue(memoryThreshold >= 0, "Memory threshold must not be negative");
+			this.memoryThreshold = memoryThreshold;
+			this.directory = directory;
+			this.buffer = new ByteArrayOutputStream(Math.min(memoryThreshold, StreamUtils.BUFFER_SIZE));
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] {(byte) b}, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			if (this.fileStream == null && this.count + len > this.memoryThreshold) {
+				this.file = (this.directory != null ?
+						Files.createTempFile(this.directory, TEMP_FILE_PREFIX, null) :
+						Files.createTempFile(TEMP_FILE_PREFIX, null));
+				this.fileStream = Files.newOutputStream(this.file);
+				this.buffer.writeTo(this.fileStream);
+				this.buffer.reset();
+			}
+			if (this.fileStream != null) {
+				this.fileStream.write(b, off, len);
+			}
+			else {
+				this.buffer.write(b, off, len);
+			}
+			this.count += len;
+		}
+
+		SpooledLob toSpooledLob() throws IOException {
+			if (this.fileStream != null) {
+				this.fileStream.close();
+				this.handedOver = true;
+				return new SpooledLob(null, this.file, this.count);
+			}
+			return new SpooledLob(this.buffer.toByteArray(), null, this.count);
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (this.fileStream != null) {
+				this.fileStream.close();
+				if (!this.handedOver && this.file != null) {
+					Files.deleteIfExists(this.file);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Inner class to avoid a hard dependency on Reactor at runtime.
+	 */
+	private static class ReactiveDelegate {
+
+		public static Flux<DataBuffer> readInputStream(
+				SpooledLob lob, DataBufferFactory bufferFactory, int bufferSize) {
+
+			return DataBufferUtils.readInputStream(lob::getInputStream, bufferFactory, bufferSize);
+		}
+	}
+
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.Assert.*;
+import static org.mockito.BDDMockito.*;
+
+/**
+ * Mock object based tests for {@link BatchingJdbcTemplate}.
+ */
+public class BatchingJdbcTemplateTests {
+
+	private static final String INSERT = "INSERT INTO T (ID) VALUES (?)";
+
+	private static final String UPDATE = "UPDATE T SET NAME = ? WHERE ID = ?";
+
+	private Connection connection;
+
+	private DataSource dataSource;
+
+	private PreparedStatement preparedStatement;
+
+	private BatchingJdbcTemplate template;
+
+	private TransactionTemplate transactionTemplate;
+
+
+	@Before
+	public void setup() throws Exception {
+		this.connection = mock(Connection.class);
+		this.dataSource = mock(DataSource.class);
+		this.preparedStatement = mock(PreparedStatement.class);
+		given(this.dataSource.getConnection()).willReturn(this.connection);
+		given(this.connection.getAutoCommit()).willReturn(true);
+		given(this.connection.prepareStatement(anyString())).willReturn(this.preparedStatement);
+		given(this.preparedStatement.getConnection()).willReturn(this.connection);
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1, 1, 1});
+		DatabaseMetaData databaseMetaData = mock(DatabaseMetaData.class);
+		given(databaseMetaData.supportsBatchUpdates()).willReturn(true);
+		given(this.connection.getMetaData()).willReturn(databaseMetaData);
+		this.template = new BatchingJdbcTemplate(this.dataSource);
+		this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+	}
+
+	@After
+	public void verifyTransactionSynchronizationManagerState() {
+		assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+		assertFalse(TransactionSynchronizationManager.isSynchronizationActive());
+	}
+
+
+	@Test
+	public void updateOutsideOfTransactionIsExecutedImmediately() throws Exception {
+		assertEquals(1, this.template.update(INSERT, 1));
+		verify(this.preparedStatement).setObject(1, 1);
+		verify(this.preparedStatement).executeUpdate();
+		verify(this.preparedStatement, never()).addBatch();
+	}
+
+	@Test
+	public void updatesAreBatchedBeforeCommit() throws Exception {
+		this.transactionTemplate.execute(status -> {
+			for (int i = 1; i <= 3; i++) {
+				assertEquals(Statement.SUCCESS_NO_INFO, this.template.update(INSERT, i));
+			}
+			verifyNoMoreInteractions(this.preparedStatement);
+			return null;
+		});
+
+		InOrder ordered = inOrder(this.connection, this.preparedStatement);
+		ordered.verify(this.connection).prepareStatement(INSERT);
+		ordered.verify(this.preparedStatement).setObject(1, 1);
+		ordered.verify(this.preparedStatement).addBatch();
+		ordered.verify(this.preparedStatement).setObject(1, 3);
+		ordered.verify(this.preparedStatement).addBatch();
+		ordered.verify(this.preparedStatement).executeBatch();
+		ordered.verify(this.preparedStatement).close();
+		ordered.verify(this.connection).commit();
+		ordered.verify(this.connection).close();
+		verify(this.preparedStatement, never()).executeUpdate();
+	}
+
+	@Test
+	public void updatesWithoutArgumentsAreBatched() throws Exception {
+		String delete = "DELETE FROM T WHERE NAME IS NULL";
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1, 0});
+
+		this.transactionTemplate.execute(status -> {
+			assertEquals(Statement.SUCCESS_NO_INFO, this.template.update(delete));
+			assertEquals(Statement.SUCCESS_NO_INFO, this.template.update(delete));
+			return null;
+		});
+
+		verify(this.connection).prepareStatement(delete);
+		verify(this.connection, never()).createStatement();
+		verify(this.preparedStatement, times(2)).addBatch();
+		verify(this.preparedStatement).executeBatch();
+	}
+
+	@Test
+	public void batchIsFlushedWhenBatchSizeIsReached() throws Exception {
+		this.template.setBatchSize(2);
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1, 1});
+
+		this.transactionTemplate.execute(status -> {
+			this.template.update(INSERT, 1);
+			this.template.update(INSERT, 2);
+			try {
+				verify(this.preparedStatement).executeBatch();
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+			this.template.update(INSERT, 3);
+			return null;
+		});
+
+		verify(this.preparedStatement, times(2)).executeBatch();
+		verify(this.preparedStatement, times(3)).addBatch();
+	}
+
+	@Test
+	public void batchIsFlushedWhenSqlChanges() throws Exception {
+		this.transactionTemplate.execute(status -> {
+			this.template.update(INSERT, 1);
+			this.template.update(UPDATE, "name", 1);
+			return null;
+		});
+
+		InOrder ordered = inOrder(this.connection, this.preparedStatement);
+		ordered.verify(this.connection).prepareStatement(INSERT);
+		ordered.verify(this.preparedStatement).executeBatch();
+		ordered.verify(this.connection).prepareStatement(UPDATE);
+		ordered.verify(this.preparedStatement).executeBatch();
+		ordered.verify(this.connection).commit();
+	}
+
+	@Test
+	public void batchIsFlushedBeforeQuery() throws Exception {
+		ResultSet resultSet = mock(ResultSet.class);
+		given(this.preparedStatement.executeQuery()).willReturn(resultSet);
+		given(resultSet.next()).willReturn(true, false);
+		given(resultSet.getInt(1)).willReturn(1);
+
+		this.transactionTemplate.execute(status -> {
+			this.template.update(INSERT, 1);
+			Integer count = this.template.queryForObject("SELECT COUNT(*) FROM T WHERE ID = ?", Integer.class, 1);
+			assertEquals(Integer.valueOf(1), count);
+			return null;
+		});
+
+		InOrder ordered = inOrder(this.preparedStatement);
+		ordered.verify(this.preparedStatement).executeBatch();
+		ordered.verify(this.preparedStatement).executeQuery();
+	}
+
+	@Test
+	public void batchIsFlushedOnTransactionStatusFlush() throws Exception {
+		this.transactionTemplate.execute(status -> {
+			this.template.update(INSERT, 1);
+			status.flush();
+			try {
+				verify(this.preparedStatement).executeBatch();
+			}
+			catch (Exception ex) {
+				throw new IllegalStateException(ex);
+			}
+			return null;
+		});
+
+		verify(this.preparedStatement).executeBatch();
+	}
+
+	@Test
+	public void updatesAreDiscardedOnRollback() throws Exception {
+		this.transactionTemplate.execute(status -> {
+			this.template.update(INSERT, 1);
+			status.setRollbackOnly();
+			return null;
+		});
+
+		verify(this.connection).rollback();
+		verify(this.connection, never()).prepareStatement(anyString());
+	}
+
+}
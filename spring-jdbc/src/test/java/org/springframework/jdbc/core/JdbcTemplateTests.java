@@ -33,6 +33,7 @@ import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 import javax.sql.DataSource;
 
@@ -40,6 +41,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.InOrder;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
@@ -50,6 +52,7 @@ import org.springframework.jdbc.UncategorizedSQLException;
 import org.springframework.jdbc.core.support.AbstractInterruptibleBatchPreparedStatementSetter;
 import org.springframework.jdbc.datasource.ConnectionProxy;
 import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.JdbcInstrumentation;
 import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
 import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
 import org.springframework.util.LinkedCaseInsensitiveMap;
@@ -787,6 +790,137 @@ public class JdbcTemplateTests {
 		verify(this.connection, atLeastOnce()).close();
 	}
 
+	@Test
+	public void testParallelBatchUpdateWithCollectionOfObjects() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = Arrays.asList(100, 200, 300, 400, 500);
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1, 2}, new int[] {3, 4}, new int[] {5});
+		mockDatabaseMetaData(true);
+
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+
+		int[][] actualRowsAffected = template.batchUpdate(sql, ids, 2, setter, Runnable::run, 2);
+		assertEquals("executed 3 batches", 3, actualRowsAffected.length);
+		assertArrayEquals(new int[] {1, 2}, actualRowsAffected[0]);
+		assertArrayEquals(new int[] {3, 4}, actualRowsAffected[1]);
+		assertArrayEquals(new int[] {5}, actualRowsAffected[2]);
+
+		verify(this.preparedStatement, times(5)).addBatch();
+		verify(this.preparedStatement, times(3)).executeBatch();
+		verify(this.preparedStatement, times(3)).close();
+		verify(this.connection, times(3)).close();
+	}
+
+	@Test
+	public void testParallelBatchUpdateStopsAfterFailedBatch() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = Arrays.asList(100, 200, 300, 400, 500);
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1, 2}).willThrow(new SQLException("foo"));
+		mockDatabaseMetaData(true);
+
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+
+		try {
+			template.batchUpdate(sql, ids, 2, setter, Runnable::run, 2);
+			fail("Should have thrown DataAccessException");
+		}
+		catch (DataAccessException ex) {
+			assertEquals("foo", ex.getCause().getMessage());
+		}
+		verify(this.preparedStatement, times(2)).executeBatch();
+		verify(this.connection, times(2)).close();
+	}
+
+	@Test
+	public void testInstrumentation() throws Exception {
+		final String sql = "SELECT NAME FROM CUSTMR WHERE ID = ?";
+		given(this.resultSet.next()).willReturn(true, true, false);
+		given(this.resultSet.getString(1)).willReturn("foo", "bar");
+		JdbcInstrumentation instrumentation = mock(JdbcInstrumentation.class);
+		this.template.setInstrumentation(instrumentation);
+
+		List<String> names = this.template.query(sql, (rs, rowNum) -> rs.getString(1), 1);
+		assertEquals(2, names.size());
+		verify(instrumentation).connectionAcquired(anyLong());
+		verify(instrumentation).resultExtracted(eq(sql), anyLong(), eq(2));
+		verify(instrumentation).statementExecuted(eq(sql), anyLong());
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testInstrumentationWithQueryForStream() throws Exception {
+		final String sql = "SELECT NAME FROM CUSTMR";
+		given(this.resultSet.next()).willReturn(true, true, false);
+		given(this.resultSet.getString(1)).willReturn("foo", "bar");
+		given(this.connection.createStatement()).willReturn(this.statement);
+		JdbcInstrumentation instrumentation = mock(JdbcInstrumentation.class);
+		this.template.setInstrumentation(instrumentation);
+
+		Stream<String> names = this.template.queryForStream(sql, (rs, rowNum) -> rs.getString(1));
+		verify(instrumentation, never()).statementExecuted(any(), anyLong());
+		try {
+			assertEquals(2, names.count());
+		}
+		finally {
+			names.close();
+		}
+		InOrder ordered = inOrder(instrumentation);
+		ordered.verify(instrumentation).resultExtracted(eq(sql), anyLong(), eq(2));
+		ordered.verify(instrumentation).statementExecuted(eq(sql), anyLong());
+		verify(this.resultSet).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testInstrumentationWithQueryForStreamAndSqlException() throws Exception {
+		SQLException sqlException = new SQLException("bad row");
+		final String sql = "SELECT NAME FROM CUSTMR";
+		given(this.resultSet.next()).willReturn(true).willThrow(sqlException);
+		given(this.resultSet.getString(1)).willReturn("foo");
+		given(this.connection.createStatement()).willReturn(this.statement);
+		JdbcInstrumentation instrumentation = mock(JdbcInstrumentation.class);
+		this.template.setInstrumentation(instrumentation);
+
+		Stream<String> names = this.template.queryForStream(sql, (rs, rowNum) -> rs.getString(1));
+		DataAccessException failure = null;
+		try {
+			names.count();
+			fail("Should have thrown DataAccessException");
+		}
+		catch (DataAccessException ex) {
+			assertSame(sqlException, ex.getCause());
+			failure = ex;
+		}
+		finally {
+			names.close();
+		}
+		verify(instrumentation).statementFailed(eq(sql), anyLong(), same(failure));
+		verify(instrumentation, never()).statementExecuted(any(), anyLong());
+		verify(this.resultSet).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void testInstrumentationWithSqlException() throws Exception {
+		SQLException sqlException = new SQLException("bad update");
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = 4";
+		given(this.statement.executeUpdate(sql)).willThrow(sqlException);
+		JdbcInstrumentation instrumentation = mock(JdbcInstrumentation.class);
+		this.template.setInstrumentation(instrumentation);
+
+		this.thrown.expect(exceptionCause(sameInstance(sqlException)));
+		try {
+			this.template.update(sql);
+		}
+		finally {
+			verify(instrumentation).statementFailed(eq(sql), anyLong(), same(sqlException));
+			verify(instrumentation, never()).statementExecuted(any(), anyLong());
+			verify(this.statement).close();
+		}
+	}
+
 	@Test
 	public void testCouldNotGetConnectionForOperationOrExceptionTranslator() throws SQLException {
 		SQLException sqlException = new SQLException("foo", "07xxx");
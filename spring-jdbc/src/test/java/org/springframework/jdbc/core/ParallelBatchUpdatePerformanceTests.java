@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.tests.Assume;
+import org.springframework.tests.TestGroup;
+import org.springframework.util.StopWatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * Throughput comparison of the parallel {@link JdbcTemplate#batchUpdate(String,
+ * java.util.Collection, int, ParameterizedPreparedStatementSetter,
+ * java.util.concurrent.Executor, int) batchUpdate} variant against the
+ * sequential one, on the embedded databases.
+ */
+public class ParallelBatchUpdatePerformanceTests {
+
+	private static final int ROWS = 50000;
+
+	private static final int BATCH_SIZE = 500;
+
+	private static final int PARALLELISM = 4;
+
+	private static final String INSERT_SQL = "INSERT INTO BATCH_ITEM (ID, NAME) VALUES (?, ?)";
+
+	private static final ParameterizedPreparedStatementSetter<Integer> SETTER = (ps, id) -> {
+		ps.setInt(1, id);
+		ps.setString(2, "item-" + id);
+	};
+
+	private static final Log logger = LogFactory.getLog(ParallelBatchUpdatePerformanceTests.class);
+
+
+	@BeforeClass
+	public static void commonAssumptions() {
+		Assume.group(TestGroup.PERFORMANCE);
+	}
+
+
+	@Test
+	public void h2() {
+		compareBatchThroughput(EmbeddedDatabaseType.H2);
+	}
+
+	@Test
+	public void hsql() {
+		compareBatchThroughput(EmbeddedDatabaseType.HSQL);
+	}
+
+	@Test
+	public void derby() {
+		compareBatchThroughput(EmbeddedDatabaseType.DERBY);
+	}
+
+
+	private void compareBatchThroughput(EmbeddedDatabaseType type) {
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true).setType(type).build();
+		ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM);
+		try {
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+			jdbcTemplate.execute("CREATE TABLE BATCH_ITEM (ID INTEGER NOT NULL PRIMARY KEY, NAME VARCHAR(50))");
+			List<Integer> ids = new ArrayList<>(ROWS);
+			for (int i = 0; i < ROWS; i++) {
+				ids.add(i);
+			}
+
+			// Warm up both variants before measuring
+			insertAndClear(jdbcTemplate, () -> jdbcTemplate.batchUpdate(INSERT_SQL, ids, BATCH_SIZE, SETTER));
+			insertAndClear(jdbcTemplate, () ->
+					jdbcTemplate.batchUpdate(INSERT_SQL, ids, BATCH_SIZE, SETTER, executor, PARALLELISM));
+
+			StopWatch sw = new StopWatch(type + " batch update of " + ROWS + " rows");
+			sw.start("sequential batches");
+			insertAndClear(jdbcTemplate, () -> jdbcTemplate.batchUpdate(INSERT_SQL, ids, BATCH_SIZE, SETTER));
+			sw.stop();
+			sw.start(PARALLELISM + " parallel batches");
+			insertAndClear(jdbcTemplate, () ->
+					jdbcTemplate.batchUpdate(INSERT_SQL, ids, BATCH_SIZE, SETTER, executor, PARALLELISM));
+			sw.stop();
+			logger.info(sw.prettyPrint());
+		}
+		finally {
+			executor.shutdownNow();
+			database.shutdown();
+		}
+	}
+
+	private static void insertAndClear(JdbcTemplate jdbcTemplate, BatchUpdate batchUpdate) {
+		int[][] rowsAffected = batchUpdate.execute();
+		assertEquals(ROWS / BATCH_SIZE, rowsAffected.length);
+		assertEquals(Integer.valueOf(ROWS), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM BATCH_ITEM", Integer.class));
+		jdbcTemplate.update("DELETE FROM BATCH_ITEM");
+	}
+
+
+	private interface BatchUpdate {
+
+		int[][] execute();
+	}
+
+}
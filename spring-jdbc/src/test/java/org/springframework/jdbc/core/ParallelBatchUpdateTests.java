@@ -0,0 +1,158 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link JdbcTemplate#batchUpdate(String, java.util.Collection, int,
+ * ParameterizedPreparedStatementSetter, java.util.concurrent.Executor, int)}
+ * against an embedded database, with batches executed on a thread pool.
+ */
+public class ParallelBatchUpdateTests {
+
+	private static final String INSERT_SQL = "INSERT INTO BATCH_ITEM (ID, NAME) VALUES (?, ?)";
+
+	private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+
+	@Before
+	public void setUp() {
+		this.database = new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true).setType(EmbeddedDatabaseType.HSQL).build();
+		this.jdbcTemplate = new JdbcTemplate(this.database);
+		this.jdbcTemplate.execute("CREATE TABLE BATCH_ITEM (ID INTEGER NOT NULL PRIMARY KEY, NAME VARCHAR(50))");
+	}
+
+	@After
+	public void tearDown() {
+		this.executor.shutdownNow();
+		this.database.shutdown();
+	}
+
+
+	@Test
+	public void batchesExecutedConcurrently() {
+		List<Integer> ids = createIds(1000);
+		Set<Thread> threads = ConcurrentHashMap.newKeySet();
+		CountDownLatch secondThread = new CountDownLatch(2);
+
+		int[][] rowsAffected = this.jdbcTemplate.batchUpdate(INSERT_SQL, ids, 50, (ps, id) -> {
+			if (threads.add(Thread.currentThread())) {
+				// Give another thread the chance to take part before the first batches complete
+				secondThread.countDown();
+				try {
+					secondThread.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			ps.setInt(1, id);
+			ps.setString(2, "item-" + id);
+		}, this.executor, 4);
+
+		assertEquals(20, rowsAffected.length);
+		int total = 0;
+		for (int[] batch : rowsAffected) {
+			assertEquals(50, batch.length);
+			for (int count : batch) {
+				total += count;
+			}
+		}
+		assertEquals(1000, total);
+		assertEquals(Integer.valueOf(1000),
+				this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM BATCH_ITEM", Integer.class));
+		assertTrue("Expected batches on more than one thread", threads.size() > 1);
+	}
+
+	@Test
+	public void failedBatchPropagated() {
+		List<Integer> ids = createIds(1000);
+		ids.set(700, 100);
+
+		try {
+			this.jdbcTemplate.batchUpdate(INSERT_SQL, ids, 50, (ps, id) -> {
+				ps.setInt(1, id);
+				ps.setString(2, "item-" + id);
+			}, this.executor, 4);
+			fail("Should have thrown DuplicateKeyException");
+		}
+		catch (DuplicateKeyException ex) {
+			// expected
+		}
+
+		// Batches that completed successfully are not rolled back
+		Integer count = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM BATCH_ITEM", Integer.class);
+		assertNotNull(count);
+		assertTrue(count > 0 && count < 1000);
+	}
+
+	@Test
+	public void completesFromThreadOfSaturatedExecutor() throws Exception {
+		ExecutorService singleThread = Executors.newSingleThreadExecutor();
+		try {
+			List<Integer> ids = createIds(1000);
+			// The helper tasks get queued behind the calling task and never start
+			Future<int[][]> result = singleThread.submit(() ->
+					this.jdbcTemplate.batchUpdate(INSERT_SQL, ids, 50, (ps, id) -> {
+						ps.setInt(1, id);
+						ps.setString(2, "item-" + id);
+					}, singleThread, 4));
+
+			assertEquals(20, result.get(5, TimeUnit.SECONDS).length);
+			assertEquals(Integer.valueOf(1000),
+					this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM BATCH_ITEM", Integer.class));
+		}
+		finally {
+			singleThread.shutdownNow();
+		}
+	}
+
+
+	private static List<Integer> createIds(int count) {
+		List<Integer> ids = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			ids.add(i);
+		}
+		return ids;
+	}
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.metrics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link StatementMetricsCollector} and {@link LatencyHistogram}.
+ */
+public class StatementMetricsCollectorTests {
+
+	private final StatementMetricsCollector collector = new StatementMetricsCollector();
+
+
+	@Test
+	public void normalizeSql() {
+		assertEquals("SELECT * FROM T WHERE A = ? AND B IN (?)",
+				StatementMetricsCollector.normalizeSql("SELECT *\n  FROM T WHERE A = :a AND B IN (?, ?,?)"));
+		assertEquals("SELECT ':a' FROM T",
+				StatementMetricsCollector.normalizeSql("SELECT ':a'  FROM T"));
+	}
+
+	@Test
+	public void statementsGroupedByShape() {
+		collector.statementExecuted("SELECT * FROM T WHERE ID IN (?, ?)", 2000);
+		collector.resultExtracted("SELECT * FROM T WHERE ID IN (?, ?)", 1000, 2);
+		collector.statementExecuted("SELECT * FROM T WHERE ID IN (?, ?, ?)", 4000);
+		collector.resultExtracted("SELECT * FROM T WHERE ID IN (?, ?, ?)", 1000, 3);
+		collector.statementExecuted(null, 1000);
+
+		assertEquals(2, collector.getStatementMetrics().size());
+		StatementMetrics metrics = collector.getStatementMetrics("SELECT * FROM T WHERE ID IN (?)");
+		assertNotNull(metrics);
+		assertEquals(2, metrics.getExecutionTimes().getCount());
+		assertEquals(Duration.ofNanos(6000), metrics.getExecutionTimes().getTotalTime());
+		assertEquals(Duration.ofNanos(4000), metrics.getExecutionTimes().getMax());
+		assertEquals(2, metrics.getExtractionTimes().getCount());
+		assertEquals(5, metrics.getRowCount());
+		assertNotNull(collector.getStatementMetrics(StatementMetricsCollector.UNKNOWN_STATEMENT));
+	}
+
+	@Test
+	public void statementShapesBounded() {
+		collector.setMaxStatements(1);
+		collector.statementExecuted("SELECT A FROM T", 1000);
+		collector.statementExecuted("SELECT B FROM T", 1000);
+		collector.statementExecuted("SELECT C FROM T", 1000);
+
+		assertEquals(2, collector.getStatementMetrics().size());
+		assertEquals(2, collector.getStatementMetrics(StatementMetricsCollector.OTHER_STATEMENTS)
+				.getExecutionTimes().getCount());
+	}
+
+	@Test
+	public void slowQueryListener() {
+		List<String> slowQueries = new ArrayList<>();
+		collector.setSlowQueryThreshold(Duration.ofMillis(10));
+		collector.setSlowQueryListener((sql, elapsedTime) -> slowQueries.add(sql + " " + elapsedTime.toMillis()));
+		collector.statementExecuted("SELECT A FROM T", Duration.ofMillis(5).toNanos());
+		collector.statementExecuted("SELECT B FROM T", Duration.ofMillis(20).toNanos());
+
+		assertEquals(1, slowQueries.size());
+		assertEquals("SELECT B FROM T 20", slowQueries.get(0));
+	}
+
+	@Test
+	public void failedStatements() {
+		List<String> slowQueries = new ArrayList<>();
+		collector.setSlowQueryThreshold(Duration.ofMillis(10));
+		collector.setSlowQueryListener((sql, elapsedTime) -> slowQueries.add(sql));
+		collector.statementExecuted("SELECT A FROM T", 1000);
+		collector.statementFailed("SELECT A FROM T", Duration.ofMillis(20).toNanos(), new IllegalStateException());
+
+		StatementMetrics metrics = collector.getStatementMetrics("SELECT A FROM T");
+		assertNotNull(metrics);
+		assertEquals(2, metrics.getExecutionTimes().getCount());
+		assertEquals(1, metrics.getFailureCount());
+		assertEquals(1, slowQueries.size());
+	}
+
+	@Test
+	public void connectionAcquisitionTimes() {
+		collector.connectionAcquired(500);
+		collector.connectionAcquired(1500);
+		assertEquals(2, collector.getConnectionAcquisitionTimes().getCount());
+		assertEquals(Duration.ofNanos(1000), collector.getConnectionAcquisitionTimes().getMean());
+	}
+
+	@Test
+	public void reset() {
+		collector.connectionAcquired(500);
+		collector.statementExecuted("SELECT A FROM T", 1000);
+		collector.reset();
+		assertEquals(0, collector.getConnectionAcquisitionTimes().getCount());
+		assertTrue(collector.getStatementMetrics().isEmpty());
+	}
+
+	@Test
+	public void histogramPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(Duration.ZERO, histogram.getPercentile(0.5));
+		for (int i = 0; i < 99; i++) {
+			histogram.record(Duration.ofMillis(1).toNanos());
+		}
+		histogram.record(Duration.ofSeconds(1).toNanos());
+
+		Duration median = histogram.getPercentile(0.5);
+		assertTrue(median.compareTo(Duration.ofMillis(1)) >= 0);
+		assertTrue(median.compareTo(Duration.ofMillis(2)) <= 0);
+		assertTrue(histogram.getPercentile(0.99).compareTo(Duration.ofMillis(2)) <= 0);
+		assertEquals(Duration.ofSeconds(1), histogram.getPercentile(1.0));
+	}
+
+}
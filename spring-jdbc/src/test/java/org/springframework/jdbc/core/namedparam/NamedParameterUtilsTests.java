@@ -16,6 +16,7 @@
 
 package org.springframework.jdbc.core.namedparam;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -122,6 +123,32 @@ public class NamedParameterUtilsTests {
 		NamedParameterUtils.buildValueArray(sql, Collections.<String, Object>emptyMap());
 	}
 
+	@Test
+	public void substituteNamedParametersWithRecurringCollectionSizes() {
+		ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement("select * from foo where id in (:ids) and a = :a");
+		MapSqlParameterSource paramSource = new MapSqlParameterSource("a", "a");
+		paramSource.addValue("ids", Arrays.asList(1, 2, 3));
+		String expandedSql = NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource);
+		assertEquals("select * from foo where id in (?, ?, ?) and a = ?", expandedSql);
+
+		paramSource.addValue("ids", Arrays.asList(4, 5, 6));
+		assertSame(expandedSql, NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource));
+		paramSource.addValue("ids", Arrays.asList(4, 5));
+		assertEquals("select * from foo where id in (?, ?) and a = ?",
+				NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource));
+		paramSource.addValue("ids", Collections.singletonList(new Object[] {1, 2}));
+		assertEquals("select * from foo where id in ((?, ?)) and a = ?",
+				NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource));
+		paramSource.addValue("ids", Arrays.asList(new Object[] {1, 2}, new Object[] {3}));
+		assertEquals("select * from foo where id in ((?, ?), (?)) and a = ?",
+				NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource));
+		paramSource.addValue("ids", 7);
+		assertEquals("select * from foo where id in (?) and a = ?",
+				NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource));
+		assertSame(NamedParameterUtils.substituteNamedParameters(parsedSql, paramSource),
+				NamedParameterUtils.substituteNamedParameters(parsedSql, null));
+	}
+
 	@Test
 	public void substituteNamedParametersWithStringContainingQuotes() {
 		String expectedSql = "select 'first name' from artists where id = ? and quote = 'exsqueeze me?'";
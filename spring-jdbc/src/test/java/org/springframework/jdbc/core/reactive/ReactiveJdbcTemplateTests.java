@@ -0,0 +1,181 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.reactive;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+import reactor.test.StepVerifier;
+
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import static org.mockito.BDDMockito.*;
+
+/**
+ * Mock object based tests for {@link ReactiveJdbcTemplate}
+ * with a {@link WorkerPoolJdbcExecutor}.
+ */
+public class ReactiveJdbcTemplateTests {
+
+	private static final RowMapper<Integer> ID_MAPPER = (rs, rowNum) -> rs.getInt(1);
+
+	private Connection connection;
+
+	private DataSource dataSource;
+
+	private PreparedStatement preparedStatement;
+
+	private ResultSet resultSet;
+
+	private ReactiveJdbcTemplate template;
+
+
+	@Before
+	public void setup() throws Exception {
+		this.connection = mock(Connection.class);
+		this.dataSource = mock(DataSource.class);
+		this.preparedStatement = mock(PreparedStatement.class);
+		this.resultSet = mock(ResultSet.class);
+		given(this.dataSource.getConnection()).willReturn(this.connection);
+		given(this.connection.prepareStatement(anyString())).willReturn(this.preparedStatement);
+		given(this.preparedStatement.executeQuery()).willReturn(this.resultSet);
+		given(this.resultSet.next()).willReturn(true, true, true, false);
+		given(this.resultSet.getInt(1)).willReturn(1, 2, 3);
+		this.template = new ReactiveJdbcTemplate(this.dataSource, Runnable::run);
+	}
+
+
+	@Test
+	public void queryReadsRowsOnDemand() throws Exception {
+		StepVerifier.create(this.template.query("SELECT ID FROM T WHERE NAME = ?", ID_MAPPER, "name"), 1)
+				.expectNext(1)
+				.thenRequest(2)
+				.expectNext(2, 3)
+				.thenRequest(1)
+				.verifyComplete();
+
+		verify(this.preparedStatement).setFetchSize(1);
+		verify(this.resultSet).setFetchSize(2);
+		verify(this.preparedStatement).setString(1, "name");
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void queryIsNotExecutedBeforeSubscription() throws Exception {
+		this.template.query("SELECT ID FROM T", ID_MAPPER);
+		verify(this.dataSource, never()).getConnection();
+	}
+
+	@Test
+	public void queryCancellationReleasesConnection() throws Exception {
+		StepVerifier.create(this.template.query("SELECT ID FROM T", ID_MAPPER), 1)
+				.expectNext(1)
+				.thenCancel()
+				.verify();
+
+		verify(this.resultSet, times(1)).getInt(1);
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void queryWithNamedParameters() throws Exception {
+		StepVerifier.create(this.template.query("SELECT ID FROM T WHERE ID IN (:ids)",
+				Collections.singletonMap("ids", Arrays.asList(1, 2, 3)), ID_MAPPER))
+				.expectNext(1, 2, 3)
+				.verifyComplete();
+
+		verify(this.connection).prepareStatement("SELECT ID FROM T WHERE ID IN (?, ?, ?)");
+		verify(this.preparedStatement).setObject(1, 1);
+		verify(this.preparedStatement).setObject(3, 3);
+	}
+
+	@Test
+	public void queryWithSQLException() throws Exception {
+		given(this.resultSet.next()).willThrow(new SQLException("bad SQL", "42000"));
+
+		StepVerifier.create(this.template.query("SELECT ID FROM T", ID_MAPPER))
+				.verifyError(BadSqlGrammarException.class);
+
+		verify(this.resultSet).close();
+		verify(this.connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void queryWithRejectingExecutor() throws Exception {
+		ReactiveJdbcTemplate template = new ReactiveJdbcTemplate(this.dataSource, task -> {
+			throw new RejectedExecutionException();
+		});
+
+		StepVerifier.create(template.query("SELECT ID FROM T", ID_MAPPER))
+				.verifyError(RejectedExecutionException.class);
+
+		verify(this.dataSource, never()).getConnection();
+	}
+
+	@Test
+	public void updateReturnsRowCount() throws Exception {
+		given(this.preparedStatement.executeUpdate()).willReturn(2);
+
+		StepVerifier.create(this.template.update("UPDATE T SET NAME = ? WHERE ID = ?", "name", 1))
+				.expectNext(2)
+				.verifyComplete();
+
+		verify(this.preparedStatement).setString(1, "name");
+		verify(this.preparedStatement).setObject(2, 1);
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	public void updateWithNamedParameters() throws Exception {
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+
+		StepVerifier.create(this.template.update("UPDATE T SET NAME = :name WHERE ID = :id",
+				new MapSqlParameterSource("name", "name").addValue("id", 1)))
+				.expectNext(1)
+				.verifyComplete();
+
+		verify(this.connection).prepareStatement("UPDATE T SET NAME = ? WHERE ID = ?");
+	}
+
+	@Test
+	public void updateWithSQLException() throws Exception {
+		given(this.preparedStatement.executeUpdate()).willThrow(new SQLException("bad SQL", "42000"));
+
+		StepVerifier.create(this.template.update("UPDATE T SET NAME = NULL"))
+				.verifyError(BadSqlGrammarException.class);
+
+		verify(this.preparedStatement).close();
+		verify(this.connection, atLeastOnce()).close();
+	}
+
+}
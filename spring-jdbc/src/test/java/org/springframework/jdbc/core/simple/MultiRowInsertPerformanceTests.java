@@ -0,0 +1,122 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.simple;
+
+import java.math.BigDecimal;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.tests.Assume;
+import org.springframework.tests.TestGroup;
+import org.springframework.util.StopWatch;
+
+import static org.junit.Assert.*;
+
+/**
+ * Throughput comparison of {@link MultiRowInsertStrategy} against the regular
+ * per-row JDBC batch of {@link SimpleJdbcInsert}, on the embedded databases.
+ */
+public class MultiRowInsertPerformanceTests {
+
+	private static final int ROWS = 20000;
+
+	private static final Log logger = LogFactory.getLog(MultiRowInsertPerformanceTests.class);
+
+
+	@BeforeClass
+	public static void commonAssumptions() {
+		Assume.group(TestGroup.PERFORMANCE);
+	}
+
+
+	@Test
+	public void h2() {
+		compareInsertThroughput(EmbeddedDatabaseType.H2);
+	}
+
+	@Test
+	public void hsql() {
+		compareInsertThroughput(EmbeddedDatabaseType.HSQL);
+	}
+
+	@Test
+	public void derby() {
+		compareInsertThroughput(EmbeddedDatabaseType.DERBY);
+	}
+
+
+	private void compareInsertThroughput(EmbeddedDatabaseType type) {
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+				.generateUniqueName(true).setType(type).build();
+		try {
+			JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+			jdbcTemplate.execute("CREATE TABLE BULK_ITEM " +
+					"(ID INTEGER NOT NULL PRIMARY KEY, NAME VARCHAR(50), AMOUNT DECIMAL(10,2))");
+			SqlParameterSource[] batch = createBatch();
+
+			SimpleJdbcInsert batchInsert = new SimpleJdbcInsert(database).withTableName("BULK_ITEM");
+			SimpleJdbcInsert multiRowInsert = new SimpleJdbcInsert(database).withTableName("BULK_ITEM");
+			multiRowInsert.setBulkInsertStrategy(new MultiRowInsertStrategy());
+
+			// Warm up both variants before measuring
+			insertAndClear(jdbcTemplate, batchInsert, batch);
+			insertAndClear(jdbcTemplate, multiRowInsert, batch);
+
+			StopWatch sw = new StopWatch(type + " insert of " + ROWS + " rows");
+			sw.start("per-row batch");
+			insertAndClear(jdbcTemplate, batchInsert, batch);
+			sw.stop();
+			sw.start("multi-row statements");
+			insertAndClear(jdbcTemplate, multiRowInsert, batch);
+			sw.stop();
+			logger.info(sw.prettyPrint());
+		}
+		finally {
+			database.shutdown();
+		}
+	}
+
+	private static SqlParameterSource[] createBatch() {
+		SqlParameterSource[] batch = new SqlParameterSource[ROWS];
+		for (int i = 0; i < ROWS; i++) {
+			batch[i] = new MapSqlParameterSource()
+					.addValue("id", i)
+					.addValue("name", "item-" + i)
+					.addValue("amount", BigDecimal.valueOf(i, 2));
+		}
+		return batch;
+	}
+
+	private static void insertAndClear(JdbcTemplate jdbcTemplate, SimpleJdbcInsert insert,
+			SqlParameterSource[] batch) {
+
+		int[] counts = insert.executeBatch(batch);
+		assertEquals(ROWS, counts.length);
+		assertEquals(Integer.valueOf(ROWS), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM BULK_ITEM", Integer.class));
+		jdbcTemplate.update("DELETE FROM BULK_ITEM");
+	}
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.simple;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.metadata.TableMetaDataContext;
+
+import static org.junit.Assert.*;
+import static org.mockito.BDDMockito.*;
+
+/**
+ * Mock object based tests for {@link MultiRowInsertStrategy}.
+ */
+public class MultiRowInsertStrategyTests {
+
+	private static final String INSERT_SQL = "INSERT INTO T (A, B) VALUES(?, ?)";
+
+	private final MultiRowInsertStrategy strategy = new MultiRowInsertStrategy();
+
+	private Connection connection;
+
+	private DatabaseMetaData databaseMetaData;
+
+	private PreparedStatement preparedStatement;
+
+	private TableMetaDataContext tableMetaDataContext;
+
+	private JdbcTemplate jdbcTemplate;
+
+
+	@Before
+	public void setUp() throws Exception {
+		connection = mock(Connection.class);
+		databaseMetaData = mock(DatabaseMetaData.class);
+		preparedStatement = mock(PreparedStatement.class);
+		tableMetaDataContext = mock(TableMetaDataContext.class);
+		DataSource dataSource = mock(DataSource.class);
+		given(dataSource.getConnection()).willReturn(connection);
+		given(connection.getMetaData()).willReturn(databaseMetaData);
+		given(connection.prepareStatement(anyString())).willReturn(preparedStatement);
+		given(databaseMetaData.supportsBatchUpdates()).willReturn(true);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+
+	@Test
+	public void buildMultiRowInsertString() {
+		String rowTemplate = strategy.buildRowTemplate(2);
+		assertEquals("(?, ?)", rowTemplate);
+		assertEquals("INSERT INTO T (A, B) VALUES(?, ?), (?, ?), (?, ?)",
+				strategy.buildMultiRowInsertString(INSERT_SQL, rowTemplate, 3));
+		assertEquals(INSERT_SQL, strategy.buildMultiRowInsertString(INSERT_SQL, rowTemplate, 1));
+	}
+
+	@Test
+	public void buildMultiRowInsertStringWithValuesInIdentifiers() {
+		String insertSql = "INSERT INTO VALUES_LOG (ID, VALUES_TEXT) VALUES(?, ?)";
+		assertEquals("INSERT INTO VALUES_LOG (ID, VALUES_TEXT) VALUES(?, ?), (?, ?)",
+				strategy.buildMultiRowInsertString(insertSql, strategy.buildRowTemplate(2), 2));
+	}
+
+	@Test
+	public void fallbackToRegularBatchIfStatementNotMatchingColumns() throws Exception {
+		given(tableMetaDataContext.isMultiRowInsertSupported()).willReturn(true);
+		given(preparedStatement.executeBatch()).willReturn(new int[] {1, 1});
+		String insertSql = "INSERT INTO T (A, B) VALUES(?, DEFAULT, ?)";
+
+		int[] counts = strategy.insert(jdbcTemplate, insertSql, new int[0],
+				tableMetaDataContext, Arrays.asList(Arrays.asList(1, "a"), Arrays.asList(2, "b")));
+
+		assertArrayEquals(new int[] {1, 1}, counts);
+		verify(connection).prepareStatement(insertSql);
+		verify(preparedStatement, times(2)).addBatch();
+	}
+
+	@Test
+	public void rowsPerStatementLimitedByBindParameters() {
+		given(tableMetaDataContext.getMaxBindParameters()).willReturn(7);
+		assertEquals(3, strategy.determineRowsPerStatement(tableMetaDataContext, 2));
+		given(tableMetaDataContext.getMaxBindParameters()).willReturn(0);
+		assertEquals(100, strategy.determineRowsPerStatement(tableMetaDataContext, 2));
+	}
+
+	@Test
+	public void multiRowInsertInChunks() throws Exception {
+		given(tableMetaDataContext.isMultiRowInsertSupported()).willReturn(true);
+		given(preparedStatement.executeBatch()).willReturn(new int[] {2, 2});
+		given(preparedStatement.executeUpdate()).willReturn(1);
+		strategy.setMaxRowsPerStatement(2);
+
+		List<List<Object>> rows = Arrays.asList(
+				Arrays.asList(1, "a"), Arrays.asList(2, "b"), Arrays.asList(3, "c"),
+				Arrays.asList(4, "d"), Arrays.asList(5, "e"));
+		int[] counts = strategy.insert(jdbcTemplate, INSERT_SQL, new int[] {Types.INTEGER, Types.VARCHAR},
+				tableMetaDataContext, rows);
+
+		assertArrayEquals(new int[] {1, 1, 1, 1, 1}, counts);
+		verify(connection).prepareStatement("INSERT INTO T (A, B) VALUES(?, ?), (?, ?)");
+		verify(connection).prepareStatement(INSERT_SQL);
+		verify(preparedStatement, times(2)).addBatch();
+		verify(preparedStatement).setObject(3, 2, Types.INTEGER);
+		verify(preparedStatement).setString(4, "b");
+		verify(preparedStatement).setObject(1, 5, Types.INTEGER);
+		verify(preparedStatement).setString(2, "e");
+	}
+
+	@Test
+	public void unknownStatementCountsReportedAsSuccessNoInfo() throws Exception {
+		given(tableMetaDataContext.isMultiRowInsertSupported()).willReturn(true);
+		given(preparedStatement.executeUpdate()).willReturn(Statement.SUCCESS_NO_INFO);
+
+		int[] counts = strategy.insert(jdbcTemplate, INSERT_SQL, new int[0], tableMetaDataContext,
+				Arrays.asList(Arrays.asList(1, "a"), Arrays.asList(2, "b")));
+
+		assertArrayEquals(new int[] {Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO}, counts);
+		verify(connection).prepareStatement("INSERT INTO T (A, B) VALUES(?, ?), (?, ?)");
+	}
+
+	@Test
+	public void fallbackToRegularBatchIfNotSupported() throws Exception {
+		given(tableMetaDataContext.isMultiRowInsertSupported()).willReturn(false);
+		given(preparedStatement.executeBatch()).willReturn(new int[] {1, 1});
+
+		int[] counts = strategy.insert(jdbcTemplate, INSERT_SQL, new int[] {Types.INTEGER, Types.VARCHAR},
+				tableMetaDataContext, Arrays.asList(Arrays.asList(1, "a"), Arrays.asList(2, "b")));
+
+		assertArrayEquals(new int[] {1, 1}, counts);
+		verify(connection).prepareStatement(INSERT_SQL);
+		verify(preparedStatement, times(2)).addBatch();
+	}
+
+}
@@ -35,6 +35,7 @@ import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.BadSqlGrammarException;
 import org.springframework.jdbc.core.SqlOutParameter;
 import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.metadata.MetaDataProviderCache;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 
 import static org.hamcrest.Matchers.*;
@@ -234,6 +235,23 @@ public class SimpleJdbcCallTests {
 		verifyStatement(adder, "{call ADD_INVOICE(AMOUNT => ?, CUSTID => ?, NEWID => ?)}");
 	}
 
+	@Test
+	public void testMetaDataProviderCacheSharedAcrossInstances() throws Exception {
+		initializeAddInvoiceWithMetaData(false);
+		MetaDataProviderCache cache = new MetaDataProviderCache();
+		SimpleJdbcCall adder1 = new SimpleJdbcCall(dataSource).withProcedureName("add_invoice")
+				.withMetaDataProviderCache(cache);
+		adder1.compile();
+		SimpleJdbcCall adder2 = new SimpleJdbcCall(dataSource).withProcedureName("add_invoice")
+				.withMetaDataProviderCache(cache);
+		adder2.compile();
+		verifyStatement(adder1, "{call ADD_INVOICE(?, ?, ?)}");
+		verifyStatement(adder2, "{call ADD_INVOICE(?, ?, ?)}");
+		// Procedure column meta-data retrieved once, for the first instance only
+		verify(databaseMetaData).getProcedureColumns("", "ME", "ADD_INVOICE", null);
+		verify(dataSource).getConnection();
+	}
+
 
 	private void verifyStatement(SimpleJdbcCall adder, String expected) {
 		Assert.assertEquals("Incorrect call statement", expected, adder.getCallString());
@@ -30,7 +30,9 @@ import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.metadata.MetaDataProviderCache;
 
+import static org.junit.Assert.*;
 import static org.mockito.BDDMockito.*;
 
 /**
@@ -87,4 +89,24 @@ public class SimpleJdbcInsertTests {
 		}
 	}
 
+	@Test
+	public void testMetaDataProviderCacheSharedAcrossInstances() throws Exception {
+		given(databaseMetaData.getDatabaseProductName()).willReturn("MyDB");
+		given(databaseMetaData.getUserName()).willReturn("me");
+		MetaDataProviderCache cache = new MetaDataProviderCache();
+
+		SimpleJdbcInsert insert1 = new SimpleJdbcInsert(dataSource).withTableName("x").usingColumns("a", "b");
+		insert1.setAccessTableColumnMetaData(false);
+		insert1.setMetaDataProviderCache(cache);
+		insert1.compile();
+		SimpleJdbcInsert insert2 = new SimpleJdbcInsert(dataSource).withTableName("x").usingColumns("a", "b");
+		insert2.setAccessTableColumnMetaData(false);
+		insert2.setMetaDataProviderCache(cache);
+		insert2.compile();
+
+		assertEquals("INSERT INTO x (a, b) VALUES(?, ?)", insert2.getInsertString());
+		// Meta-data retrieved once, closing the connection once (see verifyClosed)
+		verify(dataSource).getConnection();
+	}
+
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.lookup;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Test;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link ReadWriteRoutingDataSource}.
+ */
+public class ReadWriteRoutingDataSourceTests {
+
+	private final TestDataSource primary = new TestDataSource("primary");
+
+	private final TestDataSource replica1 = new TestDataSource("replica1");
+
+	private final TestDataSource replica2 = new TestDataSource("replica2");
+
+
+	@After
+	public void clearReadOnly() {
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+	}
+
+
+	@Test
+	public void routesToPrimaryOutsideOfReadOnlyTransaction() throws SQLException {
+		ReadWriteRoutingDataSource dataSource = createDataSource();
+		assertEquals("primary", dataSource.getConnection().getCatalog());
+		assertEquals("primary", dataSource.getConnection("user", "pw").getCatalog());
+	}
+
+	@Test
+	public void routesToReplicasRoundRobin() throws SQLException {
+		ReadWriteRoutingDataSource dataSource = createDataSource();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertEquals("replica1", dataSource.getConnection().getCatalog());
+		assertEquals("replica2", dataSource.getConnection().getCatalog());
+		assertEquals("replica1", dataSource.getConnection().getCatalog());
+		assertEquals(0, this.primary.connectionCount);
+	}
+
+	@Test
+	public void routesToPrimaryWithoutReplicas() throws SQLException {
+		ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource();
+		dataSource.setPrimaryDataSource(this.primary);
+		dataSource.afterPropertiesSet();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertEquals("primary", dataSource.getConnection().getCatalog());
+	}
+
+	@Test
+	public void skipsFailedReplica() throws SQLException {
+		ReadWriteRoutingDataSource dataSource = createDataSource();
+		this.replica1.failing = true;
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertEquals("replica2", dataSource.getConnection().getCatalog());
+		assertEquals("replica2", dataSource.getConnection().getCatalog());
+		assertEquals(1, this.replica1.attemptCount);
+		assertFalse(dataSource.getReplicas().get(0).isAvailable());
+		assertTrue(dataSource.getReplicas().get(1).isAvailable());
+	}
+
+	@Test
+	public void retriesFailedReplicaAfterRetryInterval() throws Exception {
+		ReadWriteRoutingDataSource dataSource = createDataSource();
+		dataSource.setRetryInterval(10);
+		this.replica1.failing = true;
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertEquals("replica2", dataSource.getConnection().getCatalog());
+
+		this.replica1.failing = false;
+		Thread.sleep(20);
+		assertTrue(dataSource.getReplicas().get(0).isAvailable());
+		assertEquals("replica1", dataSource.getConnection().getCatalog());
+	}
+
+	@Test
+	public void fallsBackToPrimaryIfNoReplicaAvailable() throws SQLException {
+		ReadWriteRoutingDataSource dataSource = createDataSource();
+		this.replica1.failing = true;
+		this.replica2.failing = true;
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		assertEquals("primary", dataSource.getConnection().getCatalog());
+		assertEquals("primary", dataSource.getConnection().getCatalog());
+		assertEquals(1, this.replica1.attemptCount);
+		assertEquals(1, this.replica2.attemptCount);
+	}
+
+	@Test
+	public void failsIfNoReplicaAvailableWithoutFallback() {
+		ReadWriteRoutingDataSource dataSource = createDataSource();
+		dataSource.setFallbackToPrimary(false);
+		this.replica1.failing = true;
+		this.replica2.failing = true;
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		try {
+			dataSource.getConnection();
+			fail("Should have thrown SQLException");
+		}
+		catch (SQLException ex) {
+			assertEquals("replica", ex.getMessage());
+		}
+		assertEquals(0, this.primary.connectionCount);
+	}
+
+	@Test
+	public void leastInFlightTracksClosedConnections() throws SQLException {
+		ReadWriteRoutingDataSource dataSource = createDataSource();
+		dataSource.setReplicaSelector(ReplicaSelector.leastInFlight());
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+		Connection con1 = dataSource.getConnection();
+		assertEquals("replica1", con1.getCatalog());
+		Connection con2 = dataSource.getConnection();
+		assertEquals("replica2", con2.getCatalog());
+		assertEquals(1, dataSource.getReplicas().get(0).getInFlightCount());
+
+		con1.close();
+		con1.close();
+		assertEquals(0, dataSource.getReplicas().get(0).getInFlightCount());
+		assertEquals("replica1", dataSource.getConnection().getCatalog());
+		assertTrue(con2 instanceof ConnectionProxy);
+		assertEquals("replica2", ((ConnectionProxy) con2).getTargetConnection().getCatalog());
+	}
+
+	@Test
+	public void latencyWeightedSelectsAvailableReplica() throws SQLException {
+		ReadWriteRoutingDataSource dataSource = createDataSource();
+		dataSource.setReplicaSelector(ReplicaSelector.latencyWeighted());
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		for (int i = 0; i < 20; i++) {
+			assertTrue(dataSource.getConnection().getCatalog().startsWith("replica"));
+		}
+		assertTrue(dataSource.getReplicas().get(0).getAverageLatency() > 0 ||
+				dataSource.getReplicas().get(1).getAverageLatency() > 0);
+		assertEquals(0, this.primary.connectionCount);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void primaryDataSourceIsRequired() {
+		ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource();
+		dataSource.setReplicaDataSources(Collections.singletonList(this.replica1));
+		dataSource.afterPropertiesSet();
+	}
+
+
+	private ReadWriteRoutingDataSource createDataSource() {
+		ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource();
+		dataSource.setPrimaryDataSource(this.primary);
+		dataSource.setReplicaDataSources(Arrays.asList(this.replica1, this.replica2));
+		dataSource.afterPropertiesSet();
+		return dataSource;
+	}
+
+
+	private static class TestDataSource extends StubDataSource {
+
+		private final String name;
+
+		boolean failing;
+
+		int attemptCount;
+
+		int connectionCount;
+
+		TestDataSource(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			this.attemptCount++;
+			if (this.failing) {
+				throw new SQLException("replica");
+			}
+			this.connectionCount++;
+			return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+					(proxy, method, args) -> ("getCatalog".equals(method.getName()) ? this.name : null));
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return getConnection();
+		}
+
+		@Override
+		public String toString() {
+			return this.name;
+		}
+	}
+
+}
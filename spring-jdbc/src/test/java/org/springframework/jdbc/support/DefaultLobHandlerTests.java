@@ -30,7 +30,10 @@ import org.junit.Test;
 import org.springframework.jdbc.support.lob.DefaultLobHandler;
 import org.springframework.jdbc.support.lob.LobCreator;
 import org.springframework.jdbc.support.lob.LobHandler;
+import org.springframework.jdbc.support.lob.SpooledLob;
+import org.springframework.util.FileCopyUtils;
 
+import static org.junit.Assert.*;
 import static org.mockito.BDDMockito.*;
 
 /**
@@ -78,6 +81,39 @@ public class DefaultLobHandlerTests {
 		verify(rs).getCharacterStream(1);
 	}
 
+	@Test
+	public void testGetBlobAsSpooledLob() throws SQLException, IOException {
+		given(rs.getBinaryStream(1)).willReturn(new ByteArrayInputStream(new byte[] {1, 2, 3}));
+		try (SpooledLob lob = lobHandler.getBlobAsSpooledLob(rs, 1)) {
+			assertNotNull(lob);
+			assertTrue(lob.isInMemory());
+			assertArrayEquals(new byte[] {1, 2, 3}, FileCopyUtils.copyToByteArray(lob.getInputStream()));
+		}
+	}
+
+	@Test
+	public void testGetClobAsSpooledLobWithSpilling() throws SQLException, IOException {
+		DefaultLobHandler lobHandler = new DefaultLobHandler();
+		lobHandler.setSpoolMemoryThreshold(2);
+		given(rs.getCharacterStream(1)).willReturn(new StringReader("content"));
+		try (SpooledLob lob = lobHandler.getClobAsSpooledLob(rs, 1)) {
+			assertNotNull(lob);
+			assertFalse(lob.isInMemory());
+			assertEquals("content", FileCopyUtils.copyToString(lob.getReader()));
+		}
+	}
+
+	@Test
+	public void testGetBlobAsSpooledLobWithNull() throws SQLException {
+		assertNull(lobHandler.getBlobAsSpooledLob(rs, 1));
+		verify(rs).getBinaryStream(1);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetNegativeSpoolMemoryThreshold() {
+		new DefaultLobHandler().setSpoolMemoryThreshold(-1);
+	}
+
 	@Test
 	public void testSetBlobAsBytes() throws SQLException {
 		byte[] content = "testContent".getBytes();
@@ -101,6 +101,22 @@ public class SQLErrorCodeSQLExceptionTranslatorTests {
 		assertTrue(ex.getCause() == sex);
 	}
 
+	@Test
+	public void errorCodeTranslationAfterChangingErrorCodes() {
+		SQLErrorCodes sec = new SQLErrorCodes();
+		sec.setBadSqlGrammarCodes("1");
+		sec.setCannotAcquireLockCodes("1", "2");
+		SQLErrorCodeSQLExceptionTranslator sext = new SQLErrorCodeSQLExceptionTranslator(sec);
+		checkTranslation(sext, 1, BadSqlGrammarException.class);
+		checkTranslation(sext, 2, CannotAcquireLockException.class);
+
+		sec.setDeadlockLoserCodes("3");
+		checkTranslation(sext, 3, DeadlockLoserDataAccessException.class);
+
+		sext.setSqlErrorCodes(ERROR_CODES);
+		checkTranslation(sext, 2, BadSqlGrammarException.class);
+	}
+
 	@Test
 	public void batchExceptionTranslation() {
 		SQLExceptionTranslator sext = new SQLErrorCodeSQLExceptionTranslator(ERROR_CODES);
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import org.springframework.jdbc.support.lob.SpooledLob;
+import org.springframework.util.FileCopyUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link SpooledLob}.
+ */
+public class SpooledLobTests {
+
+	@Test
+	public void binaryContentInMemory() throws IOException {
+		byte[] content = new byte[100];
+		Arrays.fill(content, (byte) 7);
+		try (SpooledLob lob = SpooledLob.spool(new ByteArrayInputStream(content), 100, null)) {
+			assertTrue(lob.isInMemory());
+			assertEquals(100, lob.getContentLength());
+			assertArrayEquals(content, FileCopyUtils.copyToByteArray(lob.getInputStream()));
+		}
+	}
+
+	@Test
+	public void binaryContentSpilledToFile() throws IOException {
+		byte[] content = new byte[10000];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) i;
+		}
+		Path directory = Files.createTempDirectory("spooled-lob-tests");
+		try {
+			SpooledLob lob = SpooledLob.spool(new ByteArrayInputStream(content), 1000, directory);
+			assertFalse(lob.isInMemory());
+			assertEquals(10000, lob.getContentLength());
+			assertEquals(1, directory.toFile().list().length);
+			// Content can be read repeatedly
+			assertArrayEquals(content, FileCopyUtils.copyToByteArray(lob.getInputStream()));
+			assertArrayEquals(content, FileCopyUtils.copyToByteArray(lob.getInputStream()));
+			lob.close();
+			assertEquals(0, directory.toFile().list().length);
+		}
+		finally {
+			Files.delete(directory);
+		}
+	}
+
+	@Test
+	public void characterContent() throws IOException {
+		String content = "caf\u00e9 \u00fcber";
+		try (SpooledLob lob = SpooledLob.spool(new StringReader(content), 1024, null)) {
+			assertTrue(lob.isInMemory());
+			assertEquals(content.getBytes("UTF-8").length, lob.getContentLength());
+			assertEquals(content, FileCopyUtils.copyToString(lob.getReader()));
+		}
+		try (SpooledLob lob = SpooledLob.spool(new StringReader(content), 4, null)) {
+			assertFalse(lob.isInMemory());
+			assertEquals(content, FileCopyUtils.copyToString(lob.getReader()));
+		}
+	}
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction;
+
+import reactor.core.publisher.Mono;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * This is the central interface in Spring's reactive transaction infrastructure.
+ * Applications can use this directly, but it is not primarily meant as API:
+ * Typically, applications will work with either transactional operators or
+ * declarative transaction demarcation through AOP.
+ *
+ * <p>As opposed to {@link PlatformTransactionManager}, implementations do not
+ * bind transactional state to the current thread but to the Reactor
+ * {@link reactor.util.context.Context} of the transactional pipeline, so that
+ * transactional pipelines never block an event loop thread.
+ *
+ * <p>For implementors, it is recommended to derive from the provided
+ * {@link org.springframework.transaction.reactive.AbstractReactiveTransactionManager}
+ * class, which pre-implements the defined propagation behavior and takes care
+ * of transaction synchronization handling.
+ *
+ * @since 5.1.15
+ * @see org.springframework.transaction.reactive.TransactionalOperator
+ * @see org.springframework.transaction.interceptor.TransactionInterceptor
+ */
+public interface ReactiveTransactionManager {
+
+	/**
+	 * Emit a currently active reactive transaction or create a new one, according to
+	 * the specified propagation behavior.
+	 * <p>Note that parameters like isolation level or timeout will only be applied
+	 * to new transactions, and thus be ignored when participating in active ones.
+	 * <p>Furthermore, not all transaction definition settings will be supported
+	 * by every transaction manager: A proper transaction manager implementation
+	 * should signal an error when unsupported settings are encountered.
+	 * @param definition the TransactionDefinition instance (can be {@code null} for defaults),
+	 * describing propagation behavior, isolation level, timeout etc.
+	 * @return transaction representation object representing the new or current transaction,
+	 * or an error signal with a {@link TransactionException} in case of lookup, creation,
+	 * or system errors, or with an {@link IllegalTransactionStateException} if the given
+	 * transaction definition cannot be executed
+	 * @see TransactionDefinition#getPropagationBehavior
+	 * @see TransactionDefinition#getIsolationLevel
+	 * @see TransactionDefinition#getTimeout
+	 * @see TransactionDefinition#isReadOnly
+	 */
+	Mono<ReactiveTransaction> getReactiveTransaction(@Nullable TransactionDefinition definition);
+
+	/**
+	 * Commit the given transaction, with regard to its status. If the transaction
+	 * has been marked rollback-only programmatically, perform a rollback.
+	 * <p>If the transaction wasn't a new one, omit the commit for proper
+	 * participation in the surrounding transaction. If a previous transaction
+	 * has been suspended to be able to create a new one, resume the previous
+	 * transaction after committing the new one.
+	 * <p>Note that when the commit call completes, no matter if normally or
+	 * with an error signal, the transaction must be fully completed and
+	 * cleaned up. No rollback call should be expected in such a case.
+	 * @param transaction object returned by the {@code getReactiveTransaction} method
+	 * @return a completion signal, or an error signal with an
+	 * {@link UnexpectedRollbackException} in case of an unexpected rollback
+	 * that the transaction coordinator initiated, or with a
+	 * {@link TransactionSystemException} in case of commit or system errors
+	 * @see ReactiveTransaction#setRollbackOnly
+	 */
+	Mono<Void> commit(ReactiveTransaction transaction);
+
+	/**
+	 * Perform a rollback of the given transaction.
+	 * <p>If the transaction wasn't a new one, just set it rollback-only for proper
+	 * participation in the surrounding transaction. If a previous transaction
+	 * has been suspended to be able to create a new one, resume the previous
+	 * transaction after rolling back the new one.
+	 * <p><b>Do not call rollback on a transaction if commit signalled an error.</b>
+	 * The transaction will already have been completed and cleaned up when commit
+	 * returns, even in case of a commit error.
+	 * @param transaction object returned by the {@code getReactiveTransaction} method
+	 * @return a completion signal, or an error signal with a
+	 * {@link TransactionSystemException} in case of rollback or system errors
+	 */
+	Mono<Void> rollback(ReactiveTransaction transaction);
+
+}
@@ -17,26 +17,39 @@
 package org.springframework.transaction.interceptor;
 
 import java.lang.reflect.Method;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
 import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.ReactiveAdapter;
+import org.springframework.core.ReactiveAdapterRegistry;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.NoTransactionException;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.ReactiveTransaction;
+import org.springframework.transaction.ReactiveTransactionManager;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.reactive.TransactionContextManager;
 import org.springframework.transaction.support.CallbackPreferringPlatformTransactionManager;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -79,6 +92,14 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	private static final Object DEFAULT_TRANSACTION_MANAGER_KEY = new Object();
 
+	/**
+	 * Marker for a cached lookup that did not find a reactive transaction manager.
+	 */
+	private static final Object NO_REACTIVE_TRANSACTION_MANAGER = new Object();
+
+	private static final boolean reactorPresent = ClassUtils.isPresent(
+			"reactor.core.publisher.Mono", TransactionAspectSupport.class.getClassLoader());
+
 	/**
 	 * Holder to support the {@code currentTransactionStatus()} method,
 	 * and to support communication between different cooperating advices
@@ -135,6 +156,9 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	@Nullable
 	private PlatformTransactionManager transactionManager;
 
+	@Nullable
+	private ReactiveTransactionManager reactiveTransactionManager;
+
 	@Nullable
 	private TransactionAttributeSource transactionAttributeSource;
 
@@ -144,12 +168,29 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	private final ConcurrentMap<Object, PlatformTransactionManager> transactionManagerCache =
 			new ConcurrentReferenceHashMap<>(4);
 
+	private final ConcurrentMap<Object, Object> reactiveTransactionManagerCache =
+			new ConcurrentReferenceHashMap<>(4);
+
+	@Nullable
+	private final ReactiveAdapterRegistry reactiveAdapterRegistry =
+			(reactorPresent ? ReactiveAdapterRegistry.getSharedInstance() : null);
+
+	private final ConcurrentMap<Method, TransactionInvocationPlan> invocationPlanCache =
+			new ConcurrentHashMap<>(256);
+
+	// Precomputed plans freeze the transaction manager per method,
+	// so only use them if a subclass does not customize its determination
+	private final boolean planningEnabled =
+			(isDeclaredHere("determineTransactionManager", TransactionAttribute.class) &&
+					isDeclaredHere("determineReactiveTransactionManager", TransactionAttribute.class));
+
 
 	/**
 	 * Specify the name of the default transaction manager bean.
 	 */
 	public void setTransactionManagerBeanName(@Nullable String transactionManagerBeanName) {
 		this.transactionManagerBeanName = transactionManagerBeanName;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -169,6 +210,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionManager(@Nullable PlatformTransactionManager transactionManager) {
 		this.transactionManager = transactionManager;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -179,6 +221,31 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		return this.transactionManager;
 	}
 
+	/**
+	 * Specify the <em>default</em> reactive transaction manager to use to drive
+	 * transactions for methods with a reactive return type such as {@code Mono}
+	 * or {@code Flux}.
+	 * <p>If not specified, a unique {@link ReactiveTransactionManager} bean is
+	 * looked up in the containing BeanFactory, if any. Reactive methods are
+	 * handled with the regular transaction manager if no reactive transaction
+	 * manager is available.
+	 * @since 5.1.15
+	 * @see org.springframework.transaction.reactive.TransactionalOperator
+	 */
+	public void setReactiveTransactionManager(@Nullable ReactiveTransactionManager reactiveTransactionManager) {
+		this.reactiveTransactionManager = reactiveTransactionManager;
+		this.invocationPlanCache.clear();
+	}
+
+	/**
+	 * Return the default reactive transaction manager, or {@code null} if unknown.
+	 * @since 5.1.15
+	 */
+	@Nullable
+	public ReactiveTransactionManager getReactiveTransactionManager() {
+		return this.reactiveTransactionManager;
+	}
+
 	/**
 	 * Set properties with method names as keys and transaction attribute
 	 * descriptors (parsed via TransactionAttributeEditor) as values:
@@ -195,6 +262,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		NameMatchTransactionAttributeSource tas = new NameMatchTransactionAttributeSource();
 		tas.setProperties(transactionAttributes);
 		this.transactionAttributeSource = tas;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -207,6 +275,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSources(TransactionAttributeSource... transactionAttributeSources) {
 		this.transactionAttributeSource = new CompositeTransactionAttributeSource(transactionAttributeSources);
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -220,6 +289,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSource(@Nullable TransactionAttributeSource transactionAttributeSource) {
 		this.transactionAttributeSource = transactionAttributeSource;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -236,6 +306,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	@Override
 	public void setBeanFactory(@Nullable BeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -251,7 +322,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	@Override
 	public void afterPropertiesSet() {
-		if (getTransactionManager() == null && this.beanFactory == null) {
+		if (getTransactionManager() == null && getReactiveTransactionManager() == null && this.beanFactory == null) {
 			throw new IllegalStateException(
 					"Set the 'transactionManager' property or make sure to run within a BeanFactory " +
 					"containing a PlatformTransactionManager bean!");
@@ -278,11 +349,16 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	protected Object invokeWithinTransaction(Method method, @Nullable Class<?> targetClass,
 			final InvocationCallback invocation) throws Throwable {
 
+		TransactionInvocationPlan plan = getTransactionInvocationPlan(method, targetClass);
+		if (plan.reactiveTransactionSupport != null) {
+			// Reactive return type: demarcate the transaction around the returned sequence.
+			return plan.reactiveTransactionSupport.invokeWithinTransaction(invocation);
+		}
+
 		// If the transaction attribute is null, the method is non-transactional.
-		TransactionAttributeSource tas = getTransactionAttributeSource();
-		final TransactionAttribute txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
-		final PlatformTransactionManager tm = determineTransactionManager(txAttr);
-		final String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+		final TransactionAttribute txAttr = plan.transactionAttribute;
+		final PlatformTransactionManager tm = plan.transactionManager;
+		final String joinpointIdentification = plan.joinpointIdentification;
 
 		if (txAttr == null || !(tm instanceof CallbackPreferringPlatformTransactionManager)) {
 			// Standard transaction demarcation with getTransaction and commit/rollback calls.
@@ -362,11 +438,96 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		}
 	}
 
+	/**
+	 * Return the {@link TransactionInvocationPlan} for the specified method and
+	 * target class, computing it on first invocation if the transaction attribute
+	 * source allows for it.
+	 */
+	private TransactionInvocationPlan getTransactionInvocationPlan(Method method, @Nullable Class<?> targetClass) {
+		TransactionInvocationPlan plans = this.invocationPlanCache.get(method);
+		for (TransactionInvocationPlan plan = plans; plan != null; plan = plan.next) {
+			if (plan.targetClass == targetClass) {
+				return plan;
+			}
+		}
+		TransactionAttributeSource tas = getTransactionAttributeSource();
+		TransactionInvocationPlan plan = createTransactionInvocationPlan(tas, method, targetClass, plans);
+		if (this.planningEnabled && isStatic(tas)) {
+			this.invocationPlanCache.put(method, plan);
+		}
+		return plan;
+	}
+
+	@SuppressWarnings("serial")
+	private TransactionInvocationPlan createTransactionInvocationPlan(@Nullable TransactionAttributeSource tas,
+			Method method, @Nullable Class<?> targetClass, @Nullable TransactionInvocationPlan next) {
+
+		// If the transaction attribute is null, the method is non-transactional.
+		TransactionAttribute txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
+		String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+		if (txAttr == null) {
+			return new TransactionInvocationPlan(targetClass, null, determineTransactionManager(null),
+					joinpointIdentification, null, next);
+		}
+
+		// If no name specified, apply method identification as transaction name.
+		if (txAttr.getName() == null) {
+			txAttr = new DelegatingTransactionAttribute(txAttr) {
+				@Override
+				public String getName() {
+					return joinpointIdentification;
+				}
+			};
+		}
+
+		if (this.reactiveAdapterRegistry != null) {
+			ReactiveAdapter adapter = this.reactiveAdapterRegistry.getAdapter(method.getReturnType());
+			if (adapter != null) {
+				ReactiveTransactionManager rtm = determineReactiveTransactionManager(txAttr);
+				if (rtm != null) {
+					return new TransactionInvocationPlan(targetClass, txAttr, null, joinpointIdentification,
+							new ReactiveTransactionSupport(adapter, rtm, txAttr), next);
+				}
+			}
+		}
+		return new TransactionInvocationPlan(targetClass, txAttr, determineTransactionManager(txAttr),
+				joinpointIdentification, null, next);
+	}
+
+	/**
+	 * Determine whether the given transaction attribute source returns the same
+	 * attribute for a method on every invocation, allowing for the attribute to
+	 * be resolved once as part of a {@link TransactionInvocationPlan}.
+	 */
+	private static boolean isStatic(@Nullable TransactionAttributeSource tas) {
+		if (tas instanceof CompositeTransactionAttributeSource) {
+			for (TransactionAttributeSource source :
+					((CompositeTransactionAttributeSource) tas).getTransactionAttributeSources()) {
+				if (!isStatic(source)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		// These either cache their attributes or are configured with them upfront
+		return (tas instanceof AbstractFallbackTransactionAttributeSource ||
+				tas instanceof NameMatchTransactionAttributeSource ||
+				tas instanceof MethodMapTransactionAttributeSource ||
+				tas instanceof MatchAlwaysTransactionAttributeSource);
+	}
+
+	private boolean isDeclaredHere(String methodName, Class<?>... paramTypes) {
+		Method method = ReflectionUtils.findMethod(getClass(), methodName, paramTypes);
+		return (method != null && method.getDeclaringClass() == TransactionAspectSupport.class);
+	}
+
 	/**
 	 * Clear the cache.
 	 */
 	protected void clearTransactionManagerCache() {
 		this.transactionManagerCache.clear();
+		this.reactiveTransactionManagerCache.clear();
+		this.invocationPlanCache.clear();
 		this.beanFactory = null;
 	}
 
@@ -411,6 +572,55 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		return txManager;
 	}
 
+	/**
+	 * Determine the specific reactive transaction manager to use for the given
+	 * transaction, if any.
+	 * <p>The qualifier of the transaction (or the specified default transaction
+	 * manager bean name) is expected to point to a {@link ReactiveTransactionManager}
+	 * bean; otherwise the regular transaction manager will be used instead.
+	 * Without a qualifier, a unique (or primary) {@code ReactiveTransactionManager}
+	 * bean is used, if any.
+	 * @return the reactive transaction manager, or {@code null} if none found
+	 * @throws org.springframework.beans.factory.NoUniqueBeanDefinitionException
+	 * if there are several {@code ReactiveTransactionManager} beans to choose from
+	 * @since 5.1.15
+	 */
+	@Nullable
+	protected ReactiveTransactionManager determineReactiveTransactionManager(TransactionAttribute txAttr) {
+		if (this.beanFactory == null) {
+			return getReactiveTransactionManager();
+		}
+
+		String qualifier = txAttr.getQualifier();
+		if (!StringUtils.hasText(qualifier)) {
+			qualifier = this.transactionManagerBeanName;
+		}
+		if (!StringUtils.hasText(qualifier) && getReactiveTransactionManager() != null) {
+			return getReactiveTransactionManager();
+		}
+
+		Object cacheKey = (StringUtils.hasText(qualifier) ? qualifier : DEFAULT_TRANSACTION_MANAGER_KEY);
+		Object txManager = this.reactiveTransactionManagerCache.get(cacheKey);
+		if (txManager == null) {
+			if (StringUtils.hasText(qualifier)) {
+				try {
+					txManager = BeanFactoryAnnotationUtils.qualifiedBeanOfType(
+							this.beanFactory, ReactiveTransactionManager.class, qualifier);
+				}
+				catch (NoSuchBeanDefinitionException ex) {
+					// Qualifier refers to a regular transaction manager
+				}
+			}
+			else {
+				// Fails if there are several candidates, as for the regular transaction manager
+				txManager = this.beanFactory.getBeanProvider(ReactiveTransactionManager.class).getIfAvailable();
+			}
+			this.reactiveTransactionManagerCache.putIfAbsent(
+					cacheKey, (txManager != null ? txManager : NO_REACTIVE_TRANSACTION_MANAGER));
+		}
+		return (txManager instanceof ReactiveTransactionManager ? (ReactiveTransactionManager) txManager : null);
+	}
+
 	private String methodIdentification(Method method, @Nullable Class<?> targetClass,
 			@Nullable TransactionAttribute txAttr) {
 
@@ -686,6 +896,141 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	}
 
 
+	/**
+	 * Invocation plan for a method on a given target class, precomputed on its first
+	 * invocation: holds the resolved transaction attribute (already named after the
+	 * joinpoint), the transaction manager to use and the joinpoint identification,
+	 * so that subsequent invocations need neither a {@code MethodClassKey} for the
+	 * attribute lookup nor a transaction manager lookup. Plans for the same method
+	 * on different target classes are chained through {@link #next}.
+	 */
+	private static final class TransactionInvocationPlan {
+
+		@Nullable
+		final Class<?> targetClass;
+
+		@Nullable
+		final TransactionAttribute transactionAttribute;
+
+		@Nullable
+		final PlatformTransactionManager transactionManager;
+
+		final String joinpointIdentification;
+
+		@Nullable
+		final ReactiveTransactionSupport reactiveTransactionSupport;
+
+		@Nullable
+		final TransactionInvocationPlan next;
+
+		TransactionInvocationPlan(@Nullable Class<?> targetClass, @Nullable TransactionAttribute transactionAttribute,
+				@Nullable PlatformTransactionManager transactionManager, String joinpointIdentification,
+				@Nullable ReactiveTransactionSupport reactiveTransactionSupport, @Nullable TransactionInvocationPlan next) {
+
+			this.targetClass = targetClass;
+			this.transactionAttribute = transactionAttribute;
+			this.transactionManager = transactionManager;
+			this.joinpointIdentification = joinpointIdentification;
+			this.reactiveTransactionSupport = reactiveTransactionSupport;
+			this.next = next;
+		}
+	}
+
+
+	/**
+	 * Delegate for transaction demarcation around the sequence returned by a method
+	 * with a reactive return type, driven by a {@link ReactiveTransactionManager}.
+	 * Kept in a separate class in order to avoid a hard dependency on Reactor.
+	 */
+	private class ReactiveTransactionSupport {
+
+		private final ReactiveAdapter adapter;
+
+		private final ReactiveTransactionManager transactionManager;
+
+		private final TransactionAttribute transactionAttribute;
+
+		public ReactiveTransactionSupport(ReactiveAdapter adapter, ReactiveTransactionManager transactionManager,
+				TransactionAttribute txAttr) {
+
+			this.adapter = adapter;
+			this.transactionManager = transactionManager;
+			this.transactionAttribute = txAttr;
+		}
+
+		public Object invokeWithinTransaction(InvocationCallback invocation) {
+			if (this.adapter.isMultiValue()) {
+				return this.adapter.fromPublisher(Mono.subscriberContext().flatMapMany(context ->
+						this.transactionManager.getReactiveTransaction(this.transactionAttribute).flatMapMany(status ->
+								Flux.defer(() -> proceed(invocation))
+										.onErrorResume(ex -> completeTransactionAfterThrowing(status, ex).then(Mono.error(ex)))
+										.concatWith(Mono.defer(() -> this.transactionManager.commit(status)).then(Mono.empty()))
+										.doOnCancel(() -> rollbackOnCancel(status, context))))
+						.subscriberContext(TransactionContextManager.getOrCreateContext()));
+			}
+			return this.adapter.fromPublisher(Mono.subscriberContext().flatMap(context ->
+					this.transactionManager.getReactiveTransaction(this.transactionAttribute).flatMap(status ->
+							// Wrap the result so that an empty Mono still triggers the commit
+							Mono.defer(() -> Mono.from(proceed(invocation)))
+									.map(Optional::of).defaultIfEmpty(Optional.empty())
+									.onErrorResume(ex -> completeTransactionAfterThrowing(status, ex).then(Mono.error(ex)))
+									.flatMap(result -> this.transactionManager.commit(status).then(Mono.justOrEmpty(result)))
+									.doOnCancel(() -> rollbackOnCancel(status, context))))
+					.subscriberContext(TransactionContextManager.getOrCreateContext()));
+		}
+
+		private Publisher<Object> proceed(InvocationCallback invocation) {
+			try {
+				return this.adapter.toPublisher(invocation.proceedWithInvocation());
+			}
+			catch (Throwable ex) {
+				return Mono.error(ex);
+			}
+		}
+
+		/**
+		 * Handle a throwable emitted by the transactional sequence, rolling back
+		 * or committing the transaction depending on the transaction attribute.
+		 */
+		private Mono<Void> completeTransactionAfterThrowing(ReactiveTransaction status, Throwable ex) {
+			if (this.transactionAttribute.rollbackOn(ex)) {
+				if (logger.isTraceEnabled()) {
+					logger.trace("Completing transaction for [" + this.transactionAttribute.getName() +
+							"] after exception: " + ex);
+				}
+				return this.transactionManager.rollback(status).onErrorMap(ex2 -> {
+					logger.error("Application exception overridden by rollback exception", ex);
+					if (ex2 instanceof TransactionSystemException) {
+						((TransactionSystemException) ex2).initApplicationException(ex);
+					}
+					return ex2;
+				});
+			}
+			// We don't roll back on this exception.
+			// Will still roll back if ReactiveTransaction.isRollbackOnly() is true.
+			return this.transactionManager.commit(status).onErrorMap(ex2 -> {
+				logger.error("Application exception overridden by commit exception", ex);
+				if (ex2 instanceof TransactionSystemException) {
+					((TransactionSystemException) ex2).initApplicationException(ex);
+				}
+				return ex2;
+			});
+		}
+
+		/**
+		 * Roll back a transaction whose sequence got cancelled before completion,
+		 * within the context that the transaction has been bound to.
+		 */
+		private void rollbackOnCancel(ReactiveTransaction status, Context context) {
+			if (status.isCompleted()) {
+				return;
+			}
+			this.transactionManager.rollback(status).subscriberContext(context).subscribe(null,
+					ex -> logger.error("Failed to roll back transaction after cancellation", ex));
+		}
+	}
+
+
 	/**
 	 * Internal holder class for a Throwable in a callback transaction model.
 	 */
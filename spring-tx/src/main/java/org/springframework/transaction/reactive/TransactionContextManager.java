@@ -0,0 +1,70 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.reactive;
+
+import java.util.function.Function;
+
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import org.springframework.transaction.NoTransactionException;
+
+/**
+ * Delegate to register and obtain transactional contexts within a Reactor
+ * {@link Context}.
+ *
+ * <p>Typically used by {@link TransactionalOperator} and by the reactive support
+ * of {@link org.springframework.transaction.interceptor.TransactionInterceptor}
+ * to set up the context for a transactional pipeline, and by resource management
+ * code to access the {@link TransactionSynchronizationManager} of the current
+ * transaction.
+ *
+ * @since 5.1.15
+ * @see TransactionContext
+ */
+public abstract class TransactionContextManager {
+
+	private TransactionContextManager() {
+	}
+
+
+	/**
+	 * Obtain the current {@link TransactionContext} from the subscriber context.
+	 * @return the current transaction context, or an error signal with a
+	 * {@link NoTransactionException} if no transaction context has been set up
+	 */
+	public static Mono<TransactionContext> currentContext() {
+		return Mono.subscriberContext().handle((context, sink) -> {
+			if (context.hasKey(TransactionContext.class)) {
+				sink.next(context.<TransactionContext>get(TransactionContext.class));
+				return;
+			}
+			sink.error(new NoTransactionException("No transaction in context"));
+		});
+	}
+
+	/**
+	 * Return a {@link Function} to create a {@link TransactionContext} and register
+	 * it in the subscriber context, unless one is registered already.
+	 * @return function to create a {@link TransactionContext} if necessary
+	 */
+	public static Function<Context, Context> getOrCreateContext() {
+		return context -> (context.hasKey(TransactionContext.class) ? context :
+				context.put(TransactionContext.class, new TransactionContext()));
+	}
+
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.reactive;
+
+import java.util.Collection;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import org.springframework.aop.scope.ScopedObject;
+import org.springframework.core.InfrastructureProxy;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Utility methods for triggering specific {@link TransactionSynchronization}
+ * callback methods on all currently registered synchronizations.
+ *
+ * @since 5.1.15
+ * @see TransactionSynchronization
+ * @see TransactionSynchronizationManager#getSynchronizations()
+ */
+abstract class TransactionSynchronizationUtils {
+
+	private static final Log logger = LogFactory.getLog(TransactionSynchronizationUtils.class);
+
+	private static final boolean aopAvailable = ClassUtils.isPresent(
+			"org.springframework.aop.scope.ScopedObject", TransactionSynchronizationUtils.class.getClassLoader());
+
+
+	/**
+	 * Unwrap the given resource handle if necessary; otherwise return
+	 * the given handle as-is.
+	 * @see org.springframework.core.InfrastructureProxy#getWrappedObject()
+	 */
+	static Object unwrapResourceIfNecessary(Object resource) {
+		Assert.notNull(resource, "Resource must not be null");
+		Object resourceRef = resource;
+		// unwrap infrastructure proxy
+		if (resourceRef instanceof InfrastructureProxy) {
+			resourceRef = ((InfrastructureProxy) resourceRef).getWrappedObject();
+		}
+		if (aopAvailable) {
+			// now unwrap scoped proxy
+			resourceRef = ScopedProxyUnwrapper.unwrapIfNecessary(resourceRef);
+		}
+		return resourceRef;
+	}
+
+	/**
+	 * Trigger {@code beforeCommit} callbacks on all currently registered synchronizations.
+	 * @param synchronizationManager the synchronization manager of the current context
+	 * @param readOnly whether the transaction is defined as read-only transaction
+	 * @see TransactionSynchronization#beforeCommit(boolean)
+	 */
+	static Mono<Void> triggerBeforeCommit(TransactionSynchronizationManager synchronizationManager, boolean readOnly) {
+		return Flux.fromIterable(synchronizationManager.getSynchronizations())
+				.concatMap(synchronization -> synchronization.beforeCommit(readOnly)).then();
+	}
+
+	/**
+	 * Trigger {@code beforeCompletion} callbacks on all currently registered synchronizations,
+	 * logging rather than propagating any error.
+	 * @param synchronizationManager the synchronization manager of the current context
+	 * @see TransactionSynchronization#beforeCompletion()
+	 */
+	static Mono<Void> triggerBeforeCompletion(TransactionSynchronizationManager synchronizationManager) {
+		return Flux.fromIterable(synchronizationManager.getSynchronizations())
+				.concatMap(synchronization -> synchronization.beforeCompletion().onErrorResume(ex -> {
+					logger.error("TransactionSynchronization.beforeCompletion threw exception", ex);
+					return Mono.empty();
+				})).then();
+	}
+
+	/**
+	 * Actually invoke the {@code afterCommit} methods of the
+	 * given TransactionSynchronization objects.
+	 * @param synchronizations the TransactionSynchronization objects
+	 * @see TransactionSynchronization#afterCommit()
+	 */
+	static Mono<Void> invokeAfterCommit(Collection<TransactionSynchronization> synchronizations) {
+		return Flux.fromIterable(synchronizations)
+				.concatMap(TransactionSynchronization::afterCommit).then();
+	}
+
+	/**
+	 * Actually invoke the {@code afterCompletion} methods of the
+	 * given TransactionSynchronization objects, logging rather than
+	 * propagating any error.
+	 * @param synchronizations the TransactionSynchronization objects
+	 * @param completionStatus the completion status according to the
+	 * constants in the TransactionSynchronization interface
+	 * @see TransactionSynchronization#afterCompletion(int)
+	 */
+	static Mono<Void> invokeAfterCompletion(
+			Collection<TransactionSynchronization> synchronizations, int completionStatus) {
+
+		return Flux.fromIterable(synchronizations)
+				.concatMap(synchronization -> synchronization.afterCompletion(completionStatus).onErrorResume(ex -> {
+					logger.error("TransactionSynchronization.afterCompletion threw exception", ex);
+					return Mono.empty();
+				})).then();
+	}
+
+
+	/**
+	 * Inner class to avoid hard-coded dependency on AOP module.
+	 */
+	private static class ScopedProxyUnwrapper {
+
+		public static Object unwrapIfNecessary(Object resource) {
+			if (resource instanceof ScopedObject) {
+				return ((ScopedObject) resource).getTargetObject();
+			}
+			else {
+				return resource;
+			}
+		}
+	}
+
+}
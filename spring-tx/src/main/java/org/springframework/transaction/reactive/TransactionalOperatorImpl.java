@@ -0,0 +1,127 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.reactive;
+
+import java.util.Optional;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import org.springframework.transaction.ReactiveTransaction;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.util.Assert;
+
+/**
+ * Operator class that simplifies programmatic transaction demarcation and
+ * transaction exception handling.
+ *
+ * @since 5.1.15
+ * @see #execute
+ * @see ReactiveTransactionManager
+ */
+final class TransactionalOperatorImpl implements TransactionalOperator {
+
+	private static final Log logger = LogFactory.getLog(TransactionalOperatorImpl.class);
+
+	private final ReactiveTransactionManager transactionManager;
+
+	private final TransactionDefinition transactionDefinition;
+
+
+	/**
+	 * Construct a new TransactionalOperatorImpl using the given transaction manager.
+	 * @param transactionManager the transaction management strategy to be used
+	 * @param transactionDefinition the transaction definition to copy the
+	 * default settings from. Local properties can still be set to change values.
+	 */
+	TransactionalOperatorImpl(ReactiveTransactionManager transactionManager, TransactionDefinition transactionDefinition) {
+		Assert.notNull(transactionManager, "ReactiveTransactionManager must not be null");
+		Assert.notNull(transactionDefinition, "TransactionDefinition must not be null");
+		this.transactionManager = transactionManager;
+		this.transactionDefinition = transactionDefinition;
+	}
+
+
+	/**
+	 * Return the transaction management strategy to be used.
+	 */
+	public ReactiveTransactionManager getTransactionManager() {
+		return this.transactionManager;
+	}
+
+	@Override
+	public <T> Mono<T> transactional(Mono<T> mono) {
+		return Mono.subscriberContext().flatMap(context ->
+				this.transactionManager.getReactiveTransaction(this.transactionDefinition).flatMap(status ->
+						// Wrap the result so that an empty Mono still triggers the commit
+						mono.map(Optional::of).defaultIfEmpty(Optional.empty())
+								.onErrorResume(ex -> rollbackOnException(status, ex).then(Mono.error(ex)))
+								.flatMap(result -> this.transactionManager.commit(status).then(Mono.justOrEmpty(result)))
+								.doOnCancel(() -> rollbackOnCancel(status, context))))
+				.subscriberContext(TransactionContextManager.getOrCreateContext());
+	}
+
+	@Override
+	public <T> Flux<T> execute(TransactionCallback<T> action) throws TransactionException {
+		return Mono.subscriberContext().flatMapMany(context ->
+				this.transactionManager.getReactiveTransaction(this.transactionDefinition).flatMapMany(status ->
+						Flux.defer(() -> action.doInTransaction(status))
+								.onErrorResume(ex -> rollbackOnException(status, ex).then(Mono.error(ex)))
+								.concatWith(Mono.defer(() -> this.transactionManager.commit(status)).then(Mono.empty()))
+								.doOnCancel(() -> rollbackOnCancel(status, context))))
+				.subscriberContext(TransactionContextManager.getOrCreateContext());
+	}
+
+	/**
+	 * Perform a rollback, handling rollback exceptions properly.
+	 * @param status object representing the transaction
+	 * @param ex the thrown application exception or error
+	 * @throws TransactionException in case of a rollback error
+	 */
+	private Mono<Void> rollbackOnException(ReactiveTransaction status, Throwable ex) throws TransactionException {
+		logger.debug("Initiating transaction rollback on application exception", ex);
+		return this.transactionManager.rollback(status).onErrorMap(ex2 -> {
+			logger.error("Application exception overridden by rollback exception", ex);
+			if (ex2 instanceof TransactionSystemException) {
+				((TransactionSystemException) ex2).initApplicationException(ex);
+			}
+			return ex2;
+		});
+	}
+
+	/**
+	 * Roll back a transaction whose sequence got cancelled before completion,
+	 * within the context that the transaction has been bound to.
+	 * @param status object representing the transaction
+	 * @param context the subscriber context of the transactional sequence
+	 */
+	private void rollbackOnCancel(ReactiveTransaction status, Context context) {
+		if (status.isCompleted()) {
+			return;
+		}
+		logger.debug("Initiating transaction rollback on cancellation");
+		this.transactionManager.rollback(status).subscriberContext(context).subscribe(null,
+				ex -> logger.error("Failed to roll back transaction after cancellation", ex));
+	}
+
+}
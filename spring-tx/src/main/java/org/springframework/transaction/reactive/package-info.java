@@ -0,0 +1,12 @@
+/**
+ * Support classes for reactive transaction management.
+ * Provides an abstract base class for reactive transaction manager implementations,
+ * Reactor Context-based transaction synchronization, and a transactional operator
+ * for transaction demarcation within reactive pipelines.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.transaction.reactive;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
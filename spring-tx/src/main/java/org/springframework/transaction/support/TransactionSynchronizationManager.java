@@ -18,7 +18,7 @@ package org.springframework.transaction.support;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -64,6 +64,10 @@ import org.springframework.util.Assert;
  * within a JTA transaction, e.g. a JDBC Connection or a Hibernate Session for
  * any given DataSource or SessionFactory, respectively.
  *
+ * <p>As of 5.1.15, all of this state is kept in a single holder object per thread,
+ * bound for as long as the thread has any resources, synchronizations or
+ * transaction characteristics and reused by all transactions within that scope.
+ *
  * @author Juergen Hoeller
  * @since 02.06.2003
  * @see #isSynchronizationActive
@@ -78,23 +82,31 @@ public abstract class TransactionSynchronizationManager {
 
 	private static final Log logger = LogFactory.getLog(TransactionSynchronizationManager.class);
 
-	private static final ThreadLocal<Map<Object, Object>> resources =
-			new NamedThreadLocal<>("Transactional resources");
-
-	private static final ThreadLocal<Set<TransactionSynchronization>> synchronizations =
-			new NamedThreadLocal<>("Transaction synchronizations");
+	private static final ThreadLocal<TransactionState> transactionState =
+			new NamedThreadLocal<>("Transactional resources and synchronizations");
 
-	private static final ThreadLocal<String> currentTransactionName =
-			new NamedThreadLocal<>("Current transaction name");
 
-	private static final ThreadLocal<Boolean> currentTransactionReadOnly =
-			new NamedThreadLocal<>("Current transaction read-only status");
-
-	private static final ThreadLocal<Integer> currentTransactionIsolationLevel =
-			new NamedThreadLocal<>("Current transaction isolation level");
+	/**
+	 * Return the state bound to the current thread, binding a new one if none.
+	 */
+	private static TransactionState obtainTransactionState() {
+		TransactionState state = transactionState.get();
+		if (state == null) {
+			state = new TransactionState();
+			transactionState.set(state);
+		}
+		return state;
+	}
 
-	private static final ThreadLocal<Boolean> actualTransactionActive =
-			new NamedThreadLocal<>("Actual transaction active");
+	/**
+	 * Remove the given state from the current thread if it does not hold
+	 * anything anymore, not keeping it in pooled threads beyond its use.
+	 */
+	private static void releaseIfEmpty(TransactionState state) {
+		if (state.isEmpty()) {
+			transactionState.remove();
+		}
+	}
 
 
 	//-------------------------------------------------------------------------
@@ -111,8 +123,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #hasResource
 	 */
 	public static Map<Object, Object> getResourceMap() {
-		Map<Object, Object> map = resources.get();
-		return (map != null ? Collections.unmodifiableMap(map) : Collections.emptyMap());
+		TransactionState state = transactionState.get();
+		return (state != null ? state.getResourceMap() : Collections.emptyMap());
 	}
 
 	/**
@@ -150,18 +162,16 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	private static Object doGetResource(Object actualKey) {
-		Map<Object, Object> map = resources.get();
-		if (map == null) {
+		TransactionState state = transactionState.get();
+		if (state == null) {
 			return null;
 		}
-		Object value = map.get(actualKey);
+		Object value = state.getResource(actualKey);
 		// Transparently remove ResourceHolder that was marked as void...
 		if (value instanceof ResourceHolder && ((ResourceHolder) value).isVoid()) {
-			map.remove(actualKey);
+			state.removeResource(actualKey);
 			// Remove entire ThreadLocal if empty...
-			if (map.isEmpty()) {
-				resources.remove();
-			}
+			releaseIfEmpty(state);
 			value = null;
 		}
 		return value;
@@ -177,13 +187,7 @@ public abstract class TransactionSynchronizationManager {
 	public static void bindResource(Object key, Object value) throws IllegalStateException {
 		Object actualKey = TransactionSynchronizationUtils.unwrapResourceIfNecessary(key);
 		Assert.notNull(value, "Value must not be null");
-		Map<Object, Object> map = resources.get();
-		// set ThreadLocal Map if none found
-		if (map == null) {
-			map = new HashMap<>();
-			resources.set(map);
-		}
-		Object oldValue = map.put(actualKey, value);
+		Object oldValue = obtainTransactionState().putResource(actualKey, value);
 		// Transparently suppress a ResourceHolder that was marked as void...
 		if (oldValue instanceof ResourceHolder && ((ResourceHolder) oldValue).isVoid()) {
 			oldValue = null;
@@ -231,15 +235,13 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	private static Object doUnbindResource(Object actualKey) {
-		Map<Object, Object> map = resources.get();
-		if (map == null) {
+		TransactionState state = transactionState.get();
+		if (state == null) {
 			return null;
 		}
-		Object value = map.remove(actualKey);
+		Object value = state.removeResource(actualKey);
 		// Remove entire ThreadLocal if empty...
-		if (map.isEmpty()) {
-			resources.remove();
-		}
+		releaseIfEmpty(state);
 		// Transparently suppress a ResourceHolder that was marked as void...
 		if (value instanceof ResourceHolder && ((ResourceHolder) value).isVoid()) {
 			value = null;
@@ -262,7 +264,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #registerSynchronization
 	 */
 	public static boolean isSynchronizationActive() {
-		return (synchronizations.get() != null);
+		TransactionState state = transactionState.get();
+		return (state != null && state.synchronizationActive);
 	}
 
 	/**
@@ -275,7 +278,7 @@ public abstract class TransactionSynchronizationManager {
 			throw new IllegalStateException("Cannot activate transaction synchronization - already active");
 		}
 		logger.trace("Initializing transaction synchronization");
-		synchronizations.set(new LinkedHashSet<>());
+		obtainTransactionState().synchronizationActive = true;
 	}
 
 	/**
@@ -292,11 +295,11 @@ public abstract class TransactionSynchronizationManager {
 			throws IllegalStateException {
 
 		Assert.notNull(synchronization, "TransactionSynchronization must not be null");
-		Set<TransactionSynchronization> synchs = synchronizations.get();
-		if (synchs == null) {
+		TransactionState state = transactionState.get();
+		if (state == null || !state.synchronizationActive) {
 			throw new IllegalStateException("Transaction synchronization is not active");
 		}
-		synchs.add(synchronization);
+		state.synchronizations.add(synchronization);
 	}
 
 	/**
@@ -307,10 +310,11 @@ public abstract class TransactionSynchronizationManager {
 	 * @see TransactionSynchronization
 	 */
 	public static List<TransactionSynchronization> getSynchronizations() throws IllegalStateException {
-		Set<TransactionSynchronization> synchs = synchronizations.get();
-		if (synchs == null) {
+		TransactionState state = transactionState.get();
+		if (state == null || !state.synchronizationActive) {
 			throw new IllegalStateException("Transaction synchronization is not active");
 		}
+		Set<TransactionSynchronization> synchs = state.synchronizations;
 		// Return unmodifiable snapshot, to avoid ConcurrentModificationExceptions
 		// while iterating and invoking synchronization callbacks that in turn
 		// might register further synchronizations.
@@ -331,11 +335,13 @@ public abstract class TransactionSynchronizationManager {
 	 * @throws IllegalStateException if synchronization is not active
 	 */
 	public static void clearSynchronization() throws IllegalStateException {
-		if (!isSynchronizationActive()) {
+		TransactionState state = transactionState.get();
+		if (state == null || !state.synchronizationActive) {
 			throw new IllegalStateException("Cannot deactivate transaction synchronization - not active");
 		}
 		logger.trace("Clearing transaction synchronization");
-		synchronizations.remove();
+		state.clearSynchronization();
+		releaseIfEmpty(state);
 	}
 
 
@@ -350,7 +356,11 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#getName()
 	 */
 	public static void setCurrentTransactionName(@Nullable String name) {
-		currentTransactionName.set(name);
+		TransactionState state = (name != null ? obtainTransactionState() : transactionState.get());
+		if (state != null) {
+			state.name = name;
+			releaseIfEmpty(state);
+		}
 	}
 
 	/**
@@ -361,7 +371,8 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	public static String getCurrentTransactionName() {
-		return currentTransactionName.get();
+		TransactionState state = transactionState.get();
+		return (state != null ? state.name : null);
 	}
 
 	/**
@@ -372,7 +383,11 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#isReadOnly()
 	 */
 	public static void setCurrentTransactionReadOnly(boolean readOnly) {
-		currentTransactionReadOnly.set(readOnly ? Boolean.TRUE : null);
+		TransactionState state = (readOnly ? obtainTransactionState() : transactionState.get());
+		if (state != null) {
+			state.readOnly = readOnly;
+			releaseIfEmpty(state);
+		}
 	}
 
 	/**
@@ -388,7 +403,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see TransactionSynchronization#beforeCommit(boolean)
 	 */
 	public static boolean isCurrentTransactionReadOnly() {
-		return (currentTransactionReadOnly.get() != null);
+		TransactionState state = transactionState.get();
+		return (state != null && state.readOnly);
 	}
 
 	/**
@@ -408,7 +424,11 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#getIsolationLevel()
 	 */
 	public static void setCurrentTransactionIsolationLevel(@Nullable Integer isolationLevel) {
-		currentTransactionIsolationLevel.set(isolationLevel);
+		TransactionState state = (isolationLevel != null ? obtainTransactionState() : transactionState.get());
+		if (state != null) {
+			state.isolationLevel = isolationLevel;
+			releaseIfEmpty(state);
+		}
 	}
 
 	/**
@@ -430,7 +450,8 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	public static Integer getCurrentTransactionIsolationLevel() {
-		return currentTransactionIsolationLevel.get();
+		TransactionState state = transactionState.get();
+		return (state != null ? state.isolationLevel : null);
 	}
 
 	/**
@@ -440,7 +461,11 @@ public abstract class TransactionSynchronizationManager {
 	 * with an actual transaction; {@code false} to reset that marker
 	 */
 	public static void setActualTransactionActive(boolean active) {
-		actualTransactionActive.set(active ? Boolean.TRUE : null);
+		TransactionState state = (active ? obtainTransactionState() : transactionState.get());
+		if (state != null) {
+			state.actualTransactionActive = active;
+			releaseIfEmpty(state);
+		}
 	}
 
 	/**
@@ -455,7 +480,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #isSynchronizationActive()
 	 */
 	public static boolean isActualTransactionActive() {
-		return (actualTransactionActive.get() != null);
+		TransactionState state = transactionState.get();
+		return (state != null && state.actualTransactionActive);
 	}
 
 
@@ -469,11 +495,117 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #setActualTransactionActive
 	 */
 	public static void clear() {
-		synchronizations.remove();
-		currentTransactionName.remove();
-		currentTransactionReadOnly.remove();
-		currentTransactionIsolationLevel.remove();
-		actualTransactionActive.remove();
+		TransactionState state = transactionState.get();
+		if (state != null) {
+			state.clearSynchronization();
+			state.name = null;
+			state.readOnly = false;
+			state.isolationLevel = null;
+			state.actualTransactionActive = false;
+			releaseIfEmpty(state);
+		}
+	}
+
+
+	/**
+	 * Holder for the resources, synchronizations and transaction characteristics
+	 * of a thread. Resources are kept in an array of alternating keys and values,
+	 * since there are typically just one or two of them bound at any time.
+	 */
+	private static final class TransactionState {
+
+		private Object[] resources = new Object[4];
+
+		private int resourceCount;
+
+		private final Set<TransactionSynchronization> synchronizations = new LinkedHashSet<>(8);
+
+		private boolean synchronizationActive;
+
+		@Nullable
+		private String name;
+
+		private boolean readOnly;
+
+		@Nullable
+		private Integer isolationLevel;
+
+		private boolean actualTransactionActive;
+
+		@Nullable
+		public Object getResource(Object key) {
+			int index = indexOf(key);
+			return (index >= 0 ? this.resources[index + 1] : null);
+		}
+
+		@Nullable
+		public Object putResource(Object key, Object value) {
+			int index = indexOf(key);
+			if (index >= 0) {
+				Object oldValue = this.resources[index + 1];
+				this.resources[index + 1] = value;
+				return oldValue;
+			}
+			index = this.resourceCount * 2;
+			if (index == this.resources.length) {
+				Object[] newResources = new Object[this.resources.length * 2];
+				System.arraycopy(this.resources, 0, newResources, 0, index);
+				this.resources = newResources;
+			}
+			this.resources[index] = key;
+			this.resources[index + 1] = value;
+			this.resourceCount++;
+			return null;
+		}
+
+		@Nullable
+		public Object removeResource(Object key) {
+			int index = indexOf(key);
+			if (index < 0) {
+				return null;
+			}
+			Object value = this.resources[index + 1];
+			int last = (this.resourceCount - 1) * 2;
+			// Keep the remaining entries in binding order
+			System.arraycopy(this.resources, index + 2, this.resources, index, last - index);
+			this.resources[last] = null;
+			this.resources[last + 1] = null;
+			this.resourceCount--;
+			return value;
+		}
+
+		private int indexOf(Object key) {
+			Object[] resources = this.resources;
+			int end = this.resourceCount * 2;
+			for (int i = 0; i < end; i += 2) {
+				Object candidate = resources[i];
+				if (candidate == key || candidate.equals(key)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		public Map<Object, Object> getResourceMap() {
+			if (this.resourceCount == 0) {
+				return Collections.emptyMap();
+			}
+			Map<Object, Object> map = new LinkedHashMap<>(this.resourceCount * 2);
+			for (int i = 0; i < this.resourceCount * 2; i += 2) {
+				map.put(this.resources[i], this.resources[i + 1]);
+			}
+			return Collections.unmodifiableMap(map);
+		}
+
+		public void clearSynchronization() {
+			this.synchronizations.clear();
+			this.synchronizationActive = false;
+		}
+
+		public boolean isEmpty() {
+			return (this.resourceCount == 0 && !this.synchronizationActive && this.name == null &&
+					!this.readOnly && this.isolationLevel == null && !this.actualTransactionActive);
+		}
 	}
 
 }
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.interceptor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TransactionInterceptor} driving a
+ * {@link org.springframework.transaction.ReactiveTransactionManager}
+ * for methods with a reactive return type.
+ */
+public class ReactiveTransactionInterceptorTests {
+
+	private final RecordingReactiveTransactionManager tm = new RecordingReactiveTransactionManager();
+
+	private ReactiveService service;
+
+
+	@Before
+	public void setUp() {
+		TransactionInterceptor ti = new TransactionInterceptor();
+		ti.setReactiveTransactionManager(this.tm);
+		ti.setTransactionAttributeSource(new MatchAlwaysTransactionAttributeSource());
+		ti.afterPropertiesSet();
+
+		ProxyFactory pf = new ProxyFactory(new DefaultReactiveService());
+		pf.addAdvice(ti);
+		this.service = (ReactiveService) pf.getProxy();
+	}
+
+
+	@Test
+	public void commitWithMono() {
+		this.service.isTransactionActive()
+				.as(StepVerifier::create)
+				.expectNext(true)
+				.verifyComplete();
+		assertEquals(1, this.tm.events.size());
+		assertTrue(this.tm.events.get(0).startsWith("commit"));
+	}
+
+	@Test
+	public void rollbackWithMono() {
+		this.service.fail()
+				.as(StepVerifier::create)
+				.verifyError(IllegalStateException.class);
+		assertEquals(1, this.tm.events.size());
+		assertTrue(this.tm.events.get(0).startsWith("rollback"));
+	}
+
+	@Test
+	public void commitWithFlux() {
+		this.service.range(3)
+				.as(StepVerifier::create)
+				.expectNext(0, 1, 2)
+				.verifyComplete();
+		assertEquals(1, this.tm.events.size());
+		assertTrue(this.tm.events.get(0).startsWith("commit"));
+	}
+
+	@Test
+	public void transactionNameDefaultsToMethodIdentification() {
+		this.service.range(1).blockLast();
+		assertEquals("commit:" + DefaultReactiveService.class.getName() + ".range", this.tm.events.get(0));
+	}
+
+	@Test(expected = NoUniqueBeanDefinitionException.class)
+	public void severalReactiveTransactionManagersWithoutQualifier() {
+		DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+		beanFactory.registerSingleton("tm1", new RecordingReactiveTransactionManager());
+		beanFactory.registerSingleton("tm2", new RecordingReactiveTransactionManager());
+		TransactionInterceptor ti = new TransactionInterceptor();
+		ti.setBeanFactory(beanFactory);
+		ti.setTransactionAttributeSource(new MatchAlwaysTransactionAttributeSource());
+		ti.afterPropertiesSet();
+
+		ProxyFactory pf = new ProxyFactory(new DefaultReactiveService());
+		pf.addAdvice(ti);
+		((ReactiveService) pf.getProxy()).isTransactionActive();
+	}
+
+
+	public interface ReactiveService {
+
+		Mono<Boolean> isTransactionActive();
+
+		Mono<Void> fail();
+
+		Flux<Integer> range(int count);
+	}
+
+
+	public static class DefaultReactiveService implements ReactiveService {
+
+		@Override
+		public Mono<Boolean> isTransactionActive() {
+			return TransactionSynchronizationManager.forCurrentTransaction()
+					.map(TransactionSynchronizationManager::isActualTransactionActive);
+		}
+
+		@Override
+		public Mono<Void> fail() {
+			return Mono.error(new IllegalStateException());
+		}
+
+		@Override
+		public Flux<Integer> range(int count) {
+			return Flux.range(0, count);
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	private static class RecordingReactiveTransactionManager extends AbstractReactiveTransactionManager {
+
+		final List<String> events = new ArrayList<>();
+
+		@Override
+		protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+			return new Object();
+		}
+
+		@Override
+		protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager,
+				Object transaction, TransactionDefinition definition) {
+
+			return Mono.empty();
+		}
+
+		@Override
+		protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager,
+				GenericReactiveTransaction status) {
+
+			return TransactionSynchronizationManager.forCurrentTransaction().doOnNext(current ->
+					this.events.add("commit:" + current.getCurrentTransactionName())).then();
+		}
+
+		@Override
+		protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager,
+				GenericReactiveTransaction status) {
+
+			return Mono.fromRunnable(() -> this.events.add("rollback"));
+		}
+	}
+
+}
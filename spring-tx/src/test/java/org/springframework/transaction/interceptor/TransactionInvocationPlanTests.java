@@ -0,0 +1,216 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.interceptor;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for the per-method invocation plans of {@link TransactionAspectSupport}.
+ */
+public class TransactionInvocationPlanTests {
+
+	private final RecordingTransactionManager tm = new RecordingTransactionManager();
+
+
+	@Test
+	public void staticAttributeSourceIsConsultedOnce() throws Throwable {
+		CountingAttributeSource tas = new CountingAttributeSource();
+		TransactionInterceptor ti = interceptor(tas);
+		invoke(ti, DefaultTestService.class);
+		invoke(ti, DefaultTestService.class);
+		invoke(ti, DefaultTestService.class);
+
+		assertEquals(1, tas.lookups.get());
+		assertEquals(3, this.tm.definitions.size());
+		assertEquals(3, this.tm.commits.get());
+	}
+
+	@Test
+	public void dynamicAttributeSourceIsConsultedPerInvocation() throws Throwable {
+		AtomicInteger lookups = new AtomicInteger();
+		TransactionInterceptor ti = interceptor((method, targetClass) -> {
+			lookups.incrementAndGet();
+			return new DefaultTransactionAttribute();
+		});
+		invoke(ti, DefaultTestService.class);
+		invoke(ti, DefaultTestService.class);
+
+		assertEquals(2, lookups.get());
+		assertEquals(2, this.tm.commits.get());
+	}
+
+	@Test
+	public void transactionNameDefaultsToMethodIdentification() throws Throwable {
+		TransactionInterceptor ti = interceptor(new CountingAttributeSource());
+		invoke(ti, DefaultTestService.class);
+		invoke(ti, DefaultTestService.class);
+
+		String expectedName = DefaultTestService.class.getName() + ".doSomething";
+		assertEquals(expectedName, this.tm.definitions.get(0).getName());
+		assertEquals(expectedName, this.tm.definitions.get(1).getName());
+	}
+
+	@Test
+	public void planPerTargetClass() throws Throwable {
+		CountingAttributeSource tas = new CountingAttributeSource();
+		TransactionInterceptor ti = interceptor(tas);
+		invoke(ti, DefaultTestService.class);
+		invoke(ti, OtherTestService.class);
+		invoke(ti, DefaultTestService.class);
+		invoke(ti, OtherTestService.class);
+
+		assertEquals(2, tas.lookups.get());
+		assertEquals(DefaultTestService.class.getName() + ".doSomething", this.tm.definitions.get(2).getName());
+		assertEquals(OtherTestService.class.getName() + ".doSomething", this.tm.definitions.get(3).getName());
+	}
+
+	@Test
+	public void changedTransactionManagerIsApplied() throws Throwable {
+		TransactionInterceptor ti = interceptor(new CountingAttributeSource());
+		invoke(ti, DefaultTestService.class);
+
+		RecordingTransactionManager otherTm = new RecordingTransactionManager();
+		ti.setTransactionManager(otherTm);
+		invoke(ti, DefaultTestService.class);
+
+		assertEquals(1, this.tm.commits.get());
+		assertEquals(1, otherTm.commits.get());
+	}
+
+	@Test
+	public void customTransactionManagerDeterminationIsHonored() throws Throwable {
+		AtomicInteger determinations = new AtomicInteger();
+		TransactionInterceptor ti = new TransactionInterceptor() {
+			@Override
+			protected PlatformTransactionManager determineTransactionManager(@Nullable TransactionAttribute txAttr) {
+				determinations.incrementAndGet();
+				return super.determineTransactionManager(txAttr);
+			}
+		};
+		ti.setTransactionManager(this.tm);
+		ti.setTransactionAttributeSource(new CountingAttributeSource());
+		invoke(ti, DefaultTestService.class);
+		invoke(ti, DefaultTestService.class);
+
+		assertEquals(2, determinations.get());
+	}
+
+	@Test
+	public void customReactiveTransactionManagerDeterminationIsHonored() throws Throwable {
+		CountingAttributeSource tas = new CountingAttributeSource();
+		TransactionInterceptor ti = new TransactionInterceptor() {
+			@Override
+			protected ReactiveTransactionManager determineReactiveTransactionManager(TransactionAttribute txAttr) {
+				return super.determineReactiveTransactionManager(txAttr);
+			}
+		};
+		ti.setTransactionManager(this.tm);
+		ti.setTransactionAttributeSource(tas);
+		invoke(ti, DefaultTestService.class);
+		invoke(ti, DefaultTestService.class);
+
+		// No plan cached, so that the override gets consulted for every invocation
+		assertEquals(2, tas.lookups.get());
+	}
+
+
+	private TransactionInterceptor interceptor(TransactionAttributeSource tas) {
+		TransactionInterceptor ti = new TransactionInterceptor();
+		ti.setTransactionManager(this.tm);
+		ti.setTransactionAttributeSource(tas);
+		return ti;
+	}
+
+	private void invoke(TransactionInterceptor ti, Class<?> targetClass) throws Throwable {
+		Method method = TestService.class.getMethod("doSomething");
+		ti.invokeWithinTransaction(method, targetClass, () -> null);
+	}
+
+
+	public interface TestService {
+
+		void doSomething();
+	}
+
+
+	public static class DefaultTestService implements TestService {
+
+		@Override
+		public void doSomething() {
+		}
+	}
+
+
+	public static class OtherTestService implements TestService {
+
+		@Override
+		public void doSomething() {
+		}
+	}
+
+
+	@SuppressWarnings("serial")
+	private static class CountingAttributeSource extends MatchAlwaysTransactionAttributeSource {
+
+		final AtomicInteger lookups = new AtomicInteger();
+
+		@Override
+		@Nullable
+		public TransactionAttribute getTransactionAttribute(Method method, @Nullable Class<?> targetClass) {
+			this.lookups.incrementAndGet();
+			return super.getTransactionAttribute(method, targetClass);
+		}
+	}
+
+
+	private static class RecordingTransactionManager implements PlatformTransactionManager {
+
+		final List<TransactionDefinition> definitions = new ArrayList<>();
+
+		final AtomicInteger commits = new AtomicInteger();
+
+		@Override
+		public TransactionStatus getTransaction(@Nullable TransactionDefinition definition) {
+			this.definitions.add(definition);
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+			this.commits.incrementAndGet();
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.reactive;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TransactionalOperator} and {@link AbstractReactiveTransactionManager}.
+ */
+public class TransactionalOperatorTests {
+
+	private final ReactiveTestTransactionManager tm = new ReactiveTestTransactionManager(false, true);
+
+
+	@Test
+	public void commitWithMono() {
+		TransactionalOperator operator = TransactionalOperator.create(this.tm);
+		Mono.just(true).as(operator::transactional)
+				.as(StepVerifier::create)
+				.expectNext(true)
+				.verifyComplete();
+		assertTrue(this.tm.begin);
+		assertTrue(this.tm.commit);
+		assertFalse(this.tm.rollback);
+	}
+
+	@Test
+	public void commitWithEmptyMono() {
+		TransactionalOperator operator = TransactionalOperator.create(this.tm);
+		Mono.empty().as(operator::transactional)
+				.as(StepVerifier::create)
+				.verifyComplete();
+		assertTrue(this.tm.commit);
+	}
+
+	@Test
+	public void rollbackWithMono() {
+		TransactionalOperator operator = TransactionalOperator.create(this.tm);
+		Mono.error(new IllegalStateException()).as(operator::transactional)
+				.as(StepVerifier::create)
+				.verifyError(IllegalStateException.class);
+		assertTrue(this.tm.begin);
+		assertFalse(this.tm.commit);
+		assertTrue(this.tm.rollback);
+	}
+
+	@Test
+	public void commitWithFlux() {
+		TransactionalOperator operator = TransactionalOperator.create(this.tm);
+		Flux.just(1, 2, 3).as(operator::transactional)
+				.as(StepVerifier::create)
+				.expectNext(1, 2, 3)
+				.verifyComplete();
+		assertTrue(this.tm.commit);
+	}
+
+	@Test
+	public void rollbackWithFlux() {
+		TransactionalOperator operator = TransactionalOperator.create(this.tm);
+		Flux.just(1).concatWith(Mono.error(new IllegalStateException())).as(operator::transactional)
+				.as(StepVerifier::create)
+				.expectNext(1)
+				.verifyError(IllegalStateException.class);
+		assertFalse(this.tm.commit);
+		assertTrue(this.tm.rollback);
+	}
+
+	@Test
+	public void rollbackOnCancel() {
+		TransactionalOperator operator = TransactionalOperator.create(this.tm);
+		Flux.just(1, 2, 3).as(operator::transactional)
+				.as(StepVerifier::create)
+				.expectNext(1)
+				.thenCancel()
+				.verify();
+		assertFalse(this.tm.commit);
+		assertTrue(this.tm.rollback);
+	}
+
+	@Test
+	public void rollbackOnlyWithExecute() {
+		TransactionalOperator operator = TransactionalOperator.create(this.tm);
+		operator.execute(status -> {
+			status.setRollbackOnly();
+			return Mono.just(1);
+		}).as(StepVerifier::create)
+				.expectNext(1)
+				.verifyComplete();
+		assertFalse(this.tm.commit);
+		assertTrue(this.tm.rollback);
+	}
+
+	@Test
+	public void participateInExistingTransaction() {
+		ReactiveTestTransactionManager tm = new ReactiveTestTransactionManager(true, true);
+		TransactionalOperator operator = TransactionalOperator.create(tm);
+		Mono.error(new IllegalStateException()).as(operator::transactional)
+				.as(StepVerifier::create)
+				.verifyError(IllegalStateException.class);
+		assertFalse(tm.begin);
+		assertFalse(tm.rollback);
+		assertTrue(tm.rollbackOnly);
+	}
+
+	@Test
+	public void mandatoryWithoutExistingTransaction() {
+		DefaultTransactionDefinition definition = new DefaultTransactionDefinition();
+		definition.setPropagationBehavior(TransactionDefinition.PROPAGATION_MANDATORY);
+		TransactionalOperator operator = TransactionalOperator.create(this.tm, definition);
+		Mono.just(1).as(operator::transactional)
+				.as(StepVerifier::create)
+				.verifyError(IllegalTransactionStateException.class);
+		assertFalse(this.tm.begin);
+	}
+
+	@Test
+	public void synchronizationCallbacks() {
+		List<String> events = new ArrayList<>();
+		TransactionSynchronization synchronization = new TransactionSynchronization() {
+			@Override
+			public Mono<Void> beforeCommit(boolean readOnly) {
+				return Mono.fromRunnable(() -> events.add("beforeCommit"));
+			}
+			@Override
+			public Mono<Void> afterCompletion(int status) {
+				return Mono.fromRunnable(() -> events.add("afterCompletion:" + status));
+			}
+		};
+		TransactionalOperator operator = TransactionalOperator.create(this.tm);
+		TransactionSynchronizationManager.forCurrentTransaction()
+				.doOnNext(synchronizationManager -> {
+					assertTrue(synchronizationManager.isActualTransactionActive());
+					synchronizationManager.registerSynchronization(synchronization);
+				})
+				.as(operator::transactional)
+				.as(StepVerifier::create)
+				.expectNextCount(1)
+				.verifyComplete();
+		assertEquals(2, events.size());
+		assertEquals("beforeCommit", events.get(0));
+		assertEquals("afterCompletion:" + TransactionSynchronization.STATUS_COMMITTED, events.get(1));
+	}
+
+}
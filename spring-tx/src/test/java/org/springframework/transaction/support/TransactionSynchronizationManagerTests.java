@@ -0,0 +1,164 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.support;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests for {@link TransactionSynchronizationManager}.
+ */
+public class TransactionSynchronizationManagerTests {
+
+	@After
+	public void verifyCleanState() {
+		assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+		assertFalse(TransactionSynchronizationManager.isSynchronizationActive());
+		assertNull(TransactionSynchronizationManager.getCurrentTransactionName());
+		assertFalse(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+		assertNull(TransactionSynchronizationManager.getCurrentTransactionIsolationLevel());
+		assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+	}
+
+
+	@Test
+	public void bindAndUnbindResources() {
+		Object[] keys = new Object[5];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = "key" + i;
+			TransactionSynchronizationManager.bindResource(keys[i], "value" + i);
+		}
+		assertEquals(5, TransactionSynchronizationManager.getResourceMap().size());
+
+		assertEquals("value2", TransactionSynchronizationManager.unbindResource(keys[2]));
+		assertFalse(TransactionSynchronizationManager.hasResource(keys[2]));
+		assertNull(TransactionSynchronizationManager.unbindResourceIfPossible(keys[2]));
+		for (int i = 0; i < keys.length; i++) {
+			if (i != 2) {
+				assertEquals("value" + i, TransactionSynchronizationManager.getResource(keys[i]));
+				assertEquals("value" + i, TransactionSynchronizationManager.unbindResource(keys[i]));
+			}
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void bindResourceTwice() {
+		TransactionSynchronizationManager.bindResource("key", "value");
+		try {
+			TransactionSynchronizationManager.bindResource("key", "otherValue");
+		}
+		finally {
+			TransactionSynchronizationManager.unbindResource("key");
+		}
+	}
+
+	@Test
+	public void voidResourceHolderIsRemoved() {
+		ResourceHolderSupport holder = new ResourceHolderSupport() {};
+		TransactionSynchronizationManager.bindResource("key", holder);
+		holder.unbound();
+		assertNull(TransactionSynchronizationManager.getResource("key"));
+		assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+	}
+
+	@Test
+	public void synchronizationsInOrderWithoutDuplicates() {
+		TransactionSynchronization first = new OrderedSynchronization(1);
+		TransactionSynchronization second = new OrderedSynchronization(2);
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			TransactionSynchronizationManager.registerSynchronization(second);
+			TransactionSynchronizationManager.registerSynchronization(first);
+			TransactionSynchronizationManager.registerSynchronization(second);
+
+			List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+			assertEquals(2, synchronizations.size());
+			assertSame(first, synchronizations.get(0));
+			assertSame(second, synchronizations.get(1));
+		}
+		finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		// Reactivated synchronization starts out empty
+		TransactionSynchronizationManager.initSynchronization();
+		assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+		TransactionSynchronizationManager.clearSynchronization();
+	}
+
+	@Test
+	public void manySynchronizationsInRegistrationOrder() {
+		TransactionSynchronization[] synchs = new TransactionSynchronization[1000];
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			for (int i = 0; i < synchs.length; i++) {
+				synchs[i] = new OrderedSynchronization(0);
+				TransactionSynchronizationManager.registerSynchronization(synchs[i]);
+				TransactionSynchronizationManager.registerSynchronization(synchs[i]);
+			}
+
+			List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+			assertEquals(synchs.length, synchronizations.size());
+			for (int i = 0; i < synchs.length; i++) {
+				assertSame(synchs[i], synchronizations.get(i));
+			}
+		}
+		finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	public void transactionCharacteristics() {
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setCurrentTransactionName("tx");
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		TransactionSynchronizationManager.setCurrentTransactionIsolationLevel(2);
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		TransactionSynchronizationManager.bindResource("key", "value");
+
+		assertEquals("tx", TransactionSynchronizationManager.getCurrentTransactionName());
+		assertTrue(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+		assertEquals(Integer.valueOf(2), TransactionSynchronizationManager.getCurrentTransactionIsolationLevel());
+		assertTrue(TransactionSynchronizationManager.isActualTransactionActive());
+
+		TransactionSynchronizationManager.clear();
+		assertFalse(TransactionSynchronizationManager.isSynchronizationActive());
+		assertNull(TransactionSynchronizationManager.getCurrentTransactionName());
+		assertEquals("value", TransactionSynchronizationManager.unbindResource("key"));
+	}
+
+
+	private static class OrderedSynchronization extends TransactionSynchronizationAdapter {
+
+		private final int order;
+
+		OrderedSynchronization(int order) {
+			this.order = order;
+		}
+
+		@Override
+		public int getOrder() {
+			return this.order;
+		}
+	}
+
+}
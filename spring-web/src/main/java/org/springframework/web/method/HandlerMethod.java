@@ -77,6 +77,8 @@ public class HandlerMethod {
 
 	private final MethodParameter[] parameters;
 
+	private final HandlerMethodInvoker invoker;
+
 	@Nullable
 	private HttpStatus responseStatus;
 
@@ -102,6 +104,7 @@ public class HandlerMethod {
 		this.method = method;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
 		this.parameters = initMethodParameters();
+		this.invoker = HandlerMethodInvoker.forMethod(this.beanType, this.bridgedMethod);
 		evaluateResponseStatus();
 	}
 
@@ -118,6 +121,7 @@ public class HandlerMethod {
 		this.method = bean.getClass().getMethod(methodName, parameterTypes);
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(this.method);
 		this.parameters = initMethodParameters();
+		this.invoker = HandlerMethodInvoker.forMethod(this.beanType, this.bridgedMethod);
 		evaluateResponseStatus();
 	}
 
@@ -140,6 +144,7 @@ public class HandlerMethod {
 		this.method = method;
 		this.bridgedMethod = BridgeMethodResolver.findBridgedMethod(method);
 		this.parameters = initMethodParameters();
+		this.invoker = HandlerMethodInvoker.forMethod(this.beanType, this.bridgedMethod);
 		evaluateResponseStatus();
 	}
 
@@ -154,6 +159,7 @@ public class HandlerMethod {
 		this.method = handlerMethod.method;
 		this.bridgedMethod = handlerMethod.bridgedMethod;
 		this.parameters = handlerMethod.parameters;
+		this.invoker = handlerMethod.invoker;
 		this.responseStatus = handlerMethod.responseStatus;
 		this.responseStatusReason = handlerMethod.responseStatusReason;
 		this.resolvedFromHandlerMethod = handlerMethod.resolvedFromHandlerMethod;
@@ -171,6 +177,7 @@ public class HandlerMethod {
 		this.method = handlerMethod.method;
 		this.bridgedMethod = handlerMethod.bridgedMethod;
 		this.parameters = handlerMethod.parameters;
+		this.invoker = handlerMethod.invoker;
 		this.responseStatus = handlerMethod.responseStatus;
 		this.responseStatusReason = handlerMethod.responseStatusReason;
 		this.resolvedFromHandlerMethod = handlerMethod;
@@ -237,6 +244,15 @@ public class HandlerMethod {
 		return this.parameters;
 	}
 
+	/**
+	 * Return the invoker for the bridged method, shared across all handler
+	 * methods for the same bean type and method.
+	 * @since 5.1.15
+	 */
+	protected HandlerMethodInvoker getInvoker() {
+		return this.invoker;
+	}
+
 	/**
 	 * Return the specified response status, if any.
 	 * @since 4.3.8
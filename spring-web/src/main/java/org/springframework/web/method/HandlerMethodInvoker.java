@@ -0,0 +1,249 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.method;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.MethodClassKey;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Invocation plan for a handler method, shared by all {@link HandlerMethod}
+ * instances for the same bean type and {@link Method}: invokes the method through a
+ * {@link MethodHandle} adapted to a generic {@code (Object, Object[])Object}
+ * signature instead of through reflection, and keeps the argument resolvers
+ * resolved for the method's parameters.
+ *
+ * <p>{@link #invoke} follows the contract of {@link Method#invoke}, throwing
+ * {@link IllegalArgumentException} for unsuitable target or argument values
+ * and {@link InvocationTargetException} for exceptions thrown by the method.
+ *
+ * @since 5.1.15
+ * @see HandlerMethod#getInvoker()
+ */
+public final class HandlerMethodInvoker {
+
+	private static final Map<MethodClassKey, HandlerMethodInvoker> invokerCache = new ConcurrentReferenceHashMap<>(256);
+
+	/**
+	 * Primitive types that each wrapper type converts to through unboxing
+	 * followed by a widening primitive conversion, as applied by {@link Method#invoke}.
+	 */
+	private static final Map<Class<?>, List<Class<?>>> wideningTargets = new HashMap<>(8);
+
+	static {
+		wideningTargets.put(Byte.class, Arrays.asList(short.class, int.class, long.class, float.class, double.class));
+		wideningTargets.put(Short.class, Arrays.asList(int.class, long.class, float.class, double.class));
+		wideningTargets.put(Character.class, Arrays.asList(int.class, long.class, float.class, double.class));
+		wideningTargets.put(Integer.class, Arrays.asList(long.class, float.class, double.class));
+		wideningTargets.put(Long.class, Arrays.asList(float.class, double.class));
+		wideningTargets.put(Float.class, Arrays.asList(double.class));
+	}
+
+
+	private final Method method;
+
+	private final Class<?>[] parameterTypes;
+
+	private final boolean staticMethod;
+
+	@Nullable
+	private volatile MethodHandle methodHandle;
+
+	@Nullable
+	private volatile ArgumentResolvers argumentResolvers;
+
+
+	private HandlerMethodInvoker(Method method) {
+		this.method = method;
+		this.parameterTypes = method.getParameterTypes();
+		this.staticMethod = Modifier.isStatic(method.getModifiers());
+	}
+
+
+	/**
+	 * Return the shared invoker for the given method.
+	 * @param beanType the type of the handler, which determines the resolution
+	 * of generic method parameters
+	 * @param method the (bridged) handler method
+	 */
+	public static HandlerMethodInvoker forMethod(Class<?> beanType, Method method) {
+		Assert.notNull(beanType, "Bean type must not be null");
+		Assert.notNull(method, "Method must not be null");
+		return invokerCache.computeIfAbsent(new MethodClassKey(method, beanType), key -> new HandlerMethodInvoker(method));
+	}
+
+
+	/**
+	 * Return the method invoked by this invoker.
+	 */
+	public Method getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Invoke the method on the given target with the given arguments.
+	 * @param target the target instance (ignored for static methods)
+	 * @param args the argument values
+	 * @return the return value of the method, or {@code null} for {@code void}
+	 * @throws IllegalArgumentException if the target or the arguments do not
+	 * fit the method signature
+	 * @throws InvocationTargetException if the method threw an exception
+	 * @see Method#invoke
+	 */
+	@Nullable
+	public Object invoke(@Nullable Object target, Object... args) throws InvocationTargetException {
+		MethodHandle methodHandle = obtainMethodHandle();
+		if (methodHandle == null) {
+			return invokeReflectively(target, args);
+		}
+		checkInvocation(target, args);
+		try {
+			return (Object) methodHandle.invokeExact(target, args);
+		}
+		catch (Throwable ex) {
+			throw new InvocationTargetException(ex);
+		}
+	}
+
+	@Nullable
+	private MethodHandle obtainMethodHandle() {
+		MethodHandle methodHandle = this.methodHandle;
+		if (methodHandle == null) {
+			try {
+				ReflectionUtils.makeAccessible(this.method);
+				methodHandle = MethodHandles.lookup().unreflect(this.method).asFixedArity();
+				if (this.staticMethod) {
+					methodHandle = MethodHandles.dropArguments(methodHandle, 0, Object.class);
+				}
+				methodHandle = methodHandle.asType(MethodType.genericMethodType(this.parameterTypes.length + 1))
+						.asSpreader(Object[].class, this.parameterTypes.length);
+				this.methodHandle = methodHandle;
+			}
+			catch (IllegalAccessException | SecurityException ex) {
+				// Fall back to reflective invocation
+				return null;
+			}
+		}
+		return methodHandle;
+	}
+
+	/**
+	 * Apply the same checks as {@link Method#invoke}, since a failed conversion
+	 * within the MethodHandle would not be distinguishable from an exception
+	 * thrown by the method itself.
+	 */
+	private void checkInvocation(@Nullable Object target, Object[] args) {
+		if (!this.staticMethod && !this.method.getDeclaringClass().isInstance(target)) {
+			throw (target == null ? new NullPointerException() :
+					new IllegalArgumentException("object is not an instance of declaring class"));
+		}
+		if (args.length != this.parameterTypes.length) {
+			throw new IllegalArgumentException("wrong number of arguments");
+		}
+		for (int i = 0; i < args.length; i++) {
+			Class<?> parameterType = this.parameterTypes[i];
+			Object arg = args[i];
+			if (arg == null) {
+				if (parameterType.isPrimitive()) {
+					throw new IllegalArgumentException();
+				}
+			}
+			else if (!ClassUtils.isAssignableValue(parameterType, arg) && !isWideningConversion(parameterType, arg)) {
+				throw new IllegalArgumentException("argument type mismatch");
+			}
+		}
+	}
+
+	private static boolean isWideningConversion(Class<?> parameterType, Object arg) {
+		if (!parameterType.isPrimitive()) {
+			return false;
+		}
+		List<Class<?>> targets = wideningTargets.get(arg.getClass());
+		return (targets != null && targets.contains(parameterType));
+	}
+
+	@Nullable
+	private Object invokeReflectively(@Nullable Object target, Object[] args) throws InvocationTargetException {
+		ReflectionUtils.makeAccessible(this.method);
+		try {
+			return this.method.invoke(target, args);
+		}
+		catch (IllegalAccessException ex) {
+			throw new IllegalStateException("Could not access method: " + this.method, ex);
+		}
+	}
+
+
+	/**
+	 * Return the argument resolvers previously {@link #setArgumentResolvers
+	 * stored} for the given source of resolvers, if any.
+	 * @param resolverSource the argument resolver configuration the resolvers
+	 * were derived from (compared by identity)
+	 * @return the resolvers per method parameter, or {@code null} if none
+	 */
+	@Nullable
+	public Object[] getArgumentResolvers(Object resolverSource) {
+		ArgumentResolvers argumentResolvers = this.argumentResolvers;
+		return (argumentResolvers != null && argumentResolvers.source == resolverSource ?
+				argumentResolvers.resolvers : null);
+	}
+
+	/**
+	 * Store the argument resolvers for the method parameters, as derived from
+	 * the given source of resolvers. Only the most recently stored resolvers
+	 * are kept.
+	 * @param resolverSource the argument resolver configuration the resolvers
+	 * were derived from
+	 * @param resolvers the resolvers per method parameter
+	 */
+	public void setArgumentResolvers(Object resolverSource, Object[] resolvers) {
+		this.argumentResolvers = new ArgumentResolvers(resolverSource, resolvers);
+	}
+
+	@Override
+	public String toString() {
+		return "HandlerMethodInvoker for " + this.method.toGenericString();
+	}
+
+
+	private static final class ArgumentResolvers {
+
+		final Object source;
+
+		final Object[] resolvers;
+
+		ArgumentResolvers(Object source, Object[] resolvers) {
+			this.source = source;
+			this.resolvers = resolvers;
+		}
+	}
+
+}
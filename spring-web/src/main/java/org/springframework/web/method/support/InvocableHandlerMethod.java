@@ -25,7 +25,6 @@ import org.springframework.core.MethodParameter;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.support.SessionStatus;
 import org.springframework.web.bind.support.WebDataBinderFactory;
@@ -152,6 +151,7 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			return EMPTY_ARGS;
 		}
 
+		HandlerMethodArgumentResolver[] argumentResolvers = getArgumentResolvers(parameters.length);
 		Object[] args = new Object[parameters.length];
 		for (int i = 0; i < parameters.length; i++) {
 			MethodParameter parameter = parameters[i];
@@ -160,11 +160,16 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			if (args[i] != null) {
 				continue;
 			}
-			if (!this.resolvers.supportsParameter(parameter)) {
-				throw new IllegalStateException(formatArgumentError(parameter, "No suitable resolver"));
+			HandlerMethodArgumentResolver resolver = argumentResolvers[i];
+			if (resolver == null) {
+				resolver = this.resolvers.getArgumentResolver(parameter);
+				if (resolver == null) {
+					throw new IllegalStateException(formatArgumentError(parameter, "No suitable resolver"));
+				}
+				argumentResolvers[i] = resolver;
 			}
 			try {
-				args[i] = this.resolvers.resolveArgument(parameter, mavContainer, request, this.dataBinderFactory);
+				args[i] = resolver.resolveArgument(parameter, mavContainer, request, this.dataBinderFactory);
 			}
 			catch (Exception ex) {
 				// Leave stack trace for later, exception may actually be resolved and handled...
@@ -180,14 +185,28 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		return args;
 	}
 
+	/**
+	 * Return the argument resolvers per method parameter for the configured
+	 * {@link #setHandlerMethodArgumentResolvers resolvers}, shared with other
+	 * instances for the same method and resolvers. Entries are populated as
+	 * parameters get resolved; provided arguments never require a resolver.
+	 */
+	private HandlerMethodArgumentResolver[] getArgumentResolvers(int parameterCount) {
+		Object[] argumentResolvers = getInvoker().getArgumentResolvers(this.resolvers);
+		if (argumentResolvers == null) {
+			argumentResolvers = new HandlerMethodArgumentResolver[parameterCount];
+			getInvoker().setArgumentResolvers(this.resolvers, argumentResolvers);
+		}
+		return (HandlerMethodArgumentResolver[]) argumentResolvers;
+	}
+
 	/**
 	 * Invoke the handler method with the given argument values.
 	 */
 	@Nullable
 	protected Object doInvoke(Object... args) throws Exception {
-		ReflectionUtils.makeAccessible(getBridgedMethod());
 		try {
-			return getBridgedMethod().invoke(getBean(), args);
+			return getInvoker().invoke(getBean(), args);
 		}
 		catch (IllegalArgumentException ex) {
 			assertTargetBean(getBridgedMethod(), getBean(), args);
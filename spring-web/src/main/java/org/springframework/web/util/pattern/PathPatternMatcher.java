@@ -0,0 +1,261 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+
+/**
+ * {@link PathMatcher} implementation that matches with {@link PathPattern}
+ * instances parsed once per pattern String by a {@link PathPatternParser},
+ * as an alternative to {@link org.springframework.util.AntPathMatcher} for
+ * URL path matching, e.g. in Spring MVC handler mappings and interceptors.
+ *
+ * <p>Patterns must follow the {@link PathPattern} syntax, which differs from
+ * {@code AntPathMatcher} mainly in that "**" and "{*name}" are only supported
+ * at the end of a pattern. Paths are expected in the form of request lookup
+ * paths. Callers matching the same path against several patterns may parse
+ * it once via {@link #parsePath} and use {@link #match(String, PathContainer)}.
+ *
+ * <p>Variants of a pattern ending with "{*name}" that append a trailing "/"
+ * or ".*", as derived by Spring MVC for trailing slash and suffix pattern
+ * matching, cannot be parsed; such variants do not match any path, while the
+ * original pattern already matches all paths that they would match.
+ *
+ * <p>{@link #matchStart} has no equivalent on {@link PathPattern} and is
+ * therefore evaluated per path segment, based on the parsed form of each
+ * pattern segment.
+ *
+ * @since 5.1.15
+ * @see PathPattern
+ * @see PathPatternParser
+ */
+public class PathPatternMatcher implements PathMatcher {
+
+	private final PathPatternParser parser;
+
+	private final Map<String, PathPattern> patternCache = new ConcurrentReferenceHashMap<>(256);
+
+	private final Map<String, Boolean> captureTheRestVariants = new ConcurrentReferenceHashMap<>(16);
+
+
+	/**
+	 * Create a new {@code PathPatternMatcher} with a default {@link PathPatternParser}.
+	 */
+	public PathPatternMatcher() {
+		this(new PathPatternParser());
+	}
+
+	/**
+	 * Create a new {@code PathPatternMatcher} with the given parser.
+	 * @param parser the parser to use for patterns
+	 */
+	public PathPatternMatcher(PathPatternParser parser) {
+		Assert.notNull(parser, "PathPatternParser must not be null");
+		this.parser = parser;
+	}
+
+
+	/**
+	 * Return the parser used for patterns.
+	 */
+	public PathPatternParser getParser() {
+		return this.parser;
+	}
+
+	/**
+	 * Return the parsed form of the given pattern.
+	 * @param pattern the pattern String
+	 * @throws PatternParseException if the pattern is not a valid {@link PathPattern}
+	 */
+	public PathPattern getPathPattern(String pattern) {
+		PathPattern pathPattern = this.patternCache.get(pattern);
+		if (pathPattern == null) {
+			pathPattern = this.parser.parse(pattern);
+			this.patternCache.put(pattern, pathPattern);
+		}
+		return pathPattern;
+	}
+
+	/**
+	 * Parse the given path, escaping '%' so that segments are matched as-is
+	 * rather than URL-decoded, consistent with {@code AntPathMatcher}.
+	 * @param path the path to parse
+	 * @return the parsed path, to be passed to {@link #match(String, PathContainer)}
+	 */
+	public PathContainer parsePath(String path) {
+		String escapedPath = (path.indexOf('%') != -1 ? StringUtils.replace(path, "%", "%25") : path);
+		return PathContainer.parsePath(escapedPath);
+	}
+
+	/**
+	 * Match the given path, previously parsed via {@link #parsePath},
+	 * against the given pattern.
+	 * @param pattern the pattern to match against
+	 * @param path the parsed path to test
+	 * @return {@code true} if the supplied path matched, {@code false} if it didn't
+	 */
+	public boolean match(String pattern, PathContainer path) {
+		PathPattern pathPattern = getMatchablePathPattern(pattern);
+		return (pathPattern != null && pathPattern.matches(path));
+	}
+
+	/**
+	 * Return the parsed form of the given pattern, or {@code null} for a
+	 * "{*name}" variant that cannot be parsed and therefore matches no path.
+	 */
+	@Nullable
+	private PathPattern getMatchablePathPattern(String pattern) {
+		if (this.captureTheRestVariants.containsKey(pattern)) {
+			return null;
+		}
+		try {
+			return getPathPattern(pattern);
+		}
+		catch (PatternParseException ex) {
+			if (!isCaptureTheRestVariant(pattern)) {
+				throw ex;
+			}
+			this.captureTheRestVariants.put(pattern, Boolean.TRUE);
+			return null;
+		}
+	}
+
+	private boolean isCaptureTheRestVariant(String pattern) {
+		String original;
+		if (pattern.endsWith("/")) {
+			original = pattern.substring(0, pattern.length() - 1);
+		}
+		else if (pattern.endsWith(".*")) {
+			original = pattern.substring(0, pattern.length() - 2);
+		}
+		else {
+			return false;
+		}
+		int index = original.lastIndexOf("{*");
+		return (original.endsWith("}") && index != -1 && original.indexOf('/', index) == -1);
+	}
+
+
+	@Override
+	public boolean isPattern(String path) {
+		boolean uriVar = false;
+		for (int i = 0; i < path.length(); i++) {
+			char c = path.charAt(i);
+			if (c == '*' || c == '?') {
+				return true;
+			}
+			if (c == '{') {
+				uriVar = true;
+				continue;
+			}
+			if (c == '}' && uriVar) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public boolean match(String pattern, String path) {
+		return match(pattern, parsePath(path));
+	}
+
+	/**
+	 * Match the given path against the leading segments of the given pattern,
+	 * i.e. determine whether the path could be the start of a path matching
+	 * the pattern, consistent with {@code AntPathMatcher}.
+	 * <p>Each path segment is matched against the corresponding pattern segment
+	 * on its own; a trailing "**" or "{*name}" matches any remaining segments.
+	 */
+	@Override
+	public boolean matchStart(String pattern, String path) {
+		if (getMatchablePathPattern(pattern) == null || pattern.startsWith("/") != path.startsWith("/")) {
+			return false;
+		}
+		String[] patternSegments = StringUtils.tokenizeToStringArray(pattern, "/", false, true);
+		String[] pathSegments = StringUtils.tokenizeToStringArray(path, "/", false, true);
+		for (int i = 0; i < patternSegments.length; i++) {
+			String patternSegment = patternSegments[i];
+			if (patternSegment.equals("**") || patternSegment.startsWith("{*")) {
+				return true;
+			}
+			if (i == pathSegments.length) {
+				// Remaining pattern segments may match further path segments
+				return true;
+			}
+			if (!getPathPattern("/" + patternSegment).matches(parsePath("/" + pathSegments[i]))) {
+				return false;
+			}
+		}
+		return (pathSegments.length == patternSegments.length);
+	}
+
+	@Override
+	public String extractPathWithinPattern(String pattern, String path) {
+		String pathWithinPattern = getPathPattern(pattern).extractPathWithinPattern(parsePath(path)).value();
+		return StringUtils.replace(pathWithinPattern, "%25", "%");
+	}
+
+	@Override
+	public Map<String, String> extractUriTemplateVariables(String pattern, String path) {
+		PathPattern.PathMatchInfo info = getPathPattern(pattern).matchAndExtract(parsePath(path));
+		if (info == null) {
+			throw new IllegalStateException("Pattern \"" + pattern + "\" is not a match for \"" + path + "\"");
+		}
+		return new LinkedHashMap<>(info.getUriVariables());
+	}
+
+	/**
+	 * Return a comparator that sorts an exact match of the given path first,
+	 * followed by patterns in the order of {@link PathPattern#SPECIFICITY_COMPARATOR}.
+	 */
+	@Override
+	public Comparator<String> getPatternComparator(String path) {
+		return (pattern1, pattern2) -> {
+			if (pattern1 == null || pattern2 == null) {
+				return (pattern1 == null ? (pattern2 == null ? 0 : 1) : -1);
+			}
+			boolean pattern1EqualsPath = pattern1.equals(path);
+			boolean pattern2EqualsPath = pattern2.equals(path);
+			if (pattern1EqualsPath || pattern2EqualsPath) {
+				return (pattern1EqualsPath ? (pattern2EqualsPath ? 0 : -1) : 1);
+			}
+			return PathPattern.SPECIFICITY_COMPARATOR.compare(getPathPattern(pattern1), getPathPattern(pattern2));
+		};
+	}
+
+	@Override
+	public String combine(String pattern1, String pattern2) {
+		if (!StringUtils.hasText(pattern1)) {
+			return (StringUtils.hasText(pattern2) ? pattern2 : "");
+		}
+		if (!StringUtils.hasText(pattern2)) {
+			return pattern1;
+		}
+		return getPathPattern(pattern1).combine(getPathPattern(pattern2)).getPatternString();
+	}
+
+}
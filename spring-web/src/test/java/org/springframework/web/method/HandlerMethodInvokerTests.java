@@ -0,0 +1,171 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.method;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.junit.Test;
+
+import org.springframework.util.ReflectionUtils;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link HandlerMethodInvoker}.
+ */
+public class HandlerMethodInvokerTests {
+
+	private final Handler handler = new Handler();
+
+
+	@Test
+	public void invoke() throws Exception {
+		HandlerMethodInvoker invoker = invoker("handle", Integer.class, String.class);
+		assertEquals("1-a", invoker.invoke(this.handler, 1, "a"));
+		assertEquals("null-null", invoker.invoke(this.handler, null, null));
+	}
+
+	@Test
+	public void invokeWithPrimitiveParameterAndVoidReturnType() throws Exception {
+		HandlerMethodInvoker invoker = invoker("increment", int.class);
+		assertNull(invoker.invoke(this.handler, 5));
+		assertEquals(5, this.handler.count);
+	}
+
+	@Test
+	public void invokeWithWideningPrimitiveConversion() throws Exception {
+		HandlerMethodInvoker invoker = invoker("add", long.class);
+		assertEquals(5L, invoker.invoke(this.handler, 5));
+		assertEquals(7L, invoker.invoke(this.handler, (short) 2));
+		assertEquals(104L, invoker.invoke(this.handler, 'a'));
+		assertIllegalArgument(invoker, this.handler, "argument type mismatch", 1.5f);
+		assertIllegalArgument(invoker("increment", int.class), this.handler, "argument type mismatch", 5L);
+	}
+
+	@Test
+	public void invokePrivateMethod() throws Exception {
+		assertEquals("private", invoker("privateHandle").invoke(this.handler));
+	}
+
+	@Test
+	public void invokeStaticMethod() throws Exception {
+		assertEquals("static-x", invoker("staticHandle", String.class).invoke(null, "x"));
+	}
+
+	@Test
+	public void invokeWithException() throws Exception {
+		try {
+			invoker("fail").invoke(this.handler);
+			fail("Expected InvocationTargetException");
+		}
+		catch (InvocationTargetException ex) {
+			assertTrue(ex.getTargetException() instanceof IOException);
+		}
+	}
+
+	@Test
+	public void invokeWithInvalidArguments() throws Exception {
+		HandlerMethodInvoker invoker = invoker("handle", Integer.class, String.class);
+		assertIllegalArgument(invoker, this.handler, "argument type mismatch", "a", "b");
+		assertIllegalArgument(invoker, this.handler, "wrong number of arguments", 1);
+		assertIllegalArgument(invoker, new Object(), "object is not an instance of declaring class", 1, "a");
+		assertIllegalArgument(invoker("increment", int.class), this.handler, null, (Object) null);
+	}
+
+	@Test
+	public void invokerSharedPerBeanTypeAndMethod() throws Exception {
+		Method method = Handler.class.getMethod("handle", Integer.class, String.class);
+		assertSame(invoker("handle", Integer.class, String.class), HandlerMethodInvoker.forMethod(Handler.class, method));
+		assertNotSame(HandlerMethodInvoker.forMethod(Handler.class, method),
+				HandlerMethodInvoker.forMethod(SubHandler.class, method));
+		assertSame(HandlerMethodInvoker.forMethod(Handler.class, method),
+				new HandlerMethod(this.handler, method).getInvoker());
+	}
+
+	@Test
+	public void argumentResolvers() throws Exception {
+		HandlerMethodInvoker invoker = HandlerMethodInvoker.forMethod(SubHandler.class,
+				Handler.class.getMethod("handle", Integer.class, String.class));
+		Object source = new Object();
+		Object[] resolvers = new Object[2];
+		assertNull(invoker.getArgumentResolvers(source));
+
+		invoker.setArgumentResolvers(source, resolvers);
+		assertSame(resolvers, invoker.getArgumentResolvers(source));
+		assertNull(invoker.getArgumentResolvers(new Object()));
+	}
+
+
+	private static HandlerMethodInvoker invoker(String methodName, Class<?>... parameterTypes) {
+		Method method = ReflectionUtils.findMethod(Handler.class, methodName, parameterTypes);
+		assertNotNull(method);
+		return HandlerMethodInvoker.forMethod(Handler.class, method);
+	}
+
+	private static void assertIllegalArgument(HandlerMethodInvoker invoker, Object target, String message,
+			Object... args) throws Exception {
+
+		try {
+			invoker.invoke(target, args);
+			fail("Expected IllegalArgumentException");
+		}
+		catch (IllegalArgumentException ex) {
+			assertEquals(message, ex.getMessage());
+		}
+	}
+
+
+	@SuppressWarnings("unused")
+	private static class Handler {
+
+		int count;
+
+		long total;
+
+		public String handle(Integer intArg, String stringArg) {
+			return intArg + "-" + stringArg;
+		}
+
+		public void increment(int amount) {
+			this.count += amount;
+		}
+
+		public long add(long amount) {
+			this.total += amount;
+			return this.total;
+		}
+
+		private String privateHandle() {
+			return "private";
+		}
+
+		public static String staticHandle(String arg) {
+			return "static-" + arg;
+		}
+
+		public void fail() throws IOException {
+			throw new IOException("error");
+		}
+	}
+
+
+	private static class SubHandler extends Handler {
+	}
+
+}
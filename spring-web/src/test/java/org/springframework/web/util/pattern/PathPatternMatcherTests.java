@@ -0,0 +1,136 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import org.springframework.http.server.PathContainer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PathPatternMatcher}.
+ */
+public class PathPatternMatcherTests {
+
+	private final PathPatternMatcher matcher = new PathPatternMatcher();
+
+
+	@Test
+	public void isPattern() {
+		assertTrue(this.matcher.isPattern("/users/*"));
+		assertTrue(this.matcher.isPattern("/users/{id}"));
+		assertTrue(this.matcher.isPattern("/users/**"));
+		assertFalse(this.matcher.isPattern("/users"));
+		assertFalse(this.matcher.isPattern("/users/{"));
+	}
+
+	@Test
+	public void match() {
+		assertTrue(this.matcher.match("/users/{id}", "/users/42"));
+		assertTrue(this.matcher.match("/users/{id}", "/users/42/"));
+		assertTrue(this.matcher.match("/resources/**", "/resources/css/main.css"));
+		assertTrue(this.matcher.match("/resources/{*path}", "/resources/css/main.css"));
+		assertTrue(this.matcher.match("/users.*", "/users.json"));
+		assertTrue(this.matcher.match("/files/{name}", "/files/100%"));
+		assertFalse(this.matcher.match("/users/{id}", "/users/42/orders"));
+		assertFalse(this.matcher.match("/users/{id}", "/Users/42"));
+	}
+
+	@Test
+	public void matchParsedPath() {
+		PathContainer path = this.matcher.parsePath("/files/100%");
+		assertTrue(this.matcher.match("/files/{name}", path));
+		assertTrue(this.matcher.match("/files/*", path));
+		assertFalse(this.matcher.match("/users/{id}", path));
+	}
+
+	@Test(expected = PatternParseException.class)
+	public void matchWithUnsupportedPattern() {
+		this.matcher.match("/{*path}/users", "/api/users");
+	}
+
+	@Test
+	public void matchWithCaptureTheRestVariant() {
+		assertFalse(this.matcher.match("/resources/{*path}/", "/resources/css/"));
+		assertFalse(this.matcher.match("/resources/{*path}.*", "/resources/main.css"));
+		assertFalse(this.matcher.match("/resources/{*path}/", "/resources/css/"));
+		assertTrue(this.matcher.match("/resources/{*path}", "/resources/css/"));
+	}
+
+	@Test
+	public void matchStart() {
+		assertTrue(this.matcher.matchStart("/users/**", "/users"));
+		assertTrue(this.matcher.matchStart("/users/**", "/users/42/orders"));
+		assertTrue(this.matcher.matchStart("/users/{id}/orders", "/users/42"));
+		assertTrue(this.matcher.matchStart("/users/{id}/orders", "/users/42/"));
+		assertTrue(this.matcher.matchStart("/users/{id}/orders", "/users/42/orders"));
+		assertTrue(this.matcher.matchStart("/resources/{*path}", "/resources/css/main.css"));
+		assertTrue(this.matcher.matchStart("/files/*.txt", "/files"));
+		assertFalse(this.matcher.matchStart("/users/{id}/orders", "/accounts/42"));
+		assertFalse(this.matcher.matchStart("/users/{id}/orders", "/users/42/orders/100"));
+		assertFalse(this.matcher.matchStart("/users/{id}", "users/42"));
+		assertFalse(this.matcher.matchStart("/resources/{*path}/", "/resources/css"));
+	}
+
+	@Test
+	public void extractPathWithinPattern() {
+		assertEquals("css/main.css", this.matcher.extractPathWithinPattern("/resources/**", "/resources/css/main.css"));
+		assertEquals("100%.txt", this.matcher.extractPathWithinPattern("/files/*", "/files/100%.txt"));
+		assertEquals("", this.matcher.extractPathWithinPattern("/resources", "/resources"));
+	}
+
+	@Test
+	public void extractUriTemplateVariables() {
+		Map<String, String> variables = this.matcher.extractUriTemplateVariables("/users/{id}/orders/{order}", "/users/42/orders/100%");
+		assertEquals("42", variables.get("id"));
+		assertEquals("100%", variables.get("order"));
+
+		variables.put("other", "value");
+		assertEquals(Collections.singletonMap("id", "42"), this.matcher.extractUriTemplateVariables("/users/{id}", "/users/42"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void extractUriTemplateVariablesWithoutMatch() {
+		this.matcher.extractUriTemplateVariables("/users/{id}", "/orders/42");
+	}
+
+	@Test
+	public void patternComparator() {
+		List<String> patterns = new ArrayList<>(Arrays.asList(null, "/**", "/users/{id}", "/users/new", "/users/*"));
+		patterns.sort(this.matcher.getPatternComparator("/users/new"));
+		assertEquals(Arrays.asList("/users/new", "/users/{id}", "/users/*", "/**", null), patterns);
+
+		assertEquals(0, this.matcher.getPatternComparator("/users/42").compare("/users/{id}", "/users/{name}"));
+	}
+
+	@Test
+	public void combine() {
+		assertEquals("", this.matcher.combine(null, ""));
+		assertEquals("/users", this.matcher.combine("", "/users"));
+		assertEquals("/users", this.matcher.combine("/users", null));
+		assertEquals("/users/{id}", this.matcher.combine("/users", "{id}"));
+		assertEquals("/users/new", this.matcher.combine("/users/*", "/new"));
+	}
+
+}
@@ -35,7 +35,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.reactive.BindingContext;
 import org.springframework.web.reactive.HandlerResult;
@@ -59,6 +58,9 @@ public class InvocableHandlerMethod extends HandlerMethod {
 
 	private HandlerMethodArgumentResolverComposite resolvers = new HandlerMethodArgumentResolverComposite();
 
+	@Nullable
+	private List<HandlerMethodArgumentResolver> resolverSource;
+
 	private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
 
 	private ReactiveAdapterRegistry reactiveAdapterRegistry = ReactiveAdapterRegistry.getSharedInstance();
@@ -84,6 +86,8 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 * argument values against a {@code ServerWebExchange}.
 	 */
 	public void setArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+		// Resolvers per parameter can only be shared for a single given list
+		this.resolverSource = (this.resolvers.getResolvers().isEmpty() ? resolvers : null);
 		this.resolvers.addResolvers(resolvers);
 	}
 
@@ -133,8 +137,7 @@ public class InvocableHandlerMethod extends HandlerMethod {
 		return getMethodArgumentValues(exchange, bindingContext, providedArgs).flatMap(args -> {
 			Object value;
 			try {
-				ReflectionUtils.makeAccessible(getBridgedMethod());
-				value = getBridgedMethod().invoke(getBean(), args);
+				value = getInvoker().invoke(getBean(), args);
 			}
 			catch (IllegalArgumentException ex) {
 				assertTargetBean(getBridgedMethod(), getBean(), args);
@@ -174,20 +177,27 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			return EMPTY_ARGS;
 		}
 
+		HandlerMethodArgumentResolver[] argumentResolvers = getArgumentResolvers(parameters.length);
 		List<Mono<Object>> argMonos = new ArrayList<>(parameters.length);
-		for (MethodParameter parameter : parameters) {
+		for (int i = 0; i < parameters.length; i++) {
+			MethodParameter parameter = parameters[i];
 			parameter.initParameterNameDiscovery(this.parameterNameDiscoverer);
 			Object providedArg = findProvidedArgument(parameter, providedArgs);
 			if (providedArg != null) {
 				argMonos.add(Mono.just(providedArg));
 				continue;
 			}
-			if (!this.resolvers.supportsParameter(parameter)) {
-				return Mono.error(new IllegalStateException(
-						formatArgumentError(parameter, "No suitable resolver")));
+			HandlerMethodArgumentResolver resolver = argumentResolvers[i];
+			if (resolver == null) {
+				resolver = this.resolvers.getArgumentResolver(parameter);
+				if (resolver == null) {
+					return Mono.error(new IllegalStateException(
+							formatArgumentError(parameter, "No suitable resolver")));
+				}
+				argumentResolvers[i] = resolver;
 			}
 			try {
-				argMonos.add(this.resolvers.resolveArgument(parameter, bindingContext, exchange)
+				argMonos.add(resolver.resolveArgument(parameter, bindingContext, exchange)
 						.defaultIfEmpty(NO_ARG_VALUE)
 						.doOnError(ex -> logArgumentErrorIfNecessary(exchange, parameter, ex)));
 			}
@@ -200,6 +210,24 @@ public class InvocableHandlerMethod extends HandlerMethod {
 				Stream.of(values).map(value -> value != NO_ARG_VALUE ? value : null).toArray());
 	}
 
+	/**
+	 * Return the argument resolvers per method parameter, shared with other
+	 * instances for the same method and list of resolvers. Entries are
+	 * populated as parameters get resolved.
+	 */
+	private HandlerMethodArgumentResolver[] getArgumentResolvers(int parameterCount) {
+		List<HandlerMethodArgumentResolver> resolverSource = this.resolverSource;
+		if (resolverSource == null) {
+			return new HandlerMethodArgumentResolver[parameterCount];
+		}
+		Object[] argumentResolvers = getInvoker().getArgumentResolvers(resolverSource);
+		if (argumentResolvers == null) {
+			argumentResolvers = new HandlerMethodArgumentResolver[parameterCount];
+			getInvoker().setArgumentResolvers(resolverSource, argumentResolvers);
+		}
+		return (HandlerMethodArgumentResolver[]) argumentResolvers;
+	}
+
 	private void logArgumentErrorIfNecessary(ServerWebExchange exchange, MethodParameter parameter, Throwable ex) {
 		// Leave stack trace for later, if error is not handled...
 		String exMsg = ex.getMessage();
@@ -935,7 +935,10 @@ public class DispatcherServlet extends FrameworkServlet {
 			if (inputFlashMap != null) {
 				request.setAttribute(INPUT_FLASH_MAP_ATTRIBUTE, Collections.unmodifiableMap(inputFlashMap));
 			}
-			request.setAttribute(OUTPUT_FLASH_MAP_ATTRIBUTE, new FlashMap());
+			// The output FlashMap is created on first access, see RequestContextUtils.getOutputFlashMap
+			if (request.getAttribute(OUTPUT_FLASH_MAP_ATTRIBUTE) != null) {
+				request.setAttribute(OUTPUT_FLASH_MAP_ATTRIBUTE, new FlashMap());
+			}
 			request.setAttribute(FLASH_MAP_MANAGER_ATTRIBUTE, this.flashMapManager);
 		}
 
@@ -226,6 +226,9 @@ public abstract class FrameworkServlet extends HttpServletBean implements Applic
 	/** Monitor for synchronized onRefresh execution. */
 	private final Object onRefreshMonitor = new Object();
 
+	/** Interceptor binding the request to async threads, shared across requests. */
+	private final RequestBindingInterceptor requestBindingInterceptor = new RequestBindingInterceptor();
+
 
 	/**
 	 * Create a new {@code FrameworkServlet} that will create its own internal web
@@ -998,7 +1001,7 @@ public abstract class FrameworkServlet extends HttpServletBean implements Applic
 		ServletRequestAttributes requestAttributes = buildRequestAttributes(request, response, previousAttributes);
 
 		WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
-		asyncManager.registerCallableInterceptor(FrameworkServlet.class.getName(), new RequestBindingInterceptor());
+		asyncManager.registerCallableInterceptor(FrameworkServlet.class.getName(), this.requestBindingInterceptor);
 
 		initContextHolders(request, localeContext, requestAttributes);
 
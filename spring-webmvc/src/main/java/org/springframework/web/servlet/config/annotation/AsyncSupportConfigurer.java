@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.function.Predicate;
 
 import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
@@ -28,6 +29,7 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.context.request.async.CallableProcessingInterceptor;
 import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
 
 /**
  * Helps with configuring options for asynchronous request processing.
@@ -43,6 +45,11 @@ public class AsyncSupportConfigurer {
 	@Nullable
 	private Long timeout;
 
+	private boolean useVirtualThreads;
+
+	@Nullable
+	private Predicate<HandlerMethod> blockingHandlerPredicate;
+
 	private final List<CallableProcessingInterceptor> callableInterceptors = new ArrayList<>();
 
 	private final List<DeferredResultProcessingInterceptor> deferredResultInterceptors = new ArrayList<>();
@@ -65,6 +72,30 @@ public class AsyncSupportConfigurer {
 		return this;
 	}
 
+	/**
+	 * Use virtual threads on Java 21+ for the default task executor, falling
+	 * back on a bounded thread pool on earlier runtimes. Only applies when no
+	 * explicit {@link #setTaskExecutor task executor} is configured.
+	 * @since 5.1.15
+	 * @see org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter#setUseVirtualThreads
+	 */
+	public AsyncSupportConfigurer setUseVirtualThreads(boolean useVirtualThreads) {
+		this.useVirtualThreads = useVirtualThreads;
+		return this;
+	}
+
+	/**
+	 * Configure a predicate for handler methods that block and should be
+	 * invoked through the task executor instead of on the Servlet container
+	 * thread, e.g. {@code handlerMethod -> handlerMethod.hasMethodAnnotation(Blocking.class)}.
+	 * @since 5.1.15
+	 * @see org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter#setBlockingHandlerPredicate
+	 */
+	public AsyncSupportConfigurer setBlockingHandlerPredicate(Predicate<HandlerMethod> predicate) {
+		this.blockingHandlerPredicate = predicate;
+		return this;
+	}
+
 	/**
 	 * Specify the amount of time, in milliseconds, before asynchronous request
 	 * handling times out. In Servlet 3, the timeout begins after the main request
@@ -113,6 +144,15 @@ public class AsyncSupportConfigurer {
 		return this.timeout;
 	}
 
+	protected boolean isUseVirtualThreads() {
+		return this.useVirtualThreads;
+	}
+
+	@Nullable
+	protected Predicate<HandlerMethod> getBlockingHandlerPredicate() {
+		return this.blockingHandlerPredicate;
+	}
+
 	protected List<CallableProcessingInterceptor> getCallableInterceptors() {
 		return this.callableInterceptors;
 	}
@@ -23,6 +23,8 @@ import java.util.function.Predicate;
 import org.springframework.lang.Nullable;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternMatcher;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Helps with configuring HandlerMappings path matching options such as trailing
@@ -117,6 +119,20 @@ public class PathMatchConfigurer {
 		return this;
 	}
 
+	/**
+	 * Match URL paths with {@link org.springframework.web.util.pattern.PathPattern
+	 * PathPatterns} from the given parser instead of with an AntPathMatcher.
+	 * Patterns are parsed once, rather than tokenized on every match.
+	 * <p>This is a shortcut for {@link #setPathMatcher} with a
+	 * {@link PathPatternMatcher}. Note that "**" matches to the end of the
+	 * path only when at the end of a pattern.
+	 * @since 5.1.15
+	 */
+	public PathMatchConfigurer setPatternParser(PathPatternParser patternParser) {
+		this.pathMatcher = new PathPatternMatcher(patternParser);
+		return this;
+	}
+
 	/**
 	 * Configure a path prefix to apply to matching controller methods.
 	 * <p>Prefixes are used to enrich the mappings of every {@code @RequestMapping}
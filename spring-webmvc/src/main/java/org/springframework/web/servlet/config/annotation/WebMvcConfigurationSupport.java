@@ -576,6 +576,10 @@ public class WebMvcConfigurationSupport implements ApplicationContextAware, Serv
 		if (configurer.getTaskExecutor() != null) {
 			adapter.setTaskExecutor(configurer.getTaskExecutor());
 		}
+		adapter.setUseVirtualThreads(configurer.isUseVirtualThreads());
+		if (configurer.getBlockingHandlerPredicate() != null) {
+			adapter.setBlockingHandlerPredicate(configurer.getBlockingHandlerPredicate());
+		}
 		if (configurer.getTimeout() != null) {
 			adapter.setAsyncRequestTimeout(configurer.getTimeout());
 		}
@@ -84,6 +84,10 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 
 	private final List<HandlerInterceptor> adaptedInterceptors = new ArrayList<>();
 
+	/** The adapted interceptors if none of them is mapped to specific paths. */
+	@Nullable
+	private HandlerInterceptor[] unmappedInterceptors;
+
 	private CorsConfigurationSource corsConfigurationSource = new UrlBasedCorsConfigurationSource();
 
 	private CorsProcessor corsProcessor = new DefaultCorsProcessor();
@@ -295,6 +299,9 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		extendInterceptors(this.interceptors);
 		detectMappedInterceptors(this.adaptedInterceptors);
 		initInterceptors();
+		this.unmappedInterceptors = (!this.adaptedInterceptors.isEmpty() &&
+				this.adaptedInterceptors.stream().noneMatch(MappedInterceptor.class::isInstance) ?
+				this.adaptedInterceptors.toArray(new HandlerInterceptor[0]) : null);
 	}
 
 	/**
@@ -473,6 +480,11 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 	 * @see #getAdaptedInterceptors()
 	 */
 	protected HandlerExecutionChain getHandlerExecutionChain(Object handler, HttpServletRequest request) {
+		if (this.unmappedInterceptors != null && !(handler instanceof HandlerExecutionChain)) {
+			// No path matching needed: create the chain without intermediate interceptor List
+			return new HandlerExecutionChain(handler, this.unmappedInterceptors.clone());
+		}
+
 		HandlerExecutionChain chain = (handler instanceof HandlerExecutionChain ?
 				(HandlerExecutionChain) handler : new HandlerExecutionChain(handler));
 
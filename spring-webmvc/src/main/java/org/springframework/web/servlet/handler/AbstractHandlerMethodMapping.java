@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -92,6 +93,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 	private boolean detectHandlerMethodsInAncestorContexts = false;
 
+	private boolean usePathPrefixIndex = false;
+
 	@Nullable
 	private HandlerMethodMappingNamingStrategy<T> namingStrategy;
 
@@ -111,6 +114,21 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		this.detectHandlerMethodsInAncestorContexts = detectHandlerMethodsInAncestorContexts;
 	}
 
+	/**
+	 * Whether to narrow down the mappings to check against a request, when
+	 * there is no direct URL match, to those whose URL patterns start with
+	 * literal segments that the lookup path starts with as well.
+	 * <p>Default is "false": All mappings are checked. Switch this flag on
+	 * for applications with many pattern-based mappings, as long as the
+	 * {@link #setPathMatcher PathMatcher} matches literal "/"-separated segments
+	 * case-sensitively, as the default {@link org.springframework.util.AntPathMatcher} does.
+	 * @since 5.1.15
+	 */
+	public void setUsePathPrefixIndex(boolean usePathPrefixIndex) {
+		this.usePathPrefixIndex = usePathPrefixIndex;
+		this.mappingRegistry.initPathPrefixIndex(usePathPrefixIndex);
+	}
+
 	/**
 	 * Configure the naming strategy to use for assigning a default name to every
 	 * mapped handler method.
@@ -388,8 +406,13 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			if (this.usePathPrefixIndex) {
+				addMatchingMappings(this.mappingRegistry.getMappingsByPathPrefix(lookupPath), matches, request);
+			}
+			else {
+				// No choice but to go through all mappings...
+				addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			}
 		}
 
 		if (!matches.isEmpty()) {
@@ -528,6 +551,9 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<>();
 
+		@Nullable
+		private PathPrefixIndex<T> pathPrefixIndex;
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -551,6 +577,48 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings with URL patterns that start with literal
+		 * segments the given URL path starts with as well, including mappings
+		 * without leading literal segments, or all mappings if the index has
+		 * not been {@link #initPathPrefixIndex enabled}. Not thread-safe.
+		 * @since 5.1.15
+		 * @see #acquireReadLock()
+		 */
+		public Collection<T> getMappingsByPathPrefix(String urlPath) {
+			if (this.pathPrefixIndex == null) {
+				return this.mappingLookup.keySet();
+			}
+			return this.pathPrefixIndex.getCandidates(urlPath);
+		}
+
+		/**
+		 * Build the index of literal path prefixes for all mappings registered
+		 * so far if enabled, or discard it otherwise.
+		 * @since 5.1.15
+		 * @see #getMappingsByPathPrefix
+		 */
+		public void initPathPrefixIndex(boolean enabled) {
+			this.readWriteLock.writeLock().lock();
+			try {
+				if (!enabled) {
+					this.pathPrefixIndex = null;
+				}
+				else if (this.pathPrefixIndex == null) {
+					PathPrefixIndex<T> index = new PathPrefixIndex<>();
+					for (T mapping : this.mappingLookup.keySet()) {
+						for (List<String> prefix : getLiteralPathPrefixes(mapping)) {
+							index.add(prefix, mapping);
+						}
+					}
+					this.pathPrefixIndex = index;
+				}
+			}
+			finally {
+				this.readWriteLock.writeLock().unlock();
+			}
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -592,6 +660,12 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					this.urlLookup.add(url, mapping);
 				}
 
+				if (this.pathPrefixIndex != null) {
+					for (List<String> prefix : getLiteralPathPrefixes(mapping)) {
+						this.pathPrefixIndex.add(prefix, mapping);
+					}
+				}
+
 				String name = null;
 				if (getNamingStrategy() != null) {
 					name = getNamingStrategy().getName(handlerMethod, mapping);
@@ -630,6 +704,18 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return urls;
 		}
 
+		private Set<List<String>> getLiteralPathPrefixes(T mapping) {
+			Set<String> patterns = getMappingPathPatterns(mapping);
+			if (patterns.isEmpty()) {
+				return Collections.singleton(Collections.emptyList());
+			}
+			Set<List<String>> prefixes = new LinkedHashSet<>(patterns.size());
+			for (String pattern : patterns) {
+				prefixes.add(PathPrefixIndex.getLiteralPrefix(pattern, getPathMatcher()));
+			}
+			return prefixes;
+		}
+
 		private void addMappingName(String name, HandlerMethod handlerMethod) {
 			List<HandlerMethod> oldList = this.nameLookup.get(name);
 			if (oldList == null) {
@@ -668,6 +754,12 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 					}
 				}
 
+				if (this.pathPrefixIndex != null) {
+					for (List<String> prefix : getLiteralPathPrefixes(definition.getMapping())) {
+						this.pathPrefixIndex.remove(prefix, definition.getMapping());
+					}
+				}
+
 				removeMappingName(definition);
 
 				this.corsLookup.remove(definition.getHandlerMethod());
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+
+/**
+ * Index of mappings by the literal leading segments of their URL patterns,
+ * organized as a tree with one level per path segment. Narrows the mappings
+ * that could possibly match a lookup path to those registered under one of
+ * the path's leading segment sequences.
+ *
+ * <p>Paths and patterns are split into segments on "/", ignoring empty
+ * segments, consistent with {@link org.springframework.util.AntPathMatcher}.
+ * Not thread-safe: access is guarded by the lock of the mapping registry.
+ *
+ * @since 5.1.15
+ * @param <T> the mapping type
+ * @see AbstractHandlerMethodMapping#setUsePathPrefixIndex
+ */
+final class PathPrefixIndex<T> {
+
+	private final Node<T> root = new Node<>();
+
+
+	/**
+	 * Add a mapping under the given literal leading segments.
+	 * @param segments the literal segments, possibly empty
+	 * @param mapping the mapping to add
+	 */
+	public void add(List<String> segments, T mapping) {
+		Node<T> node = this.root;
+		for (String segment : segments) {
+			node = node.children.computeIfAbsent(segment, key -> new Node<>());
+		}
+		node.mappings.add(mapping);
+	}
+
+	/**
+	 * Remove a mapping previously {@link #add added} under the given segments.
+	 * @param segments the literal segments the mapping was added with
+	 * @param mapping the mapping to remove
+	 */
+	public void remove(List<String> segments, T mapping) {
+		remove(this.root, segments, 0, mapping);
+	}
+
+	private boolean remove(Node<T> node, List<String> segments, int index, T mapping) {
+		if (index == segments.size()) {
+			node.mappings.remove(mapping);
+		}
+		else {
+			Node<T> child = node.children.get(segments.get(index));
+			if (child != null && remove(child, segments, index + 1, mapping)) {
+				node.children.remove(segments.get(index));
+			}
+		}
+		return (node.mappings.isEmpty() && node.children.isEmpty());
+	}
+
+	/**
+	 * Return all mappings added under a leading segment sequence of the given
+	 * path, from the shortest to the longest sequence.
+	 * @param lookupPath the lookup path
+	 */
+	public Collection<T> getCandidates(String lookupPath) {
+		Set<T> candidates = new LinkedHashSet<>(this.root.mappings);
+		Node<T> node = this.root;
+		for (String segment : tokenize(lookupPath)) {
+			node = node.children.get(segment);
+			if (node == null) {
+				break;
+			}
+			candidates.addAll(node.mappings);
+		}
+		return candidates;
+	}
+
+	/**
+	 * Split the given pattern into segments and return the leading segments
+	 * that are literal, i.e. not {@link PathMatcher#isPattern patterns},
+	 * excluding the last segment which may be matched with a suffix or a
+	 * trailing slash.
+	 * @param pattern the URL pattern
+	 * @param pathMatcher the path matcher to check segments with
+	 */
+	public static List<String> getLiteralPrefix(String pattern, PathMatcher pathMatcher) {
+		String[] segments = tokenize(pattern);
+		int count = 0;
+		while (count < segments.length - 1 && !pathMatcher.isPattern(segments[count])) {
+			count++;
+		}
+		return Arrays.asList(segments).subList(0, count);
+	}
+
+	private static String[] tokenize(@Nullable String path) {
+		return StringUtils.tokenizeToStringArray(path, "/", false, true);
+	}
+
+
+	private static class Node<T> {
+
+		final Map<String, Node<T>> children = new HashMap<>(4);
+
+		final List<T> mappings = new ArrayList<>(1);
+	}
+
+}
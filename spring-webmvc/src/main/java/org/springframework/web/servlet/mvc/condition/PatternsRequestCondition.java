@@ -28,11 +28,13 @@ import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.http.server.PathContainer;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.PathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternMatcher;
 
 /**
  * A logical disjunction (' || ') request condition that matches a request
@@ -43,6 +45,9 @@ import org.springframework.web.util.UrlPathHelper;
  */
 public final class PatternsRequestCondition extends AbstractRequestCondition<PatternsRequestCondition> {
 
+	private static final String PARSED_LOOKUP_PATH_ATTRIBUTE =
+			PatternsRequestCondition.class.getName() + ".PARSED_LOOKUP_PATH";
+
 	private final Set<String> patterns;
 
 	private final UrlPathHelper pathHelper;
@@ -203,7 +208,7 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 			return this;
 		}
 		String lookupPath = this.pathHelper.getLookupPathForRequest(request);
-		List<String> matches = getMatchingPatterns(lookupPath);
+		List<String> matches = getMatchingPatterns(lookupPath, getParsedLookupPath(request, lookupPath));
 		return (!matches.isEmpty() ?
 				new PatternsRequestCondition(matches, this.pathHelper, this.pathMatcher,
 						this.useSuffixPatternMatch, this.useTrailingSlashMatch, this.fileExtensions) : null);
@@ -219,9 +224,33 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 * @return a collection of matching patterns sorted with the closest match at the top
 	 */
 	public List<String> getMatchingPatterns(String lookupPath) {
+		return getMatchingPatterns(lookupPath, this.pathMatcher instanceof PathPatternMatcher ?
+				((PathPatternMatcher) this.pathMatcher).parsePath(lookupPath) : null);
+	}
+
+	/**
+	 * Return the lookup path parsed for a {@link PathPatternMatcher}, kept in a
+	 * request attribute so that it is parsed once per request rather than for
+	 * every mapping checked, or {@code null} for any other {@code PathMatcher}.
+	 */
+	@Nullable
+	private PathContainer getParsedLookupPath(HttpServletRequest request, String lookupPath) {
+		if (!(this.pathMatcher instanceof PathPatternMatcher)) {
+			return null;
+		}
+		Object attribute = request.getAttribute(PARSED_LOOKUP_PATH_ATTRIBUTE);
+		if (attribute instanceof ParsedLookupPath && ((ParsedLookupPath) attribute).lookupPath.equals(lookupPath)) {
+			return ((ParsedLookupPath) attribute).parsedPath;
+		}
+		PathContainer parsedPath = ((PathPatternMatcher) this.pathMatcher).parsePath(lookupPath);
+		request.setAttribute(PARSED_LOOKUP_PATH_ATTRIBUTE, new ParsedLookupPath(lookupPath, parsedPath));
+		return parsedPath;
+	}
+
+	private List<String> getMatchingPatterns(String lookupPath, @Nullable PathContainer parsedLookupPath) {
 		List<String> matches = new ArrayList<>();
 		for (String pattern : this.patterns) {
-			String match = getMatchingPattern(pattern, lookupPath);
+			String match = getMatchingPattern(pattern, lookupPath, parsedLookupPath);
 			if (match != null) {
 				matches.add(match);
 			}
@@ -233,36 +262,42 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	}
 
 	@Nullable
-	private String getMatchingPattern(String pattern, String lookupPath) {
+	private String getMatchingPattern(String pattern, String lookupPath, @Nullable PathContainer parsedLookupPath) {
 		if (pattern.equals(lookupPath)) {
 			return pattern;
 		}
 		if (this.useSuffixPatternMatch) {
 			if (!this.fileExtensions.isEmpty() && lookupPath.indexOf('.') != -1) {
 				for (String extension : this.fileExtensions) {
-					if (this.pathMatcher.match(pattern + extension, lookupPath)) {
+					if (match(pattern + extension, lookupPath, parsedLookupPath)) {
 						return pattern + extension;
 					}
 				}
 			}
 			else {
 				boolean hasSuffix = pattern.indexOf('.') != -1;
-				if (!hasSuffix && this.pathMatcher.match(pattern + ".*", lookupPath)) {
+				if (!hasSuffix && match(pattern + ".*", lookupPath, parsedLookupPath)) {
 					return pattern + ".*";
 				}
 			}
 		}
-		if (this.pathMatcher.match(pattern, lookupPath)) {
+		if (match(pattern, lookupPath, parsedLookupPath)) {
 			return pattern;
 		}
 		if (this.useTrailingSlashMatch) {
-			if (!pattern.endsWith("/") && this.pathMatcher.match(pattern + "/", lookupPath)) {
+			if (!pattern.endsWith("/") && match(pattern + "/", lookupPath, parsedLookupPath)) {
 				return pattern + "/";
 			}
 		}
 		return null;
 	}
 
+	private boolean match(String pattern, String lookupPath, @Nullable PathContainer parsedLookupPath) {
+		return (parsedLookupPath != null ?
+				((PathPatternMatcher) this.pathMatcher).match(pattern, parsedLookupPath) :
+				this.pathMatcher.match(pattern, lookupPath));
+	}
+
 	/**
 	 * Compare the two conditions based on the URL patterns they contain.
 	 * Patterns are compared one at a time, from top to bottom via
@@ -297,4 +332,20 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		}
 	}
 
+
+	/**
+	 * A lookup path with its parsed form, as kept in a request attribute.
+	 */
+	private static class ParsedLookupPath {
+
+		final String lookupPath;
+
+		final PathContainer parsedPath;
+
+		ParsedLookupPath(String lookupPath, PathContainer parsedPath) {
+			this.lookupPath = lookupPath;
+			this.parsedPath = parsedPath;
+		}
+	}
+
 }
@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -31,6 +32,7 @@ import javax.servlet.http.HttpSession;
 
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.core.DefaultParameterNameDiscoverer;
@@ -48,7 +50,9 @@ import org.springframework.http.converter.StringHttpMessageConverter;
 import org.springframework.http.converter.support.AllEncompassingFormHttpMessageConverter;
 import org.springframework.http.converter.xml.SourceHttpMessageConverter;
 import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.ui.ModelMap;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ReflectionUtils.MethodFilter;
 import org.springframework.web.accept.ContentNegotiationManager;
@@ -114,7 +118,7 @@ import org.springframework.web.util.WebUtils;
  * @see HandlerMethodReturnValueHandler
  */
 public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
-		implements BeanFactoryAware, InitializingBean {
+		implements BeanFactoryAware, InitializingBean, DisposableBean {
 
 	/**
 	 * MethodFilter that matches {@link InitBinder @InitBinder} methods.
@@ -130,6 +134,10 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 					AnnotatedElementUtils.hasAnnotation(method, ModelAttribute.class));
 
 
+	private static final String OFFLOADED_INVOCATION_ATTRIBUTE =
+			RequestMappingHandlerAdapter.class.getName() + ".OFFLOADED_INVOCATION";
+
+
 	@Nullable
 	private List<HandlerMethodArgumentResolver> customArgumentResolvers;
 
@@ -157,11 +165,21 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 	@Nullable
 	private WebBindingInitializer webBindingInitializer;
 
-	private AsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("MvcAsync");
+	@Nullable
+	private AsyncTaskExecutor taskExecutor;
+
+	private boolean useVirtualThreads;
+
+	// Fallback executor for virtual threads before Java 21, to shut down on destroy
+	@Nullable
+	private ThreadPoolTaskExecutor virtualThreadsFallbackExecutor;
 
 	@Nullable
 	private Long asyncRequestTimeout;
 
+	@Nullable
+	private Predicate<HandlerMethod> blockingHandlerPredicate;
+
 	private CallableProcessingInterceptor[] callableInterceptors = new CallableProcessingInterceptor[0];
 
 	private DeferredResultProcessingInterceptor[] deferredResultInterceptors = new DeferredResultProcessingInterceptor[0];
@@ -412,6 +430,40 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		this.taskExecutor = taskExecutor;
 	}
 
+	/**
+	 * Whether to base the default {@link AsyncTaskExecutor} on virtual
+	 * threads, i.e. a {@link SimpleAsyncTaskExecutor} with
+	 * {@link SimpleAsyncTaskExecutor#setVirtualThreads virtual threads} when
+	 * running on Java 21+, or a bounded {@link ThreadPoolTaskExecutor} with
+	 * re-used daemon threads otherwise, shut down along with this adapter.
+	 * <p>The executor is created in {@link #afterPropertiesSet()}, and only
+	 * if no executor has been specified through {@link #setTaskExecutor}.
+	 * <p>The default is "false".
+	 * @since 5.1.15
+	 * @see #setBlockingHandlerPredicate
+	 */
+	public void setUseVirtualThreads(boolean useVirtualThreads) {
+		this.useVirtualThreads = useVirtualThreads;
+	}
+
+	/**
+	 * Configure a predicate for handler methods that perform blocking work
+	 * and should therefore be invoked on the configured
+	 * {@link #setTaskExecutor task executor} rather than on the Servlet
+	 * container thread, as if the method had returned a {@link Callable}.
+	 * <p>Method arguments are still resolved on the container thread. The
+	 * request is processed inline if the Servlet or Filter chain does not
+	 * support async processing, and for methods with a
+	 * {@link org.springframework.web.bind.annotation.ResponseStatus#reason()
+	 * response status reason}.
+	 * <p>By default no handler methods are offloaded.
+	 * @since 5.1.15
+	 * @see #setUseVirtualThreads
+	 */
+	public void setBlockingHandlerPredicate(@Nullable Predicate<HandlerMethod> blockingHandlerPredicate) {
+		this.blockingHandlerPredicate = blockingHandlerPredicate;
+	}
+
 	/**
 	 * Specify the amount of time, in milliseconds, before concurrent handling
 	 * should time out. In Servlet 3, the timeout begins after the main request
@@ -562,6 +614,10 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		// Do this first, it may add ResponseBody advice beans
 		initControllerAdviceCache();
 
+		if (this.taskExecutor == null) {
+			this.taskExecutor = createDefaultTaskExecutor();
+		}
+
 		if (this.argumentResolvers == null) {
 			List<HandlerMethodArgumentResolver> resolvers = getDefaultArgumentResolvers();
 			this.argumentResolvers = new HandlerMethodArgumentResolverComposite().addResolvers(resolvers);
@@ -576,6 +632,31 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		}
 	}
 
+	private AsyncTaskExecutor createDefaultTaskExecutor() {
+		if (!this.useVirtualThreads) {
+			return new SimpleAsyncTaskExecutor("MvcAsync");
+		}
+		if (SimpleAsyncTaskExecutor.isVirtualThreadsSupported()) {
+			SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("MvcAsync");
+			executor.setVirtualThreads(true);
+			return executor;
+		}
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix("MvcAsync");
+		executor.setCorePoolSize(200);
+		executor.setMaxPoolSize(200);
+		executor.setAllowCoreThreadTimeOut(true);
+		executor.setDaemon(true);
+		executor.initialize();
+		this.virtualThreadsFallbackExecutor = executor;
+		return executor;
+	}
+
+	private AsyncTaskExecutor obtainTaskExecutor() {
+		Assert.state(this.taskExecutor != null, "No AsyncTaskExecutor - afterPropertiesSet not called?");
+		return this.taskExecutor;
+	}
+
 	private void initControllerAdviceCache() {
 		if (getApplicationContext() == null) {
 			return;
@@ -724,7 +805,7 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		handlers.add(new ModelMethodProcessor());
 		handlers.add(new ViewMethodReturnValueHandler());
 		handlers.add(new ResponseBodyEmitterReturnValueHandler(getMessageConverters(),
-				this.reactiveAdapterRegistry, this.taskExecutor, this.contentNegotiationManager));
+				this.reactiveAdapterRegistry, obtainTaskExecutor(), this.contentNegotiationManager));
 		handlers.add(new StreamingResponseBodyReturnValueHandler());
 		handlers.add(new HttpEntityMethodProcessor(getMessageConverters(),
 				this.contentNegotiationManager, this.requestResponseBodyAdvice));
@@ -758,6 +839,17 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		return handlers;
 	}
 
+	/**
+	 * Shut down the thread pool created for {@link #setUseVirtualThreads
+	 * virtual threads} on runtimes before Java 21, if any.
+	 */
+	@Override
+	public void destroy() {
+		if (this.virtualThreadsFallbackExecutor != null) {
+			this.virtualThreadsFallbackExecutor.shutdown();
+		}
+	}
+
 
 	/**
 	 * Always return {@code true} since any method argument and return value
@@ -874,7 +966,7 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 			asyncWebRequest.setTimeout(this.asyncRequestTimeout);
 
 			WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
-			asyncManager.setTaskExecutor(this.taskExecutor);
+			asyncManager.setTaskExecutor(obtainTaskExecutor());
 			asyncManager.setAsyncWebRequest(asyncWebRequest);
 			asyncManager.registerCallableInterceptors(this.callableInterceptors);
 			asyncManager.registerDeferredResultInterceptors(this.deferredResultInterceptors);
@@ -887,7 +979,18 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 					String formatted = LogFormatUtils.formatValue(result, !traceOn);
 					return "Resume with async result [" + formatted + "]";
 				});
-				invocableMethod = invocableMethod.wrapConcurrentResult(result);
+				if (request.getAttribute(OFFLOADED_INVOCATION_ATTRIBUTE) != null) {
+					request.removeAttribute(OFFLOADED_INVOCATION_ATTRIBUTE);
+					invocableMethod = invocableMethod.wrapOffloadedResult(result);
+				}
+				else {
+					invocableMethod = invocableMethod.wrapConcurrentResult(result);
+				}
+			}
+			else if (this.blockingHandlerPredicate != null && request.isAsyncSupported() &&
+					invocableMethod.isOffloadable() && this.blockingHandlerPredicate.test(handlerMethod)) {
+				request.setAttribute(OFFLOADED_INVOCATION_ATTRIBUTE, Boolean.TRUE);
+				invocableMethod = invocableMethod.wrapOffloadedInvocation();
 			}
 
 			invocableMethod.invokeAndHandle(webRequest, mavContainer);
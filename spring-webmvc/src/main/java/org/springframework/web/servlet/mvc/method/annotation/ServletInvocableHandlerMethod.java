@@ -34,6 +34,7 @@ import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.context.request.NativeWebRequest;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.filter.ShallowEtagHeaderFilter;
 import org.springframework.web.method.HandlerMethod;
@@ -192,6 +193,40 @@ public class ServletInvocableHandlerMethod extends InvocableHandlerMethod {
 		return new ConcurrentResultHandlerMethod(result, new ConcurrentResultMethodParameter(result));
 	}
 
+	/**
+	 * Whether the invocation of this method may be deferred to an async
+	 * thread, which is not the case for a {@code @ResponseStatus} with a
+	 * reason since the response is committed before the return value is
+	 * handled.
+	 * @since 5.1.15
+	 */
+	boolean isOffloadable() {
+		return !StringUtils.hasText(getResponseStatusReason());
+	}
+
+	/**
+	 * Create a nested ServletInvocableHandlerMethod subclass that resolves
+	 * method arguments for the current request but returns a {@link Callable}
+	 * invoking the controller method with them, so that the invocation takes
+	 * place on an async thread. Paired with {@link #wrapOffloadedResult}
+	 * for processing the value once the request is dispatched again.
+	 * @since 5.1.15
+	 */
+	ServletInvocableHandlerMethod wrapOffloadedInvocation() {
+		return new OffloadedHandlerMethod();
+	}
+
+	/**
+	 * Variant of {@link #wrapConcurrentResult} for a value produced by a
+	 * {@link #wrapOffloadedInvocation offloaded} invocation, i.e. the actual
+	 * return value of the controller method, handled against its declared
+	 * return type.
+	 * @since 5.1.15
+	 */
+	ServletInvocableHandlerMethod wrapOffloadedResult(Object result) {
+		return new ConcurrentResultHandlerMethod(result, getReturnValueType(result));
+	}
+
 
 	/**
 	 * A nested subclass of {@code ServletInvocableHandlerMethod} that uses a
@@ -203,7 +238,7 @@ public class ServletInvocableHandlerMethod extends InvocableHandlerMethod {
 
 		private final MethodParameter returnType;
 
-		public ConcurrentResultHandlerMethod(final Object result, ConcurrentResultMethodParameter returnType) {
+		public ConcurrentResultHandlerMethod(final Object result, MethodParameter returnType) {
 			super((Callable<Object>) () -> {
 				if (result instanceof Exception) {
 					throw (Exception) result;
@@ -255,6 +290,31 @@ public class ServletInvocableHandlerMethod extends InvocableHandlerMethod {
 	}
 
 
+	/**
+	 * A nested subclass of {@code ServletInvocableHandlerMethod} that resolves
+	 * arguments for the original controller method but defers its invocation
+	 * to a {@link Callable}, to be executed through the async task executor.
+	 */
+	private class OffloadedHandlerMethod extends ServletInvocableHandlerMethod {
+
+		public OffloadedHandlerMethod() {
+			super(ServletInvocableHandlerMethod.this);
+			if (ServletInvocableHandlerMethod.this.returnValueHandlers != null) {
+				setHandlerMethodReturnValueHandlers(ServletInvocableHandlerMethod.this.returnValueHandlers);
+			}
+		}
+
+		@Override
+		public Object invokeForRequest(NativeWebRequest request, @Nullable ModelAndViewContainer mavContainer,
+				Object... providedArgs) throws Exception {
+
+			Object[] args = ServletInvocableHandlerMethod.this.getMethodArgumentValues(
+					request, mavContainer, providedArgs);
+			return (Callable<Object>) () -> ServletInvocableHandlerMethod.this.doInvoke(args);
+		}
+	}
+
+
 	/**
 	 * MethodParameter subclass based on the actual return value type or if
 	 * that's null falling back on the generic type within the declared async
@@ -236,12 +236,19 @@ public abstract class RequestContextUtils {
 
 	/**
 	 * Return "output" FlashMap to save attributes for request after redirect.
+	 * <p>As of 5.1.15, the FlashMap is created on first access within a
+	 * request with a {@link #getFlashMapManager FlashMapManager}.
 	 * @param request current request
 	 * @return a {@link FlashMap} instance, never {@code null} within a
 	 * {@code DispatcherServlet}-handled request
 	 */
 	public static FlashMap getOutputFlashMap(HttpServletRequest request) {
-		return (FlashMap) request.getAttribute(DispatcherServlet.OUTPUT_FLASH_MAP_ATTRIBUTE);
+		FlashMap flashMap = (FlashMap) request.getAttribute(DispatcherServlet.OUTPUT_FLASH_MAP_ATTRIBUTE);
+		if (flashMap == null && getFlashMapManager(request) != null) {
+			flashMap = new FlashMap();
+			request.setAttribute(DispatcherServlet.OUTPUT_FLASH_MAP_ATTRIBUTE, flashMap);
+		}
+		return flashMap;
 	}
 
 	/**
@@ -267,7 +274,8 @@ public abstract class RequestContextUtils {
 	 * @since 5.0
 	 */
 	public static void saveOutputFlashMap(String location, HttpServletRequest request, HttpServletResponse response) {
-		FlashMap flashMap = getOutputFlashMap(request);
+		// Not via getOutputFlashMap: no need to create a FlashMap just to find it empty
+		FlashMap flashMap = (FlashMap) request.getAttribute(DispatcherServlet.OUTPUT_FLASH_MAP_ATTRIBUTE);
 		if (CollectionUtils.isEmpty(flashMap)) {
 			return;
 		}
@@ -48,6 +48,8 @@ import org.springframework.web.context.ContextLoader;
 import org.springframework.web.context.ServletConfigAwareBean;
 import org.springframework.web.context.ServletContextAwareBean;
 import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.context.support.StandardServletEnvironment;
 import org.springframework.web.context.support.StaticWebApplicationContext;
 import org.springframework.web.multipart.MaxUploadSizeExceededException;
@@ -182,6 +184,25 @@ public class DispatcherServletTests {
 		assertEquals("Wed, 01 Apr 2015 00:00:00 GMT", response.getHeader("Last-Modified"));
 	}
 
+	@Test
+	public void perRequestStateNotAllocatedUpfront() throws Exception {
+		MockHttpServletRequest request1 = new MockHttpServletRequest(getServletContext(), "GET", "/locale.do");
+		MockHttpServletRequest request2 = new MockHttpServletRequest(getServletContext(), "GET", "/locale.do");
+		simpleDispatcherServlet.service(request1, new MockHttpServletResponse());
+		simpleDispatcherServlet.service(request2, new MockHttpServletResponse());
+
+		// No output FlashMap unless accessed by the handler
+		assertNotNull(request1.getAttribute(DispatcherServlet.FLASH_MAP_MANAGER_ATTRIBUTE));
+		assertNull(request1.getAttribute(DispatcherServlet.OUTPUT_FLASH_MAP_ATTRIBUTE));
+		assertNull(request2.getAttribute(DispatcherServlet.OUTPUT_FLASH_MAP_ATTRIBUTE));
+
+		// One request binding interceptor shared across requests
+		String key = FrameworkServlet.class.getName();
+		CallableProcessingInterceptor interceptor = WebAsyncUtils.getAsyncManager(request1).getCallableInterceptor(key);
+		assertNotNull(interceptor);
+		assertSame(interceptor, WebAsyncUtils.getAsyncManager(request2).getCallableInterceptor(key));
+	}
+
 	@Test
 	public void unknownRequest() throws Exception {
 		MockHttpServletRequest request = new MockHttpServletRequest(getServletContext(), "GET", "/unknown.do");
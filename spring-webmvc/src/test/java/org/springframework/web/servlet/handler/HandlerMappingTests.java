@@ -70,6 +70,38 @@ public class HandlerMappingTests {
 				mappedInterceptor1.getInterceptor(), i2, mappedInterceptor3.getInterceptor(), i4));
 	}
 
+	@Test
+	public void unmappedInterceptors() throws Exception {
+		HandlerInterceptor i1 = Mockito.mock(HandlerInterceptor.class);
+		HandlerInterceptor i2 = Mockito.mock(HandlerInterceptor.class);
+
+		this.handlerMapping.setInterceptors(i1, i2);
+		this.handlerMapping.setApplicationContext(this.context);
+		HandlerExecutionChain chain1 = this.handlerMapping.getHandlerExecutionChain(new SimpleHandler(), this.request);
+		HandlerExecutionChain chain2 = this.handlerMapping.getHandlerExecutionChain(new SimpleHandler(), this.request);
+		Assert.assertThat(chain1.getInterceptors(), Matchers.arrayContaining(i1, i2));
+		Assert.assertThat(chain2.getInterceptors(), Matchers.arrayContaining(i1, i2));
+
+		// Each chain must start from its own copy of the shared interceptors
+		HandlerInterceptor i3 = Mockito.mock(HandlerInterceptor.class);
+		chain1.addInterceptor(i3);
+		Assert.assertThat(chain1.getInterceptors(), Matchers.arrayContaining(i1, i2, i3));
+		Assert.assertThat(chain2.getInterceptors(), Matchers.arrayContaining(i1, i2));
+	}
+
+	@Test
+	public void unmappedInterceptorsWithHandlerExecutionChain() throws Exception {
+		HandlerInterceptor i1 = Mockito.mock(HandlerInterceptor.class);
+		HandlerInterceptor i2 = Mockito.mock(HandlerInterceptor.class);
+
+		this.handlerMapping.setInterceptors(i2);
+		this.handlerMapping.setApplicationContext(this.context);
+		HandlerExecutionChain handler = new HandlerExecutionChain(new SimpleHandler(), i1);
+		HandlerExecutionChain chain = this.handlerMapping.getHandlerExecutionChain(handler, this.request);
+		Assert.assertSame(handler, chain);
+		Assert.assertThat(chain.getInterceptors(), Matchers.arrayContaining(i1, i2));
+	}
+
 	class TestHandlerMapping extends AbstractHandlerMapping {
 
 		@Override
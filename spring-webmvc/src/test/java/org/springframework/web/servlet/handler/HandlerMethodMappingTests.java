@@ -17,6 +17,7 @@
 package org.springframework.web.servlet.handler;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -99,6 +100,34 @@ public class HandlerMethodMappingTests {
 		assertEquals(result, request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
 	}
 
+	@Test
+	public void patternMatchWithPathPrefixIndex() throws Exception {
+		this.mapping.setUsePathPrefixIndex(true);
+		this.mapping.registerMapping("/fo*", this.handler, this.method1);
+		this.mapping.registerMapping("/f*", this.handler, this.method2);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo");
+		HandlerMethod result = this.mapping.getHandlerInternal(request);
+		assertEquals(method1, result.getMethod());
+
+		this.mapping.unregisterMapping("/fo*");
+		result = this.mapping.getHandlerInternal(request);
+		assertEquals(method2, result.getMethod());
+	}
+
+	@Test
+	public void pathPrefixIndexEnabledAfterRegistration() throws Exception {
+		this.mapping.registerMapping("/foo/*", this.handler, this.method1);
+		this.mapping.registerMapping("/bar/*", this.handler, this.method2);
+		assertEquals(2, this.mapping.getMappingRegistry().getMappingsByPathPrefix("/bar/baz").size());
+
+		this.mapping.setUsePathPrefixIndex(true);
+		assertEquals(Collections.singletonList("/bar/*"),
+				new ArrayList<>(this.mapping.getMappingRegistry().getMappingsByPathPrefix("/bar/baz")));
+		HandlerMethod result = this.mapping.getHandlerInternal(new MockHttpServletRequest("GET", "/bar/baz"));
+		assertEquals(method2, result.getMethod());
+	}
+
 	@Test(expected = IllegalStateException.class)
 	public void ambiguousMatch() throws Exception {
 		this.mapping.registerMapping("/f?o", this.handler, this.method1);
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2002-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.handler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import static org.junit.Assert.*;
+
+/**
+ * Unit tests for {@link PathPrefixIndex}.
+ */
+public class PathPrefixIndexTests {
+
+	private final PathMatcher pathMatcher = new AntPathMatcher();
+
+	private final PathPrefixIndex<String> index = new PathPrefixIndex<>();
+
+
+	@Test
+	public void literalPrefix() {
+		assertEquals(Collections.emptyList(), prefix("/"));
+		assertEquals(Collections.emptyList(), prefix("/users"));
+		assertEquals(Arrays.asList("api", "users"), prefix("/api/users/{id}"));
+		assertEquals(Arrays.asList("api", "users"), prefix("/api//users/list"));
+		assertEquals(Collections.singletonList("api"), prefix("/api/v*/users/{id}/orders"));
+		assertEquals(Collections.emptyList(), prefix("/**/users"));
+	}
+
+	@Test
+	public void candidates() {
+		add("/api/users/{id}");
+		add("/api/users/list/{page}");
+		add("/api/orders/{id}");
+		add("/**/*.html");
+		add("/health");
+
+		assertEquals(Arrays.asList("/**/*.html", "/health", "/api/users/{id}"), candidates("/api/users/42"));
+		assertEquals(Arrays.asList("/**/*.html", "/health", "/api/users/{id}", "/api/users/list/{page}"),
+				candidates("/api/users/list/2"));
+		assertEquals(Arrays.asList("/**/*.html", "/health", "/api/orders/{id}"), candidates("/api/orders/1"));
+		assertEquals(Arrays.asList("/**/*.html", "/health"), candidates("/other/users/42"));
+	}
+
+	@Test
+	public void candidatesWithMultiplePrefixes() {
+		this.index.add(prefix("/api/users/{id}"), "users");
+		this.index.add(prefix("/api/users/list/{page}"), "users");
+
+		assertEquals(Collections.singletonList("users"), candidates("/api/users/list/2"));
+	}
+
+	@Test
+	public void remove() {
+		add("/api/users/{id}");
+		add("/api/users/list/{page}");
+
+		this.index.remove(prefix("/api/users/list/{page}"), "/api/users/list/{page}");
+		assertEquals(Collections.singletonList("/api/users/{id}"), candidates("/api/users/list/2"));
+
+		this.index.remove(prefix("/api/users/{id}"), "/api/users/{id}");
+		assertTrue(candidates("/api/users/list/2").isEmpty());
+	}
+
+
+	private List<String> prefix(String pattern) {
+		return PathPrefixIndex.getLiteralPrefix(pattern, this.pathMatcher);
+	}
+
+	private List<String> candidates(String lookupPath) {
+		return new ArrayList<>(this.index.getCandidates(lookupPath));
+	}
+
+	private void add(String pattern) {
+		this.index.add(prefix(pattern), pattern);
+	}
+
+}
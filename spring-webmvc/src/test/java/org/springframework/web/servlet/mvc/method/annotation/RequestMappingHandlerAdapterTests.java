@@ -29,7 +29,10 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import org.springframework.beans.DirectFieldAccessor;
 import org.springframework.core.MethodParameter;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.http.HttpInputMessage;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -44,10 +47,14 @@ import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.mock.web.test.MockHttpServletRequest;
 import org.springframework.mock.web.test.MockHttpServletResponse;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.SessionAttributes;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.context.support.StaticWebApplicationContext;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.method.annotation.ModelMethodProcessor;
@@ -259,6 +266,69 @@ public class RequestMappingHandlerAdapterTests {
 		assertEquals("{\"status\":400,\"message\":\"body\"}", this.response.getContentAsString());
 	}
 
+	@Test
+	public void blockingHandlerPredicate() throws Exception {
+		this.request.setAsyncSupported(true);
+		this.handlerAdapter.setTaskExecutor(new ConcurrentTaskExecutor(Runnable::run));
+		this.handlerAdapter.setBlockingHandlerPredicate(
+				handlerMethod -> handlerMethod.getMethod().getName().equals("handleBlocking"));
+		this.handlerAdapter.afterPropertiesSet();
+
+		HandlerMethod handlerMethod = handlerMethod(new SimpleController(), "handleBlocking");
+		assertNull(this.handlerAdapter.handle(this.request, this.response, handlerMethod));
+		assertTrue(this.request.isAsyncStarted());
+		WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(this.request);
+		assertEquals("blockingView", asyncManager.getConcurrentResult());
+
+		this.request.setAsyncStarted(false);
+		ModelAndView mav = this.handlerAdapter.handle(this.request, this.response, handlerMethod);
+		assertNotNull(mav);
+		assertEquals("blockingView", mav.getViewName());
+		assertEquals("lAttr1", mav.getModel().get("attr1"));
+	}
+
+	@Test
+	public void blockingHandlerPredicateWithoutAsyncSupport() throws Exception {
+		this.request.setAsyncSupported(false);
+		this.handlerAdapter.setBlockingHandlerPredicate(handlerMethod -> true);
+		this.handlerAdapter.afterPropertiesSet();
+
+		HandlerMethod handlerMethod = handlerMethod(new SimpleController(), "handleBlocking");
+		ModelAndView mav = this.handlerAdapter.handle(this.request, this.response, handlerMethod);
+		assertNotNull(mav);
+		assertEquals("blockingView", mav.getViewName());
+		assertFalse(this.request.isAsyncStarted());
+	}
+
+	@Test
+	public void useVirtualThreadsWithExplicitTaskExecutor() throws Exception {
+		AsyncTaskExecutor taskExecutor = new ConcurrentTaskExecutor(Runnable::run);
+		this.handlerAdapter.setUseVirtualThreads(true);
+		this.handlerAdapter.setTaskExecutor(taskExecutor);
+		this.handlerAdapter.afterPropertiesSet();
+
+		assertSame(taskExecutor, new DirectFieldAccessor(this.handlerAdapter).getPropertyValue("taskExecutor"));
+		this.handlerAdapter.destroy();
+	}
+
+	@Test
+	public void useVirtualThreads() throws Exception {
+		this.handlerAdapter.setUseVirtualThreads(true);
+		this.handlerAdapter.afterPropertiesSet();
+
+		Object taskExecutor = new DirectFieldAccessor(this.handlerAdapter).getPropertyValue("taskExecutor");
+		if (SimpleAsyncTaskExecutor.isVirtualThreadsSupported()) {
+			assertTrue(((SimpleAsyncTaskExecutor) taskExecutor).isVirtualThreads());
+			this.handlerAdapter.destroy();
+		}
+		else {
+			ThreadPoolTaskExecutor threadPool = (ThreadPoolTaskExecutor) taskExecutor;
+			assertFalse(threadPool.getThreadPoolExecutor().isShutdown());
+			this.handlerAdapter.destroy();
+			assertTrue(threadPool.getThreadPoolExecutor().isShutdown());
+		}
+	}
+
 	private HandlerMethod handlerMethod(Object handler, String methodName, Class<?>... paramTypes) throws Exception {
 		Method method = handler.getClass().getDeclaredMethod(methodName, paramTypes);
 		return new InvocableHandlerMethod(handler, method);
@@ -283,6 +353,10 @@ public class RequestMappingHandlerAdapterTests {
 			return null;
 		}
 
+		public String handleBlocking() {
+			return "blockingView";
+		}
+
 		public ResponseEntity<Map<String, String>> handleWithResponseEntity() {
 			return new ResponseEntity<>(Collections.singletonMap(
 					"foo", "bar"), HttpStatus.OK);
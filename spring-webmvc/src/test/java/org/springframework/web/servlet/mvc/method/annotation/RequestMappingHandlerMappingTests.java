@@ -46,8 +46,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.method.HandlerTypePredicate;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.config.annotation.PathMatchConfigurer;
 import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -172,6 +176,35 @@ public class RequestMappingHandlerMappingTests {
 		assertNull(info.getPatternsCondition().getMatchingCondition(request));
 	}
 
+	@Test
+	public void patternParser() throws Exception {
+		PathMatchConfigurer configurer = new PathMatchConfigurer().setPatternParser(new PathPatternParser());
+		this.handlerMapping.setPathMatcher(configurer.getPathMatcher());
+		this.wac.registerSingleton("resourceController", ResourceController.class);
+		this.wac.refresh();
+		this.handlerMapping.afterPropertiesSet();
+
+		assertHandlerMethod("/resources/42", "getResource");
+		assertHandlerMethod("/resources/42.json", "getResource");
+		assertHandlerMethod("/resources/42/", "getResource");
+		assertHandlerMethod("/files", "getFiles");
+		assertHandlerMethod("/files/css/main.css", "getFiles");
+		assertHandlerMethod("/files/css/", "getFiles");
+		assertNull(this.handlerMapping.getHandler(new MockHttpServletRequest("GET", "/resources/42/content")));
+	}
+
+	private void assertHandlerMethod(String path, String methodName) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		HandlerExecutionChain chain = this.handlerMapping.getHandler(request);
+		assertNotNull("No handler for " + path, chain);
+		assertEquals(methodName, ((HandlerMethod) chain.getHandler()).getMethod().getName());
+
+		// Match again with the parsed lookup path kept in the request
+		chain = this.handlerMapping.getHandler(request);
+		assertNotNull(chain);
+		assertEquals(methodName, ((HandlerMethod) chain.getHandler()).getMethod().getName());
+	}
+
 	@Test
 	public void resolveRequestMappingViaComposedAnnotation() throws Exception {
 		RequestMappingInfo info = assertComposedAnnotationMapping("postJson", "/postJson", RequestMethod.POST);
@@ -290,6 +323,19 @@ public class RequestMappingHandlerMappingTests {
 	}
 
 
+	@Controller
+	static class ResourceController {
+
+		@GetMapping("/resources/{id}")
+		public void getResource() {
+		}
+
+		@GetMapping("/files/{*path}")
+		public void getFiles() {
+		}
+	}
+
+
 	@RestController
 	@RequestMapping("/user")
 	static class UserController {
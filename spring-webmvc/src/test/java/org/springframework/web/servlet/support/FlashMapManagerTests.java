@@ -30,6 +30,7 @@ import org.junit.Test;
 
 import org.springframework.mock.web.test.MockHttpServletRequest;
 import org.springframework.mock.web.test.MockHttpServletResponse;
+import org.springframework.web.servlet.DispatcherServlet;
 import org.springframework.web.servlet.FlashMap;
 import org.springframework.web.util.WebUtils;
 
@@ -331,6 +332,26 @@ public class FlashMapManagerTests {
 		assertEquals("Input FlashMap should have been removed", 0, this.flashMapManager.getFlashMaps().size());
 	}
 
+	@Test
+	public void outputFlashMapCreatedOnFirstAccess() {
+		assertNull(RequestContextUtils.getOutputFlashMap(this.request));
+
+		this.request.setAttribute(DispatcherServlet.FLASH_MAP_MANAGER_ATTRIBUTE, this.flashMapManager);
+		assertNull(this.request.getAttribute(DispatcherServlet.OUTPUT_FLASH_MAP_ATTRIBUTE));
+
+		FlashMap flashMap = RequestContextUtils.getOutputFlashMap(this.request);
+		assertNotNull(flashMap);
+		assertSame(flashMap, RequestContextUtils.getOutputFlashMap(this.request));
+		assertSame(flashMap, this.request.getAttribute(DispatcherServlet.OUTPUT_FLASH_MAP_ATTRIBUTE));
+	}
+
+	@Test
+	public void saveOutputFlashMapWithoutAccess() {
+		this.request.setAttribute(DispatcherServlet.FLASH_MAP_MANAGER_ATTRIBUTE, this.flashMapManager);
+		RequestContextUtils.saveOutputFlashMap("/target", this.request, this.response);
+		assertNull(this.request.getAttribute(DispatcherServlet.OUTPUT_FLASH_MAP_ATTRIBUTE));
+	}
+
 
 	private static class TestFlashMapManager extends AbstractFlashMapManager {
 